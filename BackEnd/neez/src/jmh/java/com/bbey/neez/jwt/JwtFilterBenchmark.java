@@ -0,0 +1,85 @@
+package com.bbey.neez.jwt;
+
+import com.bbey.neez.entity.Auth.Users;
+import com.bbey.neez.repository.Auth.RefreshTokenRepository;
+import com.bbey.neez.repository.Auth.UserRepository;
+import com.bbey.neez.security.CustomUserDetailsService;
+import com.bbey.neez.security.PrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인증된 요청마다 거치는 JWT 필터 경로
+ * - principal 은 토큰 클레임 + PrincipalCache 로 만든다 (캐시 hit 이면 DB 조회 없음)
+ * - 토큰 파싱/검증 + SecurityContext 설정 비용 측정
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-0123456789-abcdefghijklmnop";
+    private static final FilterChain NOOP_CHAIN = (request, response) -> { };
+
+    private JwtAuthenticationFilter filter;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 3_600_000L, 604_800_000L);
+
+        Users user = new Users();
+        user.setIdx(1L);
+        user.setUserId("bench-user");
+        user.setRole("USER");
+        accessToken = jwtUtil.createAccessToken(user, "bench-session");
+
+        // idx 클레임이 있는 토큰은 DB 를 보지 않는다 → 호출되면 안 되는 mock
+        CustomUserDetailsService userDetailsService = Mockito.mock(CustomUserDetailsService.class);
+        // 캐시 miss 때만 token_version / 세션 폐기 여부 조회 → 첫 요청 뒤로는 hit
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findTokenVersion(1L)).thenReturn(0);
+        RefreshTokenRepository refreshTokenRepository = Mockito.mock(RefreshTokenRepository.class);
+        Mockito.when(refreshTokenRepository.existsBySessionIdAndRevokedTrue("bench-session")).thenReturn(false);
+        PrincipalCache principalCache = new PrincipalCache(userRepository, refreshTokenRepository,
+                new SimpleMeterRegistry(), 300_000L, 10_000);
+
+        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, principalCache);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticatedRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/bizcards");
+        request.addHeader("Authorization", "Bearer " + accessToken);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, NOOP_CHAIN);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse anonymousRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/health");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, NOOP_CHAIN);
+        return response;
+    }
+}
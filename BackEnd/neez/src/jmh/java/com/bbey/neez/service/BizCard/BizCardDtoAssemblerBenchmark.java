@@ -0,0 +1,130 @@
+package com.bbey.neez.service.BizCard;
+
+import com.bbey.neez.DTO.BizCardDto;
+import com.bbey.neez.component.MemoStorage;
+import com.bbey.neez.entity.BizCard.BizCard;
+import com.bbey.neez.repository.BizCard.CardHashTagRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 명함 목록 → BizCardDto 변환 (BizCardServiceImpl 목록 API 가 모두 거치는 경로)
+ * - 해시태그 조회 / 메모 미리보기는 메모리 stub 으로 대체 → 변환 자체의 비용만 측정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BizCardDtoAssemblerBenchmark {
+
+    @Param({"20", "100"})
+    public int cards;
+
+    private BizCardDtoAssembler assembler;
+    private List<BizCard> page;
+
+    @Setup
+    public void setUp() {
+        page = new ArrayList<>(cards);
+        List<Object[]> tagRows = new ArrayList<>();
+        Map<String, String> memos = new HashMap<>();
+        for (int i = 0; i < cards; i++) {
+            BizCard card = new BizCard();
+            card.setIdx((long) i + 1);
+            card.setUserIdx(1L);
+            card.setName("홍길동" + i);
+            card.setCardCompanyName("(주)비비이소프트");
+            card.setDepartment("AI플랫폼개발팀");
+            card.setPosition("선임연구원");
+            card.setEmail("user" + i + "@bbey.co.kr");
+            card.setPhoneNumber("010-9876-" + String.format("%04d", i));
+            card.setAddress("서울특별시 강남구 테헤란로 123");
+            if (i % 2 == 0) {
+                String memo = "memo_" + i + ".txt";
+                card.setMemo(memo);
+                memos.put(memo, repeat("지난 미팅에서 논의한 협업 건 후속 연락 필요. ", 6));
+            }
+            page.add(card);
+            for (int t = 0; t < 3; t++) {
+                tagRows.add(new Object[]{card.getIdx(), "tag" + t});
+            }
+        }
+
+        CardHashTagRepository tags = Mockito.mock(CardHashTagRepository.class);
+        Mockito.when(tags.findTagNamesByCardIds(Mockito.<Collection<Long>>any())).thenReturn(tagRows);
+        assembler = new BizCardDtoAssembler(tags, new InMemoryMemoStorage(memos));
+    }
+
+    @Benchmark
+    public List<BizCardDto> toDtosWithMemoPreview() {
+        return assembler.toDtos(page, BizCardDtoAssembler.DEFAULT_MEMO_PREVIEW);
+    }
+
+    @Benchmark
+    public List<BizCardDto> toDtosWithoutMemo() {
+        return assembler.toDtos(page, 0);
+    }
+
+    private static String repeat(String s, int times) {
+        StringBuilder sb = new StringBuilder(s.length() * times);
+        for (int i = 0; i < times; i++) {
+            sb.append(s);
+        }
+        return sb.toString();
+    }
+
+    private static final class InMemoryMemoStorage implements MemoStorage {
+        private final Map<String, String> memos;
+
+        private InMemoryMemoStorage(Map<String, String> memos) {
+            this.memos = memos;
+        }
+
+        @Override
+        public void write(String fileName, String content) {
+            memos.put(fileName, content);
+        }
+
+        @Override
+        public String read(String fileName) {
+            return memos.get(fileName);
+        }
+
+        @Override
+        public Map<String, String> readAllHead(Collection<String> fileNames, int maxChars) {
+            Map<String, String> heads = new HashMap<>();
+            for (String name : fileNames) {
+                String memo = memos.get(name);
+                if (memo != null) {
+                    heads.put(name, memo.length() > maxChars ? memo.substring(0, maxChars) : memo);
+                }
+            }
+            return heads;
+        }
+
+        @Override
+        public void delete(String fileName) {
+            memos.remove(fileName);
+        }
+
+        @Override
+        public String save(String prefix, String content) {
+            String name = prefix + memos.size();
+            memos.put(name, content);
+            return name;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.bbey.neez.service.BizCard;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CLOVA OCR 명함 응답(JSON) → 필드 Map 파싱
+ * - 응답 샘플: src/jmh/resources/clova-ocr-namecard.json (V2 nameCard 응답, boundingPolys 포함)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BizCardOcrParseBenchmark {
+
+    private BizCardOcrServiceImpl ocrService;
+    private String response;
+
+    @Setup
+    public void setUp() throws IOException {
+        ocrService = new BizCardOcrServiceImpl();
+        try (InputStream in = getClass().getResourceAsStream("/clova-ocr-namecard.json")) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[8192];
+            for (int n; (n = in.read(buf)) > 0; ) {
+                out.write(buf, 0, n);
+            }
+            response = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public Map<String, String> parseNameCard() {
+        return ocrService.parseNameCardFromJson(response);
+    }
+}
@@ -0,0 +1,82 @@
+package com.bbey.neez.service.Meet;
+
+import com.bbey.neez.client.ClovaSpeechClient.SpeakerSegment;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 화자 턴 합치기 (단일 파일 STT 의 buildSpeakerTurns → SpeakerTracker.mergeTurns)
+ * + 스트리밍 청크 한 건의 전역 화자 매칭(assign)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpeakerTurnBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int segments;
+
+    private List<SpeakerSegment> speakerSegments;
+    private Map<Integer, float[]> voiceprints;
+    private SpeakerTracker tracker;
+    /** 스트리밍처럼 청크 index 를 하나씩 늘려 가며 배정 */
+    private long chunkIndex;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        speakerSegments = new ArrayList<>(segments);
+        long t = 0;
+        int speaker = 1;
+        for (int i = 0; i < segments; i++) {
+            if (random.nextInt(3) == 0) {
+                speaker = 1 + random.nextInt(4); // 같은 화자가 몇 구간 이어서 말하다 바뀜
+            }
+            long length = 800 + random.nextInt(4000);
+            speakerSegments.add(new SpeakerSegment("발화 " + i + " 내용입니다", speaker, t, t + length));
+            t += length + random.nextInt(500);
+        }
+        // 원래 순서가 뒤섞여 오는 경우까지 포함 (정렬 비용)
+        Collections.shuffle(speakerSegments, random);
+
+        voiceprints = new HashMap<>();
+        for (int label = 1; label <= 4; label++) {
+            float[] print = new float[24];
+            double norm = 0;
+            for (int b = 0; b < print.length; b++) {
+                print[b] = (float) random.nextGaussian();
+                norm += print[b] * print[b];
+            }
+            for (int b = 0; b < print.length; b++) {
+                print[b] /= (float) Math.sqrt(norm);
+            }
+            voiceprints.put(label, print);
+        }
+        tracker = new SpeakerTracker(new SimpleMeterRegistry(), 0.85, 0.6, 1500, 10, Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<MeetingSpeechService.SpeakerTurn> mergeTurns() {
+        return SpeakerTracker.mergeTurns(speakerSegments, 0L);
+    }
+
+    @Benchmark
+    public SpeakerTracker.Assignment assignChunk() {
+        return tracker.assign(1L, chunkIndex++, speakerSegments, voiceprints, -1L, null);
+    }
+}
@@ -0,0 +1,99 @@
+package com.bbey.neez.service.Meet;
+
+import com.bbey.neez.client.ClovaSpeechClient.SpeakerSegment;
+import com.bbey.neez.repository.Meet.MeetingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 회의 세션 transcript 조립 (폴링 / finalize 때마다 호출되는 경로)
+ * - segment 10 / 100 / 1000 개가 메모리에 올라와 있는 세션 기준
+ * - DB 동기화는 끄고(db-sync-ms 최대값) 세션 저장소 자체만 측정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TranscriptAssemblyBenchmark {
+
+    private static final Long USER_IDX = 1L;
+    private static final Long MEETING_ID = 42L;
+
+    @Param({"10", "100", "1000"})
+    public int segments;
+
+    private Path spillDir;
+    private MeetingSpeechStreamService streamService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        spillDir = Files.createTempDirectory("neez-bench-sessions");
+        MeetingSessionStore store = new MeetingSessionStore(
+                Mockito.mock(MeetingSttService.class),
+                Mockito.mock(MeetingRepository.class),
+                new SpeakerTracker(new SimpleMeterRegistry(), 0.85, 0.6, 1500, 10, Long.MAX_VALUE),
+                new SimpleMeterRegistry(),
+                Long.MAX_VALUE,
+                Long.MAX_VALUE,
+                spillDir.toString(),
+                Long.MAX_VALUE);
+
+        // 조회 경로는 세션 저장소만 사용
+        streamService = new MeetingSpeechStreamService(
+                null, null, null, null, null, store, null, null, null, "ko-KR");
+
+        for (int i = 0; i < segments; i++) {
+            long index = i;
+            List<SpeakerSegment> speakers = new ArrayList<>();
+            speakers.add(new SpeakerSegment("오늘 회의 안건은 " + i + "번 항목입니다.", 1, 0L, 2400L));
+            speakers.add(new SpeakerSegment("네, 일정 먼저 확인하겠습니다.", 2, 2600L, 4800L));
+            // 커서(seq) 는 meetRTChunks PK 이므로 PK 흉내만 낸다
+            store.append(USER_IDX, MEETING_ID, index, idx -> idx + 1,
+                    (idx, seq, update) -> new MeetingSpeechStreamService.Segment(
+                            idx, seq, 160_000L,
+                            "오늘 회의 안건은 " + index + "번 항목입니다. 네, 일정 먼저 확인하겠습니다.",
+                            Instant.now(), speakers, "ko", "en", null, index * 5000L, false, update));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(spillDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public String getTranscriptText() {
+        return streamService.getTranscriptText(USER_IDX, MEETING_ID);
+    }
+
+    @Benchmark
+    public List<MeetingSpeechStreamService.Segment> getSegments() {
+        return streamService.getSegments(USER_IDX, MEETING_ID);
+    }
+
+    @Benchmark
+    public List<MeetingSpeechStreamService.Segment> getSegmentsSinceTail() {
+        return streamService.getSegmentsSince(USER_IDX, MEETING_ID, Math.max(0, segments - 5));
+    }
+}
@@ -46,6 +46,9 @@ public class BizCardDto {
         @Schema(description = "메모 내용", example = "AI 프로젝트 미팅에서 만난 담당자")
         private String memoContent;
 
+        @Schema(description = "목록 조회 시 메모가 미리보기보다 더 있는지 여부 (전체 메모는 GET /api/bizcards/{id}/memo)", example = "true")
+        private Boolean memoHasMore;
+
         @Schema(description = "해시태그 목록", example = "[\"AI\", \"스마트팜\", \"광주\"]")
         private List<String> hashTags;
 
@@ -124,6 +127,10 @@ public class BizCardDto {
                 return memoContent;
         }
 
+        public Boolean getMemoHasMore() {
+                return memoHasMore;
+        }
+
         public List<String> getHashTags() {
                 return hashTags;
         }
@@ -180,6 +187,10 @@ public class BizCardDto {
                 this.memoContent = memoContent;
         }
 
+        public void setMemoHasMore(Boolean memoHasMore) {
+                this.memoHasMore = memoHasMore;
+        }
+
         public void setHashTags(List<String> hashTags) {
                 this.hashTags = hashTags;
         }
@@ -10,6 +10,9 @@ public class LogoutRequest {
     @Schema(example = "jaehong")
     private String userId;
 
+    @Schema(description = "현재 기기의 Refresh Token (없으면 모든 기기에서 로그아웃)")
+    private String refreshToken;
+
     public String getUserId() {
         return userId;
     }
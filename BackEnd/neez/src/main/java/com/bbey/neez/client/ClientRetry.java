@@ -0,0 +1,64 @@
+package com.bbey.neez.client;
+
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+
+/**
+ * 외부 API(WebClient) 호출 공통 정책
+ *
+ * - 호출 한 번마다 timeout (초과 시 구독 취소 → HTTP 요청도 끊긴다)
+ * - 서버가 요청을 처리하지 않은 것이 확실한 오류만 지수 백오프 + jitter 로 재시도
+ *   : 연결 실패(요청을 보내기 전), 429, 503
+ * - timeout / 그 밖의 5xx / 응답 도중 끊김은 재시도하지 않는다
+ *   (STT, LLM 호출은 멱등이 아니고 유료 → 서버가 일을 끝낸 뒤 늦게 실패한 것이면 같은 요금이 다시 나간다)
+ * - 4xx 등 요청 자체가 잘못된 경우는 바로 실패
+ */
+final class ClientRetry {
+
+    private static final double JITTER = 0.5;
+
+    private ClientRetry() {
+    }
+
+    static <T> Mono<T> apply(Mono<T> call, Duration timeout, int maxRetries, Duration backoff) {
+        Mono<T> timed = call.timeout(timeout);
+        if (maxRetries <= 0) {
+            return timed;
+        }
+        return timed.retryWhen(Retry.backoff(maxRetries, backoff)
+                .jitter(JITTER)
+                .filter(ClientRetry::isTransient)
+                // 재시도 소진 시 RetryExhaustedException 대신 마지막 원인 그대로 전달
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    static boolean isTransient(Throwable e) {
+        if (e instanceof WebClientRequestException) {
+            return isConnectFailure(e.getCause());
+        }
+        if (e instanceof WebClientResponseException) {
+            int status = ((WebClientResponseException) e).getRawStatusCode();
+            return status == 429 || status == 503;
+        }
+        return false;
+    }
+
+    // 연결 자체가 안 된 경우 (netty 의 connect timeout 도 ConnectException)
+    private static boolean isConnectFailure(Throwable cause) {
+        for (Throwable t = cause; t != null; t = t.getCause()) {
+            if (t instanceof ConnectException || t instanceof UnknownHostException) {
+                return true;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+}
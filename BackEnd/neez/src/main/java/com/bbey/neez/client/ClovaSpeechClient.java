@@ -3,6 +3,7 @@ package com.bbey.neez.client;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
@@ -12,8 +13,10 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -26,13 +29,19 @@ public class ClovaSpeechClient {
     private final WebClient webClient;
     private final String language;
     private final String completion;
+    private final Duration timeout;
+    private final int maxRetries;
+    private final Duration retryBackoff;
 
     public ClovaSpeechClient(
             WebClient.Builder builder,
             @Value("${naver.clova.speech.invoke-url}") String invokeUrl,
             @Value("${naver.clova.speech.secret}") String secret,
             @Value("${naver.clova.speech.language:ko-KR}") String language,
-            @Value("${naver.clova.speech.completion:sync}") String completion
+            @Value("${naver.clova.speech.completion:sync}") String completion,
+            @Value("${naver.clova.speech.timeout-ms:30000}") long timeoutMs,
+            @Value("${naver.clova.speech.max-retries:2}") int maxRetries,
+            @Value("${naver.clova.speech.retry-backoff-ms:300}") long retryBackoffMs
     ) {
         if (!StringUtils.hasText(invokeUrl)) {
             throw new IllegalStateException("naver.clova.speech.invoke-url ??媛) ?ㅼ젙?섏뼱 ?덉? ?딆뒿?덈떎.");
@@ -53,6 +62,9 @@ public class ClovaSpeechClient {
 
         this.language = language;
         this.completion = completion;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.maxRetries = maxRetries;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMs);
     }
 
     /**
@@ -66,84 +78,106 @@ public class ClovaSpeechClient {
      * languageOverride 가 존재하면 해당 언어로 STT 를 수행한다.
      */
     public ClovaResult recognize(byte[] audioBytes, String languageOverride) {
-        String effectiveLanguage = StringUtils.hasText(languageOverride) ? languageOverride : this.language;
-        return recognizeInternal(audioBytes, effectiveLanguage);
+        return recognizeAsync(audioBytes, languageOverride).block();
     }
 
-    private ClovaResult recognizeInternal(byte[] audioBytes, String effectiveLanguage) {
+    /**
+     * 비동기 STT. 구독할 때 호출되며, 구독을 취소하면 진행 중인 HTTP 요청도 끊긴다.
+     * - timeout / 재시도(jitter, 연결 실패 · 429 · 503 만) 는 naver.clova.speech.* 설정을 따른다.
+     * - 실패 시 IllegalStateException 으로 감싸서 전달 (동기 API 와 동일)
+     */
+    public Mono<ClovaResult> recognizeAsync(byte[] audioBytes, String languageOverride) {
         if (audioBytes == null || audioBytes.length == 0) {
-            throw new IllegalArgumentException("audioBytes 가 비어 있습니다.");
+            return Mono.error(new IllegalArgumentException("audioBytes 가 비어 있습니다."));
         }
-
-        try {
-            // 1) params JSON (공식 스펙에 맞게 최소 필수만 구성)
-            String paramsJson = buildParamsJson(effectiveLanguage);
-
-            // 2) multipart/form-data 구성
-            MultiValueMap<String, Object> multipart = new LinkedMultiValueMap<>();
-
-            // media 파트
-            ByteArrayResource media = new ByteArrayResource(audioBytes) {
-                @Override
-                public String getFilename() {
-                    return "audio.wav"; // 확장자만 맞춰주면 됨
-                }
-            };
-            multipart.add("media", media);
-
-            // params 파트: application/json 으로 보낸다
-            HttpHeaders paramsHeaders = new HttpHeaders();
-            paramsHeaders.setContentType(new MediaType("application", "json", StandardCharsets.UTF_8));
-            org.springframework.http.HttpEntity<String> paramsEntity =
-                    new org.springframework.http.HttpEntity<>(paramsJson, paramsHeaders);
-            multipart.add("params", paramsEntity);
-
-            // 3) 호출
-            ClovaApiResponse response = webClient.post()
-                    .uri("/recognizer/upload")
-                    .contentType(MediaType.MULTIPART_FORM_DATA)
-                    .body(BodyInserters.fromMultipartData(multipart))
-                    .retrieve()
-                    .bodyToMono(ClovaApiResponse.class)
-                    .block();
-
-            if (response == null) {
-                throw new IllegalStateException("Clova Speech 응답이 비어 있습니다.");
+        return recognizeAsync(new ByteArrayResource(audioBytes) {
+            @Override
+            public String getFilename() {
+                return "audio.wav"; // 확장자만 맞춰주면 됨
             }
+        }, languageOverride);
+    }
 
-            if (!"COMPLETED".equalsIgnoreCase(response.getResult())) {
-                log.error("Clova Speech 비정상 응답: result={}, message={}",
-                        response.getResult(), response.getMessage());
-                throw new IllegalStateException("Clova Speech 비정상 응답: " +
-                        response.getResult() + " - " + response.getMessage());
-            }
+    public ClovaResult recognize(Resource media, String languageOverride) {
+        return recognizeAsync(media, languageOverride).block();
+    }
+
+    /**
+     * 파일(FileSystemResource 등)을 그대로 multipart body 로 흘려보내는 STT.
+     * - 본문은 DataBuffer 단위로 읽어 전송하므로 음성 전체를 heap 에 올리지 않는다
+     * - 재시도 시에는 Resource 를 처음부터 다시 읽는다
+     */
+    public Mono<ClovaResult> recognizeAsync(Resource media, String languageOverride) {
+        String effectiveLanguage = StringUtils.hasText(languageOverride) ? languageOverride : this.language;
+
+        Mono<ClovaApiResponse> call = Mono.defer(() -> webClient.post()
+                .uri("/recognizer/upload")
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(buildMultipart(media, effectiveLanguage)))
+                .retrieve()
+                .bodyToMono(ClovaApiResponse.class));
+
+        return ClientRetry.apply(call, timeout, maxRetries, retryBackoff)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Clova Speech 응답이 비어 있습니다.")))
+                .map(this::toResult)
+                .onErrorMap(e -> !(e instanceof IllegalStateException), this::toClientError);
+    }
+
+    private MultiValueMap<String, Object> buildMultipart(Resource media, String effectiveLanguage) {
+        // 1) params JSON (공식 스펙에 맞게 최소 필수만 구성)
+        String paramsJson = buildParamsJson(effectiveLanguage);
+
+        // 2) multipart/form-data 구성
+        MultiValueMap<String, Object> multipart = new LinkedMultiValueMap<>();
+
+        // media 파트 (파일명 확장자로 형식 판별)
+        multipart.add("media", media);
+
+        // params 파트: application/json 으로 보낸다
+        HttpHeaders paramsHeaders = new HttpHeaders();
+        paramsHeaders.setContentType(new MediaType("application", "json", StandardCharsets.UTF_8));
+        org.springframework.http.HttpEntity<String> paramsEntity =
+                new org.springframework.http.HttpEntity<>(paramsJson, paramsHeaders);
+        multipart.add("params", paramsEntity);
+        return multipart;
+    }
+
+    private ClovaResult toResult(ClovaApiResponse response) {
+        if (!"COMPLETED".equalsIgnoreCase(response.getResult())) {
+            log.error("Clova Speech 비정상 응답: result={}, message={}",
+                    response.getResult(), response.getMessage());
+            throw new IllegalStateException("Clova Speech 비정상 응답: " +
+                    response.getResult() + " - " + response.getMessage());
+        }
+
+        String textResult = Optional.ofNullable(response.getText()).orElse("");
+
+        List<SpeakerSegment> segments = Optional.ofNullable(response.getSegments())
+                .orElse(Collections.emptyList())
+                .stream()
+                .map(seg -> new SpeakerSegment(
+                        seg.getText(),
+                        extractSpeakerLabel(seg),
+                        seg.getStart(),
+                        seg.getEnd()
+                ))
+                .collect(Collectors.toList());
+
+        return new ClovaResult(textResult, segments);
+    }
 
-            String textResult = Optional.ofNullable(response.getText()).orElse("");
-
-            List<SpeakerSegment> segments = Optional.ofNullable(response.getSegments())
-                    .orElse(Collections.emptyList())
-                    .stream()
-                    .map(seg -> new SpeakerSegment(
-                            seg.getText(),
-                            extractSpeakerLabel(seg),
-                            seg.getStart(),
-                            seg.getEnd()
-                    ))
-                    .collect(Collectors.toList());
-
-            return new ClovaResult(textResult, segments);
-
-        } catch (WebClientResponseException e) {
-            String body = e.getResponseBodyAsString(StandardCharsets.UTF_8);
-            log.error("Clova Speech HTTP {} Error Body: {}", e.getRawStatusCode(), body);
-            throw new IllegalStateException(
-                    "Clova Speech HTTP 오류: " + e.getRawStatusCode() + " " + e.getStatusText(),
-                    e
+    private Throwable toClientError(Throwable e) {
+        if (e instanceof WebClientResponseException) {
+            WebClientResponseException we = (WebClientResponseException) e;
+            String body = we.getResponseBodyAsString(StandardCharsets.UTF_8);
+            log.error("Clova Speech HTTP {} Error Body: {}", we.getRawStatusCode(), body);
+            return new IllegalStateException(
+                    "Clova Speech HTTP 오류: " + we.getRawStatusCode() + " " + we.getStatusText(),
+                    we
             );
-        } catch (Exception e) {
-            log.error("Clova Speech 호출 중 예기치 못한 오류", e);
-            throw new IllegalStateException("Clova Speech 호출 실패: " + e.getMessage(), e);
         }
+        log.error("Clova Speech 호출 중 예기치 못한 오류", e);
+        return new IllegalStateException("Clova Speech 호출 실패: " + e.getMessage(), e);
     }
 
     private String buildParamsJson(String language) {
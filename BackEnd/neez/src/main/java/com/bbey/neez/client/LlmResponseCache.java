@@ -0,0 +1,336 @@
+package com.bbey.neez.client;
+
+import com.bbey.neez.component.DataCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Gemini 응답 캐시 (content-addressed)
+ *
+ * - 키: sha-256(model, temperature, prompt 버전, 최대 토큰, 프롬프트 전문) → 전사본이 같으면 같은 키
+ * - 크기(LRU) + TTL 기준으로 만료
+ * - 같은 키로 동시에 들어온 요청은 Gemini 를 한 번만 호출하고 결과를 나눠 받는다 (single-flight)
+ * - gemini.cache.persist=true 이고 gemini.cache.file 이 지정된 경우에만 디스크에 남긴다 (기본은 메모리만)
+ *   새 응답은 로그 파일에 바로 append → 재기동 시 다시 읽고, 로그가 커지면 살아있는 항목만 남겨 다시 쓴다
+ *   로그에는 회의 전사본 요약이 들어가므로 파일은 0600 으로 만든다
+ * - 파일 쓰기는 조회 락(this) 밖에서 별도 logLock 으로 직렬화 → 디스크가 느려도 캐시 조회는 막히지 않는다
+ * - 지표: gemini.cache.hits / misses / coalesced, gemini.cache.size
+ */
+@Slf4j
+@Component
+public class LlmResponseCache {
+
+    private static final int LOG_VERSION = 1;
+    private static final Set<PosixFilePermission> FILE_PERMISSIONS = PosixFilePermissions.fromString("rw-------");
+
+    private final int maxEntries;
+    private final long ttlMs;
+    private final Path logFile;
+
+    private final LinkedHashMap<String, Entry> entries;
+    private final ConcurrentMap<String, Mono<String>> inFlight = new ConcurrentHashMap<>();
+
+    /** logOut / logRecords 보호 (entries 는 this 로 보호) */
+    private final Object logLock = new Object();
+    private DataOutputStream logOut;
+    private long logRecords;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+
+    public LlmResponseCache(MeterRegistry meterRegistry,
+                            @Value("${gemini.cache.max-entries:5000}") int maxEntries,
+                            @Value("${gemini.cache.ttl-ms:604800000}") long ttlMs,
+                            @Value("${gemini.cache.persist:false}") boolean persist,
+                            @Value("${gemini.cache.file:}") String logFile) {
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlMs;
+        if (persist && !StringUtils.hasText(logFile)) {
+            log.warn("gemini.cache.persist is on but gemini.cache.file is not set, keeping LLM cache in memory only");
+        }
+        this.logFile = persist && StringUtils.hasText(logFile) ? Paths.get(logFile) : null;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > LlmResponseCache.this.maxEntries;
+            }
+        };
+
+        this.hits = Counter.builder("gemini.cache.hits").register(meterRegistry);
+        this.misses = Counter.builder("gemini.cache.misses").register(meterRegistry);
+        this.coalesced = Counter.builder("gemini.cache.coalesced").register(meterRegistry);
+        Gauge.builder("gemini.cache.size", this, LlmResponseCache::size).register(meterRegistry);
+    }
+
+    /**
+     * 캐시 키 (model / temperature / prompt 버전 / 최대 토큰 / 프롬프트 전문)
+     */
+    public String key(String model, double temperature, int promptVersion, int maxOutputTokens, String prompt) {
+        return DataCodec.sha256Hex(model + '|' + temperature + '|' + promptVersion + '|' + maxOutputTokens + '|' + prompt);
+    }
+
+    /**
+     * 캐시에 있으면 바로, 없으면 call 을 한 번만 실행해서 결과를 저장
+     * - 같은 키로 진행 중인 호출이 있으면 그 결과를 같이 기다린다
+     * - cacheable 이 false 인 결과(빈 응답 등)는 저장하지 않는다
+     */
+    public Mono<String> get(String key, Supplier<Mono<String>> call, Predicate<String> cacheable) {
+        return Mono.defer(() -> {
+            String cached = lookup(key);
+            if (cached != null) {
+                hits.increment();
+                return Mono.just(cached);
+            }
+            boolean[] created = new boolean[1];
+            // 끝난 호출이 같은 키로 새로 시작된 호출을 지우지 않도록 자기 Mono 일 때만 제거
+            AtomicReference<Mono<String>> self = new AtomicReference<>();
+            Mono<String> shared = inFlight.computeIfAbsent(key, k -> {
+                created[0] = true;
+                self.set(call.get()
+                        .doOnNext(value -> {
+                            if (cacheable.test(value)) {
+                                put(k, value);
+                            }
+                        })
+                        .doFinally(signal -> inFlight.remove(k, self.get()))
+                        .cache());
+                return self.get();
+            });
+            if (created[0]) {
+                misses.increment();
+            } else {
+                coalesced.increment();
+            }
+            return shared;
+        });
+    }
+
+    private synchronized String lookup(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    private void put(String key, String value) {
+        Entry entry = new Entry(key, value, System.currentTimeMillis() + ttlMs);
+        synchronized (this) {
+            entries.put(key, entry);
+        }
+        append(entry);
+    }
+
+    private synchronized int size() {
+        return entries.size();
+    }
+
+    // ===================== append-only log =====================
+
+    /**
+     * 기동 시 로그를 읽어 만료 안 된 항목만 올리고, 살아있는 항목만으로 로그를 다시 쓴다
+     */
+    @PostConstruct
+    public void load() {
+        if (logFile == null) {
+            return;
+        }
+        synchronized (this) {
+            readLog();
+        }
+        synchronized (logLock) {
+            compact();
+        }
+    }
+
+    private void readLog() {
+        if (Files.isRegularFile(logFile)) {
+            long now = System.currentTimeMillis();
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(logFile)))) {
+                if (in.readInt() != LOG_VERSION) {
+                    log.warn("Ignoring LLM cache log with unknown version: {}", logFile);
+                } else {
+                    while (true) {
+                        Entry entry;
+                        try {
+                            entry = readEntry(in);
+                        } catch (EOFException eof) {
+                            break; // 마지막 레코드가 쓰다 만 상태면 거기까지만
+                        }
+                        if (entry.expiresAt > now) {
+                            entries.put(entry.key, entry);
+                        } else {
+                            entries.remove(entry.key);
+                        }
+                    }
+                }
+                log.info("Loaded {} LLM cache entries from {}", entries.size(), logFile);
+            } catch (IOException e) {
+                log.warn("Failed to load LLM cache log {}: {}", logFile, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 로그에 쌓인 레코드가 살아있는 항목의 2배를 넘으면 다시 쓴다 (만료/교체된 레코드 제거)
+     */
+    @Scheduled(fixedDelayString = "${gemini.cache.compact-interval-ms:600000}",
+            initialDelayString = "${gemini.cache.compact-interval-ms:600000}")
+    public void compactIfNeeded() {
+        if (logFile == null) {
+            return;
+        }
+        int live = size();
+        synchronized (logLock) {
+            if (logRecords > 2L * Math.max(live, 1)) {
+                compact();
+            }
+        }
+    }
+
+    /** logLock 을 쥔 상태에서 호출 */
+    private void compact() {
+        closeLog();
+        try {
+            Path parent = logFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            // 임시 파일에 다 쓴 뒤 교체 → 쓰는 도중 죽어도 이전 로그는 온전
+            Path tmp = posix(parent)
+                    ? Files.createTempFile(parent, "llm-cache", ".tmp", PosixFilePermissions.asFileAttribute(FILE_PERMISSIONS))
+                    : Files.createTempFile(parent, "llm-cache", ".tmp");
+            List<Entry> live = liveEntries();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(LOG_VERSION);
+                for (Entry entry : live) {
+                    writeEntry(out, entry);
+                }
+            }
+            Files.move(tmp, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logRecords = live.size();
+
+            logOut = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(logFile, StandardOpenOption.APPEND)));
+        } catch (IOException e) {
+            log.warn("Failed to compact LLM cache log {}: {}", logFile, e.getMessage());
+        }
+    }
+
+    private synchronized List<Entry> liveEntries() {
+        long now = System.currentTimeMillis();
+        List<Entry> live = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            if (entry.expiresAt > now) {
+                live.add(entry);
+            }
+        }
+        return live;
+    }
+
+    private void append(Entry entry) {
+        if (logFile == null) {
+            return;
+        }
+        synchronized (logLock) {
+            if (logOut == null) {
+                return;
+            }
+            try {
+                writeEntry(logOut, entry);
+                logOut.flush();
+                logRecords++;
+            } catch (IOException e) {
+                log.warn("Failed to append to LLM cache log {}: {}", logFile, e.getMessage());
+                closeLog();
+            }
+        }
+    }
+
+    private static boolean posix(Path dir) {
+        return (dir != null ? dir.getFileSystem() : FileSystems.getDefault())
+                .supportedFileAttributeViews().contains("posix");
+    }
+
+    @PreDestroy
+    public void close() {
+        synchronized (logLock) {
+            closeLog();
+        }
+    }
+
+    private void closeLog() {
+        if (logOut != null) {
+            try {
+                logOut.close();
+            } catch (IOException ignore) {
+                // 닫기 실패는 무시
+            }
+            logOut = null;
+        }
+    }
+
+    private static void writeEntry(DataOutputStream out, Entry entry) throws IOException {
+        DataCodec.writeString(out, entry.key);
+        out.writeLong(entry.expiresAt);
+        DataCodec.writeString(out, entry.value);
+    }
+
+    private static Entry readEntry(DataInputStream in) throws IOException {
+        String key = DataCodec.readString(in);
+        long expiresAt = in.readLong();
+        String value = DataCodec.readString(in);
+        return new Entry(key, value, expiresAt);
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final String value;
+        private final long expiresAt;
+
+        private Entry(String key, String value, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -7,6 +7,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+
 @Component
 public class NaverCsrSttClient {
 
@@ -14,14 +16,23 @@ public class NaverCsrSttClient {
 
   private final WebClient webClient;
   private final String language;
+  private final Duration timeout;
+  private final int maxRetries;
+  private final Duration retryBackoff;
 
   public NaverCsrSttClient(
       @Value("${naver.cloud.stt.client-id}") String clientId,
       @Value("${naver.cloud.stt.client-secret}") String clientSecret,
       @Value("${naver.cloud.stt.language:Kor}") String language,
-      @Value("${naver.cloud.stt.base-url:https://naveropenapi.apigw.ntruss.com}") String baseUrl) {
+      @Value("${naver.cloud.stt.base-url:https://naveropenapi.apigw.ntruss.com}") String baseUrl,
+      @Value("${naver.cloud.stt.timeout-ms:20000}") long timeoutMs,
+      @Value("${naver.cloud.stt.max-retries:2}") int maxRetries,
+      @Value("${naver.cloud.stt.retry-backoff-ms:300}") long retryBackoffMs) {
 
     this.language = language;
+    this.timeout = Duration.ofMillis(timeoutMs);
+    this.maxRetries = maxRetries;
+    this.retryBackoff = Duration.ofMillis(retryBackoffMs);
 
     this.webClient = WebClient.builder()
         .baseUrl(baseUrl)
@@ -31,25 +42,35 @@ public class NaverCsrSttClient {
   }
 
   public String recognize(byte[] data) {
+    return recognizeAsync(data).block();
+  }
+
+  /**
+   * 비동기 STT (timeout / 연결 실패 · 429 · 503 재시도 포함, 구독 취소 시 요청도 취소)
+   */
+  public Mono<String> recognizeAsync(byte[] data) {
     if (data == null || data.length == 0) {
-      throw new IllegalArgumentException("Audio payload must not be empty.");
+      return Mono.error(new IllegalArgumentException("Audio payload must not be empty."));
     }
 
-    return webClient.post()
+    Mono<CsrResponse> call = Mono.defer(() -> webClient.post()
         .uri(builder -> builder.path("/recog/v1/stt").queryParam("lang", language).build())
         .contentType(MediaType.APPLICATION_OCTET_STREAM)
         .bodyValue(data)
         .retrieve()
         .onStatus(HttpStatus::isError, response ->
-            response.bodyToMono(String.class)
-                .defaultIfEmpty("N/A")
-                .flatMap(msg -> Mono.error(new RuntimeException(
-                    String.format("CSR request failed: %s - %s", response.statusCode(), msg)
-                )))
+            response.createException()
+                .flatMap(ex -> Mono.error(ex.getRawStatusCode() == 429 || ex.getRawStatusCode() == 503
+                    // 재시도 대상(429 / 503)은 원래 예외 그대로
+                    ? ex
+                    : new RuntimeException(String.format("CSR request failed: %s - %s",
+                        response.statusCode(), ex.getResponseBodyAsString()))))
         )
-        .bodyToMono(CsrResponse.class)
-        .map(resp -> resp != null && resp.getText() != null ? resp.getText() : FALLBACK_MESSAGE)
-        .block();
+        .bodyToMono(CsrResponse.class));
+
+    return ClientRetry.apply(call, timeout, maxRetries, retryBackoff)
+        .map(resp -> resp.getText() != null ? resp.getText() : FALLBACK_MESSAGE)
+        .defaultIfEmpty(FALLBACK_MESSAGE);
   }
 
   public static class CsrResponse {
@@ -8,6 +8,9 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
 import java.util.Collections;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.util.List;
@@ -17,18 +20,75 @@ import java.util.List;
 public class OpenAiChatClient {
 
     private static final String FALLBACK_MESSAGE = "- 요약 기능이 비활성화되었습니다.";
+    private static final String EMPTY_RESULT = "- 요약 결과가 비어 있습니다.";
+
+    private static final String SUMMARY_RULES =
+            "1. 반드시 한국어로 작성한다.\n" +
+            "2. 출력은 '-' 로 시작하는 bullet list만 작성한다.\n" +
+            "3. 회의가 짧으면 1~2개의 bullet, 길면 주요 논의/결정/액션 위주로 여러 bullet 작성.\n" +
+            "4. '회의 내용이 짧다', '요약이 어렵다', '맥락이 부족하다' 등의 설명은 절대 쓰지 않는다.\n" +
+            "5. bullet 외의 문장, 제목, 마크다운(## 등), 결론 등은 절대 작성하지 않는다.\n";
+
+    /** 회의 전문 → 요약 (짧은 회의는 이 한 번으로 끝) */
+    private static final String SUMMARY_PROMPT =
+            "너는 회의/통화 내용을 요약하는 전문가이다.\n" +
+            "아래 규칙을 반드시 지켜서 요약을 작성하라.\n" +
+            "\n" + SUMMARY_RULES + "\n" +
+            "다음은 요약할 회의 전문이다:\n";
+
+    /** [map] 긴 회의의 일부 구간 → 부분 요약 */
+    private static final String SECTION_PROMPT =
+            "너는 회의/통화 내용을 요약하는 전문가이다.\n" +
+            "아래는 긴 회의의 일부 구간이다. 나중에 다른 구간 요약과 합쳐지므로,\n" +
+            "이 구간에서 나온 논의/결정/액션/수치/이름을 빠짐없이 짧게 정리하라.\n" +
+            "\n" + SUMMARY_RULES + "\n" +
+            "다음은 회의의 일부 구간이다:\n";
+
+    /** [reduce] 구간 요약들 → 전체 요약 */
+    private static final String MERGE_PROMPT =
+            "너는 회의/통화 내용을 요약하는 전문가이다.\n" +
+            "아래는 한 회의를 시간 순서대로 나눈 구간별 요약이다.\n" +
+            "중복은 합치고, 나중 구간에서 바뀐 결정은 최종 결정 기준으로 하나의 요약으로 정리하라.\n" +
+            "\n" + SUMMARY_RULES + "\n" +
+            "다음은 구간별 요약이다:\n";
+
+    /** [rolling] 지금까지의 요약 + 새로 들어온 발화 → 갱신된 요약 */
+    private static final String FOLD_PROMPT =
+            "너는 회의/통화 내용을 요약하는 전문가이다.\n" +
+            "아래는 진행 중인 회의의 지금까지 요약과, 그 이후 새로 나온 발화이다.\n" +
+            "새 발화 내용을 반영해 요약을 갱신하라. 바뀐 결정은 최신 기준으로 고친다.\n" +
+            "\n" + SUMMARY_RULES + "\n";
+
+    /** 프롬프트 문구를 바꾸면 올릴 것 (이전 응답 캐시 무효화) */
+    private static final int PROMPT_VERSION = 1;
+
+    private static final int SUMMARY_MAX_TOKENS = 512;
+    private static final int SECTION_MAX_TOKENS = 384;
+    private static final int MERGE_MAX_TOKENS = 1024;
 
     private final WebClient webClient;
     private final String model;
     private final double temperature;
     private final boolean enabled;
+    private final Duration timeout;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+    private final LlmResponseCache responseCache;
 
     public OpenAiChatClient(
+            LlmResponseCache responseCache,
             @Value("${gemini.api-key}") String apiKey,
             @Value("${gemini.model}") String model,
             @Value("${gemini.temperature:0.2}") double temperature,
-            @Value("${gemini.base-url}") String baseUrl) {
+            @Value("${gemini.base-url}") String baseUrl,
+            @Value("${gemini.timeout-ms:60000}") long timeoutMs,
+            @Value("${gemini.max-retries:2}") int maxRetries,
+            @Value("${gemini.retry-backoff-ms:500}") long retryBackoffMs) {
+        this.responseCache = responseCache;
         this.model = model;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.maxRetries = maxRetries;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMs);
         this.temperature = temperature;
         this.enabled = StringUtils.hasText(apiKey);
 
@@ -43,34 +103,105 @@ public class OpenAiChatClient {
      * 회의 내용 요약
      */
     public String summarize(String transcript) {
+        return summarizeAsync(transcript).block();
+    }
+
+    /**
+     * 비동기 요약 (timeout / 연결 실패 · 429 · 503 재시도 포함, 구독 취소 시 요청도 취소)
+     */
+    public Mono<String> summarizeAsync(String transcript) {
         if (!enabled)
-            return FALLBACK_MESSAGE;
+            return Mono.just(FALLBACK_MESSAGE);
         if (!StringUtils.hasText(transcript))
-            return "- 회의 내용이 비어 있습니다.";
-
-        try {
-            GeminiRequest request = GeminiRequest.fromTranscript(transcript, temperature);
+            return Mono.just("- 회의 내용이 비어 있습니다.");
 
-            GeminiResponse response = webClient.post()
-                    .uri("/models/{model}:generateContent", model)
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(GeminiResponse.class)
-                    .block();
+        return generate(SUMMARY_PROMPT + transcript, SUMMARY_MAX_TOKENS);
+    }
 
-            if (response == null || response.candidates == null || response.candidates.isEmpty())
-                return "- 요약 결과가 비어 있습니다.";
+    /**
+     * [map] 회의 일부 구간 요약
+     */
+    public Mono<String> summarizeSectionAsync(String section) {
+        if (!enabled)
+            return Mono.just(FALLBACK_MESSAGE);
+        if (!StringUtils.hasText(section))
+            return Mono.just("");
 
-            GeminiResponse.Candidate candidate = response.candidates.get(0);
-            if (candidate == null || candidate.content == null)
-                return "- 요약 결과가 비어 있습니다.";
+        return generate(SECTION_PROMPT + section, SECTION_MAX_TOKENS);
+    }
 
-            return candidate.content.extractTextOnly();
+    /**
+     * [reduce] 구간 요약들을 시간 순서대로 합쳐 하나의 요약으로
+     */
+    public Mono<String> mergeSummariesAsync(List<String> summaries) {
+        if (!enabled)
+            return Mono.just(FALLBACK_MESSAGE);
 
-        } catch (WebClientResponseException e) {
-            log.error("Gemini 요약 호출 실패 (HTTP {}): {}", e.getRawStatusCode(), e.getResponseBodyAsString());
-            throw e;
+        StringBuilder sb = new StringBuilder(MERGE_PROMPT);
+        int part = 1;
+        for (String summary : summaries) {
+            if (StringUtils.hasText(summary)) {
+                sb.append("\n[구간 ").append(part++).append("]\n").append(summary.trim()).append('\n');
+            }
         }
+        if (part == 1)
+            return Mono.just("- 회의 내용이 비어 있습니다.");
+
+        return generate(sb.toString(), MERGE_MAX_TOKENS);
+    }
+
+    /**
+     * [rolling] 기존 요약에 새 발화를 반영 (요약 길이만큼만 다시 보내므로 회의가 길어져도 비용 일정)
+     */
+    public Mono<String> foldSummaryAsync(String previousSummary, String addition) {
+        if (!enabled)
+            return Mono.just(FALLBACK_MESSAGE);
+        if (!StringUtils.hasText(addition))
+            return Mono.just(previousSummary);
+        if (!StringUtils.hasText(previousSummary))
+            return summarizeAsync(addition);
+
+        String prompt = FOLD_PROMPT +
+                "[지금까지 요약]\n" + previousSummary.trim() + "\n\n" +
+                "[새 발화]\n" + addition;
+        return generate(prompt, SUMMARY_MAX_TOKENS);
+    }
+
+    /**
+     * 같은 (model, temperature, prompt 버전, 프롬프트) 면 캐시된 응답을 쓰고,
+     * 동시에 같은 요청이 오면 한 번만 호출한다. 빈 응답은 캐시하지 않음.
+     */
+    private Mono<String> generate(String prompt, int maxOutputTokens) {
+        String key = responseCache.key(model, temperature, PROMPT_VERSION, maxOutputTokens, prompt);
+        return responseCache.get(key,
+                () -> call(prompt, maxOutputTokens),
+                text -> StringUtils.hasText(text) && !EMPTY_RESULT.equals(text));
+    }
+
+    private Mono<String> call(String prompt, int maxOutputTokens) {
+        GeminiRequest request = GeminiRequest.of(prompt, temperature, maxOutputTokens);
+
+        Mono<GeminiResponse> call = Mono.defer(() -> webClient.post()
+                .uri("/models/{model}:generateContent", model)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(GeminiResponse.class));
+
+        return ClientRetry.apply(call, timeout, maxRetries, retryBackoff)
+                .map(response -> {
+                    if (response.candidates == null || response.candidates.isEmpty())
+                        return EMPTY_RESULT;
+
+                    GeminiResponse.Candidate candidate = response.candidates.get(0);
+                    if (candidate == null || candidate.content == null)
+                        return EMPTY_RESULT;
+
+                    String text = candidate.content.extractTextOnly();
+                    return text != null ? text : EMPTY_RESULT;
+                })
+                .defaultIfEmpty(EMPTY_RESULT)
+                .doOnError(WebClientResponseException.class, e ->
+                        log.error("Gemini 요약 호출 실패 (HTTP {}): {}", e.getRawStatusCode(), e.getResponseBodyAsString()));
     }
 
     // -------------------------------------------------------
@@ -90,23 +221,9 @@ public class OpenAiChatClient {
             this.generationConfig = generationConfig;
         }
 
-        public static GeminiRequest fromTranscript(String transcript, double temperature) {
-
-            String prompt = "너는 회의/통화 내용을 요약하는 전문가이다.\n" +
-                    "아래 규칙을 반드시 지켜서 요약을 작성하라.\n" +
-                    "\n" +
-                    "1. 반드시 한국어로 작성한다.\n" +
-                    "2. 출력은 '-' 로 시작하는 bullet list만 작성한다.\n" +
-                    "3. 회의가 짧으면 1~2개의 bullet, 길면 주요 논의/결정/액션 위주로 여러 bullet 작성.\n" +
-                    "4. '회의 내용이 짧다', '요약이 어렵다', '맥락이 부족하다' 등의 설명은 절대 쓰지 않는다.\n" +
-                    "5. bullet 외의 문장, 제목, 마크다운(## 등), 결론 등은 절대 작성하지 않는다.\n" +
-                    "\n" +
-                    "다음은 요약할 회의 전문이다:\n";
-
-            String fullText = prompt + transcript;
-
-            Content userMsg = Content.user(fullText);
-            GenerationConfig config = new GenerationConfig(temperature, 512);
+        public static GeminiRequest of(String prompt, double temperature, int maxOutputTokens) {
+            Content userMsg = Content.user(prompt);
+            GenerationConfig config = new GenerationConfig(temperature, maxOutputTokens);
 
             return new GeminiRequest(Collections.singletonList(userMsg), config);
         }
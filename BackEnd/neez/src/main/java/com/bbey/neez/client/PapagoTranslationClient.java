@@ -1,5 +1,6 @@
 package com.bbey.neez.client;
 
+import java.time.Duration;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,6 +11,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 /**
  * Minimal client for Naver Papago NMT API.
@@ -21,11 +23,24 @@ public class PapagoTranslationClient {
 
   private final WebClient webClient;
   private final boolean enabled;
+  private final TranslationCache cache;
+  private final Duration timeout;
+  private final int maxRetries;
+  private final Duration retryBackoff;
 
   public PapagoTranslationClient(WebClient.Builder builder,
+                                 TranslationCache cache,
                                  @Value("${naver.papago.x-ncp-apigw-api-key-id:}") String apiKeyId,
                                  @Value("${naver.papago.x-ncp-apigw-api-key:}") String apiKey,
-                                 @Value("${naver.papago.base-url:https://papago.apigw.ntruss.com}") String baseUrl) {
+                                 @Value("${naver.papago.base-url:https://papago.apigw.ntruss.com}") String baseUrl,
+                                 @Value("${naver.papago.timeout-ms:5000}") long timeoutMs,
+                                 @Value("${naver.papago.max-retries:2}") int maxRetries,
+                                 @Value("${naver.papago.retry-backoff-ms:200}") long retryBackoffMs) {
+
+    this.cache = cache;
+    this.timeout = Duration.ofMillis(timeoutMs);
+    this.maxRetries = maxRetries;
+    this.retryBackoff = Duration.ofMillis(retryBackoffMs);
 
     if (!StringUtils.hasText(apiKeyId) || !StringUtils.hasText(apiKey)) {
       log.warn("Papago API key not configured (naver.papago.api-key-id/api-key). Translation disabled.");
@@ -43,8 +58,19 @@ public class PapagoTranslationClient {
   }
 
   public Optional<String> translate(String text, String sourceLang, String targetLang) {
+    return translateAsync(text, sourceLang, targetLang).blockOptional();
+  }
+
+  public Optional<String> translateToKoreanAuto(String text) {
+    return translateToKoreanAutoAsync(text).blockOptional();
+  }
+
+  /**
+   * 비동기 번역. 비활성/입력 없음/호출 실패 시 empty (동기 API 의 Optional.empty 와 동일).
+   */
+  public Mono<String> translateAsync(String text, String sourceLang, String targetLang) {
     if (!enabled || !StringUtils.hasText(text) || !StringUtils.hasText(targetLang)) {
-      return Optional.empty();
+      return Mono.empty();
     }
 
     return translateInternal(text,
@@ -52,67 +78,83 @@ public class PapagoTranslationClient {
         normalizeLanguage(targetLang, "en"));
   }
 
-  public Optional<String> translateToKoreanAuto(String text) {
+  /**
+   * 언어 감지 후 한국어로 번역 (감지 실패 시 auto)
+   */
+  public Mono<String> translateToKoreanAutoAsync(String text) {
     if (!enabled || !StringUtils.hasText(text)) {
-      return Optional.empty();
+      return Mono.empty();
     }
 
-    String detected = detectLanguage(text).orElse("auto");
-    return translateInternal(text, detected, "ko");
+    return detectLanguageAsync(text)
+        .defaultIfEmpty("auto")
+        .flatMap(detected -> translateInternal(text, detected, "ko"));
   }
 
-  private Optional<String> translateInternal(String text, String source, String target) {
-    try {
-      PapagoResponse response = webClient.post()
-          .uri("/nmt/v1/translation")
-          .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-          .body(BodyInserters
-              .fromFormData("source", source)
-              .with("target", target)
-              .with("text", text))
-          .retrieve()
-          .bodyToMono(PapagoResponse.class)
-          .block();
-
-      if (response == null
-          || response.getMessage() == null
-          || response.getMessage().getResult() == null) {
-        return Optional.empty();
-      }
-      return Optional.ofNullable(response.getMessage().getResult().getTranslatedText());
-    } catch (WebClientResponseException e) {
-      log.error("Papago translation HTTP {} error: {}", e.getRawStatusCode(),
-          e.getResponseBodyAsString(), e);
-    } catch (Exception e) {
-      log.error("Papago translation failed", e);
-    }
-
-    return Optional.empty();
+  private Mono<String> translateInternal(String text, String source, String target) {
+    String key = cache.translationKey(text, source, target);
+    String cached = cache.getTranslation(key);
+    if (cached != null) {
+      return Mono.just(cached);
+    }
+
+    Mono<PapagoResponse> call = Mono.defer(() -> webClient.post()
+        .uri("/nmt/v1/translation")
+        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+        .body(BodyInserters
+            .fromFormData("source", source)
+            .with("target", target)
+            .with("text", text))
+        .retrieve()
+        .bodyToMono(PapagoResponse.class));
+
+    return ClientRetry.apply(call, timeout, maxRetries, retryBackoff)
+        .flatMap(response -> {
+          if (response.getMessage() == null || response.getMessage().getResult() == null) {
+            return Mono.<String>empty();
+          }
+          return Mono.justOrEmpty(response.getMessage().getResult().getTranslatedText());
+        })
+        .doOnNext(translated -> cache.putTranslation(key, translated))
+        .onErrorResume(e -> {
+          logError("Papago translation", e);
+          return Mono.empty();
+        });
   }
 
-  private Optional<String> detectLanguage(String text) {
+  private Mono<String> detectLanguageAsync(String text) {
     if (!StringUtils.hasText(text)) {
-      return Optional.empty();
-    }
-    try {
-      DetectResponse response = webClient.post()
-          .uri("/langs/v1/dect")
-          .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-          .body(BodyInserters.fromFormData("query", text))
-          .retrieve()
-          .bodyToMono(DetectResponse.class)
-          .block();
-      if (response == null) {
-        return Optional.empty();
-      }
-      return Optional.ofNullable(response.getLangCode());
-    } catch (WebClientResponseException e) {
-      log.error("Papago language detection HTTP {} error: {}", e.getRawStatusCode(),
-          e.getResponseBodyAsString(), e);
-    } catch (Exception e) {
-      log.error("Papago language detection failed", e);
-    }
-    return Optional.empty();
+      return Mono.empty();
+    }
+    String key = cache.detectionKey(text);
+    String cached = cache.getDetection(key);
+    if (cached != null) {
+      return Mono.just(cached);
+    }
+
+    Mono<DetectResponse> call = Mono.defer(() -> webClient.post()
+        .uri("/langs/v1/dect")
+        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+        .body(BodyInserters.fromFormData("query", text))
+        .retrieve()
+        .bodyToMono(DetectResponse.class));
+
+    return ClientRetry.apply(call, timeout, maxRetries, retryBackoff)
+        .flatMap(response -> Mono.justOrEmpty(response.getLangCode()))
+        .doOnNext(langCode -> cache.putDetection(key, langCode))
+        .onErrorResume(e -> {
+          logError("Papago language detection", e);
+          return Mono.empty();
+        });
+  }
+
+  private void logError(String what, Throwable e) {
+    if (e instanceof WebClientResponseException) {
+      WebClientResponseException we = (WebClientResponseException) e;
+      log.error("{} HTTP {} error: {}", what, we.getRawStatusCode(), we.getResponseBodyAsString(), we);
+    } else {
+      log.error("{} failed", what, e);
+    }
   }
 
   private String normalizeLanguage(String lang, String defaultValue) {
@@ -0,0 +1,247 @@
+package com.bbey.neez.client;
+
+import com.bbey.neez.component.DataCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Papago 번역/언어감지 결과 캐시
+ *
+ * - 키: sha-256(정규화 텍스트) + source + target (감지는 텍스트 해시만)
+ * - 크기(LRU) + TTL 기준으로 만료
+ * - 지표: papago.cache.hits / misses / evictions (tag cache=translation|detection), papago.cache.size
+ * - naver.papago.cache.spill-file 을 지정하면 종료 시/주기적으로 파일에 내려두고 기동 시 다시 읽는다
+ */
+@Component
+public class TranslationCache {
+
+  private static final Logger log = LoggerFactory.getLogger(TranslationCache.class);
+
+  private static final int SPILL_VERSION = 1;
+  private static final byte TYPE_TRANSLATION = 0;
+  private static final byte TYPE_DETECTION = 1;
+
+  private final LruTtlMap translations;
+  private final LruTtlMap detections;
+  private final long ttlMs;
+  private final Path spillFile;
+
+  public TranslationCache(MeterRegistry meterRegistry,
+                          @Value("${naver.papago.cache.max-entries:20000}") int maxEntries,
+                          @Value("${naver.papago.cache.ttl-ms:86400000}") long ttlMs,
+                          @Value("${naver.papago.cache.spill-file:}") String spillFile) {
+    this.ttlMs = ttlMs;
+    this.spillFile = StringUtils.hasText(spillFile) ? Paths.get(spillFile) : null;
+    this.translations = new LruTtlMap("translation", maxEntries, meterRegistry);
+    this.detections = new LruTtlMap("detection", maxEntries, meterRegistry);
+  }
+
+  public String getTranslation(String key) {
+    return translations.get(key);
+  }
+
+  public void putTranslation(String key, String translated) {
+    if (StringUtils.hasText(translated)) {
+      translations.put(key, translated, System.currentTimeMillis() + ttlMs);
+    }
+  }
+
+  public String getDetection(String key) {
+    return detections.get(key);
+  }
+
+  public void putDetection(String key, String langCode) {
+    if (StringUtils.hasText(langCode)) {
+      detections.put(key, langCode, System.currentTimeMillis() + ttlMs);
+    }
+  }
+
+  public String translationKey(String text, String source, String target) {
+    return textHash(text) + '|' + source + '|' + target;
+  }
+
+  public String detectionKey(String text) {
+    return textHash(text);
+  }
+
+  /**
+   * 공백/유니코드 표기 차이만 있는 문장은 같은 키가 되도록 정규화 후 해시
+   */
+  static String textHash(String text) {
+    String normalized = Normalizer.normalize(text, Normalizer.Form.NFC)
+        .trim()
+        .replaceAll("\\s+", " ");
+    return DataCodec.sha256Hex(normalized);
+  }
+
+  // ===================== on-disk spill =====================
+
+  @PostConstruct
+  public void load() {
+    if (spillFile == null || !Files.isRegularFile(spillFile)) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    int loaded = 0;
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(spillFile)))) {
+      if (in.readInt() != SPILL_VERSION) {
+        log.warn("Ignoring translation cache spill file with unknown version: {}", spillFile);
+        return;
+      }
+      int count = in.readInt();
+      for (int i = 0; i < count; i++) {
+        byte type = in.readByte();
+        String key = DataCodec.readString(in);
+        long expiresAt = in.readLong();
+        String value = DataCodec.readString(in);
+        if (expiresAt <= now) {
+          continue;
+        }
+        (type == TYPE_DETECTION ? detections : translations).put(key, value, expiresAt);
+        loaded++;
+      }
+      log.info("Loaded {} translation cache entries from {}", loaded, spillFile);
+    } catch (IOException e) {
+      log.warn("Failed to load translation cache spill file {}: {}", spillFile, e.getMessage());
+    }
+  }
+
+  @PreDestroy
+  @Scheduled(fixedDelayString = "${naver.papago.cache.spill-interval-ms:600000}",
+      initialDelayString = "${naver.papago.cache.spill-interval-ms:600000}")
+  public void spill() {
+    if (spillFile == null) {
+      return;
+    }
+    List<Entry> translationEntries = translations.snapshot();
+    List<Entry> detectionEntries = detections.snapshot();
+    try {
+      Path parent = spillFile.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      // 임시 파일에 다 쓴 뒤 교체 → 쓰는 도중 죽어도 이전 파일은 온전
+      Path tmp = Files.createTempFile(parent, "translation-cache", ".tmp");
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+        out.writeInt(SPILL_VERSION);
+        out.writeInt(translationEntries.size() + detectionEntries.size());
+        writeEntries(out, TYPE_TRANSLATION, translationEntries);
+        writeEntries(out, TYPE_DETECTION, detectionEntries);
+      }
+      Files.move(tmp, spillFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      log.warn("Failed to spill translation cache to {}: {}", spillFile, e.getMessage());
+    }
+  }
+
+  private static void writeEntries(DataOutputStream out, byte type, List<Entry> entries) throws IOException {
+    for (Entry entry : entries) {
+      out.writeByte(type);
+      DataCodec.writeString(out, entry.key);
+      out.writeLong(entry.expiresAt);
+      DataCodec.writeString(out, entry.value);
+    }
+  }
+
+  // ===================== LRU + TTL map =====================
+
+  private static final class Entry {
+    private final String key;
+    private final String value;
+    private final long expiresAt;
+
+    private Entry(String key, String value, long expiresAt) {
+      this.key = key;
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  /**
+   * access-order LinkedHashMap 기반 LRU. 만료된 항목은 조회 시점에 제거한다.
+   */
+  private static final class LruTtlMap {
+    private final int maxEntries;
+    private final LinkedHashMap<String, Entry> map;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    private LruTtlMap(String name, int maxEntries, MeterRegistry meterRegistry) {
+      this.maxEntries = maxEntries;
+      this.map = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+          if (size() > LruTtlMap.this.maxEntries) {
+            evictions.increment();
+            return true;
+          }
+          return false;
+        }
+      };
+      this.hits = Counter.builder("papago.cache.hits").tag("cache", name).register(meterRegistry);
+      this.misses = Counter.builder("papago.cache.misses").tag("cache", name).register(meterRegistry);
+      this.evictions = Counter.builder("papago.cache.evictions").tag("cache", name).register(meterRegistry);
+      Gauge.builder("papago.cache.size", this, LruTtlMap::size).tag("cache", name).register(meterRegistry);
+    }
+
+    private synchronized String get(String key) {
+      Entry entry = map.get(key);
+      if (entry == null) {
+        misses.increment();
+        return null;
+      }
+      if (entry.expiresAt <= System.currentTimeMillis()) {
+        map.remove(key);
+        evictions.increment();
+        misses.increment();
+        return null;
+      }
+      hits.increment();
+      return entry.value;
+    }
+
+    private synchronized void put(String key, String value, long expiresAt) {
+      map.put(key, new Entry(key, value, expiresAt));
+    }
+
+    private synchronized int size() {
+      return map.size();
+    }
+
+    /** LRU 순서(오래된 것 → 최근)대로 만료 안 된 항목 복사 */
+    private synchronized List<Entry> snapshot() {
+      long now = System.currentTimeMillis();
+      List<Entry> entries = new ArrayList<>(map.size());
+      for (Entry entry : map.values()) {
+        if (entry.expiresAt > now) {
+          entries.add(entry);
+        }
+      }
+      return entries;
+    }
+  }
+}
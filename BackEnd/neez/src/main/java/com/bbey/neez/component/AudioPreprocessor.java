@@ -0,0 +1,242 @@
+package com.bbey.neez.component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * STT 전송 전 음성 청크 전처리
+ *
+ * - WAV 를 모노 / target-sample-rate 로 변환해서 16bit WAV 로 다시 인코딩 (업로드 바이트 감소)
+ * - 프레임 에너지 기반 VAD:
+ *   · 잡음 바닥(하위 10% 프레임 에너지) + margin-db 를 넘는 프레임을 발화로 본다 (절대 하한 floor-db)
+ *   · 발화 프레임 합이 min-speech-ms 미만이면 무음 청크 → STT 호출 생략
+ * - 앞뒤 무음은 pad-ms 만 남기고 잘라낸다 (잘린 앞부분 길이는 leadingTrimMs 로 돌려줌)
+ * - WAV 가 아니면(브라우저 webm/opus 등) 디코더가 없으므로 원본 그대로 통과
+ * - 파일 입력은 메모리 매핑해서 파싱하고, 통과시킬 때는 파일을 그대로 Resource 로 넘긴다 (원본을 heap 에 복사하지 않음)
+ * - 디코딩은 target-sample-rate 로 바로 하므로 heap 에는 변환 결과만 올라간다
+ *   max-decode-ms 보다 긴 WAV 는 디코딩하지 않고 그대로 통과 (긴 녹음은 LongAudioTranscriber 가 구간별로 처리)
+ * - 지표: audio.preprocess.bytes (tag stage=in|out), audio.preprocess.skipped, audio.preprocess.passthrough
+ */
+@Slf4j
+@Component
+public class AudioPreprocessor {
+
+    private static final int FRAME_MS = 20;
+
+    private final boolean enabled;
+    private final int targetSampleRate;
+    private final double floorDb;
+    private final double marginDb;
+    private final long minSpeechMs;
+    private final long padMs;
+    private final long maxDecodeMs;
+
+    private final DistributionSummary bytesIn;
+    private final DistributionSummary bytesOut;
+    private final Counter skipped;
+    private final Counter passthrough;
+
+    public AudioPreprocessor(MeterRegistry meterRegistry,
+                             @Value("${app.audio.preprocess.enabled:true}") boolean enabled,
+                             @Value("${app.audio.preprocess.target-sample-rate:16000}") int targetSampleRate,
+                             @Value("${app.audio.preprocess.floor-db:-50}") double floorDb,
+                             @Value("${app.audio.preprocess.margin-db:10}") double marginDb,
+                             @Value("${app.audio.preprocess.min-speech-ms:200}") long minSpeechMs,
+                             @Value("${app.audio.preprocess.pad-ms:200}") long padMs,
+                             @Value("${app.audio.preprocess.max-decode-ms:300000}") long maxDecodeMs) {
+        this.enabled = enabled;
+        this.targetSampleRate = targetSampleRate;
+        this.floorDb = floorDb;
+        this.marginDb = marginDb;
+        this.minSpeechMs = minSpeechMs;
+        this.padMs = padMs;
+        this.maxDecodeMs = maxDecodeMs;
+
+        this.bytesIn = DistributionSummary.builder("audio.preprocess.bytes").tag("stage", "in")
+                .baseUnit("bytes").register(meterRegistry);
+        this.bytesOut = DistributionSummary.builder("audio.preprocess.bytes").tag("stage", "out")
+                .baseUnit("bytes").register(meterRegistry);
+        this.skipped = Counter.builder("audio.preprocess.skipped").register(meterRegistry);
+        this.passthrough = Counter.builder("audio.preprocess.passthrough").register(meterRegistry);
+    }
+
+    /**
+     * 청크 전처리 (메모리 바이트)
+     */
+    public Prepared prepare(byte[] audio) {
+        bytesIn.record(audio.length);
+        ByteBuffer source = ByteBuffer.wrap(audio);
+        PcmAudio.WavLayout layout = enabled ? PcmAudio.WavLayout.parse(source) : null;
+        if (layout == null) {
+            return passthrough(named(audio), audio.length, -1L);
+        }
+        return prepare(layout, source, named(audio), audio.length);
+    }
+
+    /**
+     * 청크 전처리 (디스크 파일)
+     * - 파일은 읽기 전용으로 매핑해서 파싱 → 원본 크기만큼의 byte[] 를 만들지 않는다
+     * - 2GB 를 넘는 파일은 매핑하지 않고 그대로 통과
+     */
+    public Prepared prepare(Path audio) throws IOException {
+        long size;
+        try (FileChannel channel = FileChannel.open(audio, StandardOpenOption.READ)) {
+            size = channel.size();
+            bytesIn.record(size);
+            if (enabled && size <= Integer.MAX_VALUE) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                PcmAudio.WavLayout layout = PcmAudio.WavLayout.parse(mapped);
+                if (layout != null) {
+                    return prepare(layout, mapped, new FileSystemResource(audio), size);
+                }
+            }
+        }
+        return passthrough(new FileSystemResource(audio), size, -1L);
+    }
+
+    private Prepared prepare(PcmAudio.WavLayout layout, ByteBuffer source, Resource original, long size) {
+        if (layout.durationMs() > maxDecodeMs) {
+            log.debug("audio preprocess skipped for long wav: {}ms > {}ms", layout.durationMs(), maxDecodeMs);
+            return passthrough(original, size, layout.durationMs());
+        }
+        PcmAudio pcm = layout.decode(source, 0, layout.getFrames(), targetSampleRate);
+
+        int frameSamples = Math.max(1, pcm.getSampleRate() * FRAME_MS / 1000);
+        boolean[] speech = detectSpeech(pcm.frameEnergyDb(frameSamples));
+
+        int first = -1;
+        int last = -1;
+        int speechFrames = 0;
+        for (int f = 0; f < speech.length; f++) {
+            if (speech[f]) {
+                if (first < 0) {
+                    first = f;
+                }
+                last = f;
+                speechFrames++;
+            }
+        }
+
+        if (speechFrames * (long) FRAME_MS < minSpeechMs) {
+            skipped.increment();
+            bytesOut.record(0);
+            return new Prepared(null, null, false, pcm.durationMs(), 0L, pcm.durationMs());
+        }
+
+        int padFrames = (int) (padMs / FRAME_MS);
+        int from = Math.max(0, first - padFrames) * frameSamples;
+        int to = Math.min(speech.length, last + 1 + padFrames) * frameSamples;
+        if (last + 1 + padFrames >= speech.length) {
+            to = pcm.getSamples().length; // 마지막 프레임에 못 들어간 꼬리 샘플까지
+        }
+        PcmAudio trimmed = pcm.slice(from, to);
+
+        byte[] wav = trimmed.toWav();
+        bytesOut.record(wav.length);
+        long leadingTrimMs = from * 1000L / pcm.getSampleRate();
+        return new Prepared(named(wav), trimmed, true, trimmed.durationMs(), leadingTrimMs, pcm.durationMs());
+    }
+
+    /**
+     * 잡음 바닥 대비 margin-db 이상 큰 프레임을 발화로 판정
+     */
+    private boolean[] detectSpeech(double[] energyDb) {
+        boolean[] speech = new boolean[energyDb.length];
+        if (energyDb.length == 0) {
+            return speech;
+        }
+        double[] sorted = energyDb.clone();
+        Arrays.sort(sorted);
+        double noiseDb = sorted[sorted.length / 10];
+        // 청크 전체가 계속 말소리라 잡음 바닥이 높게 잡혀도 -30dBFS 이상이면 발화로 본다
+        double threshold = Math.min(Math.max(floorDb, noiseDb + marginDb), -30.0);
+
+        for (int f = 0; f < energyDb.length; f++) {
+            speech[f] = energyDb[f] > threshold;
+        }
+        return speech;
+    }
+
+    private Prepared passthrough(Resource audio, long size, long durationMs) {
+        passthrough.increment();
+        bytesOut.record(size);
+        return new Prepared(audio, null, true, durationMs, 0L, durationMs);
+    }
+
+    // STT 쪽은 multipart 파일명 확장자로 형식을 판별한다
+    private static Resource named(byte[] wav) {
+        return new ByteArrayResource(wav) {
+            @Override
+            public String getFilename() {
+                return "audio.wav";
+            }
+        };
+    }
+
+    /**
+     * 전처리 결과
+     */
+    public static final class Prepared {
+        private final Resource audio;
+        private final PcmAudio pcm;
+        private final boolean speech;
+        private final long durationMs;
+        private final long leadingTrimMs;
+        private final long sourceDurationMs;
+
+        private Prepared(Resource audio, PcmAudio pcm, boolean speech, long durationMs,
+                         long leadingTrimMs, long sourceDurationMs) {
+            this.audio = audio;
+            this.pcm = pcm;
+            this.speech = speech;
+            this.durationMs = durationMs;
+            this.leadingTrimMs = leadingTrimMs;
+            this.sourceDurationMs = sourceDurationMs;
+        }
+
+        /** STT 로 보낼 음성 (무음이면 null) */
+        public Resource getAudio() {
+            return audio;
+        }
+
+        /** STT 로 보낸 음성의 PCM (화자 특징 계산용, WAV 가 아니었으면 null) */
+        public PcmAudio getPcm() {
+            return pcm;
+        }
+
+        /** false 면 무음 청크 → STT 생략 */
+        public boolean hasSpeech() {
+            return speech;
+        }
+
+        /** 전처리 후 길이 (WAV 가 아니어서 길이를 모르고 통과시킨 경우 -1) */
+        public long getDurationMs() {
+            return durationMs;
+        }
+
+        /** 전처리 전 원본 청크 길이 (WAV 가 아니면 -1, 길어서 통과시킨 WAV 는 헤더 기준 길이) */
+        public long getSourceDurationMs() {
+            return sourceDurationMs;
+        }
+
+        /** 앞에서 잘라낸 무음 길이 → STT 타임스탬프에 더해서 원래 청크 기준으로 되돌린다 */
+        public long getLeadingTrimMs() {
+            return leadingTrimMs;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.bbey.neez.component;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 업로드된 음성 파일을 heap 에 올리지 않고 다루기 위한 임시 파일 유틸
+ *
+ * - 요청이 끝나면 multipart 임시 파일이 지워지므로, 비동기 처리할 파일은 우리 임시 파일로 넘겨 둔다
+ * - MultipartFile.transferTo: 컨테이너가 이미 디스크에 받아둔 part 는 복사 없이 이동(rename)된다
+ * - 확장자는 STT 쪽에서 형식 판별에 쓰므로 원본 파일명의 확장자를 유지 (없으면 .wav)
+ */
+@Slf4j
+public final class AudioUploads {
+
+    private AudioUploads() {
+    }
+
+    public static Path toTempFile(MultipartFile file) throws IOException {
+        Path tmp = Files.createTempFile("neez-audio-", suffix(file.getOriginalFilename()));
+        try {
+            file.transferTo(tmp);
+            return tmp;
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(tmp);
+            throw e;
+        }
+    }
+
+    public static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete audio temp file {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static String suffix(String filename) {
+        String ext = StringUtils.getFilenameExtension(filename);
+        if (ext != null && ext.matches("[A-Za-z0-9]{1,5}")) {
+            return "." + ext.toLowerCase();
+        }
+        return ".wav";
+    }
+}
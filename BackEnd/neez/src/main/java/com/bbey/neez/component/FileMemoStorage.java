@@ -4,10 +4,16 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 @Component
 public class FileMemoStorage implements MemoStorage {
@@ -48,6 +54,64 @@ public class FileMemoStorage implements MemoStorage {
         return "";
     }
 
+    @Override
+    public Map<String, String> readAllHead(Collection<String> fileNames, int maxChars) {
+        Map<String, String> result = new HashMap<>();
+        if (fileNames == null) {
+            return result;
+        }
+        for (String fileName : fileNames) {
+            if (fileName == null || fileName.isEmpty() || result.containsKey(fileName)) {
+                continue;
+            }
+            try {
+                result.put(fileName, readHead(fileName, maxChars));
+            } catch (IOException | InvalidPathException e) {
+                // 한 파일 실패로 목록 전체가 깨지지 않도록 건너뜀
+            }
+        }
+        return result;
+    }
+
+    // 파일을 열지 않고 크기만 본다
+    @Override
+    public Set<String> nonEmpty(Collection<String> fileNames) {
+        Set<String> result = new HashSet<>();
+        if (fileNames == null) {
+            return result;
+        }
+        for (String fileName : fileNames) {
+            if (fileName == null || fileName.isEmpty()) {
+                continue;
+            }
+            try {
+                Path target = memoDir.resolve(fileName);
+                if (Files.exists(target) && Files.size(target) > 0) {
+                    result.add(fileName);
+                }
+            } catch (IOException | InvalidPathException e) {
+                // 한 파일 실패로 목록 전체가 깨지지 않도록 건너뜀
+            }
+        }
+        return result;
+    }
+
+    private String readHead(String fileName, int maxChars) throws IOException {
+        Path target = memoDir.resolve(fileName);
+        if (!Files.exists(target) || maxChars <= 0) {
+            return "";
+        }
+        char[] buf = new char[maxChars];
+        int total = 0;
+        try (Reader reader = Files.newBufferedReader(target, StandardCharsets.UTF_8)) {
+            int n;
+            while (total < maxChars && (n = reader.read(buf, total, maxChars - total)) != -1) {
+                total += n;
+            }
+        }
+        return new String(buf, 0, total);
+    }
+
     @Override
     public void delete(String fileName) throws IOException {
         Path target = memoDir.resolve(fileName);
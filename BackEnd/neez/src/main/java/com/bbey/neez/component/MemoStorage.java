@@ -1,6 +1,10 @@
 package com.bbey.neez.component;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 public interface MemoStorage {
 
@@ -14,6 +18,30 @@ public interface MemoStorage {
      */
     String read(String fileName) throws IOException;
 
+    /**
+     * 여러 파일의 앞부분만 한 번에 읽기 (목록 화면 미리보기용)
+     * - 파일당 최대 maxChars 글자까지만 읽는다 (메모가 커져도 읽는 양은 일정)
+     * - 없는 파일은 빈 문자열
+     * - 읽다가 실패한 파일은 결과 Map 에서 빠진다
+     *
+     * @return 파일명 → 앞부분 내용
+     */
+    Map<String, String> readAllHead(Collection<String> fileNames, int maxChars);
+
+    /**
+     * 내용이 있는 파일만 골라내기 (미리보기 없이 "메모 있음" 표시용)
+     * - 없는 파일 / 빈 파일 / 읽다가 실패한 파일은 빠진다
+     */
+    default Set<String> nonEmpty(Collection<String> fileNames) {
+        Set<String> result = new HashSet<>();
+        for (Map.Entry<String, String> head : readAllHead(fileNames, 1).entrySet()) {
+            if (!head.getValue().isEmpty()) {
+                result.add(head.getKey());
+            }
+        }
+        return result;
+    }
+
     /**
      * 파일 삭제
      */
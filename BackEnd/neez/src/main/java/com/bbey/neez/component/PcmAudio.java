@@ -0,0 +1,322 @@
+package com.bbey.neez.component;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 모노 PCM 오디오 (float, -1.0 ~ 1.0)
+ *
+ * - WAV(RIFF) 파싱: PCM 8/16/24/32bit, IEEE float 32bit, WAVE_FORMAT_EXTENSIBLE
+ * - 다채널은 평균으로 downmix
+ * - 리샘플링 / 구간 자르기 / 16bit WAV 인코딩
+ * - WavLayout: 헤더만 읽고 필요한 구간만 디코딩 (긴 녹음 분할용, 리샘플링하면서 바로 디코딩 가능)
+ * - WAV 가 아니면(webm, mp3 등) parse 가 null 을 돌려준다 → 호출 측에서 원본 그대로 사용
+ */
+public final class PcmAudio {
+
+    private static final int FORMAT_PCM = 1;
+    private static final int FORMAT_FLOAT = 3;
+    private static final int FORMAT_EXTENSIBLE = 0xFFFE;
+
+    private final float[] samples;
+    private final int sampleRate;
+
+    public PcmAudio(float[] samples, int sampleRate) {
+        this.samples = samples;
+        this.sampleRate = sampleRate;
+    }
+
+    public float[] getSamples() {
+        return samples;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public long durationMs() {
+        return sampleRate > 0 ? samples.length * 1000L / sampleRate : 0L;
+    }
+
+    /**
+     * WAV 바이트 → 모노 PCM (지원하지 않는 형식이면 null)
+     */
+    public static PcmAudio parseWav(byte[] wav) {
+        return wav != null ? parseWav(ByteBuffer.wrap(wav)) : null;
+    }
+
+    /**
+     * WAV → 모노 PCM. 메모리 매핑한 파일 버퍼를 그대로 받을 수 있다 (원본을 byte[] 로 복사하지 않음)
+     */
+    public static PcmAudio parseWav(ByteBuffer source) {
+        WavLayout layout = WavLayout.parse(source);
+        return layout != null ? layout.decode(source, 0, layout.getFrames()) : null;
+    }
+
+    /**
+     * WAV 헤더 정보 (data 청크 위치 / 샘플 형식)
+     * - 긴 녹음은 전체를 float 로 풀지 않고 decode 로 필요한 구간만 꺼내 쓴다
+     */
+    public static final class WavLayout {
+        private final int channels;
+        private final int sampleRate;
+        private final int bits;
+        private final boolean flt;
+        private final int dataOffset;
+        private final int frames;
+
+        private WavLayout(int channels, int sampleRate, int bits, boolean flt, int dataOffset, int frames) {
+            this.channels = channels;
+            this.sampleRate = sampleRate;
+            this.bits = bits;
+            this.flt = flt;
+            this.dataOffset = dataOffset;
+            this.frames = frames;
+        }
+
+        /**
+         * 지원하지 않는 형식이면 null
+         */
+        public static WavLayout parse(ByteBuffer source) {
+            if (source == null || source.limit() < 44) {
+                return null;
+            }
+            ByteBuffer buf = source.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            int length = buf.limit();
+            if (buf.getInt(0) != 0x46464952 /* RIFF */ || buf.getInt(8) != 0x45564157 /* WAVE */) {
+                return null;
+            }
+
+            int format = -1;
+            int channels = 0;
+            int sampleRate = 0;
+            int bits = 0;
+            int dataOffset = -1;
+            int dataLength = 0;
+
+            int pos = 12;
+            while (pos + 8 <= length) {
+                int id = buf.getInt(pos);
+                int size = buf.getInt(pos + 4);
+                int body = pos + 8;
+                if (id == 0x61746164 /* "data" */) {
+                    dataOffset = body;
+                    // 스트리밍 녹음은 data 크기를 0 / 0xFFFFFFFF 로 두기도 한다 → 파일 끝까지
+                    dataLength = (size <= 0 || size > length - body) ? length - body : size;
+                    break;
+                }
+                if (size < 0 || size > length - body) {
+                    return null;
+                }
+                if (id == 0x20746d66 /* "fmt " */ && size >= 16 && body + 16 <= length) {
+                    format = buf.getShort(body) & 0xFFFF;
+                    channels = buf.getShort(body + 2) & 0xFFFF;
+                    sampleRate = buf.getInt(body + 4);
+                    bits = buf.getShort(body + 14) & 0xFFFF;
+                    if (format == FORMAT_EXTENSIBLE && size >= 26 && body + 26 <= length) {
+                        // sub format GUID 의 앞 2바이트가 실제 포맷
+                        format = buf.getShort(body + 24) & 0xFFFF;
+                    }
+                }
+                pos = body + size + (size & 1);
+            }
+
+            if (dataOffset < 0 || channels <= 0 || sampleRate <= 0) {
+                return null;
+            }
+            boolean pcm = format == FORMAT_PCM && (bits == 8 || bits == 16 || bits == 24 || bits == 32);
+            boolean flt = format == FORMAT_FLOAT && bits == 32;
+            if (!pcm && !flt) {
+                return null;
+            }
+            int frameSize = bits / 8 * channels;
+            return new WavLayout(channels, sampleRate, bits, flt, dataOffset, dataLength / frameSize);
+        }
+
+        /**
+         * [fromFrame, toFrame) 구간을 모노로 디코딩
+         */
+        public PcmAudio decode(ByteBuffer source, int fromFrame, int toFrame) {
+            ByteBuffer buf = source.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            int from = Math.max(0, fromFrame);
+            int to = Math.min(frames, toFrame);
+            float[] mono = new float[Math.max(0, to - from)];
+
+            for (int f = 0; f < mono.length; f++) {
+                mono[f] = mono(buf, from + f);
+            }
+            return new PcmAudio(mono, sampleRate);
+        }
+
+        /**
+         * [fromFrame, toFrame) 구간을 모노 + targetRate 로 바로 디코딩
+         * - 원본 샘플레이트의 float[] 를 거치지 않는다 (메모리는 결과 길이만큼만)
+         * - decode(...).resample(targetRate) 와 같은 값
+         */
+        public PcmAudio decode(ByteBuffer source, int fromFrame, int toFrame, int targetRate) {
+            if (targetRate <= 0 || targetRate == sampleRate) {
+                return decode(source, fromFrame, toFrame);
+            }
+            ByteBuffer buf = source.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            int from = Math.max(0, fromFrame);
+            int count = Math.max(0, Math.min(frames, toFrame) - from);
+            if (count == 0) {
+                return new PcmAudio(new float[0], sampleRate);
+            }
+            double ratio = (double) sampleRate / targetRate;
+            float[] out = new float[(int) (count / ratio)];
+
+            if (ratio > 1.0) {
+                for (int i = 0; i < out.length; i++) {
+                    int lo = (int) (i * ratio);
+                    int hi = Math.min(count, (int) ((i + 1) * ratio));
+                    float sum = 0f;
+                    for (int j = lo; j < hi; j++) {
+                        sum += mono(buf, from + j);
+                    }
+                    out[i] = hi > lo ? sum / (hi - lo) : mono(buf, from + Math.min(lo, count - 1));
+                }
+            } else {
+                for (int i = 0; i < out.length; i++) {
+                    double src = i * ratio;
+                    int i0 = (int) src;
+                    int i1 = Math.min(i0 + 1, count - 1);
+                    double t = src - i0;
+                    out[i] = (float) (mono(buf, from + i0) * (1 - t) + mono(buf, from + i1) * t);
+                }
+            }
+            return new PcmAudio(out, targetRate);
+        }
+
+        // 한 프레임의 채널 평균
+        private float mono(ByteBuffer buf, int frame) {
+            int bytesPerSample = bits / 8;
+            int base = dataOffset + frame * bytesPerSample * channels;
+            float sum = 0f;
+            for (int c = 0; c < channels; c++) {
+                sum += readSample(buf, base + c * bytesPerSample, bits, flt);
+            }
+            return sum / channels;
+        }
+
+        public int getSampleRate() {
+            return sampleRate;
+        }
+
+        public int getFrames() {
+            return frames;
+        }
+
+        public long durationMs() {
+            return frames * 1000L / sampleRate;
+        }
+    }
+
+    private static float readSample(ByteBuffer buf, int offset, int bits, boolean flt) {
+        if (flt) {
+            return buf.getFloat(offset);
+        }
+        switch (bits) {
+            case 8:
+                return ((buf.get(offset) & 0xFF) - 128) / 128f;
+            case 16:
+                return buf.getShort(offset) / 32768f;
+            case 24: {
+                int v = (buf.get(offset) & 0xFF)
+                        | ((buf.get(offset + 1) & 0xFF) << 8)
+                        | (buf.get(offset + 2) << 16);
+                return v / 8388608f;
+            }
+            default:
+                return buf.getInt(offset) / 2147483648f;
+        }
+    }
+
+    /**
+     * 리샘플링 (선형 보간, 다운샘플 시에는 비율만큼 평균을 내서 aliasing 완화)
+     */
+    public PcmAudio resample(int targetRate) {
+        if (targetRate <= 0 || targetRate == sampleRate || samples.length == 0) {
+            return this;
+        }
+        double ratio = (double) sampleRate / targetRate;
+        int length = (int) (samples.length / ratio);
+        float[] out = new float[length];
+
+        if (ratio > 1.0) {
+            for (int i = 0; i < length; i++) {
+                int from = (int) (i * ratio);
+                int to = Math.min(samples.length, (int) ((i + 1) * ratio));
+                float sum = 0f;
+                for (int j = from; j < to; j++) {
+                    sum += samples[j];
+                }
+                out[i] = to > from ? sum / (to - from) : samples[Math.min(from, samples.length - 1)];
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                double src = i * ratio;
+                int i0 = (int) src;
+                int i1 = Math.min(i0 + 1, samples.length - 1);
+                double t = src - i0;
+                out[i] = (float) (samples[i0] * (1 - t) + samples[i1] * t);
+            }
+        }
+        return new PcmAudio(out, targetRate);
+    }
+
+    /**
+     * [fromSample, toSample) 구간
+     */
+    public PcmAudio slice(int fromSample, int toSample) {
+        int from = Math.max(0, fromSample);
+        int to = Math.min(samples.length, toSample);
+        if (from == 0 && to == samples.length) {
+            return this;
+        }
+        float[] out = new float[Math.max(0, to - from)];
+        System.arraycopy(samples, from, out, 0, out.length);
+        return new PcmAudio(out, sampleRate);
+    }
+
+    /**
+     * 프레임별 RMS 에너지 (dBFS, 무음은 -100)
+     */
+    public double[] frameEnergyDb(int frameSamples) {
+        int frames = frameSamples > 0 ? samples.length / frameSamples : 0;
+        double[] db = new double[frames];
+        for (int f = 0; f < frames; f++) {
+            double sum = 0;
+            int base = f * frameSamples;
+            for (int i = 0; i < frameSamples; i++) {
+                float s = samples[base + i];
+                sum += s * s;
+            }
+            double rms = Math.sqrt(sum / frameSamples);
+            db[f] = rms > 1e-5 ? 20 * Math.log10(rms) : -100.0;
+        }
+        return db;
+    }
+
+    /**
+     * 16bit 모노 WAV 로 인코딩
+     */
+    public byte[] toWav() {
+        int dataLength = samples.length * 2;
+        ByteBuffer buf = ByteBuffer.allocate(44 + dataLength).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(0x46464952).putInt(36 + dataLength).putInt(0x45564157);
+        buf.putInt(0x20746d66).putInt(16)
+                .putShort((short) FORMAT_PCM)
+                .putShort((short) 1)
+                .putInt(sampleRate)
+                .putInt(sampleRate * 2)
+                .putShort((short) 2)
+                .putShort((short) 16);
+        buf.putInt(0x61746164).putInt(dataLength);
+        for (float s : samples) {
+            float clipped = Math.max(-1f, Math.min(1f, s));
+            buf.putShort((short) Math.round(clipped * 32767f));
+        }
+        return buf.array();
+    }
+}
@@ -0,0 +1,180 @@
+package com.bbey.neez.component;
+
+/**
+ * 경량 화자 특징 벡터 (long-term average spectrum)
+ *
+ * - 32ms 프레임(Hann window) FFT → 100Hz~4kHz 를 log 간격 BANDS 개 대역으로 묶은 log 에너지
+ * - 발화 구간 프레임만 평균 → 대역 평균을 빼서(음량/마이크 이득 제거) L2 정규화
+ * - 같은 사람의 목소리는 cosine 유사도가 높게 나온다 (정확한 화자 인식용이 아니라 청크 간 라벨 이어붙이기용)
+ */
+public final class Voiceprint {
+
+    public static final int BANDS = 24;
+
+    private static final int FFT_SIZE = 512;
+    private static final double MIN_HZ = 100.0;
+    private static final double MAX_HZ = 4000.0;
+    /** 이보다 조용한 프레임은 제외 (dBFS) */
+    private static final double SILENCE_DB = -45.0;
+
+    private Voiceprint() {
+    }
+
+    /**
+     * pcm 의 [fromMs, toMs) 구간들로 특징 벡터 계산
+     *
+     * @param accumulator 대역별 log 에너지 합 (길이 BANDS), 호출마다 누적
+     * @return 누적된 발화 프레임 수
+     */
+    public static int accumulate(PcmAudio pcm, long fromMs, long toMs, double[] accumulator) {
+        int rate = pcm.getSampleRate();
+        float[] samples = pcm.getSamples();
+        int from = (int) Math.max(0, fromMs * rate / 1000);
+        int to = (int) Math.min(samples.length, toMs * rate / 1000);
+        int[] edges = bandEdges(rate);
+
+        double[] re = new double[FFT_SIZE];
+        double[] im = new double[FFT_SIZE];
+        int frames = 0;
+        for (int start = from; start + FFT_SIZE <= to; start += FFT_SIZE) {
+            double energy = 0;
+            for (int i = 0; i < FFT_SIZE; i++) {
+                double s = samples[start + i];
+                energy += s * s;
+                double w = 0.5 - 0.5 * Math.cos(2 * Math.PI * i / (FFT_SIZE - 1));
+                re[i] = s * w;
+                im[i] = 0;
+            }
+            if (10 * Math.log10(energy / FFT_SIZE + 1e-12) < SILENCE_DB) {
+                continue;
+            }
+            fft(re, im);
+            for (int b = 0; b < BANDS; b++) {
+                double power = 1e-10;
+                for (int k = edges[b]; k < edges[b + 1]; k++) {
+                    power += re[k] * re[k] + im[k] * im[k];
+                }
+                accumulator[b] += Math.log(power);
+            }
+            frames++;
+        }
+        return frames;
+    }
+
+    /**
+     * 누적값 → 정규화된 특징 벡터 (프레임이 없으면 null)
+     */
+    public static float[] finish(double[] accumulator, int frames) {
+        if (frames <= 0) {
+            return null;
+        }
+        double mean = 0;
+        for (double v : accumulator) {
+            mean += v / frames;
+        }
+        mean /= BANDS;
+        float[] out = new float[BANDS];
+        double norm = 0;
+        for (int b = 0; b < BANDS; b++) {
+            double v = accumulator[b] / frames - mean;
+            out[b] = (float) v;
+            norm += v * v;
+        }
+        norm = Math.sqrt(norm);
+        if (norm < 1e-9) {
+            return null;
+        }
+        for (int b = 0; b < BANDS; b++) {
+            out[b] /= norm;
+        }
+        return out;
+    }
+
+    /**
+     * cosine 유사도 (두 벡터 모두 정규화돼 있다고 가정)
+     */
+    public static double similarity(float[] a, float[] b) {
+        double dot = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+        }
+        return dot;
+    }
+
+    /**
+     * 가중 평균으로 centroid 갱신 후 다시 정규화
+     */
+    public static float[] blend(float[] centroid, double weight, float[] sample, double sampleWeight) {
+        float[] out = new float[centroid.length];
+        double norm = 0;
+        for (int i = 0; i < out.length; i++) {
+            double v = (centroid[i] * weight + sample[i] * sampleWeight) / (weight + sampleWeight);
+            out[i] = (float) v;
+            norm += v * v;
+        }
+        norm = Math.sqrt(norm);
+        if (norm > 1e-9) {
+            for (int i = 0; i < out.length; i++) {
+                out[i] /= norm;
+            }
+        }
+        return out;
+    }
+
+    private static int[] bandEdges(int rate) {
+        int[] edges = new int[BANDS + 1];
+        double maxHz = Math.min(MAX_HZ, rate / 2.0);
+        double ratio = Math.log(maxHz / MIN_HZ);
+        for (int b = 0; b <= BANDS; b++) {
+            double hz = MIN_HZ * Math.exp(ratio * b / BANDS);
+            edges[b] = (int) Math.round(hz * FFT_SIZE / rate);
+        }
+        for (int b = 1; b <= BANDS; b++) {
+            edges[b] = Math.max(edges[b], edges[b - 1] + 1); // 저역 대역이 비지 않게 최소 1 bin
+        }
+        edges[BANDS] = Math.min(edges[BANDS], FFT_SIZE / 2);
+        return edges;
+    }
+
+    /** in-place radix-2 FFT */
+    private static void fft(double[] re, double[] im) {
+        int n = re.length;
+        for (int i = 1, j = 0; i < n; i++) {
+            int bit = n >> 1;
+            for (; (j & bit) != 0; bit >>= 1) {
+                j ^= bit;
+            }
+            j ^= bit;
+            if (i < j) {
+                double t = re[i];
+                re[i] = re[j];
+                re[j] = t;
+                t = im[i];
+                im[i] = im[j];
+                im[j] = t;
+            }
+        }
+        for (int len = 2; len <= n; len <<= 1) {
+            double angle = -2 * Math.PI / len;
+            double wr = Math.cos(angle);
+            double wi = Math.sin(angle);
+            for (int i = 0; i < n; i += len) {
+                double cr = 1;
+                double ci = 0;
+                for (int k = 0; k < len / 2; k++) {
+                    int a = i + k;
+                    int b = a + len / 2;
+                    double tr = re[b] * cr - im[b] * ci;
+                    double ti = re[b] * ci + im[b] * cr;
+                    re[b] = re[a] - tr;
+                    im[b] = im[a] - ti;
+                    re[a] += tr;
+                    im[a] += ti;
+                    double next = cr * wr - ci * wi;
+                    ci = cr * wi + ci * wr;
+                    cr = next;
+                }
+            }
+        }
+    }
+}
@@ -1,16 +1,45 @@
 package com.bbey.neez.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.util.StringUtils;
+
+import java.util.Properties;
 
 @Configuration
 public class MailConfig {
 
+    /**
+     * spring.mail.host / port / username / password 로 SMTP 지정
+     * - 로컬 테스트는 가짜 SMTP 서버로 (예: spring.mail.host=localhost, spring.mail.port=1025)
+     * - 타임아웃을 걸어 SMTP 가 응답하지 않아도 outbox 워커가 묶이지 않게 한다
+     */
     @Bean
-    public JavaMailSender javaMailSender() {
-        // 최소 설정 – 나중에 spring.mail.* 설정으로 교체
-        return new JavaMailSenderImpl();
+    public JavaMailSender javaMailSender(
+            @Value("${spring.mail.host:localhost}") String host,
+            @Value("${spring.mail.port:25}") int port,
+            @Value("${spring.mail.username:}") String username,
+            @Value("${spring.mail.password:}") String password,
+            @Value("${app.mail.smtp.starttls:false}") boolean starttls,
+            @Value("${app.mail.smtp.timeout-ms:10000}") int timeoutMs) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost(host);
+        sender.setPort(port);
+        sender.setDefaultEncoding("UTF-8");
+
+        Properties props = sender.getJavaMailProperties();
+        if (StringUtils.hasText(username)) {
+            sender.setUsername(username);
+            sender.setPassword(password);
+            props.put("mail.smtp.auth", "true");
+        }
+        props.put("mail.smtp.starttls.enable", String.valueOf(starttls));
+        props.put("mail.smtp.connectiontimeout", String.valueOf(timeoutMs));
+        props.put("mail.smtp.timeout", String.valueOf(timeoutMs));
+        props.put("mail.smtp.writetimeout", String.valueOf(timeoutMs));
+        return sender;
     }
 }
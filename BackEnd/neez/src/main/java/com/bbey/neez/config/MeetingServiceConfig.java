@@ -1,6 +1,6 @@
 package com.bbey.neez.config;
 
-import com.bbey.neez.client.ClovaSpeechClient;
+import com.bbey.neez.service.Meet.LongAudioTranscriber;
 import com.bbey.neez.service.Meet.MeetingSpeechService;
 import com.bbey.neez.service.Meet.MeetingSpeechServiceImpl;
 
@@ -11,7 +11,7 @@ import org.springframework.context.annotation.Configuration;
 public class MeetingServiceConfig {
 
   @Bean
-  public MeetingSpeechService meetingSpeechService(ClovaSpeechClient clovaSpeechClient) {
-    return new MeetingSpeechServiceImpl(clovaSpeechClient);
+  public MeetingSpeechService meetingSpeechService(LongAudioTranscriber longAudioTranscriber) {
+    return new MeetingSpeechServiceImpl(longAudioTranscriber);
   }
 }
@@ -3,6 +3,8 @@ package com.bbey.neez.config;
 import com.bbey.neez.jwt.JwtAccessDeniedHandler;
 import com.bbey.neez.jwt.JwtAuthenticationEntryPoint;
 import com.bbey.neez.jwt.JwtAuthenticationFilter;
+import com.bbey.neez.security.AuthRateLimitFilter;
+import com.bbey.neez.security.AuthRateLimiter;
 import com.bbey.neez.security.CustomUserDetailsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -27,6 +29,7 @@ public class SecurityConfig {
         private final JwtAccessDeniedHandler accessDeniedHandler;
         private final CustomUserDetailsService userDetailsService;
         private final PasswordEncoder passwordEncoder;
+        private final AuthRateLimiter authRateLimiter;
 
         // AuthenticationManager (스프링 부트 2.7 스타일)
         @Bean
@@ -74,6 +77,8 @@ public class SecurityConfig {
                                 .anyRequest().authenticated()
                                 .and()
 
+                                // 인증 API 요청 제한 → JWT 필터보다 먼저 (같은 위치면 추가한 순서대로 실행)
+                                .addFilterBefore(new AuthRateLimitFilter(authRateLimiter), UsernamePasswordAuthenticationFilter.class)
                                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
                 return http.build();
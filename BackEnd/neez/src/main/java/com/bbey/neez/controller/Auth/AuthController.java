@@ -2,6 +2,8 @@ package com.bbey.neez.controller.Auth;
 
 import com.bbey.neez.DTO.ApiResponseDto;
 import com.bbey.neez.DTO.auth.*;
+import com.bbey.neez.exception.TooManyRequestsException;
+import com.bbey.neez.security.AuthRateLimiter;
 import com.bbey.neez.security.UserPrincipal;
 import com.bbey.neez.service.Auth.AuthService;
 
@@ -26,6 +28,8 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    // IP 기준 제한은 AuthRateLimitFilter, 여기서는 userId 기준 (BCrypt / DB 조회 전에)
+    private final AuthRateLimiter authRateLimiter;
 
     private ApiResponseDto<Object> wrap(AuthResponse res) {
         return new ApiResponseDto<>(
@@ -37,6 +41,9 @@ public class AuthController {
     @Operation(summary = "로그인", description = "ID/비밀번호를 이용해 로그인하고 Access/Refresh 토큰을 반환합니다.")
     @PostMapping("/login")
     public ApiResponseDto<Object> login(@Valid @RequestBody LoginRequest req) {
+        if (!authRateLimiter.allowUser(AuthRateLimiter.Policy.LOGIN, req.getUserId())) {
+            throw new TooManyRequestsException("로그인 시도가 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+        }
         return wrap(authService.login(req));
     }
 
@@ -55,6 +62,9 @@ public class AuthController {
     @Operation(summary = "비밀번호 재설정 메일 요청 ( 비밀번호 잊음 )", description = "등록된 이메일 주소로 비밀번호 재설정 코드(인증코드)를 전송합니다.")
     @PostMapping("/forgot-password")
     public ApiResponseDto<Object> forgotPassword(@RequestBody ForgotPasswordRequest req) {
+        if (!authRateLimiter.allowUser(AuthRateLimiter.Policy.FORGOT_PASSWORD, req.getUserId())) {
+            throw new TooManyRequestsException("인증코드 요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+        }
         return wrap(authService.forgotPassword(req));
     }
 
@@ -64,13 +74,16 @@ public class AuthController {
         return wrap(authService.resetPassword(req));
     }
 
-    @Operation(summary = "로그아웃", description = "현재 로그인한 사용자의 Refresh Token을 삭제하여 로그아웃합니다.",
+    @Operation(summary = "로그아웃", description = "요청 body의 Refresh Token 세션(현재 기기)을 폐기합니다. body가 없으면 모든 기기에서 로그아웃합니다.",
             security = { @SecurityRequirement(name = "BearerAuth") })
     @PostMapping("/me/logout")
     public ApiResponseDto<Object> logout(
-            @Parameter(hidden = true) @AuthenticationPrincipal UserPrincipal user) {
+            @Parameter(hidden = true) @AuthenticationPrincipal UserPrincipal user,
+            @RequestBody(required = false) LogoutRequest req) {
         Long idx = user.getIdx();
-        AuthResponse res = authService.logoutByIdx(idx);
+        AuthResponse res = req != null
+                ? authService.logout(idx, req.getRefreshToken())
+                : authService.logoutByIdx(idx);
         return wrap(res);
     }
 
@@ -9,6 +9,7 @@ import com.bbey.neez.entity.BizCard.BizCardSaveResult;
 import com.bbey.neez.security.SecurityUtil;
 import com.bbey.neez.service.BizCard.BizCardService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.springframework.data.domain.Page;
@@ -43,12 +44,14 @@ public class BizCardController {
     }
 
     // 🔹 내 명함 목록 조회 (/me)
-    @Operation(summary = "내 명함 목록 조회 (최신순)", description = "현재 로그인한 사용자의 명함을 페이지 단위로 조회한다.")
+    @Operation(summary = "내 명함 목록 조회 (최신순)", description = "현재 로그인한 사용자의 명함을 페이지 단위로 조회한다. 메모는 앞부분 미리보기만 내려준다.")
     @GetMapping("/me")
     public ApiResponseDto<Object> getMyBizCards(
-            @ParameterObject @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+            @ParameterObject @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            @Parameter(description = "메모 미리보기 글자 수 (0 이면 메모 내용 생략, 최대 1000)", example = "100")
+            @RequestParam(defaultValue = "100") int memoPreview) {
 
-        Page<BizCardDto> res = bizCardService.getMyBizCards(pageable);
+        Page<BizCardDto> res = bizCardService.getMyBizCards(pageable, memoPreview);
         return new ApiResponseDto<>(true, "내 명함 목록 조회 성공", res);
     }
 
@@ -116,10 +119,12 @@ public class BizCardController {
     public ResponseEntity<ApiResponseDto<Page<BizCardDto>>> searchMyBizCards(
             @RequestParam String keyword,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "메모 미리보기 글자 수 (0 이면 메모 내용 생략, 최대 1000)", example = "100")
+            @RequestParam(defaultValue = "100") int memoPreview) {
 
         PageRequest pageable = PageRequest.of(page, size);
-        Page<BizCardDto> result = bizCardService.searchMyBizCards(keyword, pageable);
+        Page<BizCardDto> result = bizCardService.searchMyBizCards(keyword, pageable, memoPreview);
         return ResponseEntity.ok(new ApiResponseDto<Page<BizCardDto>>(true, "ok", result));
     }
 
@@ -128,10 +133,12 @@ public class BizCardController {
     @GetMapping("/me/deleted")
     public ResponseEntity<ApiResponseDto<Page<BizCardDto>>> getMyDeletedBizCards(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "메모 미리보기 글자 수 (0 이면 메모 내용 생략, 최대 1000)", example = "100")
+            @RequestParam(defaultValue = "100") int memoPreview) {
 
         PageRequest pageable = PageRequest.of(page, size);
-        Page<BizCardDto> result = bizCardService.getMyDeletedBizCards(pageable);
+        Page<BizCardDto> result = bizCardService.getMyDeletedBizCards(pageable, memoPreview);
         return ResponseEntity.ok(new ApiResponseDto<Page<BizCardDto>>(true, "ok", result));
     }
 
@@ -53,7 +53,9 @@ public class HashtagController {
             @Parameter(description = "콤마(,)로 구분된 해시태그 목록", example = "고객사,vip")
             @RequestParam("tags") String tags,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "메모 미리보기 글자 수 (0 이면 메모 내용 생략, 최대 1000)", example = "100")
+            @RequestParam(defaultValue = "100") int memoPreview
     ) {
         List<String> tagList = Arrays.stream(tags.split(","))
                 .map(String::trim)
@@ -61,7 +63,7 @@ public class HashtagController {
                 .collect(Collectors.toList());
 
         PageRequest pageable = PageRequest.of(page, size);
-        Page<BizCardDto> result = hashtagService.getCardsByTags(tagList, pageable);
+        Page<BizCardDto> result = hashtagService.getCardsByTags(tagList, pageable, memoPreview);
         return ResponseEntity.ok(new ApiResponseDto<>(true, "ok", result));
     }
 
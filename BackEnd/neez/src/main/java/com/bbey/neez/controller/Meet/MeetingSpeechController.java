@@ -1,9 +1,14 @@
 package com.bbey.neez.controller.Meet;
 
+import com.bbey.neez.component.AudioUploads;
 import com.bbey.neez.security.SecurityUtil;
+import com.bbey.neez.service.Meet.MeetingChunkPipeline;
 import com.bbey.neez.service.Meet.MeetingMinutesService;
 import com.bbey.neez.service.Meet.MeetingSpeechStreamService;
+import com.bbey.neez.service.Meet.MeetingSummaryEngine;
 import com.bbey.neez.service.Meet.MeetingSummaryService;
+import com.bbey.neez.service.Meet.MeetingTranscriptBroadcaster;
+import com.bbey.neez.service.Meet.MeetingTranslationService;
 import com.bbey.neez.service.Meet.MeetingService;
 import com.bbey.neez.service.Meet.MeetingParticipantService;
 import com.bbey.neez.entity.Meet.Meeting;
@@ -14,14 +19,19 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/meetings/me")
@@ -41,19 +51,31 @@ public class MeetingSpeechController {
     private final MeetingSummaryService summaryService;
     private final MeetingMinutesService minutesService;
     private final MeetingSpeechStreamService streamService;
+    private final MeetingTranscriptBroadcaster broadcaster;
+    private final MeetingChunkPipeline chunkPipeline;
+    private final MeetingTranslationService translationService;
+    private final long drainTimeoutMs;
 
     public MeetingSpeechController(
             MeetingService meetingService,
             MeetingParticipantService meetingParticipantService,
             MeetingSummaryService summaryService,
             MeetingMinutesService minutesService,
-            MeetingSpeechStreamService streamService
+            MeetingSpeechStreamService streamService,
+            MeetingTranscriptBroadcaster broadcaster,
+            MeetingChunkPipeline chunkPipeline,
+            MeetingTranslationService translationService,
+            @Value("${app.meeting.pipeline.drain-timeout-ms:30000}") long drainTimeoutMs
     ) {
         this.meetingService = meetingService;
         this.meetingParticipantService = meetingParticipantService;
         this.summaryService = summaryService;
         this.minutesService = minutesService;
         this.streamService = streamService;
+        this.broadcaster = broadcaster;
+        this.chunkPipeline = chunkPipeline;
+        this.translationService = translationService;
+        this.drainTimeoutMs = drainTimeoutMs;
     }
 
     // =========================================================
@@ -197,12 +219,16 @@ public class MeetingSpeechController {
     }
 
     // =========================================================
-    // 3. 청크 업로드 (실시간 STT + 번역)
+    // 3. 청크 업로드 (실시간 STT + 번역, 비동기 접수)
     // =========================================================
     @Operation(
             summary = "회의 음성 청크(STT Streaming) 업로드",
             description = "음성을 여러 조각(chunk)으로 나누어 업로드하면서 실시간 STT/번역을 수행합니다.\n" +
-                    "같은 회의 도중에는 항상 같은 meetingId를 사용합니다. (예: 1)\n"
+                    "같은 회의 도중에는 항상 같은 meetingId를 사용합니다. (예: 1)\n" +
+                    "청크는 큐에 접수만 하고 202 + jobId 를 바로 반환합니다.\n" +
+                    "처리 결과는 SSE(/{meetingId}/stream) 또는 GET /{meetingId}/chunks/jobs/{jobId} 로 받습니다.\n" +
+                    "같은 회의의 청크는 업로드 순서(index 순)대로 transcript 에 반영됩니다.\n" +
+                    "처리 대기열이 가득 차면 429 를 반환하므로 잠시 후 다시 업로드하세요.\n"
     )
     @PostMapping(
             value = "/{meetingId}/chunks",
@@ -233,32 +259,113 @@ public class MeetingSpeechController {
 
         Long userIdx = SecurityUtil.getCurrentUserIdx();
 
+        if (file == null || file.isEmpty()) {
+            return badRequest(meetingId, "음성 청크 파일이 비어 있습니다.");
+        }
+
+        // 요청이 끝나면 multipart 임시 파일이 지워지므로 접수 시점에 우리 임시 파일로 옮겨 둔다
+        // (heap 으로 읽지 않음, 파이프라인이 STT 후 삭제)
+        Path audio = AudioUploads.toTempFile(file);
         try {
-            MeetingSpeechStreamService.Segment segment =
-                    streamService.processChunk(userIdx, meetingId, index, file, targetLang, sourceLang);
+            MeetingChunkPipeline.ChunkJob job = chunkPipeline.submit(
+                    userIdx, meetingId, index, audio, file.getSize(), targetLang, sourceLang);
 
-            Map<String, Object> payload = new LinkedHashMap<>();
-            payload.put("userIdx", userIdx);
-            payload.put("meetingId", meetingId);
+            Map<String, Object> payload = jobPayload(job);
+            payload.put("bytes", file.getSize());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(payload);
+
+        } catch (RejectedExecutionException ex) {
+            AudioUploads.deleteQuietly(audio);
+            return tooManyRequests(meetingId, "STT 처리 대기열이 가득 찼습니다. 잠시 후 다시 시도하세요.");
+        }
+    }
+
+    @Operation(
+            summary = "청크 처리 상태 조회",
+            description = "청크 업로드 시 받은 jobId 의 처리 상태를 조회합니다.\n" +
+                    "state: QUEUED → RECOGNIZING → TRANSLATING → PERSISTING → DONE (실패 시 FAILED)\n"
+    )
+    @GetMapping("/{meetingId}/chunks/jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> getChunkJob(
+            @Parameter(description = "회의 세션 ID", example = "1")
+            @PathVariable Long meetingId,
+
+            @Parameter(description = "청크 업로드 시 받은 jobId")
+            @PathVariable String jobId
+    ) {
+        Long userIdx = SecurityUtil.getCurrentUserIdx();
+
+        MeetingChunkPipeline.ChunkJob job = chunkPipeline.getJob(jobId);
+        if (job == null || !job.getUserIdx().equals(userIdx) || !job.getMeetingId().equals(meetingId)) {
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("meetingId", meetingId);
+            error.put("error", "NOT_FOUND");
+            error.put("message", "처리 작업을 찾을 수 없습니다. jobId=" + jobId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+
+        Map<String, Object> payload = jobPayload(job);
+        MeetingSpeechStreamService.Segment segment = job.getSegment();
+        if (segment != null) {
             payload.put("index", segment.getIndex());
+            payload.put("seq", segment.getSeq());
             payload.put("text", segment.getText());
             payload.put("receivedAt", segment.getReceivedAt());
             payload.put("bytes", segment.getBytes());
             payload.put("sourceLanguage", segment.getSourceLanguage());
             payload.put("targetLanguage", segment.getTargetLanguage());
             payload.put("translation", segment.getTranslatedText());
-            payload.put("transcript", streamService.getTranscriptText(userIdx, meetingId));
-            payload.put("segments", streamService.getSegments(userIdx, meetingId));
+            payload.put("speakerSegments", segment.getSpeakerSegments());
+            payload.put("speakerTurns", segment.getSpeakerTurns());
+            payload.put("continuesTurn", segment.isContinuesTurn());
+            payload.put("update", segment.isUpdate());
+        }
+        if (job.getError() != null) {
+            payload.put("message", job.getError());
+        }
+        return ResponseEntity.ok(payload);
+    }
 
-            return ResponseEntity.ok(payload);
+    @Operation(
+            summary = "청크 처리 취소",
+            description = "아직 처리 중인 청크의 STT/번역 요청을 취소합니다. 이미 끝난 작업이면 409 를 반환합니다.\n"
+    )
+    @DeleteMapping("/{meetingId}/chunks/jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> cancelChunkJob(
+            @Parameter(description = "회의 세션 ID", example = "1")
+            @PathVariable Long meetingId,
 
-        } catch (IllegalArgumentException ex) {
-            return badRequest(meetingId, ex.getMessage());
-        } catch (IllegalStateException ex) {
-            return serviceUnavailable(meetingId, ex.getMessage());
-        } catch (RuntimeException ex) {
-            return internalError(meetingId, ex.getMessage());
+            @Parameter(description = "청크 업로드 시 받은 jobId")
+            @PathVariable String jobId
+    ) {
+        Long userIdx = SecurityUtil.getCurrentUserIdx();
+
+        MeetingChunkPipeline.ChunkJob job = chunkPipeline.getJob(jobId);
+        if (job == null || !job.getUserIdx().equals(userIdx) || !job.getMeetingId().equals(meetingId)) {
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("meetingId", meetingId);
+            error.put("error", "NOT_FOUND");
+            error.put("message", "처리 작업을 찾을 수 없습니다. jobId=" + jobId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+        if (!chunkPipeline.cancel(jobId)) {
+            Map<String, Object> error = jobPayload(job);
+            error.put("error", "CONFLICT");
+            error.put("message", "이미 처리가 끝난 작업입니다.");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
         }
+        return ResponseEntity.ok(jobPayload(job));
+    }
+
+    private Map<String, Object> jobPayload(MeetingChunkPipeline.ChunkJob job) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("userIdx", job.getUserIdx());
+        payload.put("meetingId", job.getMeetingId());
+        payload.put("jobId", job.getJobId());
+        payload.put("index", job.getIndex());
+        payload.put("state", job.getState());
+        payload.put("submittedAt", job.getSubmittedAt());
+        return payload;
     }
 
     // =========================================================
@@ -267,24 +374,129 @@ public class MeetingSpeechController {
     @Operation(
             summary = "현재까지의 transcript 조회",
             description = "누적된 transcript(원본 텍스트)와 segments 목록을 조회합니다.\n" +
-                    "meetingId는 동일 회의의 ID여야 합니다.\n"
+                    "meetingId는 동일 회의의 ID여야 합니다.\n" +
+                    "since(커서)를 주면 그 이후 도착한 segments 만 반환하고 transcript 는 생략합니다.\n" +
+                    "응답의 cursor 를 다음 요청의 since 로 넘기면 됩니다. (cursor 는 도착 순서이며 index 순서와 다를 수 있음)\n" +
+                    "update=true 인 segment 는 같은 index 의 이전 segment 를 대체합니다.\n" +
+                    "lang 을 주면 저장된 청크별 번역을 이어붙인 translatedTranscript 도 함께 반환합니다. (번역 없는 청크는 원문)\n"
     )
     @GetMapping("/{meetingId}/transcript")
     public ResponseEntity<Map<String, Object>> getTranscript(
             @Parameter(description = "회의 세션 ID", example = "1")
-            @PathVariable Long meetingId
+            @PathVariable Long meetingId,
+
+            @Parameter(description = "마지막으로 받은 cursor (없으면 전체 조회)", example = "0")
+            @RequestParam(value = "since", required = false) Long since,
+
+            @Parameter(description = "번역본 언어 코드 (선택)", example = "en")
+            @RequestParam(value = "lang", required = false) String lang
     ) {
         Long userIdx = SecurityUtil.getCurrentUserIdx();
 
         Map<String, Object> payload = new LinkedHashMap<>();
         payload.put("userIdx", userIdx);
         payload.put("meetingId", meetingId);
-        payload.put("transcript", streamService.getTranscriptText(userIdx, meetingId));
-        payload.put("segments", streamService.getSegments(userIdx, meetingId));
+
+        // cursor 는 실제로 내려준 segment 기준으로 계산 (조회 도중 도착한 segment 를 건너뛰지 않도록)
+        long cursor = since != null ? since : 0L;
+        List<MeetingSpeechStreamService.Segment> segments;
+        if (since == null) {
+            payload.put("transcript", streamService.getTranscriptText(userIdx, meetingId));
+            segments = streamService.getSegments(userIdx, meetingId);
+            if (lang != null && !lang.isEmpty()) {
+                Meeting meeting = meetingService.getMeeting(meetingId);
+                if (!userIdx.equals(meeting.getUserIdx())) {
+                    return badRequest(meetingId, "해당 회의에 접근할 권한이 없습니다. meetingId=" + meetingId);
+                }
+                payload.put("lang", lang);
+                payload.put("translatedTranscript", translationService.buildTranslatedTranscript(meetingId, lang));
+            }
+        } else {
+            payload.put("since", since);
+            segments = streamService.getSegmentsSince(userIdx, meetingId, since);
+        }
+        for (MeetingSpeechStreamService.Segment segment : segments) {
+            cursor = Math.max(cursor, segment.getSeq());
+        }
+        payload.put("segments", segments);
+        payload.put("cursor", cursor);
 
         return ResponseEntity.ok(payload);
     }
 
+    // =========================================================
+    // 4-1. 실시간 transcript 구독 (SSE)
+    // =========================================================
+    @Operation(
+            summary = "실시간 transcript 구독 (SSE)",
+            description = "청크가 처리될 때마다 segment 이벤트(event: segment, id: seq)를 push 합니다.\n" +
+                    "이미 받은 index 를 다시 처리한 결과는 update 이벤트로 오며, 같은 index 의 segment 를 대체합니다.\n" +
+                    "같은 회의를 여러 화면에서 구독하면 하나의 스트림을 공유합니다.\n" +
+                    "since(또는 Last-Event-ID)를 주면 그 이후 segment 를 먼저 보내고 실시간 이벤트를 이어서 보냅니다.\n" +
+                    "회의가 종료(/minutes)되면 finished 이벤트 후 스트림이 닫힙니다.\n"
+    )
+    @GetMapping(value = "/{meetingId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTranscript(
+            @Parameter(description = "회의 세션 ID", example = "1")
+            @PathVariable Long meetingId,
+
+            @Parameter(description = "마지막으로 받은 seq (없으면 처음부터)", example = "0")
+            @RequestParam(value = "since", required = false) Long since,
+
+            @Parameter(hidden = true)
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        Long userIdx = SecurityUtil.getCurrentUserIdx();
+
+        long cursor = since != null ? since : 0L;
+        if (since == null && lastEventId != null && !lastEventId.isEmpty()) {
+            try {
+                cursor = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException ignore) {
+                // 잘못된 헤더는 무시하고 처음부터
+            }
+        }
+
+        final long replayFrom = cursor;
+        return broadcaster.subscribe(
+                userIdx,
+                meetingId,
+                () -> streamService.getSegmentsSince(userIdx, meetingId, replayFrom)
+        );
+    }
+
+    // =========================================================
+    // 4-2. 회의 중 rolling 요약 조회
+    // =========================================================
+    @Operation(
+            summary = "회의 중 요약 조회",
+            description = "청크가 쌓일 때마다 백그라운드에서 갱신되는 최신 요약을 조회합니다.\n" +
+                    "아직 요약이 만들어지지 않았으면 summary 는 null 입니다.\n" +
+                    "coveredChunks 는 요약에 반영된 청크 수입니다.\n"
+    )
+    @GetMapping("/{meetingId}/summary")
+    public ResponseEntity<Map<String, Object>> getLiveSummary(
+            @Parameter(description = "회의 세션 ID", example = "1")
+            @PathVariable Long meetingId
+    ) {
+        Long userIdx = SecurityUtil.getCurrentUserIdx();
+
+        Meeting meeting = meetingService.getMeeting(meetingId);
+        if (!userIdx.equals(meeting.getUserIdx())) {
+            return badRequest(meetingId, "해당 회의에 접근할 권한이 없습니다. meetingId=" + meetingId);
+        }
+
+        MeetingSummaryEngine.RollingSummary rolling = summaryService.getLiveSummary(meetingId);
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("userIdx", userIdx);
+        payload.put("meetingId", meetingId);
+        payload.put("summary", rolling != null ? rolling.getSummary() : null);
+        payload.put("coveredChunks", rolling != null ? rolling.getCoveredChunks() : 0);
+        payload.put("updatedAt", rolling != null ? rolling.getUpdatedAt() : null);
+        return ResponseEntity.ok(payload);
+    }
+
     // =========================================================
     // 5. 회의 종료 + 최종 회의록 생성 (회의록 별도 저장)
     // =========================================================
@@ -305,14 +517,24 @@ public class MeetingSpeechController {
         Long userIdx = SecurityUtil.getCurrentUserIdx();
 
         try {
+            // 0) 아직 처리 중인 청크가 있으면 반영될 때까지 대기
+            if (!chunkPipeline.awaitIdle(userIdx, meetingId, drainTimeoutMs)) {
+                return serviceUnavailable(meetingId, "아직 처리 중인 음성 청크가 있습니다. 잠시 후 다시 시도하세요.");
+            }
+
             // 1) 지금까지의 transcript / segments 가져오기
             String originalTranscript = streamService.getTranscriptText(userIdx, meetingId);
-            String koreanTranscript = originalTranscript; // 필요하면 여기서 번역/변환
 
             if (originalTranscript == null || originalTranscript.isEmpty()) {
                 throw new IllegalArgumentException("회의 내용이 없습니다. 먼저 음성 청크를 업로드하세요.");
             }
 
+            // 청크별로 저장된 한국어 번역을 seq 순으로 이어붙임 (번역 없는 청크는 원문, Papago 재호출 없음)
+            String koreanTranscript = translationService.buildTranslatedTranscript(meetingId, "ko");
+            if (koreanTranscript.isEmpty()) {
+                koreanTranscript = originalTranscript;
+            }
+
             // 2) MeetingSummaryService를 사용해서 요약 생성
             //    (MeetingSummaryService에 meetingId, userIdx 기반 요약 메서드가 존재한다고 가정)
             String summary = summaryService.summarize(meetingId, userIdx);
@@ -338,8 +560,20 @@ public class MeetingSpeechController {
             payload.put("summary", summary);
             payload.put("segments", segments);
 
+            // 5) 구독 중인 화면에 종료 알림 (segments 는 이미 받았으므로 요약만)
+            Map<String, Object> finished = new LinkedHashMap<>();
+            finished.put("meetingId", meetingId);
+            finished.put("summary", summary);
+            broadcaster.finish(userIdx, meetingId, finished);
+
+            // 6) 회의록까지 저장됐으므로 메모리 세션 / spill 파일 정리
+            streamService.clear(userIdx, meetingId);
+
             return ResponseEntity.ok(payload);
 
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return serviceUnavailable(meetingId, "회의 종료 처리가 중단되었습니다.");
         } catch (IllegalArgumentException ex) {
             return badRequest(meetingId, ex.getMessage());
         } catch (IllegalStateException ex) {
@@ -368,6 +602,16 @@ public class MeetingSpeechController {
         return ResponseEntity.status(503).body(error);
     }
 
+    private ResponseEntity<Map<String, Object>> tooManyRequests(Long meetingId, String msg) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("meetingId", meetingId);
+        error.put("error", "TOO_MANY_REQUESTS");
+        error.put("message", msg);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", "1")
+                .body(error);
+    }
+
     private ResponseEntity<Map<String, Object>> internalError(Long meetingId, String msg) {
         Map<String, Object> error = new LinkedHashMap<>();
         error.put("meetingId", meetingId);
@@ -1,16 +1,23 @@
 package com.bbey.neez.controller.company;
 
 import com.bbey.neez.DTO.ApiResponseDto;
+import com.bbey.neez.DTO.company.CompanySearchDto;
 import com.bbey.neez.entity.Company;
 import com.bbey.neez.repository.CompanyRepository;
+import com.bbey.neez.service.company.CompanySearchIndex;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -21,27 +28,51 @@ import java.util.Optional;
 public class CompanySearchController {
 
         private final CompanyRepository companyRepository;
+        private final CompanySearchIndex companySearchIndex;
 
         /**
          * 회사 키워드 검색
          * 예) GET /api/companies/search?keyword=BBEY&page=0&size=10
          */
         @GetMapping("/search")
-        @Operation(summary = "회사 키워드 검색", description = "회사명 / 주소 / 홈페이지 / 업종에 대해 키워드 LIKE 검색을 수행합니다.")
+        @Operation(summary = "회사 키워드 검색", description = "회사명(오타 허용) / 주소 / 홈페이지 / 업종을 메모리 색인으로 검색하고 관련도 순으로 정렬합니다.")
         public ApiResponseDto<Object> searchCompanies(
                         @RequestParam String keyword,
                         @RequestParam(defaultValue = "0") int page,
                         @RequestParam(defaultValue = "10") int size) {
                 PageRequest pageRequest = PageRequest.of(page, size);
 
-                // CompanyRepository.searchByKeyword 는 Page<Company> 를 반환
-                Page<Company> resultPage = companyRepository.searchByKeyword(keyword, pageRequest);
+                // 색인에서 해당 페이지 idx 만 뽑고, 회사 정보는 그 페이지만 DB 에서 조회
+                CompanySearchIndex.SearchHits hits = companySearchIndex.search(keyword,
+                                (int) pageRequest.getOffset(), size);
 
-                // Page 전체를 내려주고 싶으면 resultPage 그대로 넘겨도 되고,
-                // content(List<Company>)만 보내고 싶으면 getContent() 사용
+                Map<Long, Company> byId = new HashMap<>();
+                for (Company c : companyRepository.findAllById(hits.getIds())) {
+                        byId.put(c.getIdx(), c);
+                }
+                List<Company> content = new ArrayList<>();
+                for (Long id : hits.getIds()) {
+                        Company c = byId.get(id);
+                        if (c != null) {
+                                content.add(c);
+                        }
+                }
+
+                Page<Company> resultPage = new PageImpl<>(content, pageRequest, hits.getTotal());
                 return new ApiResponseDto<>(true, "회사 검색 결과", resultPage);
-                // 또는 필요 시: return new ApiResponseDto<>(true, "회사 검색 결과",
-                // resultPage.getContent());
+        }
+
+        /**
+         * 회사명 자동완성 (명함 편집 화면 회사 선택용)
+         * 예) GET /api/companies/suggest?q=삼성ㅈ&limit=10
+         */
+        @GetMapping("/suggest")
+        @Operation(summary = "회사명 자동완성", description = "입력 중인 한글(자모 단위)/초성 접두어로 회사명을 추천합니다. 메모리 색인에서 바로 응답합니다.")
+        public ApiResponseDto<List<CompanySearchDto>> suggestCompanies(
+                        @RequestParam String q,
+                        @RequestParam(defaultValue = "10") int limit) {
+                List<CompanySearchDto> result = companySearchIndex.suggest(q, Math.min(limit, 50));
+                return new ApiResponseDto<>(true, "회사 자동완성 결과", result);
         }
 
         /**
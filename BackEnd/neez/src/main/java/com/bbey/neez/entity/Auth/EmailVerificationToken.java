@@ -8,7 +8,11 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "email_verification_token")
+@Table(name = "email_verification_token", indexes = {
+        @Index(name = "idx_evt_email", columnList = "email"),
+        @Index(name = "idx_evt_user_id", columnList = "userId"),
+        @Index(name = "idx_evt_expires_at", columnList = "expiresAt")
+})
 @Getter
 @Setter
 public class EmailVerificationToken {
@@ -0,0 +1,65 @@
+package com.bbey.neez.entity.Auth;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 발송 대기 메일 (outbox)
+ *
+ * - 요청 스레드는 여기 INSERT 만 하고 바로 응답 → 실제 SMTP 발송은 MailOutboxService 워커가 담당
+ * - PENDING → SENDING(claimToken 으로 선점, nextAttemptAt = 선점 만료 시각) → SENT
+ *   실패 시 attempts 증가 후 PENDING 으로 재예약, 최대 횟수를 넘기면 DEAD (dead letter)
+ * - 워커가 죽어서 SENDING 으로 남은 행은 nextAttemptAt 이 지나면 다시 선점된다
+ */
+@Entity
+@Table(name = "mail_outbox", indexes = {
+        @Index(name = "idx_mail_outbox_due", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_mail_outbox_claim", columnList = "claim_token")
+})
+@Getter
+@Setter
+public class MailOutbox {
+
+    public enum Status {
+        PENDING, SENDING, SENT, DEAD
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 255)
+    private String recipient;
+
+    @Column(nullable = false, length = 255)
+    private String subject;
+
+    @Lob
+    @Column(nullable = false)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,70 @@
+package com.bbey.neez.entity.Auth;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Refresh Token 저장소 (users 테이블과 분리)
+ *
+ * - 키: sha-256(토큰) → 원문 토큰은 저장하지 않는다
+ * - sessionId: 로그인 한 번(기기 하나)마다 새로 발급, 재발급(rotation) 되어도 유지
+ * - 재발급 시 기존 행은 rotatedAt 만 찍고 새 행을 INSERT (행을 갱신하지 않고 쌓는 구조)
+ * - 이미 rotated 된 토큰이 다시 들어오면 재사용(탈취)으로 보고 세션 전체를 revoke
+ */
+@Entity
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "idx_refresh_token_user", columnList = "user_idx"),
+        @Index(name = "idx_refresh_token_session", columnList = "session_id"),
+        @Index(name = "idx_refresh_token_expires", columnList = "expires_at")
+})
+@Getter
+@Setter
+public class RefreshToken implements Persistable<String> {
+
+    @Id
+    @Column(name = "token_hash", length = 64)
+    private String tokenHash;
+
+    @Column(name = "user_idx", nullable = false)
+    private Long userIdx;
+
+    @Column(name = "session_id", nullable = false, length = 36)
+    private String sessionId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // 재발급에 쓰인 시각 (null = 아직 사용 가능)
+    @Column(name = "rotated_at")
+    private LocalDateTime rotatedAt;
+
+    @Column(nullable = false)
+    private boolean revoked;
+
+    // 키를 직접 지정하므로 save() 가 merge(SELECT) 대신 바로 INSERT 하도록
+    @Transient
+    private boolean persisted;
+
+    @Override
+    public String getId() {
+        return tokenHash;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+}
@@ -70,4 +70,8 @@ public class Users {
     // 🔥 역할 컬럼
     @Column(name = "role", nullable = false, length = 50)
     private String role;   // "USER", "ADMIN" 등
+
+    // access token 의 ver 클레임과 비교 → 올리면 이전에 발급된 access token 전부 거부
+    @Column(name = "token_version", nullable = false, columnDefinition = "INT DEFAULT 0")
+    private int tokenVersion;
 }
@@ -5,8 +5,14 @@ import lombok.*;
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
+/**
+ * 회의 번역 (segment 한 건 단위, append-only)
+ * - (meet_idx, seq, lang_code) 로 STT 청크(meetRTChunks.seq)와 짝을 이룬다.
+ * - 전체 번역본은 seq 순으로 행을 이어붙여 만든다. (seq 가 없는 행은 예전 통짜 저장분)
+ */
 @Entity
-@Table(name = "meetTranslations")
+@Table(name = "meetTranslations",
+        indexes = @Index(name = "idx_meet_translation_seq", columnList = "meet_idx, lang_code, seq"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -21,11 +27,14 @@ public class MeetTranslation {
     @Column(name = "meet_idx", nullable = false)
     private Long meetIdx;
 
+    @Column(name = "seq")
+    private Long seq;           // 청크 순서 (meetRTChunks.seq)
+
     @Column(name = "lang_code", length = 10, nullable = false)
     private String langCode;    // 번역 언어
 
     @Column(columnDefinition = "TEXT")
-    private String translated;  // 번역 결과 전체
+    private String translated;  // 해당 청크의 번역 결과
 
     @Column(name = "created_at", updatable = false, insertable = false)
     private LocalDateTime createdAt;
@@ -54,6 +54,16 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(body);
     }
 
+    // ✅ 요청 제한 초과 (429)
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponseDto<Object>> handleTooManyRequests(TooManyRequestsException ex) {
+        ApiResponseDto<Object> body = new ApiResponseDto<>(
+                false,
+                ex.getMessage(),
+                null);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(body);
+    }
+
     // ✅ 서비스 단에서 던지는 일반 RuntimeException (400)
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ApiResponseDto<Object>> handleRuntimeException(RuntimeException ex) {
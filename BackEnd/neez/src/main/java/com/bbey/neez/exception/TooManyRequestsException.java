@@ -0,0 +1,11 @@
+package com.bbey.neez.exception;
+
+/**
+ * 요청 제한(rate limit)에 걸렸을 때 사용하는 예외 → 429
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -1,9 +1,12 @@
 package com.bbey.neez.jwt;
 
 import com.bbey.neez.security.CustomUserDetailsService;
+import com.bbey.neez.security.PrincipalCache;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -19,10 +22,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil,
+                                   CustomUserDetailsService userDetailsService,
+                                   PrincipalCache principalCache) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -49,16 +57,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = header.substring(7);
-        String userId = jwtUtil.getUserIdFromToken(token);
 
         // SecurityContext에 인증이 없는 경우에만 처리
-        if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            // DB에서 UserPrincipal 불러오기
-            UserDetails userDetails = userDetailsService.loadUserByUsername(userId);
+            // 서명 + 만료 검증은 여기서 한 번만
+            Claims claims = jwtUtil.parseClaims(token);
+            UserDetails userDetails = claims != null ? resolvePrincipal(claims) : null;
 
-            // 토큰 만료 확인
-            if (!jwtUtil.isExpired(token)) {
+            if (userDetails != null) {
 
                 // UserPrincipal 기반 인증 객체 생성
                 UsernamePasswordAuthenticationToken authentication =
@@ -68,9 +75,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                 userDetails.getAuthorities()
                         );
 
-                authentication.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
+                authentication.setDetails(detailsSource.buildDetails(request));
 
                 // SecurityContextHolder 에 인증정보 저장
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -79,4 +84,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         chain.doFilter(request, response);
     }
+
+    /**
+     * 클레임 → UserPrincipal (캐시 hit 이면 DB 조회 없음, miss 때만 token_version 한 컬럼)
+     * - idx 클레임이 없는 예전 토큰만 DB 에서 불러온다
+     */
+    private UserDetails resolvePrincipal(Claims claims) {
+        // refresh token 은 /api/auth/refresh 에서만 쓴다
+        if (JwtUtil.isRefreshToken(claims)) {
+            return null;
+        }
+        Long idx = JwtUtil.getIdx(claims);
+        if (idx == null) {
+            try {
+                return userDetailsService.loadUserByUsername(claims.getSubject());
+            } catch (UsernameNotFoundException e) {
+                return null;
+            }
+        }
+        return principalCache.resolve(idx,
+                claims.getSubject(),
+                claims.get(JwtUtil.CLAIM_ROLE, String.class),
+                JwtUtil.getVersion(claims),
+                claims.get(JwtUtil.CLAIM_SESSION, String.class));
+    }
 }
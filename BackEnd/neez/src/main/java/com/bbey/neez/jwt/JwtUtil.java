@@ -1,5 +1,6 @@
 package com.bbey.neez.jwt;
 
+import com.bbey.neez.entity.Auth.Users;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,6 +9,7 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
@@ -16,9 +18,22 @@ public class JwtUtil {
     private final long accessExpMs;
     private final long refreshExpMs;
 
+    // access token 클레임 키
+    public static final String CLAIM_IDX = "idx";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_VERSION = "ver";
+    // 로그인 세션(기기) id → access / refresh token 둘 다
+    public static final String CLAIM_SESSION = "sid";
+    // refresh token 클레임 키 (typ = refresh 인 토큰은 API 인증에 쓰지 않는다)
+    public static final String CLAIM_TYPE = "typ";
+    public static final String TYPE_REFRESH = "refresh";
+
     // 서명용 SecretKey
     private final SecretKey secretKey;
 
+    // 파서는 thread-safe → 한 번만 만든다 (매번 parserBuilder().build() 하면 요청마다 ms 단위 비용)
+    private final JwtParser parser;
+
     /**
      * 생성자에서 설정값 주입
      *
@@ -33,62 +48,99 @@ public class JwtUtil {
             @Value("${jwt.refresh-exp-ms:604800000}") long refreshExpMs
     ) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build();
         this.accessExpMs = accessExpMs;
         this.refreshExpMs = refreshExpMs;
     }
 
     // -----------------------------
     // Access Token 생성
+    // - idx / role 을 클레임에 넣어서 필터가 DB 조회 없이 principal 을 만들 수 있게 한다
+    // - ver: 발급 시점의 users.token_version (비밀번호 변경 / 전체 로그아웃 시 올라감)
+    // - sid: 같은 로그인의 refresh token 세션 → 기기 하나만 로그아웃할 때 그 세션의 access token 만 거부
     // -----------------------------
-    public String createAccessToken(String userId) {
-        return createToken(userId, accessExpMs);
+    public String createAccessToken(Users user, String sessionId) {
+        long now = System.currentTimeMillis();
+
+        return Jwts.builder()
+                .setSubject(user.getUserId())
+                .claim(CLAIM_IDX, user.getIdx())
+                .claim(CLAIM_ROLE, user.getRole())
+                .claim(CLAIM_VERSION, user.getTokenVersion())
+                .claim(CLAIM_SESSION, sessionId)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + accessExpMs))
+                .signWith(secretKey, SignatureAlgorithm.HS256)
+                .compact();
     }
 
     // -----------------------------
     // Refresh Token 생성
+    // - sid: 로그인 세션(기기) id, jti: 토큰마다 달라야 같은 초에 재발급해도 해시가 겹치지 않음
     // -----------------------------
-    public String createRefreshToken(String userId) {
-        return createToken(userId, refreshExpMs);
-    }
-
-    // 공통 토큰 생성 로직
-    private String createToken(String userId, long expireMs) {
+    public String createRefreshToken(Users user, String sessionId) {
         long now = System.currentTimeMillis();
 
         return Jwts.builder()
-                .setSubject(userId)                                 // userId 저장
+                .setSubject(user.getUserId())
+                .setId(UUID.randomUUID().toString())
+                .claim(CLAIM_IDX, user.getIdx())
+                .claim(CLAIM_TYPE, TYPE_REFRESH)
+                .claim(CLAIM_SESSION, sessionId)
                 .setIssuedAt(new Date(now))
-                .setExpiration(new Date(now + expireMs))           // 만료 시간
-                .signWith(secretKey, SignatureAlgorithm.HS256)      // HS256 + 고정 secretKey
+                .setExpiration(new Date(now + refreshExpMs))
+                .signWith(secretKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    public long getRefreshExpMs() {
+        return refreshExpMs;
+    }
+
     // -----------------------------
-    // 토큰에서 userId 추출
+    // 서명 + 만료 검증 후 클레임 반환 (한 번만 파싱)
     // -----------------------------
-    public String getUserIdFromToken(String token) {
+    public Claims parseClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getSubject();
+            return parser.parseClaimsJws(token).getBody();
         } catch (JwtException | IllegalArgumentException e) {
             // 서명 불일치, 만료, 형식 오류 등 → null
             return null;
         }
     }
 
+    public static boolean isRefreshToken(Claims claims) {
+        return TYPE_REFRESH.equals(claims.get(CLAIM_TYPE));
+    }
+
+    // 클레임의 idx (예전에 발급된 토큰에는 없음 → null)
+    public static Long getIdx(Claims claims) {
+        Object idx = claims.get(CLAIM_IDX);
+        return idx instanceof Number ? Long.valueOf(((Number) idx).longValue()) : null;
+    }
+
+    // 클레임의 token version (ver 클레임이 없던 시절 토큰은 0)
+    public static int getVersion(Claims claims) {
+        Object version = claims.get(CLAIM_VERSION);
+        return version instanceof Number ? ((Number) version).intValue() : 0;
+    }
+
+    // -----------------------------
+    // 토큰에서 userId 추출
+    // -----------------------------
+    public String getUserIdFromToken(String token) {
+        Claims claims = parseClaims(token);
+        return claims != null ? claims.getSubject() : null;
+    }
+
     // -----------------------------
     // 토큰 만료 여부 체크
     // -----------------------------
     public boolean isExpired(String token) {
         try {
-            Date exp = Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token)
+            Date exp = parser.parseClaimsJws(token)
                     .getBody()
                     .getExpiration();
 
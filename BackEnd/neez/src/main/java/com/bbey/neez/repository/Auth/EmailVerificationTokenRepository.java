@@ -1,9 +1,16 @@
 package com.bbey.neez.repository.Auth;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.bbey.neez.entity.Auth.EmailVerificationToken;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface EmailVerificationTokenRepository extends JpaRepository<EmailVerificationToken, Long> {
@@ -11,4 +18,14 @@ public interface EmailVerificationTokenRepository extends JpaRepository<EmailVer
     Optional<EmailVerificationToken> findByToken(String token);
 
     void deleteByToken(String token);
+
+    // 회원가입 시 같은 이메일/아이디로 남아 있는 인증 대기 토큰 정리 (email, userId 인덱스 사용)
+    @Transactional
+    @Modifying
+    @Query("delete from EmailVerificationToken t where t.email = :email or t.userId = :userId")
+    int deletePending(@Param("email") String email, @Param("userId") String userId);
+
+    // 만료 토큰 id 한 묶음 (LIMIT 는 Pageable 로)
+    @Query("select t.id from EmailVerificationToken t where t.expiresAt < :now order by t.expiresAt")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
 }
@@ -0,0 +1,69 @@
+package com.bbey.neez.repository.Auth;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bbey.neez.entity.Auth.MailOutbox;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// 워커 스레드에서 직접 호출하므로 변경 쿼리는 각자 트랜잭션
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+
+    // 발송할 차례가 된 행 (PENDING, 또는 선점 만료된 SENDING)
+    @Query("select m.id from MailOutbox m " +
+            "where m.status in :statuses and m.nextAttemptAt <= :now " +
+            "order by m.nextAttemptAt")
+    List<Long> findDueIds(@Param("statuses") Collection<MailOutbox.Status> statuses,
+                          @Param("now") LocalDateTime now,
+                          Pageable pageable);
+
+    // 선점: 아직 차례인 행만 SENDING + claimToken 기록 (다른 워커/인스턴스가 먼저 가져간 행은 제외됨)
+    @Transactional
+    @Modifying
+    @Query("update MailOutbox m set m.status = :sending, m.claimToken = :claimToken, m.nextAttemptAt = :leaseUntil " +
+            "where m.id in :ids and m.status in :statuses and m.nextAttemptAt <= :now")
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("statuses") Collection<MailOutbox.Status> statuses,
+              @Param("sending") MailOutbox.Status sending,
+              @Param("claimToken") String claimToken,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    List<MailOutbox> findByClaimToken(String claimToken);
+
+    // 발송 결과 기록은 선점한 워커만 (lease 가 풀려 다른 워커가 다시 선점했으면 0 건)
+    @Transactional
+    @Modifying
+    @Query("update MailOutbox m set m.status = :sent, m.sentAt = :now, m.claimToken = null, " +
+            "m.attempts = m.attempts + 1 where m.id in :ids and m.claimToken = :claimToken")
+    int markSent(@Param("ids") Collection<Long> ids,
+                 @Param("claimToken") String claimToken,
+                 @Param("sent") MailOutbox.Status sent,
+                 @Param("now") LocalDateTime now);
+
+    // 재시도 예약 또는 DEAD 처리
+    @Transactional
+    @Modifying
+    @Query("update MailOutbox m set m.status = :status, m.attempts = :attempts, m.nextAttemptAt = :nextAttemptAt, " +
+            "m.lastError = :lastError, m.claimToken = null where m.id = :id and m.claimToken = :claimToken")
+    int markFailed(@Param("id") Long id,
+                   @Param("claimToken") String claimToken,
+                   @Param("status") MailOutbox.Status status,
+                   @Param("attempts") int attempts,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("lastError") String lastError);
+
+    long countByStatus(MailOutbox.Status status);
+
+    @Transactional
+    @Modifying
+    @Query("delete from MailOutbox m where m.status = :sent and m.sentAt < :before")
+    int deleteSentBefore(@Param("sent") MailOutbox.Status sent, @Param("before") LocalDateTime before);
+}
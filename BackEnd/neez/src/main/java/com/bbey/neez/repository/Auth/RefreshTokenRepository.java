@@ -0,0 +1,41 @@
+package com.bbey.neez.repository.Auth;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bbey.neez.entity.Auth.RefreshToken;
+
+import java.time.LocalDateTime;
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    // 재발급: 아직 쓰이지 않은 유효 토큰일 때만 rotatedAt 기록 (1 = 성공)
+    @Modifying
+    @Query("update RefreshToken t set t.rotatedAt = :now " +
+            "where t.tokenHash = :tokenHash and t.rotatedAt is null " +
+            "and t.revoked = false and t.expiresAt > :now")
+    int markRotated(@Param("tokenHash") String tokenHash, @Param("now") LocalDateTime now);
+
+    // 기기 하나(세션) 로그아웃 / 재사용 감지 시
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true " +
+            "where t.sessionId = :sessionId and t.revoked = false")
+    int revokeSession(@Param("sessionId") String sessionId);
+
+    // 전체 기기 로그아웃 / 비밀번호 변경 / 탈퇴 시
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true " +
+            "where t.userIdx = :userIdx and t.revoked = false")
+    int revokeAllByUserIdx(@Param("userIdx") Long userIdx);
+
+    // access token 의 sid 가 로그아웃 / 재사용 감지로 폐기된 세션인지 (principal 캐시 miss 시)
+    boolean existsBySessionIdAndRevokedTrue(String sessionId);
+
+    // 스케줄러에서 직접 호출 → 자체 트랜잭션
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,6 +1,10 @@
 package com.bbey.neez.repository.Auth;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.bbey.neez.entity.Auth.Users;
 
@@ -22,4 +26,14 @@ public interface UserRepository extends JpaRepository<Users, Long> {
 
      // 비밀번호 재설정 단계 2에서 필요
     Optional<Users> findByEmail(String email);
+
+    // principal 캐시 miss 시 access token 검증용 (컬럼 하나만, 없는 유저면 null)
+    @Query("select u.tokenVersion from Users u where u.idx = :idx")
+    Integer findTokenVersion(@Param("idx") Long idx);
+
+    // 전체 로그아웃 → 이미 발급된 access token 전부 무효화
+    @Transactional
+    @Modifying
+    @Query("update Users u set u.tokenVersion = u.tokenVersion + 1 where u.idx = :idx")
+    int incrementTokenVersion(@Param("idx") Long idx);
 }
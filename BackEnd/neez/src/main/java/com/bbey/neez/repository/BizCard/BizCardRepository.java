@@ -3,8 +3,6 @@ package com.bbey.neez.repository.BizCard;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 
 import com.bbey.neez.entity.BizCard.BizCard;
 
@@ -26,16 +24,8 @@ public interface BizCardRepository extends JpaRepository<BizCard, Long> {
     Page<BizCard> findByUserIdxAndIsDeletedFalseOrderByCreatedAtDesc(Long userIdx, Pageable pageable);
 
 
-    // 검색 (이름/이메일/부서) + 소프트 삭제 제외
-    @Query("select b from BizCard b " +
-            "where b.userIdx = :userIdx " +
-            "and b.isDeleted = false " +
-            "and (" +
-            "   lower(b.name) like lower(concat('%', :keyword, '%')) or " +
-            "   lower(b.email) like lower(concat('%', :keyword, '%')) or " +
-            "   lower(b.department) like lower(concat('%', :keyword, '%'))" +
-            ")")
-    Page<BizCard> searchByKeyword(@Param("userIdx") Long userIdx, @Param("keyword") String keyword, Pageable pageable);
+    // 사용자 소유 살아있는 명함 전체 (검색 색인 생성용)
+    List<BizCard> findAllByUserIdxAndIsDeletedFalse(Long userIdx);
 
      // 사용자별 살아있는 명함 개수
     long countByUserIdxAndIsDeletedFalse(Long userIdx);
@@ -8,7 +8,9 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 
@@ -17,6 +19,11 @@ public interface CardHashTagRepository extends JpaRepository<CardHashTag, Long>
     // 카드에 달린 태그들
     List<CardHashTag> findByCard(BizCard card);
 
+    // 여러 카드의 태그를 한 번에 조회 → [card_idx, tag name]
+    @Query("select c.card.idx, t.name from CardHashTag c join c.tag t " +
+            "where c.card.idx in :cardIds order by c.idx")
+    List<Object[]> findTagNamesByCardIds(@Param("cardIds") Collection<Long> cardIds);
+
     // 특정 태그에 달린 카드들
     List<CardHashTag> findByTag(HashTag tag);
 
@@ -7,6 +7,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface CompanyRepository extends JpaRepository<Company, Long> {
@@ -21,7 +23,7 @@ public interface CompanyRepository extends JpaRepository<Company, Long> {
 
     Optional<Company> findByCorpNo(String corpNo);
 
-    // 키워드 검색 (Java 8/11 호환)
+    // 키워드 검색 (검색 색인 적재 전 대체 조회)
     @Query("SELECT c " +
             "FROM Company c " +
             "WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
@@ -29,4 +31,11 @@ public interface CompanyRepository extends JpaRepository<Company, Long> {
             "   OR LOWER(c.homepage) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
             "   OR LOWER(c.industry) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Page<Company> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
+
+    // 검색 색인 적재용 (idx 기준 keyset 페이징)
+    @Query("SELECT c FROM Company c WHERE c.idx > :afterIdx ORDER BY c.idx")
+    List<Company> findIndexBatch(@Param("afterIdx") Long afterIdx, Pageable pageable);
+
+    // 검색 색인 증분 갱신용
+    List<Company> findByUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc(LocalDateTime since);
 }
@@ -8,4 +8,15 @@ import java.util.List;
 public interface MeetRTChunkRepository extends JpaRepository<MeetRTChunk, Long> {
 
     List<MeetRTChunk> findByMeetIdxOrderBySeqAsc(Long meetIdx);
+
+    /** seq 구간 [from, to] 의 청크 (요약 구간 단위 조회용) */
+    List<MeetRTChunk> findByMeetIdxAndChunkTypeAndSeqBetweenOrderBySeqAsc(Long meetIdx,
+                                                                          String chunkType,
+                                                                          Long fromSeq,
+                                                                          Long toSeq);
+
+    /** idx(PK) 이후에 저장된 청크만 저장 순서대로 (세션 증분 동기화용) */
+    List<MeetRTChunk> findByMeetIdxAndChunkTypeAndIdxGreaterThanOrderByIdxAsc(Long meetIdx,
+                                                                              String chunkType,
+                                                                              Long idx);
 }
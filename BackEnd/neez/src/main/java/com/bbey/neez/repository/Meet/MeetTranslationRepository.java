@@ -2,12 +2,43 @@ package com.bbey.neez.repository.Meet;
 
 import com.bbey.neez.entity.Meet.MeetTranslation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface MeetTranslationRepository extends JpaRepository<MeetTranslation, Long> {
 
     List<MeetTranslation> findByMeetIdx(Long meetIdx);
 
-    MeetTranslation findByMeetIdxAndLangCode(Long meetIdx, String langCode);
+    /**
+     * 번역 행을 seq 순으로 스트리밍 (seq, translated)
+     * - 엔티티가 아닌 스칼라라 영속성 컨텍스트에 쌓이지 않는다
+     * - fetch size MIN_VALUE: MySQL 드라이버가 결과를 한 번에 메모리에 올리지 않고 행 단위로 읽음
+     * - 호출 측 트랜잭션 안에서 try-with-resources 로 닫아야 한다
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("select t.seq, t.translated from MeetTranslation t " +
+            "where t.meetIdx = :meetIdx and t.langCode = :langCode " +
+            "order by t.seq asc, t.idx asc")
+    Stream<Object[]> streamTranslated(@Param("meetIdx") Long meetIdx,
+                                      @Param("langCode") String langCode);
+
+    /**
+     * STT 청크(원문)와 같은 seq 의 번역을 붙여서 스트리밍 (seq, content, translated)
+     * - 번역이 없는 청크는 translated 가 null
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("select c.seq, c.content, t.translated from MeetRTChunk c " +
+            "left join MeetTranslation t " +
+            "on t.meetIdx = c.meetIdx and t.seq = c.seq and t.langCode = :langCode " +
+            "where c.meetIdx = :meetIdx and c.chunkType = 'TRANSCRIPT' " +
+            "order by c.seq asc, c.idx asc, t.idx asc")
+    Stream<Object[]> streamTranscriptWithTranslation(@Param("meetIdx") Long meetIdx,
+                                                     @Param("langCode") String langCode);
 }
@@ -0,0 +1,59 @@
+package com.bbey.neez.security;
+
+import com.bbey.neez.DTO.ApiResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 인증 API IP 기준 요청 제한
+ * - JWT 필터 / 컨트롤러보다 먼저 → 한도를 넘은 요청은 BCrypt, DB 조회, body 파싱 없이 429
+ * - SecurityConfig 에서만 등록 (@Component 로 두면 서블릿 필터로 한 번 더 등록된다)
+ */
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final byte[] REJECTED_BODY = rejectedBody();
+
+    private final AuthRateLimiter authRateLimiter;
+
+    public AuthRateLimitFilter(AuthRateLimiter authRateLimiter) {
+        this.authRateLimiter = authRateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain)
+            throws ServletException, IOException {
+
+        AuthRateLimiter.Policy policy = authRateLimiter.policyFor(request);
+
+        if (policy != null && !authRateLimiter.allowIp(policy, request)) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value()); // 429
+            response.setHeader("Retry-After", String.valueOf(authRateLimiter.getRetryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(REJECTED_BODY.length);
+            response.getOutputStream().write(REJECTED_BODY);
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    private static byte[] rejectedBody() {
+        try {
+            ApiResponseDto<Object> body = new ApiResponseDto<>(false, "요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.", null);
+            return new ObjectMapper().writeValueAsString(body).getBytes(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
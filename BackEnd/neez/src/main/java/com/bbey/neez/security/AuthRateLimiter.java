@@ -0,0 +1,156 @@
+package com.bbey.neez.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 인증 API 요청 제한 (IP 기준 + userId 기준)
+ *
+ * - IP 는 AuthRateLimitFilter 에서 (컨트롤러/JSON 파싱 전에) 확인
+ * - userId 는 AuthController 에서 BCrypt / DB 조회 전에 확인
+ * - 기본 한도 (window-ms 동안): login IP 30 / userId 10, forgot-password IP 10 / userId 3,
+ *   check-id · check-email IP 60
+ * - 경로는 AntPathRequestMatcher 로 비교 (끝에 / 를 붙이거나 하위 경로로 우회하지 못하게)
+ * - trust-forwarded 면 X-Forwarded-For 의 오른쪽에서 trusted-hops 번째 (우리 프록시가 붙인 값) 를 클라이언트 IP 로 쓴다
+ *   (왼쪽 값은 클라이언트가 마음대로 넣을 수 있다)
+ * - 지표: auth.ratelimit.rejected (tag policy, scope), auth.ratelimit.keys
+ */
+@Component
+public class AuthRateLimiter {
+
+    public enum Policy {
+        LOGIN("login"),
+        FORGOT_PASSWORD("forgot-password"),
+        CHECK("check");
+
+        private final String tag;
+
+        Policy(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final SlidingWindowRateLimiter limiter;
+    private final boolean enabled;
+    private final boolean trustForwarded;
+    private final int trustedHops;
+    private final long windowMs;
+    private final Map<Policy, RequestMatcher> matchers = new EnumMap<>(Policy.class);
+    private final Map<Policy, Integer> ipLimits = new EnumMap<>(Policy.class);
+    private final Map<Policy, Integer> userLimits = new EnumMap<>(Policy.class);
+    private final Map<Policy, Counter> ipRejected = new EnumMap<>(Policy.class);
+    private final Map<Policy, Counter> userRejected = new EnumMap<>(Policy.class);
+
+    public AuthRateLimiter(MeterRegistry meterRegistry,
+                           @Value("${app.auth.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${app.auth.rate-limit.trust-forwarded:false}") boolean trustForwarded,
+                           @Value("${app.auth.rate-limit.trusted-hops:1}") int trustedHops,
+                           @Value("${app.auth.rate-limit.window-ms:60000}") long windowMs,
+                           @Value("${app.auth.rate-limit.stripes:64}") int stripes,
+                           @Value("${app.auth.rate-limit.max-keys:100000}") int maxKeys,
+                           @Value("${app.auth.rate-limit.login.ip-limit:30}") int loginIpLimit,
+                           @Value("${app.auth.rate-limit.login.user-limit:10}") int loginUserLimit,
+                           @Value("${app.auth.rate-limit.forgot-password.ip-limit:10}") int forgotIpLimit,
+                           @Value("${app.auth.rate-limit.forgot-password.user-limit:3}") int forgotUserLimit,
+                           @Value("${app.auth.rate-limit.check.ip-limit:60}") int checkIpLimit) {
+        this.limiter = new SlidingWindowRateLimiter(stripes, maxKeys);
+        this.enabled = enabled;
+        this.trustForwarded = trustForwarded;
+        this.trustedHops = Math.max(1, trustedHops);
+        this.windowMs = Math.max(1000L, windowMs);
+
+        // "/x/**" 는 "/x", "/x/" 도 포함
+        matchers.put(Policy.LOGIN, new AntPathRequestMatcher("/api/auth/login/**"));
+        matchers.put(Policy.FORGOT_PASSWORD, new AntPathRequestMatcher("/api/auth/forgot-password/**"));
+        matchers.put(Policy.CHECK, new OrRequestMatcher(
+                new AntPathRequestMatcher("/api/auth/check-id/**"),
+                new AntPathRequestMatcher("/api/auth/check-email/**")));
+
+        ipLimits.put(Policy.LOGIN, loginIpLimit);
+        ipLimits.put(Policy.FORGOT_PASSWORD, forgotIpLimit);
+        ipLimits.put(Policy.CHECK, checkIpLimit);
+        userLimits.put(Policy.LOGIN, loginUserLimit);
+        userLimits.put(Policy.FORGOT_PASSWORD, forgotUserLimit);
+
+        for (Policy policy : Policy.values()) {
+            ipRejected.put(policy, Counter.builder("auth.ratelimit.rejected")
+                    .tag("policy", policy.tag).tag("scope", "ip").register(meterRegistry));
+            userRejected.put(policy, Counter.builder("auth.ratelimit.rejected")
+                    .tag("policy", policy.tag).tag("scope", "user").register(meterRegistry));
+        }
+        Gauge.builder("auth.ratelimit.keys", limiter, SlidingWindowRateLimiter::size).register(meterRegistry);
+    }
+
+    /**
+     * 요청 경로 → 정책 (제한 대상이 아니면 null)
+     */
+    public Policy policyFor(HttpServletRequest request) {
+        for (Map.Entry<Policy, RequestMatcher> entry : matchers.entrySet()) {
+            if (entry.getValue().matches(request)) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    public boolean allowIp(Policy policy, HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        if (limiter.tryAcquire(policy.tag + "|ip", clientIp(request), ipLimits.get(policy), windowMs)) {
+            return true;
+        }
+        ipRejected.get(policy).increment();
+        return false;
+    }
+
+    public boolean allowUser(Policy policy, String userId) {
+        Integer limit = userLimits.get(policy);
+        if (!enabled || limit == null || !StringUtils.hasText(userId)) {
+            return true;
+        }
+        String key = userId.trim().toLowerCase(Locale.ROOT);
+        if (limiter.tryAcquire(policy.tag + "|user", key, limit, windowMs)) {
+            return true;
+        }
+        userRejected.get(policy).increment();
+        return false;
+    }
+
+    public long getRetryAfterSeconds() {
+        return (windowMs + 999) / 1000;
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.rate-limit.cleanup-ms:60000}")
+    public void evictIdle() {
+        limiter.evictIdle();
+    }
+
+    // 프록시 뒤에 있을 때만 X-Forwarded-For 를 믿는다 (아니면 위조 가능)
+    // 프록시는 받은 값 뒤에 자기가 본 주소를 붙인다 → 오른쪽에서 trusted-hops 번째가 우리 프록시가 본 클라이언트
+    String clientIp(HttpServletRequest request) {
+        if (trustForwarded) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (StringUtils.hasText(forwarded)) {
+                String[] hops = StringUtils.tokenizeToStringArray(forwarded, ",");
+                if (hops.length >= trustedHops) {
+                    return hops[hops.length - trustedHops];
+                }
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
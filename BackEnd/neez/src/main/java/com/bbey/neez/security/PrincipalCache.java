@@ -0,0 +1,166 @@
+package com.bbey.neez.security;
+
+import com.bbey.neez.repository.Auth.RefreshTokenRepository;
+import com.bbey.neez.repository.Auth.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JWT 클레임으로 만든 UserPrincipal 캐시 (idx 기준)
+ *
+ * - 캐시 hit 이면 DB 를 보지 않고 토큰의 idx / userId / role 로 principal 을 만든다
+ * - miss 때만 users.token_version 한 컬럼을 읽어서 토큰의 ver 클레임과 비교
+ *   → 유저가 없거나 ver 가 낮으면 거부 (비밀번호 변경 / 전체 로그아웃 / 탈퇴는 DB 에 남으므로 재시작 / 다른 노드에도 적용)
+ * - 토큰의 sid(로그인 세션)는 entry 마다 처음 볼 때 한 번만 refresh_token 에서 폐기 여부 확인
+ *   → 기기 하나 로그아웃 / refresh token 재사용 감지는 그 세션의 access token 만 거부
+ * - TTL + 최대 개수로 제한, 다른 노드에서 올린 token_version / 폐기한 세션은 이 노드 캐시가 만료되는 ttl-ms 안에 반영된다
+ * - invalidate / revokeSession: DB 반영 후 호출 → 이 노드에서는 다음 요청부터 바로 반영
+ * - 지표: auth.principal.cache.hits / misses, auth.principal.cache.size, auth.principal.rejected
+ */
+@Component
+public class PrincipalCache {
+
+    private final Map<Long, Entry> principals = new ConcurrentHashMap<>();
+
+    private final UserRepository userRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final long ttlMs;
+    private final int maxEntries;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter rejected;
+
+    public PrincipalCache(UserRepository userRepository,
+                          RefreshTokenRepository refreshTokenRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.auth.principal-cache.ttl-ms:60000}") long ttlMs,
+                          @Value("${app.auth.principal-cache.max-entries:10000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+        this.hits = Counter.builder("auth.principal.cache.hits").register(meterRegistry);
+        this.misses = Counter.builder("auth.principal.cache.misses").register(meterRegistry);
+        this.rejected = Counter.builder("auth.principal.rejected").register(meterRegistry);
+        Gauge.builder("auth.principal.cache.size", principals, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * 토큰 클레임 → principal (무효화된 토큰 / 폐기된 세션 / 없는 유저면 null)
+     */
+    public UserPrincipal resolve(Long idx, String userId, String role, int tokenVersion, String sessionId) {
+        long now = System.currentTimeMillis();
+        Entry entry = principals.get(idx);
+        if (entry != null && entry.expiresAt > now && tokenVersion <= entry.version
+                && (tokenVersion < entry.version || entry.matches(userId, role))) {
+            hits.increment();
+        } else {
+            misses.increment();
+            entry = load(idx, userId, role, tokenVersion, entry, now);
+        }
+        if (entry == null || tokenVersion < entry.version || entry.principal == null
+                || isSessionRevoked(entry, sessionId)) {
+            rejected.increment();
+            return null;
+        }
+        return entry.principal;
+    }
+
+    /**
+     * 비밀번호 변경 / 탈퇴 / 전체 로그아웃 시 호출 (token_version 을 올린 뒤)
+     */
+    public void invalidate(Long idx) {
+        if (idx == null) {
+            return;
+        }
+        principals.remove(idx);
+    }
+
+    /**
+     * 기기 하나 로그아웃 / refresh token 재사용 감지 시 호출 (refresh_token 세션 폐기 후)
+     */
+    public void revokeSession(Long idx, String sessionId) {
+        if (idx == null || sessionId == null) {
+            return;
+        }
+        Entry entry = principals.get(idx);
+        if (entry != null) {
+            entry.sessions.put(sessionId, Boolean.TRUE);
+        }
+    }
+
+    // 탈퇴한 유저면 null
+    private Entry load(Long idx, String userId, String role, int tokenVersion, Entry previous, long now) {
+        Integer current = userRepository.findTokenVersion(idx);
+        if (current == null) {
+            principals.remove(idx);
+            return null;
+        }
+        // 무효화된 토큰이어도 version 은 캐시 → 같은 토큰이 다시 와도 DB 를 보지 않는다
+        UserPrincipal principal = tokenVersion >= current ? UserPrincipal.of(idx, userId, role) : null;
+        Entry entry = new Entry(principal, current, now + ttlMs);
+        if (previous != null || principals.size() < maxEntries) {
+            principals.put(idx, entry);
+        }
+        return entry;
+    }
+
+    private boolean isSessionRevoked(Entry entry, String sessionId) {
+        if (sessionId == null) {
+            // sid 클레임이 없던 시절 토큰 → token_version 으로만 판단
+            return false;
+        }
+        Boolean revoked = entry.sessions.get(sessionId);
+        if (revoked != null) {
+            return revoked;
+        }
+        revoked = refreshTokenRepository.existsBySessionIdAndRevokedTrue(sessionId);
+        // 조회하는 사이 revokeSession 이 먼저 기록했으면 그쪽이 우선
+        Boolean previous = entry.sessions.putIfAbsent(sessionId, revoked);
+        return previous != null ? previous : revoked;
+    }
+
+    /**
+     * 만료된 principal 정리
+     */
+    @Scheduled(fixedDelayString = "${app.auth.principal-cache.cleanup-ms:60000}")
+    public void cleanup() {
+        long now = System.currentTimeMillis();
+        Iterator<Entry> entries = principals.values().iterator();
+        while (entries.hasNext()) {
+            if (entries.next().expiresAt <= now) {
+                entries.remove();
+            }
+        }
+    }
+
+    private static final class Entry {
+        /** version 보다 낮은 토큰만 들어왔으면 null */
+        private final UserPrincipal principal;
+        private final int version;
+        private final long expiresAt;
+        /** sid → 폐기 여부 (entry 가 살아 있는 동안만 기억) */
+        private final Map<String, Boolean> sessions = new ConcurrentHashMap<>();
+
+        private Entry(UserPrincipal principal, int version, long expiresAt) {
+            this.principal = principal;
+            this.version = version;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean matches(String userId, String role) {
+            return principal != null
+                    && principal.getUserId().equals(userId)
+                    && (role == null ? principal.getRole() == null : role.equals(principal.getRole()));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.bbey.neez.security;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 키별 sliding window 카운터 (잠금 없음)
+ *
+ * - 직전 창 개수 * (현재 창에서 지나지 않은 비율) + 현재 창 개수 로 최근 windowMs 동안의 요청 수를 근사
+ * - 키 하나의 상태는 long 하나 (창 번호 24bit | 직전 창 20bit | 현재 창 20bit) → CAS 로만 갱신
+ * - 키는 group(정책 + 범위, 예: "login|ip") 안에서만 구분, stripe 별 ConcurrentHashMap 에 나눠 담고 stripe 마다 최대 개수 제한
+ *   가득 차면 먼저 유휴 키를 지우고, 그래도 가득하면 새 키는 그 stripe 의 group 별 overflow 카운터를 같이 쓴다
+ *   (키를 마구 바꾸는 공격에도 메모리가 늘지 않고, 그 공격 트래픽은 같은 group 의 새 키끼리만 한도를 나눠 갖는다
+ *    → 예: check-id 로 키를 채워도 login 의 overflow 한도는 건드리지 못한다)
+ * - 두 창 이상 요청이 없던 키는 evictIdle 에서 제거
+ */
+public final class SlidingWindowRateLimiter {
+
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long INDEX_MASK = (1L << 24) - 1;
+    private static final String OVERFLOW_KEY = "\u0000overflow|";
+
+    private final Stripe[] stripes;
+    private final int maxKeysPerStripe;
+
+    public SlidingWindowRateLimiter(int stripes, int maxKeys) {
+        int n = Integer.highestOneBit(Math.max(1, stripes - 1) << 1);
+        this.stripes = new Stripe[n];
+        for (int i = 0; i < n; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.maxKeysPerStripe = Math.max(1, maxKeys / n);
+    }
+
+    /**
+     * 허용되면 1건 기록 후 true, 한도를 넘으면 기록하지 않고 false
+     * - group 마다 limit / windowMs 는 하나로 고정해서 쓴다
+     */
+    public boolean tryAcquire(String group, String key, int limit, long windowMs) {
+        return tryAcquire(group, key, limit, windowMs, System.currentTimeMillis());
+    }
+
+    boolean tryAcquire(String group, String key, int limit, long windowMs, long nowMs) {
+        String fullKey = group + '|' + key;
+        Stripe stripe = stripes[spread(fullKey.hashCode()) & (stripes.length - 1)];
+        return acquire(stripe.window(group, fullKey, windowMs, nowMs), limit, nowMs);
+    }
+
+    /**
+     * 두 창 이상 요청이 없던 키 제거 → 제거한 수
+     */
+    public int evictIdle() {
+        return evictIdle(System.currentTimeMillis());
+    }
+
+    int evictIdle(long now) {
+        int removed = 0;
+        for (Stripe stripe : stripes) {
+            removed += stripe.evictIdle(now);
+        }
+        return removed;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.windows.size();
+        }
+        return size;
+    }
+
+    private static boolean acquire(Window window, int limit, long nowMs) {
+        long index = nowMs / window.windowMs;
+        double remaining = 1.0 - (double) (nowMs % window.windowMs) / window.windowMs;
+        while (true) {
+            long state = window.get();
+            long diff = (index - (state >>> (2 * COUNT_BITS))) & INDEX_MASK;
+            long previous = (state >>> COUNT_BITS) & COUNT_MASK;
+            long current = state & COUNT_MASK;
+            if (diff == 1) {
+                previous = current;
+                current = 0;
+            } else if (diff != 0) {
+                previous = 0;
+                current = 0;
+            }
+            if (previous * remaining + current >= limit) {
+                return false;
+            }
+            long next = ((index & INDEX_MASK) << (2 * COUNT_BITS))
+                    | (previous << COUNT_BITS)
+                    | Math.min(current + 1, COUNT_MASK);
+            if (window.compareAndSet(state, next)) {
+                return true;
+            }
+        }
+    }
+
+    private static int spread(int h) {
+        return (h ^ (h >>> 16)) & 0x7fffffff;
+    }
+
+    private final class Stripe {
+        private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+
+        private Window window(String group, String key, long windowMs, long nowMs) {
+            Window window = windows.get(key);
+            if (window != null) {
+                return window;
+            }
+            if (windows.size() >= maxKeysPerStripe) {
+                evictIdle(nowMs);
+                if (windows.size() >= maxKeysPerStripe) {
+                    return windows.computeIfAbsent(OVERFLOW_KEY + group, k -> new Window(windowMs));
+                }
+            }
+            Window created = new Window(windowMs);
+            Window existing = windows.putIfAbsent(key, created);
+            return existing != null ? existing : created;
+        }
+
+        private int evictIdle(long nowMs) {
+            int removed = 0;
+            Iterator<Window> it = windows.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().isIdle(nowMs)) {
+                    it.remove();
+                    removed++;
+                }
+            }
+            return removed;
+        }
+    }
+
+    private static final class Window extends AtomicLong {
+        private final long windowMs;
+
+        private Window(long windowMs) {
+            this.windowMs = windowMs;
+        }
+
+        private boolean isIdle(long nowMs) {
+            long diff = (nowMs / windowMs - (get() >>> (2 * COUNT_BITS))) & INDEX_MASK;
+            return diff >= 2;
+        }
+    }
+}
@@ -19,6 +19,18 @@ public class UserPrincipal implements UserDetails {
         this.user = user;
     }
 
+    /**
+     * JWT 클레임으로 만드는 principal (DB 조회 없음)
+     * - idx / userId / role 만 채워진 비영속 Users 를 들고 있다
+     */
+    public static UserPrincipal of(Long idx, String userId, String role) {
+        Users user = new Users();
+        user.setIdx(idx);
+        user.setUserId(userId);
+        user.setRole(role);
+        return new UserPrincipal(user);
+    }
+
     // 편의 메서드들
     public Long getIdx() {
         return user.getIdx();
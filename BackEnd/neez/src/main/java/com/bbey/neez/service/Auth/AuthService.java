@@ -7,6 +7,7 @@ public interface AuthService {
     AuthResponse register(RegisterRequest req);
     AuthResponse login(LoginRequest req);
     AuthResponse logoutByIdx(Long idx);
+    AuthResponse logout(Long idx, String refreshToken);
     AuthResponse delete(DeleteRequest req);
     AuthResponse findUserId(FindIdRequest req);
     AuthResponse forgotPassword(ForgotPasswordRequest req);
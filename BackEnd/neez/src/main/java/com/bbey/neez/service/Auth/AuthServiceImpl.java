@@ -8,6 +8,7 @@ import com.bbey.neez.jwt.JwtUtil;
 import com.bbey.neez.repository.CompanyRepository;
 import com.bbey.neez.repository.Auth.EmailVerificationTokenRepository;
 import com.bbey.neez.repository.Auth.UserRepository;
+import com.bbey.neez.security.PrincipalCache;
 import com.bbey.neez.security.UserPrincipal;
 import com.bbey.neez.service.company.CompanyInfoExtractService;
 
@@ -40,6 +41,8 @@ public class AuthServiceImpl implements AuthService {
     private final AuthenticationManager authenticationManager;
     private final PasswordResetService passwordResetService;
     private final CompanyRepository companyRepository;
+    private final PrincipalCache principalCache;
+    private final RefreshTokenService refreshTokenService;
 
     // --------------------------------------------------------------------
     // 1. 회원가입: Users에 바로 저장하지 않고, EmailVerificationToken에만 저장
@@ -56,9 +59,7 @@ public class AuthServiceImpl implements AuthService {
         }
 
         // 2) 기존에 같은 이메일/아이디로 아직 인증 안된 토큰이 있으면 삭제 (정리용)
-        emailVerificationTokenRepository.findAll().stream()
-                .filter(t -> t.getEmail().equals(req.getEmail()) || t.getUserId().equals(req.getUserId()))
-                .forEach(t -> emailVerificationTokenRepository.deleteById(t.getId()));
+        emailVerificationTokenRepository.deletePending(req.getEmail(), req.getUserId());
 
         // 3) 토큰 생성
         String token = UUID.randomUUID().toString();
@@ -103,12 +104,10 @@ public class AuthServiceImpl implements AuthService {
             return new AuthResponse(false, "이메일 인증을 완료해주세요.");
         }
 
-        // JWT 생성
-        String access = jwtUtil.createAccessToken(user.getUserId());
-        String refresh = jwtUtil.createRefreshToken(user.getUserId());
-
-        user.setRefreshToken(refresh);
-        userRepository.save(user);
+        // JWT 생성 (refresh token 은 refresh_token 테이블에 세션 단위로 저장 → users 행은 갱신하지 않음)
+        String sessionId = UUID.randomUUID().toString();
+        String access = jwtUtil.createAccessToken(user, sessionId);
+        String refresh = refreshTokenService.issue(user, sessionId);
 
         Map<String, String> tokens = new HashMap<>();
         tokens.put("accessToken", access);
@@ -118,17 +117,33 @@ public class AuthServiceImpl implements AuthService {
     }
 
     // ===============================
-    // 로그아웃
+    // 로그아웃 (모든 기기)
     // ===============================
     @Override
     public AuthResponse logoutByIdx(Long idx) {
-        Optional<Users> userOpt = userRepository.findById(idx);
-        if (!userOpt.isPresent()) {
+        if (!userRepository.existsById(idx)) {
             return new AuthResponse(false, "존재하지 않는 유저입니다.");
         }
-        Users user = userOpt.get();
-        user.setRefreshToken(null);
-        userRepository.save(user);
+        refreshTokenService.revokeAll(idx);
+        userRepository.incrementTokenVersion(idx);
+        principalCache.invalidate(idx);
+        return new AuthResponse(true, "로그아웃 완료");
+    }
+
+    // ===============================
+    // 로그아웃 (현재 기기만)
+    // ===============================
+    @Override
+    public AuthResponse logout(Long idx, String refreshToken) {
+        if (refreshToken == null || refreshToken.trim().isEmpty()) {
+            return logoutByIdx(idx);
+        }
+        String sessionId = refreshTokenService.revokeSession(idx, refreshToken);
+        if (sessionId == null) {
+            return new AuthResponse(false, "Refresh Token이 유효하지 않습니다.");
+        }
+        // 이 세션의 access token 만 거부 (다른 기기는 그대로)
+        principalCache.revokeSession(idx, sessionId);
         return new AuthResponse(true, "로그아웃 완료");
     }
 
@@ -150,6 +165,8 @@ public class AuthServiceImpl implements AuthService {
         }
 
         userRepository.delete(user);
+        refreshTokenService.revokeAll(user.getIdx());
+        principalCache.invalidate(user.getIdx());
 
         return new AuthResponse(true, "회원 탈퇴 완료");
     }
@@ -362,7 +379,10 @@ public class AuthServiceImpl implements AuthService {
         }
 
         user.setPassword(passwordEncoder.encode(req.getNewPassword()));
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        refreshTokenService.revokeAll(idx);
+        principalCache.invalidate(idx);
 
         return new AuthResponse(true, "비밀번호 변경 성공");
     }
@@ -379,31 +399,27 @@ public class AuthServiceImpl implements AuthService {
             return new AuthResponse(false, "Refresh Token이 필요합니다.");
         }
 
-        String userId = jwtUtil.getUserIdFromToken(refreshToken);
+        // 기존 토큰 폐기 + 같은 세션으로 새 토큰 발급 (users 행은 읽기만)
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
 
-        if (userId == null || jwtUtil.isExpired(refreshToken)) {
+        if (rotation.getStatus() == RefreshTokenService.Status.REUSED) {
+            // 재사용된 세션만 폐기됨 → 그 세션의 access token 도 거부
+            principalCache.revokeSession(rotation.getUserIdx(), rotation.getSessionId());
+            return new AuthResponse(false, "이미 사용된 Refresh Token입니다. 다시 로그인해 주세요.");
+        }
+        if (rotation.getStatus() != RefreshTokenService.Status.ROTATED) {
             return new AuthResponse(false, "Refresh Token이 유효하지 않습니다.");
         }
 
-        Optional<Users> userOpt = userRepository.findByUserId(userId);
+        Optional<Users> userOpt = userRepository.findById(rotation.getUserIdx());
         if (!userOpt.isPresent()) {
+            refreshTokenService.revokeAll(rotation.getUserIdx());
             return new AuthResponse(false, "존재하지 않는 유저입니다.");
         }
 
-        Users user = userOpt.get();
-
-        if (user.getRefreshToken() == null ||
-                !user.getRefreshToken().equals(refreshToken)) {
-
-            return new AuthResponse(false, "Refresh Token이 서버 정보와 일치하지 않습니다.");
-        }
-
         // 새 토큰 발급
-        String newAccess = jwtUtil.createAccessToken(userId);
-        String newRefresh = jwtUtil.createRefreshToken(userId);
-
-        user.setRefreshToken(newRefresh);
-        userRepository.save(user);
+        String newAccess = jwtUtil.createAccessToken(userOpt.get(), rotation.getSessionId());
+        String newRefresh = rotation.getRefreshToken();
 
         Map<String, String> map = new HashMap<>();
         map.put("accessToken", newAccess);
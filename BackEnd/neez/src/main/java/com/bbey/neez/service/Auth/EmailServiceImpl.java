@@ -2,15 +2,14 @@ package com.bbey.neez.service.Auth;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
 
-    private final JavaMailSender mailSender;
+    // SMTP 발송은 outbox 워커가 비동기로 처리 → 여기서는 적재만
+    private final MailOutboxService mailOutboxService;
 
     // 로컬에서는 false, 운영에서는 true 로 설정
     @Value("${app.mail.enabled:false}")
@@ -35,16 +34,13 @@ public class EmailServiceImpl implements EmailService {
             return;
         }
 
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject("Neez 회원가입 이메일 인증");
-        message.setText(
+        mailOutboxService.enqueue(
+                to,
+                "Neez 회원가입 이메일 인증",
                 "네이즈(Neez) 회원가입을 위해 아래 링크를 클릭하세요.\n\n"
                         + link + "\n\n"
                         + "이 링크는 일정 시간 후 만료됩니다."
         );
-
-        mailSender.send(message);
     }
 
     // ==============================
@@ -60,15 +56,12 @@ public class EmailServiceImpl implements EmailService {
             return;
         }
 
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject("Neez 비밀번호 재설정 인증코드");
-        message.setText(
+        mailOutboxService.enqueue(
+                to,
+                "Neez 비밀번호 재설정 인증코드",
                 "다음 인증코드를 입력하여 비밀번호 재설정을 완료하세요.\n\n"
                         + "인증코드: " + code + "\n\n"
                         + "이 코드는 5분 동안만 유효합니다."
         );
-
-        mailSender.send(message);
     }
 }
@@ -0,0 +1,63 @@
+package com.bbey.neez.service.Auth;
+
+import com.bbey.neez.repository.Auth.EmailVerificationTokenRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 만료된 이메일 인증 토큰 정리
+ *
+ * - expiresAt 인덱스로 batch-size 개씩 id 를 골라 한 번에 삭제 (batch 마다 짧은 트랜잭션)
+ * - 한 번 돌 때 max-batches 까지만 → 쌓인 양이 많아도 DB 를 오래 붙잡지 않는다
+ * - 지표: auth.verification.swept
+ */
+@Slf4j
+@Component
+public class EmailVerificationTokenSweeper {
+
+    private final EmailVerificationTokenRepository emailVerificationTokenRepository;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Counter swept;
+
+    public EmailVerificationTokenSweeper(EmailVerificationTokenRepository emailVerificationTokenRepository,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${app.auth.verification.sweep-batch-size:500}") int batchSize,
+                                         @Value("${app.auth.verification.sweep-max-batches:20}") int maxBatches) {
+        this.emailVerificationTokenRepository = emailVerificationTokenRepository;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatches = Math.max(1, maxBatches);
+        this.swept = Counter.builder("auth.verification.swept").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.verification.sweep-ms:300000}",
+            initialDelayString = "${app.auth.verification.sweep-ms:300000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<Long> ids = emailVerificationTokenRepository.findExpiredIds(now, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            emailVerificationTokenRepository.deleteAllByIdInBatch(ids);
+            total += ids.size();
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            swept.increment(total);
+            log.info("Deleted {} expired email verification tokens", total);
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.bbey.neez.service.Auth;
+
+import com.bbey.neez.entity.Auth.MailOutbox;
+import com.bbey.neez.repository.Auth.MailOutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 메일 outbox 적재 + 발송 워커
+ *
+ * - enqueue: mail_outbox 에 INSERT 만 하고 반환 (요청 스레드는 SMTP 를 기다리지 않는다)
+ * - poll: 차례가 된 행 id 를 batch-size 씩 워커에 넘김
+ *   → 워커가 발송 속도 제한(초당 rate-per-second 건) 대기 후 선점, 묶음마다 SMTP 연결 하나로 발송
+ * - 선점(lease)은 대기가 끝난 뒤 시작, 길이는 최소 (batch-size + 1) * SMTP 타임아웃
+ *   → 묶음 전체가 타임아웃에 걸려도 발송 중에 선점이 풀려 다른 워커가 같은 메일을 다시 보내지 않는다
+ * - 발송 결과는 claimToken 이 그대로일 때만 기록 (선점을 잃은 워커가 다른 워커의 결과를 덮어쓰지 않게)
+ * - 실패: base-backoff-ms * 2^(시도-1) (최대 max-backoff-ms, ±20% jitter) 뒤 재시도, max-attempts 를 넘기면 DEAD
+ * - 로컬 테스트: spring.mail.host / spring.mail.port 를 가짜 SMTP 서버(MailHog, GreenMail 등)로 지정
+ * - 지표: mail.outbox.enqueued / sent / retries / dead, mail.outbox.send (묶음 발송 시간),
+ *         mail.outbox.pending, mail.outbox.dead.total, mail.outbox.inflight
+ */
+@Slf4j
+@Service
+public class MailOutboxService {
+
+    private static final List<MailOutbox.Status> DUE = Arrays.asList(MailOutbox.Status.PENDING, MailOutbox.Status.SENDING);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final String from;
+    private final int workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+    private final long leaseMs;
+    private final long sentRetentionMs;
+    private final long slotNanos;
+
+    private final ThreadPoolExecutor executor;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // 워커에 넘겼지만 아직 선점 전인 id → 다음 poll 에서 또 넘기지 않는다
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    // 다음 발송 가능 시각 (System.nanoTime 기준)
+    private final AtomicLong nextSlot = new AtomicLong(System.nanoTime());
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong dead = new AtomicLong();
+
+    private final Counter enqueuedCount;
+    private final Counter sentCount;
+    private final Counter retryCount;
+    private final Counter deadCount;
+    private final Timer sendTimer;
+
+    public MailOutboxService(MailOutboxRepository mailOutboxRepository,
+                             JavaMailSender mailSender,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.mail.from:}") String from,
+                             @Value("${app.mail.outbox.workers:2}") int workers,
+                             @Value("${app.mail.outbox.batch-size:20}") int batchSize,
+                             @Value("${app.mail.outbox.max-attempts:6}") int maxAttempts,
+                             @Value("${app.mail.outbox.base-backoff-ms:30000}") long baseBackoffMs,
+                             @Value("${app.mail.outbox.max-backoff-ms:3600000}") long maxBackoffMs,
+                             @Value("${app.mail.outbox.lease-ms:120000}") long leaseMs,
+                             @Value("${app.mail.outbox.rate-per-second:10}") int ratePerSecond,
+                             @Value("${app.mail.outbox.sent-retention-ms:86400000}") long sentRetentionMs,
+                             @Value("${app.mail.smtp.timeout-ms:10000}") long smtpTimeoutMs) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailSender = mailSender;
+        this.from = from;
+        this.workers = Math.max(1, workers);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoffMs = Math.max(0, baseBackoffMs);
+        this.maxBackoffMs = Math.max(this.baseBackoffMs, maxBackoffMs);
+        // 연결 한 번 + 메시지마다 타임아웃까지 기다려도 선점이 남아 있도록
+        this.leaseMs = Math.max(leaseMs, (this.batchSize + 1) * Math.max(0L, smtpTimeoutMs));
+        this.sentRetentionMs = sentRetentionMs;
+        this.slotNanos = ratePerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / ratePerSecond : 0L;
+
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                this.workers, this.workers, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(this.workers),
+                r -> {
+                    Thread t = new Thread(r, "mail-outbox-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+
+        this.enqueuedCount = Counter.builder("mail.outbox.enqueued").register(meterRegistry);
+        this.sentCount = Counter.builder("mail.outbox.sent").register(meterRegistry);
+        this.retryCount = Counter.builder("mail.outbox.retries").register(meterRegistry);
+        this.deadCount = Counter.builder("mail.outbox.dead").register(meterRegistry);
+        this.sendTimer = Timer.builder("mail.outbox.send").register(meterRegistry);
+        Gauge.builder("mail.outbox.pending", pending, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("mail.outbox.dead.total", dead, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("mail.outbox.inflight", inFlight, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * 발송 예약 (INSERT 한 건)
+     */
+    public void enqueue(String to, String subject, String body) {
+        LocalDateTime now = LocalDateTime.now();
+
+        MailOutbox mail = new MailOutbox();
+        mail.setRecipient(to);
+        mail.setSubject(subject);
+        mail.setBody(body);
+        mail.setStatus(MailOutbox.Status.PENDING);
+        mail.setAttempts(0);
+        mail.setNextAttemptAt(now);
+        mail.setCreatedAt(now);
+        mailOutboxRepository.save(mail);
+        enqueuedCount.increment();
+    }
+
+    /**
+     * 쉬는 워커 수만큼 차례가 된 묶음을 넘긴다 (선점은 워커가 발송 직전에)
+     */
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-ms:1000}")
+    public void poll() {
+        int free = workers - inFlight.get();
+        if (free <= 0) {
+            return;
+        }
+        List<Long> ids = mailOutboxRepository.findDueIds(DUE, LocalDateTime.now(),
+                PageRequest.of(0, free * batchSize + queued.size()));
+        List<Long> due = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            if (!queued.contains(id)) {
+                due.add(id);
+            }
+        }
+
+        for (int start = 0; start < due.size() && inFlight.get() < workers; start += batchSize) {
+            List<Long> chunk = new ArrayList<>(due.subList(start, Math.min(due.size(), start + batchSize)));
+            queued.addAll(chunk);
+            inFlight.incrementAndGet();
+            try {
+                executor.execute(() -> {
+                    try {
+                        process(chunk);
+                    } finally {
+                        queued.removeAll(chunk);
+                        inFlight.decrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // 다음 poll 에서 다시 차례가 된다
+                queued.removeAll(chunk);
+                inFlight.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 발송 완료 행 정리 + 적체 지표 갱신
+     */
+    @Scheduled(fixedDelayString = "${app.mail.outbox.cleanup-ms:60000}")
+    public void cleanup() {
+        LocalDateTime before = LocalDateTime.now().minusNanos(sentRetentionMs * 1_000_000L);
+        mailOutboxRepository.deleteSentBefore(MailOutbox.Status.SENT, before);
+        pending.set(mailOutboxRepository.countByStatus(MailOutbox.Status.PENDING));
+        dead.set(mailOutboxRepository.countByStatus(MailOutbox.Status.DEAD));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 보내던 묶음은 선점 만료 후 다른 인스턴스/재기동 시 다시 발송된다
+        executor.shutdownNow();
+    }
+
+    /**
+     * 발송 속도 제한 대기 → 선점 → 발송 (워커 스레드)
+     */
+    void process(List<Long> ids) {
+        // 대기를 선점 전에 해야 대기 시간이 lease 를 깎아 먹지 않는다
+        try {
+            throttle(ids.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        String claimToken = UUID.randomUUID().toString();
+        if (mailOutboxRepository.claim(ids, DUE, MailOutbox.Status.SENDING, claimToken,
+                now, now.plusNanos(leaseMs * 1_000_000L)) == 0) {
+            return;
+        }
+        List<MailOutbox> claimed = mailOutboxRepository.findByClaimToken(claimToken);
+        if (!claimed.isEmpty()) {
+            sendBatch(claimed, claimToken);
+        }
+    }
+
+    // 묶음 하나 = JavaMailSender.send(...) 한 번 = SMTP 연결 하나
+    private void sendBatch(List<MailOutbox> batch, String claimToken) {
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < messages.length; i++) {
+            MailOutbox mail = batch.get(i);
+            SimpleMailMessage message = new SimpleMailMessage();
+            if (StringUtils.hasText(from)) {
+                message.setFrom(from);
+            }
+            message.setTo(mail.getRecipient());
+            message.setSubject(mail.getSubject());
+            message.setText(mail.getBody());
+            messages[i] = message;
+        }
+
+        Map<Object, Exception> failed = Collections.emptyMap();
+        MailException batchError = null;
+        long startedAt = System.nanoTime();
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            // 메시지별 실패 목록 (연결 자체가 실패하면 전부 들어 있다)
+            failed = e.getFailedMessages();
+            if (failed.isEmpty()) {
+                batchError = e;
+            }
+        } catch (MailException e) {
+            // 인증 실패 등 → 묶음 전체 실패
+            batchError = e;
+        } finally {
+            sendTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+
+        List<Long> sent = new ArrayList<>(batch.size());
+        for (int i = 0; i < messages.length; i++) {
+            Exception error = batchError != null ? batchError : failed.get(messages[i]);
+            if (error == null) {
+                sent.add(batch.get(i).getId());
+            } else {
+                markFailed(batch.get(i), claimToken, error);
+            }
+        }
+        if (!sent.isEmpty()) {
+            int marked = mailOutboxRepository.markSent(sent, claimToken, MailOutbox.Status.SENT, LocalDateTime.now());
+            if (marked < sent.size()) {
+                log.warn("Mail outbox lease lost while sending: sent={}, marked={}", sent.size(), marked);
+            }
+            sentCount.increment(sent.size());
+        }
+    }
+
+    private void markFailed(MailOutbox mail, String claimToken, Exception error) {
+        int attempts = mail.getAttempts() + 1;
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        if (message.length() > MAX_ERROR_LENGTH) {
+            message = message.substring(0, MAX_ERROR_LENGTH);
+        }
+
+        if (attempts >= maxAttempts) {
+            mailOutboxRepository.markFailed(mail.getId(), claimToken, MailOutbox.Status.DEAD, attempts,
+                    LocalDateTime.now(), message);
+            deadCount.increment();
+            log.error("Mail moved to dead letter after {} attempts: id={}, to={}, error={}",
+                    attempts, mail.getId(), mail.getRecipient(), message);
+            return;
+        }
+
+        long delayMs = backoffMs(attempts);
+        mailOutboxRepository.markFailed(mail.getId(), claimToken, MailOutbox.Status.PENDING, attempts,
+                LocalDateTime.now().plusNanos(delayMs * 1_000_000L), message);
+        retryCount.increment();
+        log.warn("Mail send failed, retry in {} ms: id={}, attempt={}, error={}",
+                delayMs, mail.getId(), attempts, message);
+    }
+
+    private long backoffMs(int attempts) {
+        long delay = baseBackoffMs;
+        for (int i = 1; i < attempts && delay < maxBackoffMs; i++) {
+            delay *= 2;
+        }
+        delay = Math.min(delay, maxBackoffMs);
+        return (long) (delay * ThreadLocalRandom.current().nextDouble(0.8, 1.2));
+    }
+
+    /**
+     * permits 건만큼 발송 슬롯 예약 후 차례까지 대기
+     */
+    private void throttle(int permits) throws InterruptedException {
+        if (slotNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long slot;
+        long start;
+        do {
+            slot = nextSlot.get();
+            start = Math.max(slot, now);
+        } while (!nextSlot.compareAndSet(slot, start + permits * slotNanos));
+
+        long waitNanos = start - now;
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
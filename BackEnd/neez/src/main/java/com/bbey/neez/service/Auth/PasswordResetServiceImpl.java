@@ -2,6 +2,7 @@ package com.bbey.neez.service.Auth;
 
 import com.bbey.neez.entity.Auth.Users;
 import com.bbey.neez.repository.Auth.UserRepository;
+import com.bbey.neez.security.PrincipalCache;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -16,6 +17,8 @@ public class PasswordResetServiceImpl implements PasswordResetService {
     private final UserRepository userRepository;
     private final EmailService emailService;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final RefreshTokenService refreshTokenService;
 
     // STEP 1: 인증코드 발송
     @Override
@@ -61,6 +64,13 @@ public class PasswordResetServiceImpl implements PasswordResetService {
         user.setResetCode(null);
         user.setResetCodeExpire(null);
 
+        // 이전에 발급된 access token 거부
+        user.setTokenVersion(user.getTokenVersion() + 1);
+
         userRepository.save(user);
+
+        // 5) 기존 로그인 토큰 무효화 (모든 기기)
+        refreshTokenService.revokeAll(user.getIdx());
+        principalCache.invalidate(user.getIdx());
     }
 }
@@ -0,0 +1,56 @@
+package com.bbey.neez.service.Auth;
+
+import com.bbey.neez.entity.Auth.Users;
+
+public interface RefreshTokenService {
+
+    // 로그인: 새 세션(기기) 시작 → refresh token 반환
+    // sessionId 는 로그인마다 새로 만든 값 (같은 로그인의 access token sid 클레임과 같다)
+    String issue(Users user, String sessionId);
+
+    // 재발급: 기존 토큰은 폐기하고 같은 세션으로 새 토큰 발급
+    Rotation rotate(String refreshToken);
+
+    // 이 토큰의 세션(기기) 하나만 로그아웃 → 폐기한 세션 id, 토큰이 이 유저 것이 아니면 null
+    String revokeSession(Long userIdx, String refreshToken);
+
+    // 모든 세션 폐기 (전체 로그아웃 / 비밀번호 변경 / 탈퇴)
+    int revokeAll(Long userIdx);
+
+    enum Status {
+        ROTATED,
+        INVALID,
+        // 이미 재발급에 쓰인 토큰이 다시 들어옴 → 세션 전체 폐기됨
+        REUSED
+    }
+
+    final class Rotation {
+        private final Status status;
+        private final Long userIdx;
+        private final String sessionId;
+        private final String refreshToken;
+
+        Rotation(Status status, Long userIdx, String sessionId, String refreshToken) {
+            this.status = status;
+            this.userIdx = userIdx;
+            this.sessionId = sessionId;
+            this.refreshToken = refreshToken;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public Long getUserIdx() {
+            return userIdx;
+        }
+
+        public String getSessionId() {
+            return sessionId;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.bbey.neez.service.Auth;
+
+import com.bbey.neez.component.DataCodec;
+import com.bbey.neez.entity.Auth.RefreshToken;
+import com.bbey.neez.entity.Auth.Users;
+import com.bbey.neez.jwt.JwtUtil;
+import com.bbey.neez.repository.Auth.RefreshTokenRepository;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * refresh_token 테이블 기반 Refresh Token 관리 (users 행은 건드리지 않는다)
+ *
+ * - 로그인마다 세션(sid) 하나 → 여러 기기 동시 로그인
+ * - 재발급: 조건부 UPDATE(rotatedAt) + 새 행 INSERT, 기존 행을 먼저 읽지 않는다
+ *   (조건부 UPDATE 자체가 폐기 여부 확인 → 별도 메모리 필터 없이 DB 가 유일한 저장소)
+ * - UPDATE 가 실패했을 때만 행을 읽어서 무효 / 재사용을 구분
+ * - 이미 쓰인 토큰이 다시 오면 재사용으로 보고 그 세션 전체 revoke
+ * - 지표: auth.refresh.rotations (tag result)
+ */
+@Slf4j
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtUtil jwtUtil;
+
+    private final Counter rotatedCount;
+    private final Counter invalidCount;
+    private final Counter reusedCount;
+
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository,
+                                   JwtUtil jwtUtil,
+                                   MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtUtil = jwtUtil;
+        this.rotatedCount = Counter.builder("auth.refresh.rotations").tag("result", "rotated").register(meterRegistry);
+        this.invalidCount = Counter.builder("auth.refresh.rotations").tag("result", "invalid").register(meterRegistry);
+        this.reusedCount = Counter.builder("auth.refresh.rotations").tag("result", "reused").register(meterRegistry);
+    }
+
+    @Override
+    @Transactional
+    public String issue(Users user, String sessionId) {
+        return store(user, sessionId);
+    }
+
+    @Override
+    @Transactional
+    public Rotation rotate(String refreshToken) {
+        Claims claims = refreshToken != null ? jwtUtil.parseClaims(refreshToken) : null;
+        if (claims == null || !JwtUtil.isRefreshToken(claims)) {
+            invalidCount.increment();
+            return new Rotation(Status.INVALID, null, null, null);
+        }
+        Long userIdx = JwtUtil.getIdx(claims);
+        String sessionId = claims.get(JwtUtil.CLAIM_SESSION, String.class);
+        if (userIdx == null || sessionId == null) {
+            invalidCount.increment();
+            return new Rotation(Status.INVALID, null, null, null);
+        }
+
+        String tokenHash = hash(refreshToken);
+        LocalDateTime now = LocalDateTime.now();
+
+        // 1) 정상 경로: 조건부 UPDATE 한 번 (행을 먼저 읽지 않는다)
+        if (refreshTokenRepository.markRotated(tokenHash, now) == 1) {
+            return rotated(userIdx, claims.getSubject(), sessionId);
+        }
+
+        // 2) UPDATE 실패 → 행을 보고 무효 / 재사용 구분
+        Optional<RefreshToken> row = refreshTokenRepository.findById(tokenHash);
+        if (!row.isPresent() || row.get().isRevoked() || !row.get().getExpiresAt().isAfter(now)) {
+            invalidCount.increment();
+            return new Rotation(Status.INVALID, null, null, null);
+        }
+        if (row.get().getRotatedAt() != null) {
+            // 이미 재발급에 쓰인 토큰 → 탈취 가능성, 세션 전체 폐기
+            int count = refreshTokenRepository.revokeSession(row.get().getSessionId());
+            reusedCount.increment();
+            log.warn("Refresh token reuse detected: userIdx={}, session={}, revoked={}",
+                    row.get().getUserIdx(), row.get().getSessionId(), count);
+            return new Rotation(Status.REUSED, row.get().getUserIdx(), row.get().getSessionId(), null);
+        }
+        invalidCount.increment();
+        return new Rotation(Status.INVALID, null, null, null);
+    }
+
+    @Override
+    @Transactional
+    public String revokeSession(Long userIdx, String refreshToken) {
+        Claims claims = jwtUtil.parseClaims(refreshToken);
+        if (claims == null || !JwtUtil.isRefreshToken(claims) || !userIdx.equals(JwtUtil.getIdx(claims))) {
+            return null;
+        }
+        String sessionId = claims.get(JwtUtil.CLAIM_SESSION, String.class);
+        if (sessionId == null) {
+            return null;
+        }
+        refreshTokenRepository.revokeSession(sessionId);
+        return sessionId;
+    }
+
+    @Override
+    @Transactional
+    public int revokeAll(Long userIdx) {
+        return refreshTokenRepository.revokeAllByUserIdx(userIdx);
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.refresh.cleanup-ms:3600000}",
+            initialDelayString = "${app.auth.refresh.cleanup-ms:3600000}")
+    public void cleanup() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    // ===================== helpers =====================
+
+    private Rotation rotated(Long userIdx, String userId, String sessionId) {
+        Users user = new Users();
+        user.setIdx(userIdx);
+        user.setUserId(userId);
+        String next = store(user, sessionId);
+        rotatedCount.increment();
+        return new Rotation(Status.ROTATED, userIdx, sessionId, next);
+    }
+
+    private String store(Users user, String sessionId) {
+        String token = jwtUtil.createRefreshToken(user, sessionId);
+        LocalDateTime now = LocalDateTime.now();
+
+        RefreshToken row = new RefreshToken();
+        row.setTokenHash(hash(token));
+        row.setUserIdx(user.getIdx());
+        row.setSessionId(sessionId);
+        row.setCreatedAt(now);
+        row.setExpiresAt(now.plusNanos(jwtUtil.getRefreshExpMs() * 1_000_000L));
+        refreshTokenRepository.save(row);
+        return token;
+    }
+
+    static String hash(String token) {
+        return DataCodec.sha256Hex(token);
+    }
+}
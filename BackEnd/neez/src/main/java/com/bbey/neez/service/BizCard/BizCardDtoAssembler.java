@@ -0,0 +1,138 @@
+package com.bbey.neez.service.BizCard;
+
+import com.bbey.neez.DTO.BizCardDto;
+import com.bbey.neez.component.MemoStorage;
+import com.bbey.neez.entity.BizCard.BizCard;
+import com.bbey.neez.repository.BizCard.CardHashTagRepository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 명함 목록(Page) → BizCardDto 변환 전용
+ * - 페이지 단위로 해시태그를 한 번에 조회 (카드별 findById / findByCard 제거)
+ * - 메모는 앞부분 미리보기만 읽음 (전체 메모는 GET /api/bizcards/{id}/memo)
+ * - 목록 쿼리가 이미 userIdx 로 걸러져 있으므로 소유자 재검증은 하지 않는다
+ */
+@Component
+public class BizCardDtoAssembler {
+
+    static final String MEMO_READ_ERROR = "(메모 파일을 불러오는 중 오류가 발생했습니다)";
+
+    // 목록 메모 미리보기 기본/최대 글자 수 (0 이하 → 메모 내용 생략)
+    public static final int DEFAULT_MEMO_PREVIEW = 100;
+    public static final int MAX_MEMO_PREVIEW = 1000;
+
+    private final CardHashTagRepository cardHashTagRepository;
+    private final MemoStorage memoStorage;
+
+    public BizCardDtoAssembler(CardHashTagRepository cardHashTagRepository, MemoStorage memoStorage) {
+        this.cardHashTagRepository = cardHashTagRepository;
+        this.memoStorage = memoStorage;
+    }
+
+    public Page<BizCardDto> toDtoPage(Page<BizCard> page, int memoPreview) {
+        List<BizCardDto> content = toDtos(page.getContent(), memoPreview);
+        return new PageImpl<>(content, page.getPageable(), page.getTotalElements());
+    }
+
+    /**
+     * @param memoPreview 메모 미리보기 글자 수 (code point 기준, 0 이하면 메모 내용 없이 memoHasMore 만 채움)
+     */
+    public List<BizCardDto> toDtos(List<BizCard> cards, int memoPreview) {
+        if (cards == null || cards.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Set<Long> cardIds = new LinkedHashSet<>();
+        Set<String> memoFiles = new LinkedHashSet<>();
+        for (BizCard card : cards) {
+            cardIds.add(card.getIdx());
+            if (card.getMemo() != null && !card.getMemo().isEmpty()) {
+                memoFiles.add(card.getMemo());
+            }
+        }
+
+        int previewChars = Math.min(memoPreview, MAX_MEMO_PREVIEW);
+        boolean withMemo = previewChars > 0;
+
+        Map<Long, List<String>> tagsByCard = loadTags(cardIds);
+        // 한 글자 더 읽어서 잘렸는지(hasMore) 판단
+        // readAllHead 는 char 단위 → 서로게이트 쌍(이모지)까지 고려해 code point 수의 두 배를 읽는다
+        Map<String, String> memos = (!withMemo || memoFiles.isEmpty())
+                ? Collections.<String, String>emptyMap()
+                : memoStorage.readAllHead(memoFiles, 2 * (previewChars + 1));
+        // 미리보기가 없으면 파일 크기만 보고 내용 유무 판단
+        Set<String> nonEmptyMemos = (withMemo || memoFiles.isEmpty())
+                ? Collections.<String>emptySet()
+                : memoStorage.nonEmpty(memoFiles);
+
+        List<BizCardDto> result = new ArrayList<>(cards.size());
+        for (BizCard card : cards) {
+            String memoRef = card.getMemo();
+            boolean hasMemo = memoRef != null && !memoRef.isEmpty();
+
+            String memoContent = withMemo ? "" : null;
+            boolean memoHasMore = false;
+            if (hasMemo && !withMemo) {
+                memoHasMore = nonEmptyMemos.contains(memoRef);
+            } else if (hasMemo) {
+                String head = memos.get(memoRef);
+                if (head == null) {
+                    memoContent = MEMO_READ_ERROR;
+                } else if (head.codePointCount(0, head.length()) > previewChars) {
+                    memoContent = head.substring(0, head.offsetByCodePoints(0, previewChars));
+                    memoHasMore = true;
+                } else {
+                    memoContent = head;
+                }
+            }
+
+            List<String> hashtags = tagsByCard.get(card.getIdx());
+
+            BizCardDto dto = new BizCardDto(
+                    card.getIdx(),
+                    card.getUserIdx(),
+                    card.getName(),
+                    card.getCardCompanyName(),
+                    card.getCompanyIdx(),
+                    card.getDepartment(),
+                    card.getPosition(),
+                    card.getEmail(),
+                    card.getPhoneNumber(),
+                    card.getLineNumber(),
+                    card.getFaxNumber(),
+                    card.getAddress(),
+                    memoContent,
+                    hashtags != null ? hashtags : new ArrayList<String>());
+            dto.setMemoHasMore(memoHasMore);
+            result.add(dto);
+        }
+        return result;
+    }
+
+    // 🔹 카드 id 목록 → (카드 id → 태그 이름들), 쿼리 1회
+    private Map<Long, List<String>> loadTags(Set<Long> cardIds) {
+        Map<Long, List<String>> tagsByCard = new HashMap<>();
+        for (Object[] row : cardHashTagRepository.findTagNamesByCardIds(cardIds)) {
+            Long cardIdx = (Long) row[0];
+            String tagName = (String) row[1];
+            List<String> tags = tagsByCard.get(cardIdx);
+            if (tags == null) {
+                tags = new ArrayList<>();
+                tagsByCard.put(cardIdx, tags);
+            }
+            tags.add(tagName);
+        }
+        return tagsByCard;
+    }
+}
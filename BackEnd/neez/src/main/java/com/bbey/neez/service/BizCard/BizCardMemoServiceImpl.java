@@ -19,10 +19,13 @@ public class BizCardMemoServiceImpl implements BizCardMemoService {
 
     private final BizCardRepository bizCardRepository;
     private final MemoStorage memoStorage;
+    private final BizCardSearchIndex bizCardSearchIndex;
 
-    public BizCardMemoServiceImpl(BizCardRepository bizCardRepository, MemoStorage memoStorage) {
+    public BizCardMemoServiceImpl(BizCardRepository bizCardRepository, MemoStorage memoStorage,
+                                  BizCardSearchIndex bizCardSearchIndex) {
         this.bizCardRepository = bizCardRepository;
         this.memoStorage = memoStorage;
+        this.bizCardSearchIndex = bizCardSearchIndex;
     }
 
     /**
@@ -83,7 +86,9 @@ public class BizCardMemoServiceImpl implements BizCardMemoService {
         }
 
         card.setUpdatedAt(LocalDateTime.now());
-        return bizCardRepository.save(card);
+        BizCard saved = bizCardRepository.save(card);
+        bizCardSearchIndex.refresh(saved);
+        return saved;
     }
 
     /**
@@ -159,6 +164,7 @@ public class BizCardMemoServiceImpl implements BizCardMemoService {
 
         card.setUpdatedAt(LocalDateTime.now());
         bizCardRepository.save(card);
+        bizCardSearchIndex.refresh(card);
     }
 
     /**
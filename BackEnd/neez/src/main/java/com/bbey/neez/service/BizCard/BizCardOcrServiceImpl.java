@@ -139,7 +139,8 @@ public class BizCardOcrServiceImpl implements BizCardOcrService {
         return (i >= 0) ? path.substring(i + 1).toLowerCase() : "";
     }
 
-    private Map<String, String> parseNameCardFromJson(String json) {
+    // package-private: 벤치마크(src/jmh)에서 직접 호출
+    Map<String, String> parseNameCardFromJson(String json) {
         String name = extractFirstText(json, "\"name\"\\s*:\\s*\\[\\s*\\{[\\s\\S]*?\"text\"\\s*:\\s*\"(.*?)\"");
         String department = extractFirstText(json,
                 "\"department\"\\s*:\\s*\\[\\s*\\{[\\s\\S]*?\"text\"\\s*:\\s*\"(.*?)\"");
@@ -0,0 +1,497 @@
+package com.bbey.neez.service.BizCard;
+
+import com.bbey.neez.component.MemoStorage;
+import com.bbey.neez.entity.BizCard.BizCard;
+import com.bbey.neez.repository.BizCard.BizCardRepository;
+import com.bbey.neez.repository.BizCard.CardHashTagRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 명함 검색용 메모리 n-gram 역색인 (사용자 단위)
+ *
+ * - 색인 대상: 이름, 회사명, 직책, 부서, 이메일, 전화/유선/팩스, 해시태그, 메모(앞부분)
+ * - 2-gram 역색인으로 후보를 좁힌 뒤 실제 부분 문자열 일치로 검증 → 오탐 없음
+ *   (전화/유선/팩스, 해시태그처럼 값이 여러 개인 필드는 값 경계를 넘는 일치를 만들지 않음)
+ * - 한글은 음절 단위 2-gram 이라 띄어쓰기/조사와 무관하게 부분 검색 가능
+ * - 사용자 색인은 첫 검색 때 DB 에서 만들고, 이후 저장/수정/삭제/복구 시 커밋 후 갱신
+ * - 메모리 보호를 위해 최근 사용한 사용자 색인만 유지 (app.search.max-users)
+ */
+@Slf4j
+@Component
+public class BizCardSearchIndex {
+
+    // 메모는 앞부분만 색인 (메모가 커져도 색인 크기는 일정)
+    private static final int MEMO_INDEX_CHARS = 500;
+
+    // 다중 값 필드의 값 구분자 (공백류라 normalize 가 검색어에서는 지우므로 토큰에는 절대 없음)
+    static final char VALUE_SEP = '\u001F';
+
+    // IN 절 한 번에 넣을 카드 수
+    private static final int TAG_BATCH_SIZE = 1000;
+
+    private final BizCardRepository bizCardRepository;
+    private final CardHashTagRepository cardHashTagRepository;
+    private final MemoStorage memoStorage;
+
+    // userIdx → 색인 (접근 순서 LRU)
+    private final Map<Long, UserIndex> indexes;
+
+    public BizCardSearchIndex(BizCardRepository bizCardRepository,
+            CardHashTagRepository cardHashTagRepository,
+            MemoStorage memoStorage,
+            @Value("${app.search.max-users:500}") final int maxUsers) {
+        this.bizCardRepository = bizCardRepository;
+        this.cardHashTagRepository = cardHashTagRepository;
+        this.memoStorage = memoStorage;
+        this.indexes = new LinkedHashMap<Long, UserIndex>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserIndex> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    /**
+     * 검색 필드와 가중치
+     */
+    enum Field {
+        NAME(10), COMPANY(8), TAG(6), EMAIL(5), PHONE(5), POSITION(4), DEPARTMENT(4), MEMO(1);
+
+        final int weight;
+
+        Field(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * 검색 결과 (현재 페이지의 카드 id + 전체 건수)
+     */
+    public static class SearchHits {
+        private final List<Long> ids;
+        private final long total;
+
+        public SearchHits(List<Long> ids, long total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+    }
+
+    // =========================
+    // 검색
+    // =========================
+
+    /**
+     * 공백으로 나뉜 모든 단어가 (어느 필드든) 포함된 카드만, 점수순으로 반환
+     */
+    public SearchHits search(Long userIdx, String keyword, int offset, int limit) {
+        List<String> tokens = tokenize(keyword);
+        if (tokens.isEmpty()) {
+            return new SearchHits(Collections.<Long>emptyList(), 0);
+        }
+
+        UserIndex index = getOrBuild(userIdx);
+        final Map<Long, Integer> scores;
+        index.lock.readLock().lock();
+        try {
+            scores = index.score(tokens);
+        } finally {
+            index.lock.readLock().unlock();
+        }
+
+        List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(scores.entrySet());
+        // 점수 내림차순 → 최근 등록(idx 큰 것) 우선
+        ranked.sort(Comparator.<Map.Entry<Long, Integer>>comparingInt(Map.Entry::getValue).reversed()
+                .thenComparing(Map.Entry::getKey, Comparator.reverseOrder()));
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = Math.max(offset, 0); i < ranked.size() && ids.size() < limit; i++) {
+            ids.add(ranked.get(i).getKey());
+        }
+        return new SearchHits(ids, ranked.size());
+    }
+
+    // =========================
+    // 갱신
+    // =========================
+
+    /**
+     * 카드 저장/수정/삭제/복구/태그·메모 변경 후 호출
+     * - 해당 사용자의 색인이 아직 없으면 문서는 만들지 않는다 (첫 검색 때 새로 만듦)
+     *   단, 이 트랜잭션이 커밋되기 전에 다른 검색이 색인을 만들기 시작했다면
+     *   커밋 전 데이터로 만들어졌을 수 있으므로 커밋 후 그 색인을 버린다 (다음 검색 때 재생성)
+     * - 트랜잭션 안이면 커밋 이후에 반영
+     */
+    public void refresh(BizCard card) {
+        if (card == null || card.getIdx() == null) {
+            return;
+        }
+        final Long userIdx = card.getUserIdx();
+        final Long cardIdx = card.getIdx();
+        if (find(userIdx) == null) {
+            afterCommit(new Runnable() {
+                @Override
+                public void run() {
+                    synchronized (indexes) {
+                        if (indexes.remove(userIdx) != null) {
+                            log.debug("bizcard search index dropped (built during write): userIdx={}", userIdx);
+                        }
+                    }
+                }
+            });
+            return;
+        }
+
+        // 태그/메모는 변경 직후(같은 트랜잭션 안)에서 읽고, 색인 반영만 커밋 뒤로 미룬다
+        final Doc doc = card.isDeleted() ? null : toDocs(Collections.singletonList(card)).get(0);
+
+        afterCommit(new Runnable() {
+            @Override
+            public void run() {
+                UserIndex index = find(userIdx);
+                if (index == null) {
+                    return;
+                }
+                index.lock.writeLock().lock();
+                try {
+                    if (doc == null) {
+                        index.remove(cardIdx);
+                    } else {
+                        index.put(doc);
+                    }
+                } finally {
+                    index.lock.writeLock().unlock();
+                }
+            }
+        });
+    }
+
+    private void afterCommit(final Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    private UserIndex find(Long userIdx) {
+        synchronized (indexes) {
+            return indexes.get(userIdx);
+        }
+    }
+
+    // =========================
+    // 색인 생성
+    // =========================
+
+    private UserIndex getOrBuild(Long userIdx) {
+        UserIndex index;
+        synchronized (indexes) {
+            index = indexes.get(userIdx);
+            if (index != null) {
+                return index;
+            }
+            index = new UserIndex();
+            // 다른 스레드가 빈 색인을 읽지 못하도록 등록 전에 잠근다
+            index.lock.writeLock().lock();
+            indexes.put(userIdx, index);
+        }
+
+        try {
+            long started = System.currentTimeMillis();
+            List<BizCard> cards = bizCardRepository.findAllByUserIdxAndIsDeletedFalse(userIdx);
+            for (Doc doc : toDocs(cards)) {
+                index.put(doc);
+            }
+            log.info("bizcard search index built: userIdx={}, cards={}, {}ms",
+                    userIdx, cards.size(), System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            synchronized (indexes) {
+                indexes.remove(userIdx);
+            }
+            throw e;
+        } finally {
+            index.lock.writeLock().unlock();
+        }
+        return index;
+    }
+
+    private List<Doc> toDocs(List<BizCard> cards) {
+        Map<Long, List<String>> tagsByCard = new HashMap<>();
+        List<Long> ids = new ArrayList<>(cards.size());
+        Set<String> memoFiles = new LinkedHashSet<>();
+        for (BizCard card : cards) {
+            ids.add(card.getIdx());
+            if (card.getMemo() != null && !card.getMemo().isEmpty()) {
+                memoFiles.add(card.getMemo());
+            }
+        }
+
+        for (int from = 0; from < ids.size(); from += TAG_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + TAG_BATCH_SIZE, ids.size()));
+            for (Object[] row : cardHashTagRepository.findTagNamesByCardIds(batch)) {
+                Long cardIdx = (Long) row[0];
+                List<String> tags = tagsByCard.get(cardIdx);
+                if (tags == null) {
+                    tags = new ArrayList<>();
+                    tagsByCard.put(cardIdx, tags);
+                }
+                tags.add((String) row[1]);
+            }
+        }
+
+        Map<String, String> memos = memoFiles.isEmpty()
+                ? Collections.<String, String>emptyMap()
+                : memoStorage.readAllHead(memoFiles, MEMO_INDEX_CHARS);
+
+        List<Doc> docs = new ArrayList<>(cards.size());
+        for (BizCard card : cards) {
+            String[] fields = new String[Field.values().length];
+            fields[Field.NAME.ordinal()] = normalize(card.getName());
+            fields[Field.COMPANY.ordinal()] = normalize(card.getCardCompanyName());
+            fields[Field.POSITION.ordinal()] = normalize(card.getPosition());
+            fields[Field.DEPARTMENT.ordinal()] = normalize(card.getDepartment());
+            fields[Field.EMAIL.ordinal()] = normalize(card.getEmail());
+            fields[Field.PHONE.ordinal()] = normalizeValues(
+                    card.getPhoneNumber(), card.getLineNumber(), card.getFaxNumber());
+            List<String> tags = tagsByCard.get(card.getIdx());
+            fields[Field.TAG.ordinal()] = tags == null ? "" : normalizeValues(tags.toArray(new String[0]));
+            fields[Field.MEMO.ordinal()] = card.getMemo() == null ? "" : normalize(memos.get(card.getMemo()));
+            docs.add(new Doc(card.getIdx(), fields));
+        }
+        return docs;
+    }
+
+    // =========================
+    // 정규화 / n-gram
+    // =========================
+
+    /**
+     * NFC + 소문자 + 공백/구분기호 제거
+     * - "010.1234-5678" ↔ "01012345678", "전략 사업부" ↔ "전략사업부" 가 서로 일치
+     */
+    static String normalize(String s) {
+        if (s == null || s.isEmpty()) {
+            return "";
+        }
+        String nfc = Normalizer.normalize(s, Normalizer.Form.NFC).toLowerCase();
+        StringBuilder sb = new StringBuilder(nfc.length());
+        for (int i = 0; i < nfc.length(); i++) {
+            char c = nfc.charAt(i);
+            if (Character.isWhitespace(c) || c == '.' || c == '-' || c == '(' || c == ')' || c == '/'
+                    || c == '_' || c == ',') {
+                continue;
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    static List<String> tokenize(String keyword) {
+        List<String> tokens = new ArrayList<>();
+        if (keyword == null) {
+            return tokens;
+        }
+        for (String raw : keyword.trim().split("\\s+")) {
+            String t = normalize(raw);
+            if (!t.isEmpty() && !tokens.contains(t)) {
+                tokens.add(t);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 값마다 따로 정규화한 뒤 VALUE_SEP 로 잇는다
+     * - 정규화가 공백을 지워도 값 경계는 남으므로 "010-1234" + "5678..." 같은 경계 넘는 일치가 생기지 않음
+     */
+    static String normalizeValues(String... values) {
+        StringBuilder sb = new StringBuilder();
+        for (String v : values) {
+            String n = normalize(v);
+            if (n.isEmpty()) {
+                continue;
+            }
+            if (sb.length() > 0) {
+                sb.append(VALUE_SEP);
+            }
+            sb.append(n);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 2-gram 집합 (값 구분자를 걸치는 gram 은 만들지 않음)
+     */
+    static Set<String> bigrams(String s) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 2 <= s.length(); i++) {
+            if (s.charAt(i) == VALUE_SEP || s.charAt(i + 1) == VALUE_SEP) {
+                continue;
+            }
+            grams.add(s.substring(i, i + 2));
+        }
+        return grams;
+    }
+
+    // =========================
+    // 내부 구조
+    // =========================
+
+    static class Doc {
+        final Long cardIdx;
+        final String[] fields;
+
+        Doc(Long cardIdx, String[] fields) {
+            this.cardIdx = cardIdx;
+            this.fields = fields;
+        }
+
+        Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            for (String f : fields) {
+                grams.addAll(bigrams(f));
+            }
+            return grams;
+        }
+
+        /**
+         * 토큰이 포함된 필드 중 최고 점수 (없으면 0)
+         * - 값 전체 일치 > 값 접두 일치 > 부분 일치 (다중 값 필드는 값 하나 단위로 판단)
+         * - 토큰에는 VALUE_SEP 가 없으므로 indexOf 가 값 경계를 넘어 일치하지 않음
+         */
+        int score(String token) {
+            int best = 0;
+            for (Field field : Field.values()) {
+                String value = fields[field.ordinal()];
+                int pos = value.indexOf(token);
+                while (pos >= 0) {
+                    int end = pos + token.length();
+                    boolean prefix = pos == 0 || value.charAt(pos - 1) == VALUE_SEP;
+                    boolean whole = prefix && (end == value.length() || value.charAt(end) == VALUE_SEP);
+                    int s = field.weight;
+                    if (prefix) {
+                        s += field.weight;
+                    }
+                    if (whole) {
+                        s += field.weight;
+                    }
+                    best = Math.max(best, s);
+                    pos = value.indexOf(token, pos + 1);
+                }
+            }
+            return best;
+        }
+    }
+
+    static class UserIndex {
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        final Map<Long, Doc> docs = new HashMap<>();
+        final Map<String, Set<Long>> postings = new HashMap<>();
+
+        void put(Doc doc) {
+            remove(doc.cardIdx);
+            docs.put(doc.cardIdx, doc);
+            for (String gram : doc.grams()) {
+                Set<Long> ids = postings.get(gram);
+                if (ids == null) {
+                    ids = new HashSet<>();
+                    postings.put(gram, ids);
+                }
+                ids.add(doc.cardIdx);
+            }
+        }
+
+        void remove(Long cardIdx) {
+            Doc old = docs.remove(cardIdx);
+            if (old == null) {
+                return;
+            }
+            for (String gram : old.grams()) {
+                Set<Long> ids = postings.get(gram);
+                if (ids != null) {
+                    ids.remove(cardIdx);
+                    if (ids.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+
+        Map<Long, Integer> score(List<String> tokens) {
+            Map<Long, Integer> scores = null;
+            for (String token : tokens) {
+                Map<Long, Integer> next = new HashMap<>();
+                for (Long id : candidates(token)) {
+                    if (scores != null && !scores.containsKey(id)) {
+                        continue;
+                    }
+                    Doc doc = docs.get(id);
+                    int s = doc == null ? 0 : doc.score(token);
+                    if (s > 0) {
+                        next.put(id, (scores == null ? 0 : scores.get(id)) + s);
+                    }
+                }
+                scores = next;
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+            return scores == null ? Collections.<Long, Integer>emptyMap() : scores;
+        }
+
+        /**
+         * 토큰의 2-gram 을 모두 가진 카드 (한 글자 토큰은 전체 카드)
+         */
+        private Set<Long> candidates(String token) {
+            if (token.length() < 2) {
+                return docs.keySet();
+            }
+            List<Set<Long>> lists = new ArrayList<>();
+            for (String gram : bigrams(token)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids == null) {
+                    return Collections.emptySet();
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+            Set<Long> result = new HashSet<>(lists.get(0));
+            for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+                result.retainAll(lists.get(i));
+            }
+            return result;
+        }
+    }
+}
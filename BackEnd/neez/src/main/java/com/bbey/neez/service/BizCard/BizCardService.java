@@ -11,8 +11,8 @@ import java.util.Map;
 
 public interface BizCardService {
 
-    // 🔹 /me 전용 목록
-    Page<BizCardDto> getMyBizCards(Pageable pageable);
+    // 🔹 /me 전용 목록 (memoPreview: 메모 미리보기 글자 수, 0 이하면 생략)
+    Page<BizCardDto> getMyBizCards(Pageable pageable, int memoPreview);
 
     // 🔹 OCR/수기 공통 저장 (현재 로그인 유저 기준)
     BizCardSaveResult saveFromOcrData(Map<String, String> data);
@@ -44,9 +44,9 @@ public interface BizCardService {
     boolean existsBizCard(Long userIdx, String name, String email);
 
     // 🔹 /me 전용 검색/삭제목록/카운트/중복확인
-    Page<BizCardDto> searchMyBizCards(String keyword, Pageable pageable);
+    Page<BizCardDto> searchMyBizCards(String keyword, Pageable pageable, int memoPreview);
 
-    Page<BizCardDto> getMyDeletedBizCards(Pageable pageable);
+    Page<BizCardDto> getMyDeletedBizCards(Pageable pageable, int memoPreview);
 
     long countMyBizCards();
 
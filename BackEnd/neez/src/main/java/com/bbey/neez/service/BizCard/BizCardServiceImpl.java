@@ -15,6 +15,7 @@ import com.bbey.neez.security.SecurityUtil;
 import com.bbey.neez.service.company.CompanyInfoExtractService;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,19 +34,25 @@ public class BizCardServiceImpl implements BizCardService {
     private final MemoStorage memoStorage;
     private final HashtagService hashtagService;
     private final CompanyInfoExtractService companyInfoExtractService;
+    private final BizCardDtoAssembler bizCardDtoAssembler;
+    private final BizCardSearchIndex bizCardSearchIndex;
 
     public BizCardServiceImpl(BizCardRepository bizCardRepository,
             CompanyRepository companyRepository,
             UserRepository userRepository,
             MemoStorage memoStorage,
             HashtagService hashtagService,
-            CompanyInfoExtractService companyInfoExtractService) {
+            CompanyInfoExtractService companyInfoExtractService,
+            BizCardDtoAssembler bizCardDtoAssembler,
+            BizCardSearchIndex bizCardSearchIndex) {
         this.bizCardRepository = bizCardRepository;
         this.companyRepository = companyRepository;
         this.userRepository = userRepository;
         this.memoStorage = memoStorage;
         this.hashtagService = hashtagService;
         this.companyInfoExtractService = companyInfoExtractService;
+        this.bizCardDtoAssembler = bizCardDtoAssembler;
+        this.bizCardSearchIndex = bizCardSearchIndex;
     }
 
     private String nvl(String s) {
@@ -62,11 +69,11 @@ public class BizCardServiceImpl implements BizCardService {
 
     // 🔹 /me 목록
     @Override
-    public Page<BizCardDto> getMyBizCards(Pageable pageable) {
+    public Page<BizCardDto> getMyBizCards(Pageable pageable, int memoPreview) {
         Long userIdx = SecurityUtil.getCurrentUserIdx();
         Page<BizCard> page = bizCardRepository
                 .findByUserIdxAndIsDeletedFalseOrderByCreatedAtDesc(userIdx, pageable);
-        return page.map(this::toDto);
+        return bizCardDtoAssembler.toDtoPage(page, memoPreview);
     }
 
     // 🔥 OCR 공통 저장 (현재 로그인 유저 기준) — 기존 유지
@@ -143,6 +150,7 @@ public class BizCardServiceImpl implements BizCardService {
             }
         }
 
+        bizCardSearchIndex.refresh(saved);
         return new BizCardSaveResult(saved, false);
     }
 
@@ -231,6 +239,7 @@ public class BizCardServiceImpl implements BizCardService {
             }
         }
 
+        bizCardSearchIndex.refresh(saved);
         return new BizCardSaveResult(saved, false);
     }
 
@@ -370,20 +379,22 @@ public class BizCardServiceImpl implements BizCardService {
         }
 
         card.setUpdatedAt(LocalDateTime.now());
-        return bizCardRepository.save(card);
+        BizCard saved = bizCardRepository.save(card);
+        bizCardSearchIndex.refresh(saved);
+        return saved;
     }
 
     // 🔹 userIdx 기반 (관리자/통계용)
     @Override
     public Page<BizCardDto> getBizCardsByUserIdx(Long userIdx, Pageable pageable) {
         Page<BizCard> page = bizCardRepository.findByUserIdxAndIsDeletedFalseOrderByCreatedAtDesc(userIdx, pageable);
-        return page.map(this::toDto);
+        return bizCardDtoAssembler.toDtoPage(page, BizCardDtoAssembler.DEFAULT_MEMO_PREVIEW);
     }
 
     @Override
     public Page<BizCardDto> getDeletedBizCardsByUserIdx(Long userIdx, Pageable pageable) {
         Page<BizCard> page = bizCardRepository.findByUserIdxAndIsDeletedTrue(userIdx, pageable);
-        return page.map(this::toDto);
+        return bizCardDtoAssembler.toDtoPage(page, BizCardDtoAssembler.DEFAULT_MEMO_PREVIEW);
     }
 
     @Override
@@ -402,6 +413,7 @@ public class BizCardServiceImpl implements BizCardService {
         card.setIsDeleted(true);
         card.setUpdatedAt(LocalDateTime.now());
         bizCardRepository.save(card);
+        bizCardSearchIndex.refresh(card);
     }
 
     @Override
@@ -415,28 +427,57 @@ public class BizCardServiceImpl implements BizCardService {
         card.setIsDeleted(false);
         card.setUpdatedAt(LocalDateTime.now());
         bizCardRepository.save(card);
+        bizCardSearchIndex.refresh(card);
     }
 
     // 🔹 특정 userIdx에 대한 검색 (관리자/통계용)
     @Override
     public Page<BizCardDto> searchBizCards(Long userIdx, String keyword, Pageable pageable) {
-        Page<BizCard> page = bizCardRepository.searchByKeyword(userIdx, keyword, pageable);
-        return page.map(this::toDto);
+        return search(userIdx, keyword, pageable, BizCardDtoAssembler.DEFAULT_MEMO_PREVIEW);
     }
 
     // 🔹 내 명함 검색(키워드)
     @Override
-    public Page<BizCardDto> searchMyBizCards(String keyword, Pageable pageable) {
+    public Page<BizCardDto> searchMyBizCards(String keyword, Pageable pageable, int memoPreview) {
         Long userIdx = SecurityUtil.getCurrentUserIdx();
-        Page<BizCard> page = bizCardRepository.searchByKeyword(userIdx, keyword, pageable);
-        return page.map(this::toDto);
+        return search(userIdx, keyword, pageable, memoPreview);
+    }
+
+    // 🔹 검색 공통: 메모리 n-gram 색인으로 id 를 찾고, 해당 페이지 명함만 DB 에서 조회
+    private Page<BizCardDto> search(Long userIdx, String keyword, Pageable pageable, int memoPreview) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            Page<BizCard> page = bizCardRepository.findByUserIdxAndIsDeletedFalseOrderByCreatedAtDesc(userIdx,
+                    pageable);
+            return bizCardDtoAssembler.toDtoPage(page, memoPreview);
+        }
+
+        BizCardSearchIndex.SearchHits hits = bizCardSearchIndex.search(
+                userIdx, keyword, (int) pageable.getOffset(), pageable.getPageSize());
+
+        Map<Long, BizCard> byId = new HashMap<>();
+        for (BizCard card : bizCardRepository.findAllById(hits.getIds())) {
+            // 색인 반영(커밋 후) 전에 삭제/이동된 카드는 제외
+            if (card.isDeleted() || !userIdx.equals(card.getUserIdx())) {
+                continue;
+            }
+            byId.put(card.getIdx(), card);
+        }
+        List<BizCard> ordered = new ArrayList<>(hits.getIds().size());
+        for (Long id : hits.getIds()) {
+            BizCard card = byId.get(id);
+            if (card != null) {
+                ordered.add(card);
+            }
+        }
+
+        return new PageImpl<>(bizCardDtoAssembler.toDtos(ordered, memoPreview), pageable, hits.getTotal());
     }
 
     @Override
-    public Page<BizCardDto> getMyDeletedBizCards(Pageable pageable) {
+    public Page<BizCardDto> getMyDeletedBizCards(Pageable pageable, int memoPreview) {
         Long userIdx = SecurityUtil.getCurrentUserIdx();
         Page<BizCard> page = bizCardRepository.findByUserIdxAndIsDeletedTrue(userIdx, pageable);
-        return page.map(this::toDto);
+        return bizCardDtoAssembler.toDtoPage(page, memoPreview);
     }
 
     @Override
@@ -459,36 +500,4 @@ public class BizCardServiceImpl implements BizCardService {
             return false;
         return bizCardRepository.existsByUserIdxAndNameAndEmailAndIsDeletedFalse(userIdx, name, email);
     }
-
-    private BizCardDto toDto(BizCard card) {
-        if (card == null)
-            return null;
-
-        String memoContent = "";
-        if (card.getMemo() != null && !card.getMemo().isEmpty()) {
-            try {
-                memoContent = memoStorage.read(card.getMemo());
-            } catch (IOException e) {
-                memoContent = "(메모 파일을 불러오는 중 오류가 발생했습니다)";
-            }
-        }
-
-        List<String> hashtags = hashtagService.getTagsOfCard(card.getIdx());
-
-        return new BizCardDto(
-                card.getIdx(),
-                card.getUserIdx(),
-                card.getName(),
-                card.getCardCompanyName(),
-                card.getCompanyIdx(),
-                card.getDepartment(),
-                card.getPosition(),
-                card.getEmail(),
-                card.getPhoneNumber(),
-                card.getLineNumber(),
-                card.getFaxNumber(),
-                card.getAddress(),
-                memoContent,
-                hashtags);
-    }
 }
@@ -19,8 +19,8 @@ public interface HashtagService {
     // 카드에 달린 태그 이름들
     List<String> getTagsOfCard(Long cardId);
     
-    // 태그로 카드들 찾기 (페이징)
-    Page<BizCardDto> getCardsByTags(List<String> tagNames, Pageable pageable);
+    // 태그로 카드들 찾기 (페이징, memoPreview: 메모 미리보기 글자 수)
+    Page<BizCardDto> getCardsByTags(List<String> tagNames, Pageable pageable, int memoPreview);
 
     // 카드에서 태그 떼기
     void removeTagFromCard(Long cardId, String tagName);
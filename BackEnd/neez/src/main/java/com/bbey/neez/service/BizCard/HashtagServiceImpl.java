@@ -1,7 +1,6 @@
 package com.bbey.neez.service.BizCard;
 
 import com.bbey.neez.DTO.BizCardDto;
-import com.bbey.neez.component.MemoStorage;
 import com.bbey.neez.entity.BizCard.BizCard;
 import com.bbey.neez.entity.BizCard.CardHashTag;
 import com.bbey.neez.entity.BizCard.HashTag;
@@ -19,7 +18,6 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -34,18 +32,21 @@ public class HashtagServiceImpl implements HashtagService {
     private final HashTagRepository hashTagRepository;
     private final CardHashTagRepository cardHashTagRepository;
     private final CompanyRepository companyRepository; // 현재는 사용 안 하지만 시그니처 유지
-    private final MemoStorage memoStorage;
+    private final BizCardDtoAssembler bizCardDtoAssembler;
+    private final BizCardSearchIndex bizCardSearchIndex;
 
     public HashtagServiceImpl(BizCardRepository bizCardRepository,
             HashTagRepository hashTagRepository,
             CardHashTagRepository cardHashTagRepository,
             CompanyRepository companyRepository,
-            MemoStorage memoStorage) {
+            BizCardDtoAssembler bizCardDtoAssembler,
+            BizCardSearchIndex bizCardSearchIndex) {
         this.bizCardRepository = bizCardRepository;
         this.hashTagRepository = hashTagRepository;
         this.cardHashTagRepository = cardHashTagRepository;
         this.companyRepository = companyRepository;
-        this.memoStorage = memoStorage;
+        this.bizCardDtoAssembler = bizCardDtoAssembler;
+        this.bizCardSearchIndex = bizCardSearchIndex;
     }
 
     /**
@@ -86,6 +87,7 @@ public class HashtagServiceImpl implements HashtagService {
         cht.setCard(card);
         cht.setTag(tag);
         cardHashTagRepository.save(cht);
+        bizCardSearchIndex.refresh(card);
     }
 
     @Override
@@ -116,7 +118,7 @@ public class HashtagServiceImpl implements HashtagService {
     }
 
     @Override
-    public Page<BizCardDto> getCardsByTags(List<String> tagNames, Pageable pageable) {
+    public Page<BizCardDto> getCardsByTags(List<String> tagNames, Pageable pageable, int memoPreview) {
         if (tagNames == null || tagNames.isEmpty()) {
             return new PageImpl<>(Collections.emptyList(), pageable, 0);
         }
@@ -141,38 +143,8 @@ public class HashtagServiceImpl implements HashtagService {
         // ✅ 명함 조회 (소프트 삭제 제외)
         Page<BizCard> cardPage = bizCardRepository.findByIdxInAndIsDeletedFalse(cardIds, pageable);
 
-        // ✅ BizCard -> BizCardDto 변환 (BizCardServiceImpl.toDto 와 동일한 형태)
-        return cardPage.map(card -> {
-            String memoContent = "";
-            if (card.getMemo() != null && !card.getMemo().isEmpty()) {
-                try {
-                    memoContent = memoStorage.read(card.getMemo());
-                } catch (IOException ignored) {
-                }
-            }
-
-            // 카드에 달린 태그 목록 조회
-            List<CardHashTag> tagsOfCard = cardHashTagRepository.findByCard(card);
-            List<String> hashtags = tagsOfCard.stream()
-                    .map(ch -> ch.getTag().getName())
-                    .collect(Collectors.toList());
-
-            return new BizCardDto(
-                    card.getIdx(),
-                    card.getUserIdx(),
-                    card.getName(),
-                    card.getCardCompanyName(),
-                    card.getCompanyIdx(),
-                    card.getDepartment(),
-                    card.getPosition(),
-                    card.getEmail(),
-                    card.getPhoneNumber(),
-                    card.getLineNumber(),
-                    card.getFaxNumber(),
-                    card.getAddress(),
-                    memoContent,
-                    hashtags);
-        });
+        // ✅ BizCard -> BizCardDto 변환 (페이지 단위 일괄 조회)
+        return bizCardDtoAssembler.toDtoPage(cardPage, memoPreview);
     }
 
     @Override
@@ -192,6 +164,7 @@ public class HashtagServiceImpl implements HashtagService {
                 .orElseThrow(() -> new ResourceNotFoundException("Tag not found: " + normalized));
 
         cardHashTagRepository.deleteByCardAndTag(card, tag);
+        bizCardSearchIndex.refresh(card);
     }
 
     @Override
@@ -21,6 +21,7 @@ public class CompanyInsertRequestService {
 
     private final CompanyInsertRequestRepository requestRepository;
     private final CompanyRepository companyRepository;
+    private final CompanySearchIndex companySearchIndex;
 
     @Transactional
     public void createRequest(Long requesterUserIdx, CreateCompanyInsertRequestDto dto) {
@@ -68,7 +69,9 @@ public class CompanyInsertRequestService {
                     c.setSource("MANUAL_REQUEST");
                     c.setCreatedAt(LocalDateTime.now());
                     c.setUpdatedAt(LocalDateTime.now());
-                    return companyRepository.save(c);
+                    Company saved = companyRepository.save(c);
+                    companySearchIndex.refresh(saved);
+                    return saved;
                 });
 
         // 2. 신청 상태 업데이트
@@ -0,0 +1,726 @@
+package com.bbey.neez.service.company;
+
+import com.bbey.neez.DTO.company.CompanySearchDto;
+import com.bbey.neez.entity.Company;
+import com.bbey.neez.repository.CompanyRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 회사 검색/자동완성용 메모리 색인
+ *
+ * - 회사명: 자모 3-gram 색인 → 오타 1~2자는 허용 (예: "삼송전자" → "삼성전자")
+ * - 주소/홈페이지/도메인/업종: 음절 2-gram 색인 + 부분 문자열 검증 (기존 LIKE 와 같은 결과)
+ * - 자동완성: 자모 단위 접두어 ("삼서" → "삼성…") + 초성 검색 ("ㅅㅅㅈㅈ" → "삼성전자")
+ * - companies 테이블에서 한 번 적재한 뒤 updated_at 기준으로 증분 갱신, 하루 한 번 전체 재적재
+ * - 첫 적재는 기동 직후 백그라운드 스레드에서 하고, 끝나기 전까지 검색은 기존 DB LIKE 조회로 응답
+ * - 같은 회사의 문서는 updated_at 이 더 오래된 값으로 덮어쓰지 않음 (재적재 중 쌓인 갱신 재반영 포함)
+ */
+@Slf4j
+@Component
+public class CompanySearchIndex {
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+
+    // 자동완성 접두어 범위에서 최대 몇 건까지 훑을지
+    private static final int MAX_PREFIX_SCAN = 500;
+
+    // 회사명 자모 3-gram 중 이 비율 이상 겹치면 후보 (오타 허용)
+    private static final double MIN_GRAM_COVERAGE = 0.6;
+
+    // 법인 표기 (정규화 전에 제거해서 "㈜삼성전자" ↔ "삼성전자" 를 같은 키로 본다)
+    private static final String[] CORP_MARKS = {
+            "주식회사", "유한회사", "합자회사", "사단법인", "재단법인",
+            "(주)", "(유)", "(사)", "(재)", "㈜",
+            "co.,ltd", "co., ltd", "co.ltd", "inc.", "corp.", "ltd."
+    };
+
+    private final CompanyRepository companyRepository;
+
+    private final Object loadLock = new Object();
+    private final Object rebuildLock = new Object();
+    private final AtomicBoolean warming = new AtomicBoolean();
+    private volatile Engine engine;
+    private volatile LocalDateTime lastUpdatedAt;
+
+    // 전체 재적재 중에 들어온 갱신 (loadLock 으로 보호, 재적재 중이 아니면 null)
+    private List<Doc> pendingDuringRebuild;
+
+    public CompanySearchIndex(CompanyRepository companyRepository) {
+        this.companyRepository = companyRepository;
+    }
+
+    /**
+     * 검색 결과 (현재 페이지의 회사 idx + 전체 건수)
+     */
+    public static class SearchHits {
+        private final List<Long> ids;
+        private final long total;
+
+        public SearchHits(List<Long> ids, long total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+    }
+
+    // =========================
+    // 조회
+    // =========================
+
+    public SearchHits search(String keyword, int offset, int limit) {
+        String q = normalize(keyword);
+        if (q.isEmpty()) {
+            return new SearchHits(Collections.<Long>emptyList(), 0);
+        }
+
+        Engine e = engine;
+        if (e == null) {
+            return searchDb(keyword, offset, limit);
+        }
+        e.lock.readLock().lock();
+        try {
+            List<Integer> ranked = e.search(q);
+            List<Long> ids = new ArrayList<>();
+            for (int i = Math.max(offset, 0); i < ranked.size() && ids.size() < limit; i++) {
+                ids.add(e.docs.get(ranked.get(i)).idx);
+            }
+            return new SearchHits(ids, ranked.size());
+        } finally {
+            e.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 자동완성: 접두어 일치 우선, 부족하면 오타 허용 검색 결과로 채움 (DB 조회 없음)
+     */
+    public List<CompanySearchDto> suggest(String keyword, int limit) {
+        String q = normalize(keyword);
+        if (q.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        Engine e = engine;
+        if (e == null) {
+            return suggestDb(keyword, limit);
+        }
+        e.lock.readLock().lock();
+        try {
+            Set<Integer> picked = new LinkedHashSet<>(e.prefix(q, limit));
+            if (picked.size() < limit) {
+                for (Integer id : e.search(q)) {
+                    picked.add(id);
+                    if (picked.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+
+            List<CompanySearchDto> result = new ArrayList<>(picked.size());
+            for (Integer id : picked) {
+                Doc d = e.docs.get(id);
+                result.add(CompanySearchDto.builder()
+                        .id(d.idx)
+                        .name(d.name)
+                        .address(d.address)
+                        .homepage(d.homepage)
+                        .source(d.source)
+                        .build());
+            }
+            return result;
+        } finally {
+            e.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 색인 적재 전 검색: 기존 LIKE 조회 (오타 허용/관련도 정렬 없음)
+     */
+    private SearchHits searchDb(String keyword, int offset, int limit) {
+        if (limit <= 0) {
+            return new SearchHits(Collections.<Long>emptyList(), 0);
+        }
+        Page<Company> page = companyRepository.searchByKeyword(keyword.trim(),
+                PageRequest.of(Math.max(offset, 0) / limit, limit));
+        List<Long> ids = new ArrayList<>(page.getNumberOfElements());
+        for (Company c : page.getContent()) {
+            ids.add(c.getIdx());
+        }
+        return new SearchHits(ids, page.getTotalElements());
+    }
+
+    private List<CompanySearchDto> suggestDb(String keyword, int limit) {
+        List<CompanySearchDto> result = new ArrayList<>();
+        for (Company c : companyRepository.searchByKeyword(keyword.trim(), PageRequest.of(0, limit))) {
+            result.add(CompanySearchDto.builder()
+                    .id(c.getIdx())
+                    .name(c.getName())
+                    .address(c.getAddress())
+                    .homepage(c.getHomepage())
+                    .source(c.getSource())
+                    .build());
+        }
+        return result;
+    }
+
+    // =========================
+    // 갱신
+    // =========================
+
+    /**
+     * 기동 직후 백그라운드에서 첫 적재 (요청 스레드가 전체 적재를 기다리지 않도록)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (engine != null || !warming.compareAndSet(false, true)) {
+            return;
+        }
+        Thread t = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    rebuild();
+                } finally {
+                    warming.set(false);
+                }
+            }
+        }, "company-index-warmup");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /**
+     * 회사 등록/수정 직후 반영 (트랜잭션 안이면 커밋 이후)
+     */
+    public void refresh(Company company) {
+        // 첫 적재 중(engine == null)이어도 재적재 대기 목록에는 쌓이도록 apply 까지 보낸다
+        if (company == null || company.getIdx() == null) {
+            return;
+        }
+        final Doc doc = toDoc(company);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(Collections.singletonList(doc));
+                }
+            });
+        } else {
+            apply(Collections.singletonList(doc));
+        }
+    }
+
+    /**
+     * updated_at 기준 증분 갱신 (아직 적재 전이면 백그라운드 적재를 다시 시도)
+     */
+    @Scheduled(fixedDelayString = "${app.company-index.refresh-ms:60000}")
+    public void refreshUpdated() {
+        try {
+            if (engine == null) {
+                warmUp();
+                return;
+            }
+            LocalDateTime since = lastUpdatedAt;
+            if (since == null) {
+                return;
+            }
+            List<Company> changed = companyRepository.findByUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc(since);
+            if (changed.isEmpty()) {
+                return;
+            }
+            List<Doc> docs = new ArrayList<>(changed.size());
+            for (Company c : changed) {
+                docs.add(toDoc(c));
+                touch(c.getUpdatedAt());
+            }
+            apply(docs);
+        } catch (RuntimeException ex) {
+            log.warn("company search index refresh failed: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * 삭제된 회사 정리 겸 전체 재적재 (첫 적재도 여기서)
+     * - 적재하는 동안 들어온 갱신은 따로 모아 두었다가 교체 직전에 새 색인에 다시 반영
+     * - 재반영은 updated_at 비교로 거르므로, 스냅샷이 이미 더 새 값을 읽었으면 덮어쓰지 않음
+     */
+    @Scheduled(cron = "${app.company-index.rebuild-cron:0 0 4 * * *}")
+    public void rebuild() {
+        // 첫 적재와 새벽 재적재가 겹치면 대기 목록을 서로 덮어쓰므로 한 번에 하나만
+        synchronized (rebuildLock) {
+            synchronized (loadLock) {
+                pendingDuringRebuild = new ArrayList<>();
+            }
+            try {
+                Engine fresh = load();
+                synchronized (loadLock) {
+                    for (Doc d : pendingDuringRebuild) {
+                        fresh.put(new Doc(d));
+                    }
+                    engine = fresh;
+                }
+            } catch (RuntimeException ex) {
+                log.warn("company search index rebuild failed: {}", ex.getMessage());
+            } finally {
+                synchronized (loadLock) {
+                    pendingDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    private void apply(List<Doc> docs) {
+        synchronized (loadLock) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.addAll(docs);
+            }
+        }
+        while (true) {
+            Engine e = engine;
+            if (e == null) {
+                return;
+            }
+            e.lock.writeLock().lock();
+            try {
+                // 잠금을 기다리는 사이 재적재/압축으로 교체됐으면 새 색인에 다시 반영
+                if (engine != e) {
+                    continue;
+                }
+                for (Doc d : docs) {
+                    e.put(d);
+                }
+
+                // 수정으로 쌓인 죽은 문서가 절반을 넘으면 메모리 안에서 다시 만든다
+                // (쓰기 잠금을 쥔 채 복사/교체 → 그 사이의 갱신이 옛 색인에만 들어가는 일이 없다)
+                if (e.dead > e.docs.size() / 2) {
+                    Engine fresh = new Engine();
+                    for (Doc d : e.docs) {
+                        if (d.live) {
+                            fresh.put(new Doc(d));
+                        }
+                    }
+                    synchronized (loadLock) {
+                        if (engine == e) {
+                            engine = fresh;
+                        }
+                    }
+                }
+                return;
+            } finally {
+                e.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private Engine load() {
+        long started = System.currentTimeMillis();
+        Engine e = new Engine();
+        long afterIdx = 0L;
+        while (true) {
+            List<Company> batch = companyRepository.findIndexBatch(afterIdx, PageRequest.of(0, LOAD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (Company c : batch) {
+                e.put(toDoc(c));
+                touch(c.getUpdatedAt());
+                afterIdx = c.getIdx();
+            }
+        }
+        log.info("company search index loaded: {} companies, {}ms",
+                e.docIdByIdx.size(), System.currentTimeMillis() - started);
+        return e;
+    }
+
+    private void touch(LocalDateTime updatedAt) {
+        if (updatedAt != null && (lastUpdatedAt == null || updatedAt.isAfter(lastUpdatedAt))) {
+            lastUpdatedAt = updatedAt;
+        }
+    }
+
+    private Doc toDoc(Company c) {
+        return new Doc(c.getIdx(), c.getName(), c.getAddress(), c.getHomepage(), c.getSource(),
+                c.getDomain(), c.getIndustry(), c.getUpdatedAt());
+    }
+
+    // =========================
+    // 정규화 / n-gram
+    // =========================
+
+    static String normalize(String s) {
+        if (s == null || s.isEmpty()) {
+            return "";
+        }
+        String nfc = Normalizer.normalize(s, Normalizer.Form.NFC).toLowerCase();
+        StringBuilder sb = new StringBuilder(nfc.length());
+        for (int i = 0; i < nfc.length(); i++) {
+            char c = nfc.charAt(i);
+            if (Character.isLetterOrDigit(c) || c == '@') {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    static String stripCorpMarks(String name) {
+        if (name == null) {
+            return "";
+        }
+        String s = name.toLowerCase();
+        for (String mark : CORP_MARKS) {
+            s = s.replace(mark, " ");
+        }
+        return s;
+    }
+
+    static Set<String> grams(String s, int n) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + n <= s.length(); i++) {
+            grams.add(s.substring(i, i + n));
+        }
+        return grams;
+    }
+
+    // =========================
+    // 내부 구조
+    // =========================
+
+    static class Doc {
+        final long idx;
+        final String name;
+        final String address;
+        final String homepage;
+        final String source;
+        final String domain;
+        final String industry;
+        final LocalDateTime updatedAt;
+
+        final String nameKey;   // 정규화된 회사명
+        final String shortKey;  // 법인 표기 제거한 회사명
+        final String extraKey;  // 주소/홈페이지/도메인/업종
+        boolean live = true;
+
+        Doc(long idx, String name, String address, String homepage, String source, String domain,
+                String industry, LocalDateTime updatedAt) {
+            this.idx = idx;
+            this.name = name;
+            this.address = address;
+            this.homepage = homepage;
+            this.source = source;
+            this.domain = domain;
+            this.industry = industry;
+            this.updatedAt = updatedAt;
+            this.nameKey = normalize(name);
+            this.shortKey = normalize(stripCorpMarks(name));
+            this.extraKey = normalize(nvl(address) + " " + nvl(homepage) + " " + nvl(domain) + " "
+                    + nvl(industry));
+        }
+
+        Doc(Doc other) {
+            this(other.idx, other.name, other.address, other.homepage, other.source, other.domain,
+                    other.industry, other.updatedAt);
+        }
+
+        /**
+         * 이미 색인된 문서보다 오래된 값인지 (updated_at 이 없으면 비교하지 않음)
+         */
+        boolean olderThan(Doc o) {
+            return updatedAt != null && o.updatedAt != null && updatedAt.isBefore(o.updatedAt);
+        }
+
+        boolean sameAs(Doc o) {
+            return live && idx == o.idx
+                    && Objects.equals(name, o.name)
+                    && Objects.equals(address, o.address)
+                    && Objects.equals(homepage, o.homepage)
+                    && Objects.equals(source, o.source)
+                    && Objects.equals(domain, o.domain)
+                    && Objects.equals(industry, o.industry);
+        }
+
+        Set<String> nameKeys() {
+            Set<String> keys = new LinkedHashSet<>();
+            if (!nameKey.isEmpty()) {
+                keys.add(nameKey);
+            }
+            if (!shortKey.isEmpty()) {
+                keys.add(shortKey);
+            }
+            return keys;
+        }
+
+        private static String nvl(String s) {
+            return s == null ? "" : s;
+        }
+    }
+
+    /**
+     * 문서 id(int) 목록
+     */
+    static class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int v) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = v;
+        }
+
+        void remove(int v) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == v) {
+                    System.arraycopy(values, i + 1, values, i, size - i - 1);
+                    size--;
+                    return;
+                }
+            }
+        }
+    }
+
+    static class Engine {
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        // 문서 id = docs 의 인덱스, 수정/삭제된 문서는 live=false 로 남겨둔다
+        final List<Doc> docs = new ArrayList<>();
+        final Map<Long, Integer> docIdByIdx = new HashMap<>();
+        int dead;
+
+        final Map<String, IntList> namePostings = new HashMap<>();   // 회사명 자모 3-gram
+        final Map<String, IntList> extraPostings = new HashMap<>();  // 부가 필드 음절 2-gram
+        final TreeMap<String, IntList> jamoPrefix = new TreeMap<>(); // 자모 키 → 문서
+        final TreeMap<String, IntList> choPrefix = new TreeMap<>();  // 초성 키 → 문서
+
+        void put(Doc d) {
+            Integer old = docIdByIdx.get(d.idx);
+            if (old != null) {
+                // 증분 갱신은 마지막 시각을 포함해서 다시 읽으므로, 바뀐 게 없으면 건너뛴다
+                // 먼저 읽어 둔 옛 값(재적재 중 쌓인 갱신 등)이 새 값을 덮어쓰지 않게 한다
+                Doc current = docs.get(old);
+                if (current.sameAs(d) || d.olderThan(current)) {
+                    return;
+                }
+                kill(old);
+            }
+            int id = docs.size();
+            docs.add(d);
+            docIdByIdx.put(d.idx, id);
+
+            // 원본/법인표기 제거 키의 gram 을 합쳐서 문서당 한 번만 등록
+            Set<String> nameGrams = new LinkedHashSet<>();
+            for (String key : d.nameKeys()) {
+                nameGrams.addAll(grams(HangulJamo.decompose(key), 3));
+                posting(jamoPrefix, HangulJamo.decompose(key)).add(id);
+                posting(choPrefix, HangulJamo.choseong(key)).add(id);
+            }
+            for (String g : nameGrams) {
+                posting(namePostings, g).add(id);
+            }
+            for (String g : grams(d.extraKey, 2)) {
+                posting(extraPostings, g).add(id);
+            }
+        }
+
+        private void kill(int id) {
+            Doc d = docs.get(id);
+            if (!d.live) {
+                return;
+            }
+            d.live = false;
+            dead++;
+            // 접두어 트리는 범위 스캔이라 바로 지운다 (n-gram 목록은 조회 시 live 로 거름)
+            for (String key : d.nameKeys()) {
+                removeFrom(jamoPrefix, HangulJamo.decompose(key), id);
+                removeFrom(choPrefix, HangulJamo.choseong(key), id);
+            }
+        }
+
+        private static IntList posting(Map<String, IntList> map, String key) {
+            IntList list = map.get(key);
+            if (list == null) {
+                list = new IntList();
+                map.put(key, list);
+            }
+            return list;
+        }
+
+        private static void removeFrom(Map<String, IntList> map, String key, int id) {
+            IntList list = map.get(key);
+            if (list != null) {
+                list.remove(id);
+                if (list.size == 0) {
+                    map.remove(key);
+                }
+            }
+        }
+
+        /**
+         * 자모 접두어 / 초성 접두어 일치 (완전 일치 → 짧은 이름 순)
+         */
+        List<Integer> prefix(String q, int limit) {
+            boolean cho = HangulJamo.isChoseongQuery(q);
+            String key = cho ? q : HangulJamo.decompose(q);
+            TreeMap<String, IntList> tree = cho ? choPrefix : jamoPrefix;
+
+            Set<Integer> found = new LinkedHashSet<>();
+            for (IntList list : tree.subMap(key, true, key + Character.MAX_VALUE, false).values()) {
+                for (int i = 0; i < list.size; i++) {
+                    found.add(list.values[i]);
+                }
+                if (found.size() >= MAX_PREFIX_SCAN) {
+                    break;
+                }
+            }
+
+            List<Integer> ranked = new ArrayList<>(found);
+            final String exact = q;
+            ranked.sort((a, b) -> {
+                Doc da = docs.get(a);
+                Doc db = docs.get(b);
+                boolean ea = exact.equals(da.nameKey) || exact.equals(da.shortKey);
+                boolean eb = exact.equals(db.nameKey) || exact.equals(db.shortKey);
+                if (ea != eb) {
+                    return ea ? -1 : 1;
+                }
+                int byLen = Integer.compare(da.nameKey.length(), db.nameKey.length());
+                return byLen != 0 ? byLen : Long.compare(da.idx, db.idx);
+            });
+            return ranked.size() > limit ? ranked.subList(0, limit) : ranked;
+        }
+
+        /**
+         * 회사명 오타 허용 + 부가 필드 부분 일치, 점수순 문서 id
+         */
+        List<Integer> search(String q) {
+            final Map<Integer, Integer> scores = new HashMap<>();
+
+            // 1) 회사명: 자모 3-gram 겹침 비율
+            String jq = HangulJamo.decompose(q);
+            Set<String> nameGrams = grams(jq, 3);
+            if (nameGrams.isEmpty()) {
+                // 한 글자 검색은 이름 전체 스캔
+                for (int id = 0; id < docs.size(); id++) {
+                    Doc d = docs.get(id);
+                    if (d.live && d.nameKey.contains(q)) {
+                        scores.put(id, 0);
+                    }
+                }
+            } else {
+                int need = nameGrams.size() <= 3
+                        ? nameGrams.size()
+                        : (int) Math.ceil(nameGrams.size() * MIN_GRAM_COVERAGE);
+                Map<Integer, Integer> cover = new HashMap<>();
+                for (String g : nameGrams) {
+                    IntList list = namePostings.get(g);
+                    if (list == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < list.size; i++) {
+                        int id = list.values[i];
+                        Integer c = cover.get(id);
+                        cover.put(id, c == null ? 1 : c + 1);
+                    }
+                }
+                for (Map.Entry<Integer, Integer> en : cover.entrySet()) {
+                    if (en.getValue() >= need && docs.get(en.getKey()).live) {
+                        scores.put(en.getKey(), en.getValue() * 100 / nameGrams.size());
+                    }
+                }
+            }
+
+            // 2) 부가 필드: 2-gram 교집합 → 실제 포함 여부 확인
+            for (Integer id : extraCandidates(q)) {
+                Doc d = docs.get(id);
+                if (d.live && d.extraKey.contains(q)) {
+                    Integer s = scores.get(id);
+                    scores.put(id, (s == null ? 0 : s) + 10);
+                }
+            }
+
+            // 3) 회사명 일치 보너스
+            for (Map.Entry<Integer, Integer> en : scores.entrySet()) {
+                Doc d = docs.get(en.getKey());
+                int bonus = 0;
+                if (q.equals(d.nameKey) || q.equals(d.shortKey)) {
+                    bonus += 100;
+                }
+                if (d.nameKey.startsWith(q) || d.shortKey.startsWith(q)) {
+                    bonus += 50;
+                } else if (d.nameKey.contains(q)) {
+                    bonus += 30;
+                }
+                en.setValue(en.getValue() + bonus);
+            }
+
+            List<Integer> ranked = new ArrayList<>(scores.keySet());
+            ranked.sort((a, b) -> {
+                int byScore = Integer.compare(scores.get(b), scores.get(a));
+                if (byScore != 0) {
+                    return byScore;
+                }
+                Doc da = docs.get(a);
+                Doc db = docs.get(b);
+                int byLen = Integer.compare(da.nameKey.length(), db.nameKey.length());
+                return byLen != 0 ? byLen : Long.compare(da.idx, db.idx);
+            });
+            return ranked;
+        }
+
+        private List<Integer> extraCandidates(String q) {
+            Set<String> gs = grams(q, 2);
+            List<Integer> result = new ArrayList<>();
+            if (gs.isEmpty()) {
+                for (int id = 0; id < docs.size(); id++) {
+                    result.add(id);
+                }
+                return result;
+            }
+            IntList smallest = null;
+            for (String g : gs) {
+                IntList list = extraPostings.get(g);
+                if (list == null) {
+                    return result;
+                }
+                if (smallest == null || list.size < smallest.size) {
+                    smallest = list;
+                }
+            }
+            // 가장 짧은 목록만 훑고 나머지 조건은 contains 검증으로 대신한다
+            for (int i = 0; i < smallest.size; i++) {
+                result.add(smallest.values[i]);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.bbey.neez.service.company;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 한글 자모 분해 유틸 (자동완성용)
+ *
+ * - "삼성" → "ㅅㅏㅁㅅㅓㅇ" 처럼 음절을 자모로 풀어서 비교하면
+ *   입력 중인 "삼서", "삼성ㅈ" 도 "삼성전자" 의 접두어가 된다.
+ * - 겹받침/겹모음은 기본 자모로 풀어 "달ㄱ" ↔ "닭" 도 일치시킨다.
+ */
+final class HangulJamo {
+
+    private static final char SYLLABLE_BASE = 0xAC00;
+    private static final char SYLLABLE_LAST = 0xD7A3;
+
+    private static final String[] CHO = {
+            "ㄱ", "ㄲ", "ㄴ", "ㄷ", "ㄸ", "ㄹ", "ㅁ", "ㅂ", "ㅃ", "ㅅ",
+            "ㅆ", "ㅇ", "ㅈ", "ㅉ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+
+    private static final String[] JUNG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ",
+            "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"
+    };
+
+    private static final String[] JONG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ",
+            "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ",
+            "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+
+    // 단독으로 입력된 겹자모 (호환 자모)
+    private static final Map<Character, String> COMPOUND = new HashMap<>();
+
+    static {
+        COMPOUND.put('ㄳ', "ㄱㅅ");
+        COMPOUND.put('ㄵ', "ㄴㅈ");
+        COMPOUND.put('ㄶ', "ㄴㅎ");
+        COMPOUND.put('ㄺ', "ㄹㄱ");
+        COMPOUND.put('ㄻ', "ㄹㅁ");
+        COMPOUND.put('ㄼ', "ㄹㅂ");
+        COMPOUND.put('ㄽ', "ㄹㅅ");
+        COMPOUND.put('ㄾ', "ㄹㅌ");
+        COMPOUND.put('ㄿ', "ㄹㅍ");
+        COMPOUND.put('ㅀ', "ㄹㅎ");
+        COMPOUND.put('ㅄ', "ㅂㅅ");
+        COMPOUND.put('ㅘ', "ㅗㅏ");
+        COMPOUND.put('ㅙ', "ㅗㅐ");
+        COMPOUND.put('ㅚ', "ㅗㅣ");
+        COMPOUND.put('ㅝ', "ㅜㅓ");
+        COMPOUND.put('ㅞ', "ㅜㅔ");
+        COMPOUND.put('ㅟ', "ㅜㅣ");
+        COMPOUND.put('ㅢ', "ㅡㅣ");
+    }
+
+    private HangulJamo() {
+    }
+
+    static boolean isSyllable(char c) {
+        return c >= SYLLABLE_BASE && c <= SYLLABLE_LAST;
+    }
+
+    // 호환 자음 (ㄱ ~ ㅎ)
+    static boolean isConsonant(char c) {
+        return c >= 'ㄱ' && c <= 'ㅎ';
+    }
+
+    /**
+     * 음절 → 자모 나열 (한글 외 문자는 그대로)
+     */
+    static String decompose(String s) {
+        StringBuilder sb = new StringBuilder(s.length() * 3);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (isSyllable(c)) {
+                int code = c - SYLLABLE_BASE;
+                sb.append(CHO[code / 588])
+                        .append(JUNG[(code % 588) / 28])
+                        .append(JONG[code % 28]);
+            } else {
+                String compound = COMPOUND.get(c);
+                sb.append(compound != null ? compound : String.valueOf(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 초성만 추출 ("삼성전자" → "ㅅㅅㅈㅈ", 한글 외 문자는 그대로)
+     */
+    static String choseong(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (isSyllable(c)) {
+                sb.append(CHO[(c - SYLLABLE_BASE) / 588]);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 입력이 전부 자음이면 초성 검색으로 본다 ("ㅅㅅㅈㅈ")
+     */
+    static boolean isChoseongQuery(String s) {
+        if (s.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            if (!isConsonant(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,448 @@
+package com.bbey.neez.service.Meet;
+
+import com.bbey.neez.client.ClovaSpeechClient;
+import com.bbey.neez.client.ClovaSpeechClient.ClovaResult;
+import com.bbey.neez.client.ClovaSpeechClient.SpeakerSegment;
+import com.bbey.neez.component.PcmAudio;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 긴 회의 녹음 STT (단일 파일 업로드용)
+ *
+ * - min-duration-ms 보다 긴 WAV 는 window-ms 단위로 잘라서 병렬로 STT (동시 요청 concurrency 개)
+ * - 자르는 위치는 목표 지점 앞 search-ms 안에서 가장 조용한 곳 → 말 중간에서 끊기지 않게
+ * - 각 window 는 자른 지점 앞뒤로 overlap-ms/2 씩 겹치게 보내고,
+ *   합칠 때는 자른 지점 기준으로 앞 window / 뒤 window 의 구간만 남긴다 (겹친 부분 중복 제거)
+ * - 화자 구간 시간(start/end)은 window 시작 시각만큼 더해서 원본 기준으로 맞춘다
+ *   시간이 없는 구간은 같은 window 안 앞뒤 구간의 시간으로 위치를 추정, 그래도 모르면 직전 window 끝과 텍스트로 중복 제거
+ * - 화자 번호는 window 마다 따로 매겨지므로, 겹침 구간에서 시간이 겹치는 화자끼리 같은 사람으로 보고 번호를 맞춘다
+ *   (겹침 구간에 근거가 없으면 window 번호 그대로, 이미 다른 화자가 쓴 번호면 새 번호)
+ * - 재시도는 ClovaSpeechClient 한 곳에서만 (연결 실패 / 429 / 503) → 유료 STT 를 window 마다 중복으로 부르지 않는다
+ * - WAV 가 아니거나 짧으면 파일 그대로 한 번에 STT
+ * - 지표: audio.split.windows
+ */
+@Slf4j
+@Component
+public class LongAudioTranscriber {
+
+    private static final int FRAME_MS = 20;
+    /** 조용한 지점을 찾을 때 에너지를 평균 낼 프레임 수 (200ms) */
+    private static final int SMOOTH_FRAMES = 10;
+    /** 겹친 구간 텍스트 비교 시 최대 단어 수 */
+    private static final int MAX_OVERLAP_WORDS = 30;
+    /** 이보다 짧게 겹치면 우연히 같은 말("네 네")일 수 있으므로 제거하지 않는다 */
+    private static final int MIN_OVERLAP_WORDS = 2;
+    /** 시간 정보가 없는 구간끼리 비교할 때 window 경계 앞뒤로 볼 구간 수 */
+    private static final int OVERLAP_SEGMENTS = 3;
+    private static final long UNKNOWN = Long.MIN_VALUE;
+
+    private final ClovaSpeechClient clovaClient;
+    private final boolean enabled;
+    private final long minDurationMs;
+    private final long windowMs;
+    private final long overlapMs;
+    private final long searchMs;
+    private final int concurrency;
+    private final int sampleRate;
+
+    private final Counter windowCounter;
+
+    public LongAudioTranscriber(ClovaSpeechClient clovaClient,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.audio.split.enabled:true}") boolean enabled,
+                                @Value("${app.audio.split.min-duration-ms:600000}") long minDurationMs,
+                                @Value("${app.audio.split.window-ms:300000}") long windowMs,
+                                @Value("${app.audio.split.overlap-ms:4000}") long overlapMs,
+                                @Value("${app.audio.split.search-ms:20000}") long searchMs,
+                                @Value("${app.audio.split.concurrency:4}") int concurrency,
+                                @Value("${app.audio.split.sample-rate:16000}") int sampleRate) {
+        this.clovaClient = clovaClient;
+        this.enabled = enabled;
+        this.minDurationMs = minDurationMs;
+        this.windowMs = windowMs;
+        this.overlapMs = overlapMs;
+        this.searchMs = searchMs;
+        this.concurrency = Math.max(1, concurrency);
+        this.sampleRate = sampleRate;
+
+        this.windowCounter = Counter.builder("audio.split.windows").register(meterRegistry);
+    }
+
+    /**
+     * 녹음 파일 STT (language 가 null 이면 Clova 기본 언어)
+     */
+    public ClovaResult transcribe(Path audio, String language) throws IOException {
+        ByteBuffer mapped = null;
+        PcmAudio.WavLayout layout = null;
+        if (enabled) {
+            try (FileChannel channel = FileChannel.open(audio, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size <= Integer.MAX_VALUE) {
+                    mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                    layout = PcmAudio.WavLayout.parse(mapped);
+                }
+            }
+        }
+        if (layout == null || layout.durationMs() <= minDurationMs) {
+            return clovaClient.recognize(new FileSystemResource(audio), language);
+        }
+
+        List<Window> windows = plan(mapped, layout);
+        log.info("Splitting {}ms audio into {} windows", layout.durationMs(), windows.size());
+        windowCounter.increment(windows.size());
+
+        ByteBuffer source = mapped;
+        PcmAudio.WavLayout wav = layout;
+        List<ClovaResult> results = Flux.fromIterable(windows)
+                .flatMapSequential(w -> recognize(source, wav, w, language), concurrency)
+                .collectList()
+                .block();
+        return stitch(windows, results);
+    }
+
+    /* ===== 분할 ===== */
+
+    /**
+     * window 경계 결정: window-ms 지점 앞 search-ms 안에서 가장 조용한 프레임에서 자른다
+     */
+    List<Window> plan(ByteBuffer source, PcmAudio.WavLayout layout) {
+        int rate = layout.getSampleRate();
+        int frameSamples = Math.max(1, rate * FRAME_MS / 1000);
+        double[] energy = smooth(frameEnergy(source, layout, frameSamples));
+
+        int windowFrames = (int) (windowMs / FRAME_MS);
+        int searchFrames = (int) Math.min(searchMs / FRAME_MS, windowFrames / 2);
+        int halfOverlap = (int) (overlapMs / 2 * rate / 1000);
+
+        List<Window> windows = new ArrayList<>();
+        int startFrame = 0;
+        int prevCut = 0;
+        while (startFrame + windowFrames < energy.length) {
+            int target = startFrame + windowFrames;
+            int cutFrame = target;
+            for (int f = target - searchFrames; f <= target; f++) {
+                if (energy[f] < energy[cutFrame]) {
+                    cutFrame = f;
+                }
+            }
+            int cut = cutFrame * frameSamples;
+            windows.add(new Window(Math.max(0, prevCut - halfOverlap),
+                    Math.min(layout.getFrames(), cut + halfOverlap), prevCut, cut, rate));
+            prevCut = cut;
+            startFrame = cutFrame;
+        }
+        windows.add(new Window(Math.max(0, prevCut - halfOverlap),
+                layout.getFrames(), prevCut, Integer.MAX_VALUE, rate));
+        return windows;
+    }
+
+    /**
+     * 프레임별 에너지 (dBFS). 전체를 float 로 풀지 않고 1분씩 디코딩
+     */
+    private static double[] frameEnergy(ByteBuffer source, PcmAudio.WavLayout layout, int frameSamples) {
+        int total = layout.getFrames() / frameSamples;
+        double[] energy = new double[total];
+        int blockFrames = Math.max(1, layout.getSampleRate() * 60 / frameSamples);
+        for (int f = 0; f < total; f += blockFrames) {
+            int count = Math.min(blockFrames, total - f);
+            PcmAudio block = layout.decode(source, f * frameSamples, (f + count) * frameSamples);
+            double[] db = block.frameEnergyDb(frameSamples);
+            System.arraycopy(db, 0, energy, f, Math.min(count, db.length));
+        }
+        return energy;
+    }
+
+    private static double[] smooth(double[] energy) {
+        double[] out = new double[energy.length];
+        double sum = 0;
+        for (int i = 0; i < energy.length; i++) {
+            sum += energy[i];
+            if (i >= SMOOTH_FRAMES) {
+                sum -= energy[i - SMOOTH_FRAMES];
+            }
+            out[i] = sum / Math.min(i + 1, SMOOTH_FRAMES);
+        }
+        return out;
+    }
+
+    /**
+     * window 하나를 16bit 모노 WAV 로 만들어 STT
+     * (일시 오류 재시도는 ClovaSpeechClient 안에서만 → 여기서 다시 감싸지 않는다)
+     */
+    private Mono<ClovaResult> recognize(ByteBuffer source, PcmAudio.WavLayout layout, Window w, String language) {
+        return Mono.fromCallable(() -> layout.decode(source, w.fromSample, w.toSample, sampleRate).toWav())
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(wav -> clovaClient.recognizeAsync(wav, language))
+                .doOnError(e -> log.warn("STT window at {}ms failed: {}", w.offsetMs(), e.getMessage()));
+    }
+
+    /* ===== 병합 ===== */
+
+    /**
+     * window 결과를 원본 시간축으로 옮기고, 겹친 구간은 자른 지점 기준으로 한쪽만 남긴다
+     */
+    static ClovaResult stitch(List<Window> windows, List<ClovaResult> results) {
+        List<SpeakerSegment> segments = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        // 직전 window 의 (원본 시간축, 통일된 화자 번호) 구간 전체 → 다음 window 화자 번호 맞추기용
+        List<SpeakerSegment> previous = Collections.emptyList();
+        // 직전 window 에서 남긴 구간 중 마지막 몇 개의 텍스트 → 시간 없는 구간 중복 제거용
+        List<String> previousTail = Collections.emptyList();
+
+        for (int i = 0; i < windows.size(); i++) {
+            Window w = windows.get(i);
+            ClovaResult r = results.get(i);
+            String windowText;
+
+            if (r.getSegments() != null && !r.getSegments().isEmpty()) {
+                List<SpeakerSegment> shifted = shift(r.getSegments(), w.offsetMs());
+                Map<Integer, Integer> labels = matchSpeakers(previous, shifted);
+                List<SpeakerSegment> relabeled = new ArrayList<>(shifted.size());
+                for (SpeakerSegment seg : shifted) {
+                    relabeled.add(new SpeakerSegment(seg.getText(), relabel(labels, seg.getSpeakerLabel()),
+                            seg.getStart(), seg.getEnd()));
+                }
+
+                long[] positions = positions(relabeled);
+                StringBuilder kept = new StringBuilder();
+                List<String> keptTexts = new ArrayList<>();
+                for (int k = 0; k < relabeled.size(); k++) {
+                    SpeakerSegment seg = relabeled.get(k);
+                    long at = positions[k];
+                    if (at != UNKNOWN && (at < w.keepFromMs() || at >= w.keepToMs())) {
+                        continue; // 이웃 window 가 담당하는 겹침 구간
+                    }
+                    if (at == UNKNOWN && k < OVERLAP_SEGMENTS && previousTail.contains(normalizeText(seg.getText()))) {
+                        continue; // 시간 정보가 전혀 없으면 직전 window 끝과 같은 문장은 한 번만
+                    }
+                    segments.add(seg);
+                    if (StringUtils.hasText(seg.getText())) {
+                        if (kept.length() > 0) {
+                            kept.append(' ');
+                        }
+                        kept.append(seg.getText().trim());
+                        keptTexts.add(normalizeText(seg.getText()));
+                    }
+                }
+                windowText = kept.toString();
+                previous = relabeled;
+                previousTail = keptTexts.subList(Math.max(0, keptTexts.size() - OVERLAP_SEGMENTS), keptTexts.size());
+            } else {
+                windowText = r.getText() != null ? r.getText().trim() : "";
+                previous = Collections.emptyList();
+                previousTail = Collections.emptyList();
+            }
+
+            // 화자 구간이 없거나 경계에 걸친 문장이 양쪽에 다 남은 경우 → 텍스트로 한 번 더 중복 제거
+            windowText = dropOverlap(text, windowText);
+            if (!windowText.isEmpty()) {
+                if (text.length() > 0) {
+                    text.append(' ');
+                }
+                text.append(windowText);
+            }
+        }
+        return new ClovaResult(text.toString(), segments.isEmpty() ? Collections.emptyList() : segments);
+    }
+
+    private static List<SpeakerSegment> shift(List<SpeakerSegment> segments, long offsetMs) {
+        List<SpeakerSegment> shifted = new ArrayList<>(segments.size());
+        for (SpeakerSegment seg : segments) {
+            shifted.add(new SpeakerSegment(seg.getText(), seg.getSpeakerLabel(),
+                    seg.getStart() != null ? seg.getStart() + offsetMs : null,
+                    seg.getEnd() != null ? seg.getEnd() + offsetMs : null));
+        }
+        return shifted;
+    }
+
+    /**
+     * 구간별 위치(원본 ms) → start, 없으면 같은 window 의 직전 구간 끝 / 다음 구간 시작, 그래도 없으면 UNKNOWN
+     */
+    private static long[] positions(List<SpeakerSegment> segments) {
+        long[] at = new long[segments.size()];
+        long last = UNKNOWN;
+        for (int k = 0; k < at.length; k++) {
+            SpeakerSegment seg = segments.get(k);
+            at[k] = seg.getStart() != null ? seg.getStart() : last;
+            if (seg.getEnd() != null) {
+                last = seg.getEnd();
+            } else if (seg.getStart() != null) {
+                last = seg.getStart();
+            }
+        }
+        long next = UNKNOWN;
+        for (int k = at.length - 1; k >= 0; k--) {
+            if (at[k] == UNKNOWN) {
+                at[k] = next;
+            }
+            if (segments.get(k).getStart() != null) {
+                next = segments.get(k).getStart();
+            }
+        }
+        return at;
+    }
+
+    /**
+     * 이번 window 화자 번호 → 통일된 번호
+     * - 겹침 구간에서 시간이 겹치는 길이만큼 투표, 많이 겹친 쌍부터 1:1 로 짝짓는다
+     * - 짝이 없는 번호는 그대로 쓰되, 이미 다른 화자가 쓴 번호면 아직 안 쓴 새 번호
+     */
+    static Map<Integer, Integer> matchSpeakers(List<SpeakerSegment> previous, List<SpeakerSegment> current) {
+        Map<Long, Long> votes = new HashMap<>();
+        int maxLabel = 0;
+        for (SpeakerSegment p : previous) {
+            if (p.getSpeakerLabel() != null) {
+                maxLabel = Math.max(maxLabel, p.getSpeakerLabel());
+            }
+        }
+        for (SpeakerSegment c : current) {
+            if (c.getSpeakerLabel() == null || c.getStart() == null || c.getEnd() == null) {
+                continue;
+            }
+            maxLabel = Math.max(maxLabel, c.getSpeakerLabel());
+            for (SpeakerSegment p : previous) {
+                if (p.getSpeakerLabel() == null || p.getStart() == null || p.getEnd() == null) {
+                    continue;
+                }
+                long overlap = Math.min(c.getEnd(), p.getEnd()) - Math.max(c.getStart(), p.getStart());
+                if (overlap > 0) {
+                    votes.merge(pair(c.getSpeakerLabel(), p.getSpeakerLabel()), overlap, Long::sum);
+                }
+            }
+        }
+
+        List<Map.Entry<Long, Long>> ranked = new ArrayList<>(votes.entrySet());
+        ranked.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+        Map<Integer, Integer> mapping = new HashMap<>();
+        Set<Integer> taken = new HashSet<>();
+        for (Map.Entry<Long, Long> vote : ranked) {
+            int cur = (int) (vote.getKey() >> 32);
+            int prev = (int) (long) vote.getKey();
+            if (!mapping.containsKey(cur) && !taken.contains(prev)) {
+                mapping.put(cur, prev);
+                taken.add(prev);
+            }
+        }
+
+        int next = maxLabel + 1;
+        for (SpeakerSegment c : current) {
+            Integer label = c.getSpeakerLabel();
+            if (label == null || mapping.containsKey(label)) {
+                continue;
+            }
+            if (taken.contains(label)) {
+                while (taken.contains(next)) {
+                    next++;
+                }
+                mapping.put(label, next);
+                taken.add(next);
+            } else {
+                mapping.put(label, label);
+                taken.add(label);
+            }
+        }
+        return mapping;
+    }
+
+    private static long pair(int current, int previous) {
+        return ((long) current << 32) | (previous & 0xFFFFFFFFL);
+    }
+
+    private static Integer relabel(Map<Integer, Integer> labels, Integer label) {
+        return label != null ? labels.get(label) : null;
+    }
+
+    private static String normalizeText(String text) {
+        return text != null ? text.trim().replaceAll("\\s+", " ") : "";
+    }
+
+    /**
+     * 앞 텍스트의 끝 단어들과 next 의 첫 단어들이 같으면 next 에서 그만큼 제거
+     */
+    static String dropOverlap(CharSequence previous, String next) {
+        if (previous.length() == 0 || next.isEmpty()) {
+            return next;
+        }
+        String[] tail = tailWords(previous, MAX_OVERLAP_WORDS);
+        String[] head = next.split("\\s+");
+        for (int k = Math.min(tail.length, head.length); k >= MIN_OVERLAP_WORDS; k--) {
+            if (Arrays.equals(Arrays.copyOfRange(tail, tail.length - k, tail.length),
+                    Arrays.copyOfRange(head, 0, k))) {
+                StringBuilder rest = new StringBuilder();
+                for (int j = k; j < head.length; j++) {
+                    if (rest.length() > 0) {
+                        rest.append(' ');
+                    }
+                    rest.append(head[j]);
+                }
+                return rest.toString();
+            }
+        }
+        return next;
+    }
+
+    private static String[] tailWords(CharSequence text, int max) {
+        int from = Math.max(0, text.length() - max * 20);
+        String[] words = text.subSequence(from, text.length()).toString().trim().split("\\s+");
+        if (from > 0 && words.length > 1) {
+            words = Arrays.copyOfRange(words, 1, words.length); // 잘린 첫 단어 제외
+        }
+        return words.length > max ? Arrays.copyOfRange(words, words.length - max, words.length) : words;
+    }
+
+    /**
+     * 분할 구간
+     * - [fromSample, toSample): 실제로 STT 에 보내는 구간 (앞뒤 overlap 포함)
+     * - [keepFrom, keepTo): 결과에서 이 window 가 담당하는 구간 (자른 지점 기준)
+     */
+    static final class Window {
+        final int fromSample;
+        final int toSample;
+        final int keepFrom;
+        final int keepTo;
+        private final int sampleRate;
+
+        Window(int fromSample, int toSample, int keepFrom, int keepTo, int sampleRate) {
+            this.fromSample = fromSample;
+            this.toSample = toSample;
+            this.keepFrom = keepFrom;
+            this.keepTo = keepTo;
+            this.sampleRate = sampleRate;
+        }
+
+        long offsetMs() {
+            return fromSample * 1000L / sampleRate;
+        }
+
+        long keepFromMs() {
+            return keepFrom == 0 ? Long.MIN_VALUE : keepFrom * 1000L / sampleRate;
+        }
+
+        long keepToMs() {
+            return keepTo == Integer.MAX_VALUE ? Long.MAX_VALUE : keepTo * 1000L / sampleRate;
+        }
+    }
+}
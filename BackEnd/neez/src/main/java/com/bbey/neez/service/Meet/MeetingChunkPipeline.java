@@ -0,0 +1,526 @@
+package com.bbey.neez.service.Meet;
+
+import com.bbey.neez.component.AudioUploads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PreDestroy;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 회의 음성 청크 비동기 처리 파이프라인
+ *
+ * - 요청 스레드는 청크를 접수하고 jobId 만 받아 바로 반환 (202)
+ * - STT → 번역은 non-blocking WebClient 호출을 이어붙인 reactive chain 이라
+ *   외부 API 응답을 기다리는 동안 스레드를 점유하지 않는다.
+ *   동시에 진행 중인 청크 수(max-inflight)를 넘으면 접수 거절 (RejectedExecutionException → 429)
+ * - 세션 반영 + DB 저장(JPA, blocking)만 전용 bounded 스레드풀에서 실행
+ * - 같은 회의 안에서는 접수(도착) 순서대로 세션에 반영한다.
+ *   늦게 끝난 앞 청크를 기다렸다가 순서대로 흘려보냄 (실패/취소된 청크는 건너뜀)
+ *   접수 순서는 청크 index 순서와 다를 수 있다 (재전송·늦게 올라온 청크는 index 가 작아도 나중에 반영,
+ *   같은 index 가 다시 올 수도 있음) → 세션/화자 추적 등 소비 측은 index 순서를 가정하지 않는다
+ * - 지표: meeting.pipeline.inflight (gauge, stage=stt|translate|persist),
+ *         meeting.pipeline.queue.depth (gauge, stage=stt|translate|persist: 앞 단계는 끝났고 이 단계는 아직 시작 전),
+ *         meeting.pipeline.latency (timer, stage 별 소요 시간),
+ *         meeting.pipeline.wait (timer, 번역 완료 → 세션 반영까지 대기)
+ */
+@Slf4j
+@Component
+public class MeetingChunkPipeline {
+
+    public enum Stage {
+        STT, TRANSLATE, PERSIST
+    }
+
+    public enum JobState {
+        QUEUED, RECOGNIZING, TRANSLATING, PERSISTING, DONE, FAILED, CANCELLED
+    }
+
+    private final MeetingSpeechStreamService streamService;
+    private final int maxInFlight;
+    private final long jobRetentionMs;
+
+    private final ThreadPoolExecutor persistExecutor;
+    private final Scheduler persistScheduler;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<Stage, AtomicInteger> stageInFlight = new EnumMap<>(Stage.class);
+    private final Map<Stage, AtomicInteger> stageQueued = new EnumMap<>(Stage.class);
+    private final Map<Stage, Timer> latencyTimers = new EnumMap<>(Stage.class);
+    private final Timer commitWait;
+    private final Counter rejected;
+    private final Counter failed;
+
+    private final ConcurrentMap<String, ChunkJob> jobs = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, MeetingLane> lanes = new ConcurrentHashMap<>();
+
+    public MeetingChunkPipeline(
+            MeetingSpeechStreamService streamService,
+            MeterRegistry meterRegistry,
+            @Value("${app.meeting.pipeline.max-inflight:256}") int maxInFlight,
+            @Value("${app.meeting.pipeline.persist-threads:4}") int persistThreads,
+            @Value("${app.meeting.pipeline.job-retention-ms:600000}") long jobRetentionMs) {
+
+        this.streamService = streamService;
+        this.maxInFlight = maxInFlight;
+        this.jobRetentionMs = jobRetentionMs;
+
+        // 접수 단에서 max-inflight 로 막으므로 저장 큐는 그 이상 쌓이지 않는다
+        this.persistExecutor = newExecutor("meet-persist-", persistThreads, Math.max(1, maxInFlight));
+        this.persistScheduler = Schedulers.fromExecutorService(persistExecutor);
+
+        for (Stage stage : Stage.values()) {
+            String tag = stage.name().toLowerCase();
+            AtomicInteger counter = new AtomicInteger();
+            stageInFlight.put(stage, counter);
+            Gauge.builder("meeting.pipeline.inflight", counter, AtomicInteger::get)
+                    .tag("stage", tag)
+                    .register(meterRegistry);
+            latencyTimers.put(stage, Timer.builder("meeting.pipeline.latency")
+                    .tag("stage", tag)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+        }
+        for (Stage stage : new Stage[]{Stage.STT, Stage.TRANSLATE}) {
+            AtomicInteger counter = new AtomicInteger();
+            stageQueued.put(stage, counter);
+            Gauge.builder("meeting.pipeline.queue.depth", counter, AtomicInteger::get)
+                    .tag("stage", stage.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("meeting.pipeline.queue.depth", persistExecutor, e -> e.getQueue().size())
+                .tag("stage", "persist")
+                .register(meterRegistry);
+        Gauge.builder("meeting.pipeline.jobs.inflight", inFlight, AtomicInteger::get)
+                .register(meterRegistry);
+        this.commitWait = Timer.builder("meeting.pipeline.wait")
+                .tag("stage", "persist")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("meeting.pipeline.rejected").register(meterRegistry);
+        this.failed = Counter.builder("meeting.pipeline.failed").register(meterRegistry);
+    }
+
+    /**
+     * 청크 접수
+     * - audio 는 업로드를 넘겨받은 임시 파일. STT 단계가 끝나면(성공/실패/취소) 파이프라인이 지운다
+     * - 접수 거절 시에는 지우지 않으므로 호출 측에서 정리
+     *
+     * @throws RejectedExecutionException 처리 중인 청크가 max-inflight 에 도달한 경우 (잠시 후 재시도)
+     */
+    public ChunkJob submit(Long userIdx,
+            Long meetingId,
+            Long index,
+            Path audio,
+            long bytes,
+            String targetLang,
+            String sourceLang) {
+
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            rejected.increment();
+            throw new RejectedExecutionException("meeting chunk pipeline is full");
+        }
+
+        MeetingLane lane = lanes.computeIfAbsent(laneKey(userIdx, meetingId), k -> new MeetingLane());
+        ChunkJob job = new ChunkJob(UUID.randomUUID().toString(), userIdx, meetingId, index);
+        jobs.put(job.getJobId(), job);
+
+        long ticket;
+        synchronized (lane) {
+            ticket = lane.nextTicket++;
+            lane.inFlight++;
+            lane.lastUsedAt = System.currentTimeMillis();
+        }
+        job.lane = lane;
+        job.ticket = ticket;
+
+        Mono<Recognized> chain = queued(Stage.STT, timed(Stage.STT, Mono.defer(() -> {
+            job.state = JobState.RECOGNIZING;
+            return streamService.recognizeAsync(audio, sourceLang);
+        })))
+                // 요청 스레드에서 STT 를 시작하지 않는다 (전처리와 같은 parallel 워커를 기다리는 동안이 STT 대기)
+                .subscribeOn(Schedulers.parallel())
+                // 워커를 기다리다 취소돼도 임시 파일은 지운다
+                .doFinally(signal -> AudioUploads.deleteQuietly(audio))
+                .flatMap(result -> queued(Stage.TRANSLATE, timed(Stage.TRANSLATE, Mono.defer(() -> {
+                    job.state = JobState.TRANSLATING;
+                    return streamService.translateAsync(result.getResult().getText(), targetLang, sourceLang);
+                })))
+                        .onErrorResume(e -> {
+                            // 번역 실패는 원문만으로 진행
+                            log.warn("chunk translation failed (job={}): {}", job.getJobId(), e.getMessage());
+                            return Mono.empty();
+                        })
+                        .map(translated -> new Recognized(result, translated))
+                        .defaultIfEmpty(new Recognized(result, null)));
+
+        job.subscription = chain
+                .publishOn(persistScheduler)
+                .doOnCancel(() -> settle(job, lane, ticket, JobState.CANCELLED, "cancelled"))
+                .subscribe(
+                        recognized -> commitInOrder(job, lane, ticket, bytes, recognized, targetLang, sourceLang),
+                        e -> {
+                            failed.increment();
+                            log.warn("chunk STT failed (job={}): {}", job.getJobId(), e.getMessage());
+                            settle(job, lane, ticket, JobState.FAILED, e.getMessage());
+                        });
+        return job;
+    }
+
+    public ChunkJob getJob(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    /**
+     * 진행 중인 청크 처리 취소 (진행 중인 외부 API 요청도 함께 끊긴다)
+     * - 번역까지 끝나 순서 대기열에 있던 job 도 취소 처리 → 차례가 와도 세션/DB 에 반영하지 않는다
+     *
+     * @return 취소됐으면 true (이미 끝났거나 저장을 시작한 job 이면 false)
+     */
+    public boolean cancel(String jobId) {
+        ChunkJob job = jobs.get(jobId);
+        if (job == null || job.subscription == null || !job.cancel()) {
+            return false;
+        }
+        release(job.lane, job.ticket);
+        job.subscription.dispose();
+        return true;
+    }
+
+    /**
+     * 회의의 접수된 청크가 모두 DB 저장까지 끝날 때까지 대기 (회의 종료 전 호출)
+     *
+     * @return timeout 안에 다 끝났으면 true
+     */
+    public boolean awaitIdle(Long userIdx, Long meetingId, long timeoutMs) throws InterruptedException {
+        MeetingLane lane = lanes.get(laneKey(userIdx, meetingId));
+        if (lane == null) {
+            return true;
+        }
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        synchronized (lane) {
+            while (lane.inFlight > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                lane.wait(remaining);
+            }
+        }
+        return true;
+    }
+
+    /* ===== 단계별 작업 ===== */
+
+    /**
+     * 번역까지 끝난 청크를 순서대로 세션에 반영하고 DB 에 저장
+     */
+    private void commitInOrder(ChunkJob job, MeetingLane lane, long ticket, long bytes,
+            Recognized recognized, String targetLang, String sourceLang) {
+        long readyAt = System.nanoTime();
+        complete(lane, ticket, () -> {
+            commitWait.record(System.nanoTime() - readyAt, TimeUnit.NANOSECONDS);
+            if (!job.beginCommit()) {
+                return; // 그 사이 취소됨
+            }
+
+            AtomicInteger counter = stageInFlight.get(Stage.PERSIST);
+            counter.incrementAndGet();
+            long startedAt = System.nanoTime();
+            try {
+                MeetingSpeechStreamService.Segment segment = streamService.append(
+                        job.getUserIdx(), job.getMeetingId(), job.getIndex(), bytes,
+                        recognized.result, sourceLang, targetLang, recognized.translated);
+                job.segment = segment;
+                streamService.persist(job.getMeetingId(), segment);
+                settle(job, lane, -1, JobState.DONE, null);
+            } catch (RuntimeException e) {
+                // 청크 저장 실패면 세션에도 반영되지 않음. 번역 저장만 실패했으면 세션/구독자에는 반영된 상태
+                failed.increment();
+                log.warn("chunk persist failed (job={}): {}", job.getJobId(), e.getMessage());
+                settle(job, lane, -1, JobState.FAILED, e.getMessage());
+            } finally {
+                counter.decrementAndGet();
+                latencyTimers.get(Stage.PERSIST).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    /**
+     * job 종료 처리 (한 번만). ticket >= 0 이면 아직 순서 대기열에 들어가지 않은 job 이므로 자리를 비워준다.
+     */
+    private void settle(ChunkJob job, MeetingLane lane, long ticket, JobState state, String error) {
+        if (job.finish(state, error)) {
+            release(lane, ticket);
+        }
+    }
+
+    private void release(MeetingLane lane, long ticket) {
+        if (ticket >= 0) {
+            complete(lane, ticket, null);
+        }
+        inFlight.decrementAndGet();
+        lane.release();
+    }
+
+    /**
+     * ticket 순서대로 세션에 반영. 앞 ticket 이 아직이면 대기열에 두고,
+     * 차례가 된 것들은 lane 당 하나의 drain 작업이 저장 스레드풀에서 순서대로 실행한다.
+     * (반영/저장은 lane 락 밖에서 실행 → 접수/취소 요청 스레드가 DB 저장을 기다리거나 대신 실행하지 않는다)
+     */
+    private void complete(MeetingLane lane, long ticket, Runnable commit) {
+        synchronized (lane) {
+            if (ticket < lane.nextCommit || lane.ready.containsKey(ticket)) {
+                return; // 이미 처리된 자리 (취소와 완료가 겹친 경우)
+            }
+            lane.ready.put(ticket, commit != null ? commit : NOOP);
+            if (lane.draining || lane.ready.firstKey() != lane.nextCommit) {
+                return;
+            }
+            lane.draining = true;
+        }
+        try {
+            persistScheduler.schedule(() -> drain(lane));
+        } catch (RejectedExecutionException e) {
+            drain(lane);
+        }
+    }
+
+    private void drain(MeetingLane lane) {
+        while (true) {
+            Runnable next;
+            synchronized (lane) {
+                Map.Entry<Long, Runnable> head = lane.ready.firstEntry();
+                if (head == null || head.getKey() != lane.nextCommit) {
+                    lane.draining = false;
+                    return;
+                }
+                lane.ready.pollFirstEntry();
+                lane.nextCommit++;
+                next = head.getValue();
+            }
+            try {
+                next.run();
+            } catch (RuntimeException e) {
+                log.warn("chunk commit failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 단계 대기 수: 앞 단계가 끝난 시점부터 이 단계가 실제로 시작(구독)될 때까지
+     * - 시작 전에 취소되면 구독되지 않으므로 doFinally 로 한 번만 되돌린다
+     */
+    private <T> Mono<T> queued(Stage stage, Mono<T> call) {
+        AtomicInteger counter = stageQueued.get(stage);
+        counter.incrementAndGet();
+        AtomicBoolean waiting = new AtomicBoolean(true);
+        Runnable leave = () -> {
+            if (waiting.compareAndSet(true, false)) {
+                counter.decrementAndGet();
+            }
+        };
+        return Mono.defer(() -> {
+            leave.run();
+            return call;
+        }).doFinally(signal -> leave.run());
+    }
+
+    private <T> Mono<T> timed(Stage stage, Mono<T> call) {
+        return Mono.defer(() -> {
+            AtomicInteger counter = stageInFlight.get(stage);
+            counter.incrementAndGet();
+            long startedAt = System.nanoTime();
+            return call.doFinally(signal -> {
+                counter.decrementAndGet();
+                latencyTimers.get(stage).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            });
+        });
+    }
+
+    /**
+     * 끝난 job / 비어 있는 lane 정리
+     */
+    @Scheduled(fixedDelayString = "${app.meeting.pipeline.cleanup-ms:60000}")
+    public void cleanup() {
+        Instant threshold = Instant.now().minusMillis(jobRetentionMs);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(threshold));
+        long idleBefore = threshold.toEpochMilli();
+        lanes.entrySet().removeIf(e -> e.getValue().isIdleSince(idleBefore));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ChunkJob job : jobs.values()) {
+            if (job.subscription != null) {
+                job.subscription.dispose();
+            }
+        }
+        persistScheduler.dispose();
+        persistExecutor.shutdown();
+    }
+
+    private static ThreadPoolExecutor newExecutor(String prefix, int threads, int queue) {
+        AtomicInteger seq = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queue),
+                r -> {
+                    Thread t = new Thread(r, prefix + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static String laneKey(Long userIdx, Long meetingId) {
+        return userIdx + ":" + meetingId;
+    }
+
+    private static final Runnable NOOP = () -> {
+    };
+
+    /** STT + 번역 결과 */
+    private static final class Recognized {
+        private final MeetingSpeechStreamService.Recognition result;
+        private final String translated;
+
+        private Recognized(MeetingSpeechStreamService.Recognition result, String translated) {
+            this.result = result;
+            this.translated = translated;
+        }
+    }
+
+    /**
+     * 회의 한 건의 순서 관리 (lane 객체 자체를 락/모니터로 사용)
+     */
+    private static final class MeetingLane {
+        private long nextTicket;
+        private long nextCommit;
+        private int inFlight;
+        private long lastUsedAt = System.currentTimeMillis();
+        private boolean draining;
+        private final TreeMap<Long, Runnable> ready = new TreeMap<>();
+
+        private synchronized void release() {
+            inFlight--;
+            notifyAll();
+        }
+
+        private synchronized boolean isIdleSince(long millis) {
+            return inFlight == 0 && ready.isEmpty() && lastUsedAt < millis;
+        }
+    }
+
+    /**
+     * 청크 한 건의 처리 상태
+     */
+    public static class ChunkJob {
+        private final String jobId;
+        private final Long userIdx;
+        private final Long meetingId;
+        private final Long index;
+        private final Instant submittedAt = Instant.now();
+        private volatile JobState state = JobState.QUEUED;
+        private volatile MeetingSpeechStreamService.Segment segment;
+        private volatile String error;
+        private volatile Instant finishedAt;
+        private volatile Disposable subscription;
+        private MeetingLane lane;
+        private long ticket;
+        private boolean committing;
+
+        private ChunkJob(String jobId, Long userIdx, Long meetingId, Long index) {
+            this.jobId = jobId;
+            this.userIdx = userIdx;
+            this.meetingId = meetingId;
+            this.index = index;
+        }
+
+        /** 차례가 된 job 을 저장 단계로 (이미 취소됐으면 false) */
+        private synchronized boolean beginCommit() {
+            if (finishedAt != null) {
+                return false;
+            }
+            committing = true;
+            state = JobState.PERSISTING;
+            return true;
+        }
+
+        /** 사용자 취소 (저장을 이미 시작했거나 끝난 job 이면 false) */
+        private synchronized boolean cancel() {
+            return !committing && finish(JobState.CANCELLED, "cancelled");
+        }
+
+        /** 최초 한 번만 true (완료/실패/취소가 겹쳐도 한 번만 정리) */
+        private synchronized boolean finish(JobState state, String error) {
+            if (finishedAt != null) {
+                return false;
+            }
+            this.error = error;
+            this.finishedAt = Instant.now();
+            this.state = state;
+            return true;
+        }
+
+        public String getJobId() {
+            return jobId;
+        }
+
+        public Long getUserIdx() {
+            return userIdx;
+        }
+
+        public Long getMeetingId() {
+            return meetingId;
+        }
+
+        public Long getIndex() {
+            return index;
+        }
+
+        public Instant getSubmittedAt() {
+            return submittedAt;
+        }
+
+        public JobState getState() {
+            return state;
+        }
+
+        public MeetingSpeechStreamService.Segment getSegment() {
+            return segment;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public Instant getFinishedAt() {
+            return finishedAt;
+        }
+    }
+}
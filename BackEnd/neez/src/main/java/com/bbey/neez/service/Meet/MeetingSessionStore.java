@@ -0,0 +1,762 @@
+package com.bbey.neez.service.Meet;
+
+import com.bbey.neez.client.ClovaSpeechClient.SpeakerSegment;
+import com.bbey.neez.component.DataCodec;
+import com.bbey.neez.entity.Meet.MeetRTChunk;
+import com.bbey.neez.entity.Meet.Meeting;
+import com.bbey.neez.repository.Meet.MeetingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * 스트리밍 회의 세션 저장소 (메모리 상한 + 디스크 spill)
+ *
+ * - (userIdx, meetingId) 별 Session 을 메모리에 두되,
+ *   · idle-timeout 동안 접근이 없거나
+ *   · 전체 추정 메모리가 max-resident-bytes 를 넘으면 (오래 안 쓴 세션부터)
+ *   디스크의 세션 로그 파일로 내려보낸다.
+ * - 내려간 세션은 다음 조회/추가 때 파일에서 다시 읽어 올린다.
+ * - spill 디렉터리(기본 java.io.tmpdir/neez-meeting-sessions)는 0700, 세션 로그는 0600 으로 만든다
+ * - 파일도 없으면(재기동, 다른 노드로 라우팅된 요청) DB 의 meetRTChunks 로 세션을 다시 만든다.
+ *   DB 가 원본이고 메모리 세션은 read-through 캐시 역할:
+ *   · db-sync-ms 마다 마지막으로 본 청크 PK 이후 것만 가져와 다른 노드가 받은 청크를 합친다
+ *   · 청크가 하나도 없는 회의는 db-sync-ms 동안 다시 조회하지 않는다 (빈 결과 캐시)
+ * - since 커서(segment seq)는 그 segment 를 저장한 meetRTChunks 의 PK (도착 순서로 증가)
+ *   · 청크 index 는 도착 순서와 다를 수 있다 (늦은 업로드, 같은 index 재전송) → 커서는 index 와 무관하게 매긴다
+ *   · 같은 index 가 다시 오면 새 PK 를 받아 update=true segment 로 교체 → since / SSE 로 다시 내려간다
+ *   · PK 라서 노드·재기동과 무관하게 같은 청크는 같은 커서 (DB 복원/동기화 때도 그대로)
+ * - 파일/DB 복원은 ConcurrentHashMap compute 밖에서 하고, 같은 세션을 동시에 복원하지 않도록 키별로 한 스레드만 읽는다
+ * - 지표: meeting.sessions.live / meeting.sessions.resident.bytes / meeting.sessions.spilled (gauge),
+ *         meeting.sessions.evictions (tag reason=idle|memory),
+ *         meeting.sessions.rehydrations (tag source=disk|db)
+ */
+@Slf4j
+@Component
+public class MeetingSessionStore {
+
+    private static final int LOG_VERSION = 6;
+
+    private static final Set<PosixFilePermission> DIR_PERMISSIONS = PosixFilePermissions.fromString("rwx------");
+    private static final Set<PosixFilePermission> FILE_PERMISSIONS = PosixFilePermissions.fromString("rw-------");
+
+    private final ConcurrentMap<SessionKey, Session> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong residentBytes = new AtomicLong();
+    private final AtomicInteger spilled = new AtomicInteger();
+    /** DB 에도 청크가 없던 세션 → 다시 조회해도 되는 시각 */
+    private final ConcurrentMap<SessionKey, Long> missingUntil = new ConcurrentHashMap<>();
+    /** 복원 중인 세션 (같은 키를 기다리는 스레드는 이 결과를 같이 쓴다) */
+    private final ConcurrentMap<SessionKey, CompletableFuture<Session>> loading = new ConcurrentHashMap<>();
+
+    private final MeetingSttService meetingSttService;
+    private final MeetingRepository meetingRepository;
+    private final SpeakerTracker speakerTracker;
+
+    private final long idleTimeoutMs;
+    private final long maxResidentBytes;
+    private final Path spillDir;
+    private final boolean posix;
+    private final Object spillDirLock = new Object();
+    private volatile boolean spillDirReady;
+    private final long dbSyncMs;
+
+    private final Counter idleEvictions;
+    private final Counter memoryEvictions;
+    private final Counter diskRehydrations;
+    private final Counter dbRehydrations;
+
+    public MeetingSessionStore(
+            MeetingSttService meetingSttService,
+            MeetingRepository meetingRepository,
+            SpeakerTracker speakerTracker,
+            MeterRegistry meterRegistry,
+            @Value("${app.meeting.session.idle-timeout-ms:900000}") long idleTimeoutMs,
+            @Value("${app.meeting.session.max-resident-bytes:268435456}") long maxResidentBytes,
+            @Value("${app.meeting.session.spill-dir:}") String spillDir,
+            @Value("${app.meeting.session.db-sync-ms:5000}") long dbSyncMs) {
+
+        this.meetingSttService = meetingSttService;
+        this.meetingRepository = meetingRepository;
+        this.speakerTracker = speakerTracker;
+        this.dbSyncMs = dbSyncMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.maxResidentBytes = maxResidentBytes;
+        this.spillDir = StringUtils.hasText(spillDir)
+                ? Paths.get(spillDir)
+                : Paths.get(System.getProperty("java.io.tmpdir"), "neez-meeting-sessions");
+        this.posix = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+
+        // 세션 로그에는 회의 원문이 들어가므로 소유자만 읽을 수 있게 (디렉터리 0700 / 파일 0600)
+        try {
+            ensureSpillDir();
+        } catch (IOException e) {
+            log.warn("Meeting session spill dir {} is not usable, sessions stay in memory: {}",
+                    this.spillDir, e.getMessage());
+        }
+
+        // 재기동 전에 내려둔 세션 로그도 spilled 로 집계
+        if (Files.isDirectory(this.spillDir)) {
+            try (java.util.stream.Stream<Path> files = Files.list(this.spillDir)) {
+                spilled.set((int) files.filter(f -> f.toString().endsWith(".log")).count());
+            } catch (IOException e) {
+                log.warn("Failed to scan meeting session spill dir {}: {}", this.spillDir, e.getMessage());
+            }
+        }
+
+        Gauge.builder("meeting.sessions.live", sessions, Map::size).register(meterRegistry);
+        Gauge.builder("meeting.sessions.resident.bytes", residentBytes, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("meeting.sessions.spilled", spilled, AtomicInteger::get).register(meterRegistry);
+        this.idleEvictions = Counter.builder("meeting.sessions.evictions").tag("reason", "idle").register(meterRegistry);
+        this.memoryEvictions = Counter.builder("meeting.sessions.evictions").tag("reason", "memory").register(meterRegistry);
+        this.diskRehydrations = Counter.builder("meeting.sessions.rehydrations").tag("source", "disk").register(meterRegistry);
+        this.dbRehydrations = Counter.builder("meeting.sessions.rehydrations").tag("source", "db").register(meterRegistry);
+    }
+
+    /**
+     * 세션 조회 (메모리 → spill 파일 → DB 순. 어디에도 없으면 null)
+     */
+    Session get(Long userIdx, Long meetingId) {
+        SessionKey key = SessionKey.of(userIdx, meetingId);
+        Session session = sessions.get(key);
+        if (session == null) {
+            Long retryAt = missingUntil.get(key);
+            if (retryAt != null && retryAt > System.currentTimeMillis()) {
+                return null;
+            }
+            session = load(key, false);
+            if (session == null) {
+                missingUntil.put(key, System.currentTimeMillis() + dbSyncMs);
+                return null;
+            }
+        }
+        session.touch();
+        syncFromDb(key, session);
+        return session;
+    }
+
+    /**
+     * segment 생성 (update: 같은 index 의 segment 를 교체하는 경우)
+     */
+    interface SegmentFactory {
+        MeetingSpeechStreamService.Segment create(long index, long seq, boolean update);
+    }
+
+    /**
+     * segment 추가 (세션이 없으면 만들고, 내려가 있으면 복원해서 추가)
+     *
+     * @param saveChunk 청크 index → DB 에 저장한 meetRTChunks PK (= since 커서). 세션 락 안에서 호출된다
+     */
+    MeetingSpeechStreamService.Segment append(Long userIdx,
+            Long meetingId,
+            Long index,
+            LongUnaryOperator saveChunk,
+            SegmentFactory factory) {
+
+        SessionKey key = SessionKey.of(userIdx, meetingId);
+        missingUntil.remove(key);
+        while (true) {
+            Session session = load(key, true);
+            session.touch();
+            MeetingSpeechStreamService.Segment segment = session.add(index, saveChunk, factory);
+            if (segment == null) {
+                continue; // 추가 직전에 내려간 세션 → 다시 올려서 재시도
+            }
+            if (residentBytes.get() > maxResidentBytes) {
+                evictForMemory();
+            }
+            return segment;
+        }
+    }
+
+    /**
+     * 세션 폐기 (메모리 + spill 파일)
+     */
+    void remove(Long userIdx, Long meetingId) {
+        SessionKey key = SessionKey.of(userIdx, meetingId);
+        Session session = sessions.remove(key);
+        if (session != null) {
+            residentBytes.addAndGet(-session.detach());
+        }
+        deleteSpill(key);
+        missingUntil.remove(key);
+    }
+
+    /**
+     * 오래 접근 없는 세션을 디스크로
+     */
+    @Scheduled(fixedDelayString = "${app.meeting.session.sweep-ms:30000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        missingUntil.values().removeIf(retryAt -> retryAt <= now);
+
+        long idleBefore = now - idleTimeoutMs;
+        for (SessionKey key : sessions.keySet()) {
+            if (evict(key, idleBefore)) {
+                idleEvictions.increment();
+            }
+        }
+        if (residentBytes.get() > maxResidentBytes) {
+            evictForMemory();
+        }
+    }
+
+    /**
+     * 메모리 상한 초과 시 가장 오래 안 쓴 세션부터 상한의 90% 아래가 될 때까지 내려보낸다
+     */
+    private synchronized void evictForMemory() {
+        long target = maxResidentBytes * 9 / 10;
+        if (residentBytes.get() <= target) {
+            return;
+        }
+        List<Map.Entry<SessionKey, Session>> byAge = new ArrayList<>(sessions.entrySet());
+        byAge.sort(Comparator.comparingLong(e -> e.getValue().lastAccessAt));
+        for (Map.Entry<SessionKey, Session> entry : byAge) {
+            if (residentBytes.get() <= target) {
+                break;
+            }
+            if (evict(entry.getKey(), Long.MAX_VALUE)) {
+                memoryEvictions.increment();
+            }
+        }
+    }
+
+    /**
+     * lastAccessAt 이 idleBefore 이전이면 spill 후 메모리에서 제거
+     */
+    private boolean evict(SessionKey key, long idleBefore) {
+        Session session = sessions.get(key);
+        if (session == null || session.lastAccessAt >= idleBefore) {
+            return false;
+        }
+        // spill ~ detach 사이에 add 가 끼어들면 그 segment 가 유실되므로 세션 락 안에서 처리
+        // (파일 쓰기는 map 밖에서. detach 후 제거 전까지 add 는 실패 → append 가 제거를 기다렸다가 파일에서 복원)
+        synchronized (session) {
+            if (session.detached || session.lastAccessAt >= idleBefore) {
+                return false;
+            }
+            try {
+                spill(key, session);
+            } catch (IOException e) {
+                log.warn("Failed to spill meeting session {}: {}", key, e.getMessage());
+                return false;
+            }
+            residentBytes.addAndGet(-session.detach());
+        }
+        sessions.remove(key, session);
+        return true;
+    }
+
+    // ===================== spill / rehydrate =====================
+
+    /**
+     * 메모리에 없으면 파일/DB 에서 복원해 등록 (없고 createIfMissing 도 아니면 null)
+     */
+    private Session load(SessionKey key, boolean createIfMissing) {
+        while (true) {
+            Session session = sessions.get(key);
+            if (session != null) {
+                return session;
+            }
+            CompletableFuture<Session> mine = new CompletableFuture<>();
+            CompletableFuture<Session> running = loading.putIfAbsent(key, mine);
+            if (running != null) {
+                Session loaded = running.join();
+                if (loaded == null && !createIfMissing) {
+                    return null;
+                }
+                continue; // 다른 스레드가 올린 세션을 다시 조회 (없었으면 이번엔 직접 생성)
+            }
+            try {
+                // 기다리는 사이 다른 스레드가 복원을 끝냈을 수 있다
+                session = sessions.get(key);
+                if (session == null) {
+                    session = rehydrate(key, createIfMissing);
+                    if (session != null) {
+                        Session raced = sessions.putIfAbsent(key, session);
+                        if (raced != null) {
+                            residentBytes.addAndGet(-session.detach());
+                            session = raced;
+                        }
+                    }
+                }
+                mine.complete(session);
+                return session;
+            } catch (RuntimeException e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                loading.remove(key, mine);
+            }
+        }
+    }
+
+    private Session rehydrate(SessionKey key, boolean createIfMissing) {
+        Path file = spillFile(key);
+        if (!Files.isRegularFile(file)) {
+            return loadFromDb(key, createIfMissing);
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != LOG_VERSION) {
+                throw new IOException("unknown session log version");
+            }
+            Session session = new Session(residentBytes);
+            long lastChunkIdx = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                session.restore(readSegment(in));
+            }
+            session.lastChunkIdx = lastChunkIdx;
+            int modelLength = in.readInt();
+            if (modelLength >= 0) {
+                byte[] model = new byte[modelLength];
+                in.readFully(model);
+                speakerTracker.restore(key.meetingId, model);
+            }
+
+            if (Files.deleteIfExists(file)) {
+                spilled.decrementAndGet();
+            }
+            diskRehydrations.increment();
+            return session;
+        } catch (IOException e) {
+            log.warn("Failed to rehydrate meeting session {}: {}", key, e.getMessage());
+            deleteSpill(key);
+            return loadFromDb(key, createIfMissing);
+        }
+    }
+
+    /**
+     * meetRTChunks 로 세션 재구성 (본인 회의일 때만)
+     * - DB 에는 화자 분리 / 번역 / 바이트 수가 없으므로 원문 텍스트만 복원된다
+     */
+    private Session loadFromDb(SessionKey key, boolean createIfMissing) {
+        List<MeetRTChunk> chunks = Collections.emptyList();
+        try {
+            Meeting meeting = meetingRepository.findById(key.meetingId).orElse(null);
+            if (meeting != null && Objects.equals(meeting.getUserIdx(), key.userIdx)) {
+                chunks = meetingSttService.getTranscriptChunks(key.meetingId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to load meeting session {} from db: {}", key, e.getMessage());
+        }
+        if (chunks.isEmpty() && !createIfMissing) {
+            return null;
+        }
+        Session session = new Session(residentBytes);
+        session.merge(chunks);
+        session.syncedAt = System.currentTimeMillis();
+        if (!chunks.isEmpty()) {
+            dbRehydrations.increment();
+        }
+        return session;
+    }
+
+    /**
+     * 마지막 동기화 후 db-sync-ms 가 지났으면, 그 뒤에 저장된 청크만 가져와 합친다
+     * (다른 노드가 받은 청크 반영. 이 노드가 저장한 청크는 index 가 이미 있어 건너뜀)
+     */
+    private void syncFromDb(SessionKey key, Session session) {
+        if (!session.claimSync(System.currentTimeMillis(), dbSyncMs)) {
+            return;
+        }
+        try {
+            session.merge(meetingSttService.getTranscriptChunksAfter(key.meetingId, session.lastChunkIdx()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to sync meeting session {} from db: {}", key, e.getMessage());
+        }
+    }
+
+    private static MeetingSpeechStreamService.Segment toSegment(MeetRTChunk chunk, boolean update) {
+        return new MeetingSpeechStreamService.Segment(
+                chunk.getSeq(),
+                chunk.getIdx(),
+                0L,
+                chunk.getContent(),
+                chunk.getCreatedAt() != null
+                        ? chunk.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant()
+                        : null,
+                null,
+                chunk.getLangCode(),
+                null,
+                null,
+                -1L,
+                false,
+                update);
+    }
+
+    /**
+     * 세션 로그: [version][lastChunkIdx][count] + segment 반복 + [화자 모델 길이][화자 모델]. 임시 파일에 쓴 뒤 교체.
+     */
+    private void spill(SessionKey key, Session session) throws IOException {
+        ensureSpillDir();
+        Path file = spillFile(key);
+        Path tmp = posix
+                ? Files.createTempFile(spillDir, key.fileName(), ".tmp",
+                        PosixFilePermissions.asFileAttribute(FILE_PERMISSIONS))
+                : Files.createTempFile(spillDir, key.fileName(), ".tmp");
+        List<MeetingSpeechStreamService.Segment> segments = session.segments();
+        long lastChunkIdx = session.lastChunkIdx;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(LOG_VERSION);
+            out.writeLong(lastChunkIdx);
+            out.writeInt(segments.size());
+            for (MeetingSpeechStreamService.Segment segment : segments) {
+                writeSegment(out, segment);
+            }
+            // 재기동 후 파일에서 올릴 때 화자 라벨 / offset 을 이어가도록 화자 모델도 같이
+            byte[] model = speakerTracker.export(key.meetingId);
+            out.writeInt(model != null ? model.length : -1);
+            if (model != null) {
+                out.write(model);
+            }
+        }
+        boolean existed = Files.exists(file);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (!existed) {
+            spilled.incrementAndGet();
+        }
+    }
+
+    /**
+     * spill 디렉터리를 만들거나, 이미 있으면 권한을 0700 으로 좁힌다
+     * (다른 사용자가 미리 만든 디렉터리라 권한을 바꿀 수 없으면 IOException → spill 하지 않음)
+     */
+    private void ensureSpillDir() throws IOException {
+        if (spillDirReady) {
+            return;
+        }
+        synchronized (spillDirLock) {
+            if (spillDirReady) {
+                return;
+            }
+            if (!posix) {
+                Files.createDirectories(spillDir);
+            } else if (Files.isDirectory(spillDir, LinkOption.NOFOLLOW_LINKS)) {
+                Files.setPosixFilePermissions(spillDir, DIR_PERMISSIONS);
+            } else {
+                Files.createDirectories(spillDir, PosixFilePermissions.asFileAttribute(DIR_PERMISSIONS));
+                // umask 때문에 덜 좁혀졌을 수 있어 한 번 더 지정
+                Files.setPosixFilePermissions(spillDir, DIR_PERMISSIONS);
+            }
+            spillDirReady = true;
+        }
+    }
+
+    private void deleteSpill(SessionKey key) {
+        try {
+            if (Files.deleteIfExists(spillFile(key))) {
+                spilled.decrementAndGet();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to delete meeting session log {}: {}", key, e.getMessage());
+        }
+    }
+
+    private Path spillFile(SessionKey key) {
+        return spillDir.resolve(key.fileName() + ".log");
+    }
+
+    private static void writeSegment(DataOutputStream out, MeetingSpeechStreamService.Segment s) throws IOException {
+        out.writeLong(s.getIndex());
+        out.writeLong(s.getSeq());
+        out.writeLong(s.getBytes());
+        DataCodec.writeNullable(out, s.getText());
+        out.writeLong(s.getReceivedAt() != null ? s.getReceivedAt().toEpochMilli() : -1L);
+        DataCodec.writeNullable(out, s.getSourceLanguage());
+        DataCodec.writeNullable(out, s.getTargetLanguage());
+        DataCodec.writeNullable(out, s.getTranslatedText());
+        List<SpeakerSegment> speakers = s.getSpeakerSegments();
+        out.writeInt(speakers.size());
+        for (SpeakerSegment sp : speakers) {
+            DataCodec.writeNullable(out, sp.getText());
+            out.writeInt(sp.getSpeakerLabel() != null ? sp.getSpeakerLabel() : Integer.MIN_VALUE);
+            out.writeLong(sp.getStart() != null ? sp.getStart() : Long.MIN_VALUE);
+            out.writeLong(sp.getEnd() != null ? sp.getEnd() : Long.MIN_VALUE);
+        }
+        out.writeLong(s.getOffsetMs());
+        out.writeBoolean(s.isContinuesTurn());
+        out.writeBoolean(s.isUpdate());
+    }
+
+    private static MeetingSpeechStreamService.Segment readSegment(DataInputStream in) throws IOException {
+        long index = in.readLong();
+        long seq = in.readLong();
+        long bytes = in.readLong();
+        String text = DataCodec.readNullable(in);
+        long receivedAt = in.readLong();
+        String source = DataCodec.readNullable(in);
+        String target = DataCodec.readNullable(in);
+        String translated = DataCodec.readNullable(in);
+        int speakerCount = in.readInt();
+        List<SpeakerSegment> speakers = speakerCount == 0
+                ? Collections.<SpeakerSegment>emptyList()
+                : new ArrayList<>(speakerCount);
+        for (int i = 0; i < speakerCount; i++) {
+            String spText = DataCodec.readNullable(in);
+            int label = in.readInt();
+            long start = in.readLong();
+            long end = in.readLong();
+            speakers.add(new SpeakerSegment(
+                    spText,
+                    label != Integer.MIN_VALUE ? label : null,
+                    start != Long.MIN_VALUE ? start : null,
+                    end != Long.MIN_VALUE ? end : null));
+        }
+        long offsetMs = in.readLong();
+        boolean continuesTurn = in.readBoolean();
+        boolean update = in.readBoolean();
+        return new MeetingSpeechStreamService.Segment(index, seq, bytes, text,
+                receivedAt >= 0 ? Instant.ofEpochMilli(receivedAt) : null,
+                speakers, source, target, translated, offsetMs, continuesTurn, update);
+    }
+
+    /**
+     * segment 한 건의 대략적인 heap 사용량
+     * (문자열은 char 2바이트, 객체 헤더/참조는 고정값으로 근사. transcript 누적분 포함)
+     */
+    static long estimate(MeetingSpeechStreamService.Segment s) {
+        long bytes = 160;
+        bytes += 2L * length(s.getText()) * 2; // segment 원문 + 누적 transcript
+        bytes += 2L * length(s.getTranslatedText());
+        for (SpeakerSegment sp : s.getSpeakerSegments()) {
+            bytes += 64 + 2L * length(sp.getText());
+        }
+        return bytes;
+    }
+
+    private static int length(String s) {
+        return s != null ? s.length() : 0;
+    }
+
+    // ===================== 세션 =====================
+
+    /** 세션 식별자 */
+    static final class SessionKey {
+        private final Long userIdx;
+        private final Long meetingId;
+
+        private SessionKey(Long userIdx, Long meetingId) {
+            this.userIdx = userIdx;
+            this.meetingId = meetingId;
+        }
+
+        static SessionKey of(Long userIdx, Long meetingId) {
+            return new SessionKey(userIdx, meetingId);
+        }
+
+        private String fileName() {
+            return userIdx + "-" + meetingId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SessionKey)) return false;
+            SessionKey that = (SessionKey) o;
+            return Objects.equals(userIdx, that.userIdx)
+                    && Objects.equals(meetingId, that.meetingId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userIdx, meetingId);
+        }
+
+        @Override
+        public String toString() {
+            return fileName();
+        }
+    }
+
+    /**
+     * 회의 한 건의 스트리밍 상태
+     * - segments   : 청크 index 순서 (transcript 조립 / 전체 목록). index 당 최신 segment 하나
+     * - byCursor   : 커서(seq, 도착 순서) 순서 (since 조회). 교체된 segment 는 새 커서로 옮겨간다
+     * - transcript : 누적 원문. 순서대로 들어온 청크는 뒤에 붙이기만 하고,
+     *                늦게 도착한 청크가 중간에 끼면 다음 조회 때 한 번만 다시 조립한다.
+     */
+    static final class Session {
+        private final ConcurrentSkipListMap<Long, MeetingSpeechStreamService.Segment> segments =
+                new ConcurrentSkipListMap<>();
+        private final ConcurrentSkipListMap<Long, MeetingSpeechStreamService.Segment> byCursor =
+                new ConcurrentSkipListMap<>();
+        private final StringBuilder transcript = new StringBuilder();
+        private boolean transcriptDirty;
+        private long residentBytes;
+        private boolean detached;
+        private volatile long lastAccessAt = System.currentTimeMillis();
+        /** DB 에서 마지막으로 반영한 청크 PK / 마지막 DB 동기화 시각 */
+        private long lastChunkIdx;
+        private long syncedAt;
+
+        /** 저장소 전체 추정 바이트 (세션 증감분을 같이 반영) */
+        private final AtomicLong totalBytes;
+
+        private Session(AtomicLong totalBytes) {
+            this.totalBytes = totalBytes;
+        }
+
+        private void touch() {
+            lastAccessAt = System.currentTimeMillis();
+        }
+
+        /**
+         * index / seq 를 배정해 segment 를 추가한다.
+         * - index 가 없으면 마지막 index 다음 번호를 쓴다
+         * - seq 는 DB 저장 PK. 저장과 추가를 세션 락 안에서 함께 해서,
+         *   이 노드의 세션에는 항상 커서 순서대로 들어온다 (since 가 작은 커서를 뒤늦게 건너뛰지 않음)
+         * - 같은 index 가 이미 있으면 교체 (update=true)
+         *
+         * @return 이미 저장소에서 내려간 세션이면 null
+         */
+        private synchronized MeetingSpeechStreamService.Segment add(
+                Long requestedIndex,
+                LongUnaryOperator saveChunk,
+                SegmentFactory factory) {
+            if (detached) {
+                return null;
+            }
+            long index = requestedIndex != null
+                    ? requestedIndex
+                    : (segments.isEmpty() ? 0L : segments.lastKey() + 1);
+            boolean update = segments.containsKey(index);
+            MeetingSpeechStreamService.Segment segment = factory.create(index, saveChunk.applyAsLong(index), update);
+
+            MeetingSpeechStreamService.Segment previous = put(segment);
+
+            boolean tail = previous == null && segments.lastKey() == segment.getIndex();
+            if (tail && !transcriptDirty) {
+                appendText(transcript, segment.getText());
+            } else {
+                transcriptDirty = true;
+            }
+            return segment;
+        }
+
+        /**
+         * DB 청크 병합: 없는 index 는 추가, 있는 index 는 더 나중에 저장된 행(PK 가 큰 쪽)일 때만 교체
+         * (같은 PK 는 이 노드가 저장한 청크 → 화자/번역 정보를 더 많이 가진 로컬 segment 를 유지)
+         */
+        private synchronized void merge(List<MeetRTChunk> chunks) {
+            for (MeetRTChunk chunk : chunks) {
+                lastChunkIdx = Math.max(lastChunkIdx, chunk.getIdx());
+                if (detached) {
+                    continue;
+                }
+                MeetingSpeechStreamService.Segment existing = segments.get(chunk.getSeq());
+                if (existing != null && existing.getSeq() >= chunk.getIdx()) {
+                    continue;
+                }
+                put(toSegment(chunk, existing != null));
+                transcriptDirty = true;
+            }
+        }
+
+        /** index 자리에 넣고 커서 목록/추정 바이트를 맞춘다. 교체된 이전 segment 를 돌려준다 */
+        private MeetingSpeechStreamService.Segment put(MeetingSpeechStreamService.Segment segment) {
+            MeetingSpeechStreamService.Segment previous = segments.put(segment.getIndex(), segment);
+            long delta = estimate(segment);
+            if (previous != null) {
+                byCursor.remove(previous.getSeq(), previous);
+                delta -= estimate(previous);
+            }
+            byCursor.put(segment.getSeq(), segment);
+            residentBytes += delta;
+            totalBytes.addAndGet(delta);
+            return previous;
+        }
+
+        private synchronized long lastChunkIdx() {
+            return lastChunkIdx;
+        }
+
+        /** 동기화 주기가 지났으면 이번 호출이 동기화를 맡는다 (동시 조회 시 한 번만 DB 조회) */
+        private synchronized boolean claimSync(long now, long intervalMs) {
+            if (detached || now - syncedAt < intervalMs) {
+                return false;
+            }
+            syncedAt = now;
+            return true;
+        }
+
+        /** spill 파일에서 읽은 segment 복원 */
+        private void restore(MeetingSpeechStreamService.Segment segment) {
+            put(segment);
+            transcriptDirty = true;
+        }
+
+        /** 저장소에서 빠질 때 호출. 이후 add 는 실패하고, 점유하던 추정 바이트를 돌려준다 */
+        private synchronized long detach() {
+            detached = true;
+            return residentBytes;
+        }
+
+        synchronized String transcript() {
+            if (transcriptDirty) {
+                transcript.setLength(0);
+                for (MeetingSpeechStreamService.Segment segment : segments.values()) {
+                    appendText(transcript, segment.getText());
+                }
+                transcriptDirty = false;
+            }
+            return transcript.toString();
+        }
+
+        List<MeetingSpeechStreamService.Segment> segments() {
+            return new ArrayList<>(segments.values());
+        }
+
+        /** 커서(seq) 뒤에 도착한 segment (도착 순서. 교체된 index 는 update=true 로 다시 포함) */
+        List<MeetingSpeechStreamService.Segment> since(long cursor) {
+            return new ArrayList<>(byCursor.tailMap(cursor, false).values());
+        }
+
+        boolean isEmpty() {
+            return segments.isEmpty();
+        }
+
+        static void appendText(StringBuilder sb, String text) {
+            if (StringUtils.hasText(text)) {
+                if (sb.length() > 0) {
+                    sb.append(' ');
+                }
+                sb.append(text.trim());
+            }
+        }
+    }
+}
@@ -1,20 +1,18 @@
 package com.bbey.neez.service.Meet;
 
 import com.bbey.neez.client.ClovaSpeechClient;
-import com.bbey.neez.client.ClovaSpeechClient.SpeakerSegment;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
+import com.bbey.neez.component.AudioUploads;
+import java.nio.file.Path;
 import java.util.List;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 public class MeetingSpeechServiceImpl implements MeetingSpeechService {
 
-  private final ClovaSpeechClient clovaSpeechClient;
+  private final LongAudioTranscriber transcriber;
 
-  public MeetingSpeechServiceImpl(ClovaSpeechClient clovaSpeechClient) {
-    this.clovaSpeechClient = clovaSpeechClient;
+  public MeetingSpeechServiceImpl(LongAudioTranscriber transcriber) {
+    this.transcriber = transcriber;
   }
 
   @Override
@@ -23,63 +21,18 @@ public class MeetingSpeechServiceImpl implements MeetingSpeechService {
       throw new IllegalArgumentException("Audio file must not be empty.");
     }
 
-    ClovaSpeechClient.ClovaResult result = StringUtils.hasText(language)
-        ? clovaSpeechClient.recognize(file.getBytes(), resolveClovaLanguage(language))
-        : clovaSpeechClient.recognize(file.getBytes());
-    List<SpeakerTurn> speakerTurns = buildSpeakerTurns(result.getSegments());
-    return new TranscriptionResult(result.getText(), speakerTurns);
-  }
-
-  private List<SpeakerTurn> buildSpeakerTurns(List<SpeakerSegment> segments) {
-    if (segments == null || segments.isEmpty()) {
-      return Collections.emptyList();
-    }
-
-    List<SpeakerSegment> ordered = new ArrayList<>(segments);
-    ordered.sort(Comparator.comparing(seg -> seg.getStart() != null ? seg.getStart() : 0L));
-
-    List<SpeakerTurn> turns = new ArrayList<>();
-    StringBuilder currentText = new StringBuilder();
-    String currentSpeaker = null;
-    Long currentStart = null;
-    Long currentEnd = null;
-
-    for (SpeakerSegment segment : ordered) {
-      String label = toSpeakerLabel(segment.getSpeakerLabel());
-
-      if (!label.equals(currentSpeaker) && currentText.length() > 0) {
-        turns.add(new SpeakerTurn(currentSpeaker, currentText.toString().trim(), currentStart, currentEnd));
-        currentText.setLength(0);
-        currentStart = null;
-        currentEnd = null;
-      }
-
-      currentSpeaker = label;
-      if (currentStart == null) {
-        currentStart = segment.getStart();
-      }
-      currentEnd = segment.getEnd();
-
-      if (segment.getText() != null && !segment.getText().trim().isEmpty()) {
-        if (currentText.length() > 0) {
-          currentText.append(' ');
-        }
-        currentText.append(segment.getText().trim());
-      }
-    }
-
-    if (currentText.length() > 0) {
-      turns.add(new SpeakerTurn(currentSpeaker, currentText.toString().trim(), currentStart, currentEnd));
-    }
-
-    return turns;
-  }
-
-  private String toSpeakerLabel(Integer label) {
-    if (label == null) {
-      return "UNKNOWN";
+    // 업로드 임시 파일을 그대로 사용 (getBytes 로 heap 에 올리지 않음)
+    // 긴 녹음은 window 로 나눠 병렬 STT 후 합친다
+    Path audio = AudioUploads.toTempFile(file);
+    ClovaSpeechClient.ClovaResult result;
+    try {
+      result = transcriber.transcribe(audio,
+          StringUtils.hasText(language) ? resolveClovaLanguage(language) : null);
+    } finally {
+      AudioUploads.deleteQuietly(audio);
     }
-    return "SPEAKER_" + label;
+    List<SpeakerTurn> speakerTurns = SpeakerTracker.mergeTurns(result.getSegments(), 0L);
+    return new TranscriptionResult(result.getText(), speakerTurns);
   }
 
   private String resolveClovaLanguage(String lang) {
@@ -4,19 +4,24 @@ import com.bbey.neez.client.ClovaSpeechClient;
 import com.bbey.neez.client.ClovaSpeechClient.ClovaResult;
 import com.bbey.neez.client.ClovaSpeechClient.SpeakerSegment;
 import com.bbey.neez.client.PapagoTranslationClient;
+import com.bbey.neez.component.AudioPreprocessor;
+import com.bbey.neez.component.AudioUploads;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class MeetingSpeechStreamService {
@@ -24,56 +29,49 @@ public class MeetingSpeechStreamService {
   private final ClovaSpeechClient clovaClient;
   private final PapagoTranslationClient translationClient;
   private final MeetingSttService meetingSttService;
+  private final MeetingTranslationService meetingTranslationService;
+  private final MeetingTranscriptBroadcaster broadcaster;
+  private final MeetingSummaryEngine summaryEngine;
+  private final AudioPreprocessor audioPreprocessor;
+  private final SpeakerTracker speakerTracker;
   private final String defaultSourceLanguage;
 
-  /** (userIdx, meetingId) 복합키 기준 세션 저장 */
-  private final ConcurrentMap<SessionKey, ConcurrentSkipListMap<Long, Segment>> sessions =
-      new ConcurrentHashMap<>();
+  /** 한국어 transcript 조립 시 동시에 보낼 번역 요청 수 */
+  private static final int KOREAN_TRANSLATE_CONCURRENCY = 8;
 
-  /** 세션 식별자 */
-  private static final class SessionKey {
-    private final Long userIdx;
-    private final Long meetingId;
-
-    private SessionKey(Long userIdx, Long meetingId) {
-      this.userIdx = userIdx;
-      this.meetingId = meetingId;
-    }
-
-    public static SessionKey of(Long userIdx, Long meetingId) {
-      return new SessionKey(userIdx, meetingId);
-    }
-
-    @Override
-    public boolean equals(Object o) {
-      if (this == o) return true;
-      if (!(o instanceof SessionKey)) return false;
-      SessionKey that = (SessionKey) o;
-      return Objects.equals(userIdx, that.userIdx)
-          && Objects.equals(meetingId, that.meetingId);
-    }
-
-    @Override
-    public int hashCode() {
-      return Objects.hash(userIdx, meetingId);
-    }
-  }
+  /** (userIdx, meetingId) 별 세션 (메모리 상한 초과/유휴 시 디스크로 내려감) */
+  private final MeetingSessionStore sessionStore;
 
   public MeetingSpeechStreamService(
       ClovaSpeechClient clovaClient,
       PapagoTranslationClient translationClient,
       MeetingSttService meetingSttService,
+      MeetingTranslationService meetingTranslationService,
+      MeetingTranscriptBroadcaster broadcaster,
+      MeetingSessionStore sessionStore,
+      MeetingSummaryEngine summaryEngine,
+      AudioPreprocessor audioPreprocessor,
+      SpeakerTracker speakerTracker,
       @Value("${naver.clova.speech.language:ko-KR}") String sourceLanguage) {
 
     this.clovaClient = clovaClient;
     this.translationClient = translationClient;
     this.meetingSttService = meetingSttService;
+    this.meetingTranslationService = meetingTranslationService;
+    this.broadcaster = broadcaster;
+    this.sessionStore = sessionStore;
+    this.summaryEngine = summaryEngine;
+    this.audioPreprocessor = audioPreprocessor;
+    this.speakerTracker = speakerTracker;
     // 내부 표현용 기본 소스 언어(normalize)
     this.defaultSourceLanguage = normalizeLanguage(sourceLanguage);
   }
 
   /**
-   * 회의 음성 조각(chunk) 처리
+   * 회의 음성 조각(chunk) 처리 (동기)
+   * - 요청 스레드에서 STT → 번역 → 세션 반영 → DB 저장까지 한 번에 수행
+   * - 컨트롤러는 MeetingChunkPipeline 으로 같은 단계를 비동기로 나눠 실행한다
+   * - 업로드는 임시 파일로 넘겨서 처리하고 끝나면 지운다 (getBytes 로 heap 에 복사하지 않음)
    */
   public Segment processChunk(
       Long userIdx,
@@ -83,152 +81,259 @@ public class MeetingSpeechStreamService {
       String targetLang,
       String sourceLang) throws Exception {
 
-    // 1) 소스/타깃 언어 정리
-    String normalizedSource =
-        normalizeLanguage(StringUtils.hasText(sourceLang) ? sourceLang : defaultSourceLanguage);
-    String normalizedTarget = normalizeLanguage(targetLang);
+    Path audio = AudioUploads.toTempFile(chunk);
+    return processChunkAsync(userIdx, meetingId, index, audio, targetLang, sourceLang)
+        .doFinally(signal -> AudioUploads.deleteQuietly(audio))
+        .block();
+  }
 
-    // 2) Clova STT 호출 언어 결정 (Clova가 요구하는 포맷으로 매핑)
-    String clovaLanguage = resolveClovaLanguage(sourceLang);
-    ClovaResult result = StringUtils.hasText(clovaLanguage)
-        ? clovaClient.recognize(chunk.getBytes(), clovaLanguage)
-        : clovaClient.recognize(chunk.getBytes());
-
-    // 3) 번역 (필요한 경우만)
-    String translated = translate(result.getText(), targetLang, normalizedSource);
-
-    // 4) Segment 객체 생성
-    Segment segment = new Segment(
-        index,
-        chunk.getSize(),
-        result.getText(),
-        Instant.now(),
-        result.getSegments(),
-        normalizedSource,   // 내부 표현용 sourceLanguage (ko/en/ja 등)
-        normalizedTarget,   // 내부 표현용 targetLanguage
-        translated          // 번역 텍스트(없으면 null)
-    );
-
-    // 5) 메모리 세션에 저장
-    SessionKey key = SessionKey.of(userIdx, meetingId);
-    sessions
-        .computeIfAbsent(key, k -> new ConcurrentSkipListMap<>())
-        .put(segment.getIndex(), segment);
-
-    // 6) DB(meetRTChunks)에 STT 청크 저장
-    if (segment.getText() != null && !segment.getText().isEmpty()) {
-      meetingSttService.saveChunk(
-          meetingId,              // meetIdx
-          segment.getIndex(),     // seq
-          normalizedSource,       // langCode (예: "ko")
-          segment.getText(),      // content (STT 텍스트)
-          true                    // finalChunk: 일단 전체 청크 단위로 true 처리
-      );
+  /**
+   * STT → 번역 → 세션 반영 → DB 저장을 하나의 reactive chain 으로 구성
+   * - 외부 API 대기 중에는 스레드를 점유하지 않는다
+   * - JPA 저장만 blocking 이므로 boundedElastic 에서 실행
+   */
+  public Mono<Segment> processChunkAsync(
+      Long userIdx,
+      Long meetingId,
+      Long index,
+      Path audio,
+      String targetLang,
+      String sourceLang) {
+
+    return Mono.fromCallable(() -> Files.size(audio))
+        .flatMap(bytes -> recognizeAsync(audio, sourceLang)
+        .flatMap(recognition -> translateAsync(recognition.getResult().getText(), targetLang, sourceLang)
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .publishOn(Schedulers.boundedElastic())
+            .map(translated -> append(userIdx, meetingId, index, bytes,
+                recognition, sourceLang, targetLang, translated.orElse(null)))))
+        .flatMap(segment -> Mono.fromRunnable(() -> persist(meetingId, segment))
+            .subscribeOn(Schedulers.boundedElastic())
+            .thenReturn(segment));
+  }
+
+  /**
+   * [STT 단계] 전처리(무음 제거/리샘플링) 후 Clova 호출 언어를 매핑해서 인식
+   * - 무음 청크는 Clova 를 호출하지 않고 빈 결과
+   * - 화자별 특징 벡터도 여기서 계산 (회의 상태와 무관 → 청크마다 병렬)
+   */
+  public ClovaResult recognize(Path audio, String sourceLang) {
+    return recognizeAsync(audio, sourceLang).map(Recognition::getResult).block();
+  }
+
+  public Mono<Recognition> recognizeAsync(Path audio, String sourceLang) {
+    return Mono.fromCallable(() -> audioPreprocessor.prepare(audio))
+        .subscribeOn(Schedulers.parallel())
+        .flatMap(prepared -> {
+          if (!prepared.hasSpeech()) {
+            return Mono.just(new Recognition(new ClovaResult("", Collections.emptyList()),
+                Collections.emptyMap(), prepared.getSourceDurationMs()));
+          }
+          return clovaClient.recognizeAsync(prepared.getAudio(), resolveClovaLanguage(sourceLang))
+              .map(result -> shiftTimestamps(result, prepared.getLeadingTrimMs()))
+              .map(result -> new Recognition(result,
+                  SpeakerTracker.voiceprints(prepared.getPcm(), prepared.getLeadingTrimMs(), result.getSegments()),
+                  prepared.getSourceDurationMs()));
+        });
+  }
+
+  /**
+   * 앞 무음을 잘라낸 만큼 화자 구간 시간을 되돌림 (원래 청크 기준 ms)
+   */
+  private static ClovaResult shiftTimestamps(ClovaResult result, long offsetMs) {
+    if (offsetMs <= 0 || result.getSegments() == null || result.getSegments().isEmpty()) {
+      return result;
+    }
+    List<SpeakerSegment> shifted = new ArrayList<>(result.getSegments().size());
+    for (SpeakerSegment seg : result.getSegments()) {
+      shifted.add(new SpeakerSegment(
+          seg.getText(),
+          seg.getSpeakerLabel(),
+          seg.getStart() != null ? seg.getStart() + offsetMs : null,
+          seg.getEnd() != null ? seg.getEnd() + offsetMs : null));
     }
+    return new ClovaResult(result.getText(), shifted);
+  }
 
-    return segment;
+  /**
+   * [번역 단계] 필요한 경우만 번역 (targetLang 없으면 한국어 자동 번역)
+   *
+   * @param text STT 원문
+   * @param targetLang 프론트에서 온 타깃 언어 (예: "ko", "en-US" 등)
+   * @param sourceLang 프론트에서 온 소스 언어 (없으면 기본 언어)
+   */
+  public String translate(String text, String targetLang, String sourceLang) {
+    return translateAsync(text, targetLang, sourceLang).block();
   }
 
   /**
-   * 원본 transcript (모든 segment text 이어붙인 것)
+   * 번역 결과가 없으면(비활성/실패/빈 원문) empty
    */
-  public String getTranscriptText(Long userIdx, Long meetingId) {
-    SessionKey key = SessionKey.of(userIdx, meetingId);
-    ConcurrentSkipListMap<Long, Segment> map = sessions.get(key);
-    if (map == null || map.isEmpty()) {
-      return "";
+  public Mono<String> translateAsync(String text, String targetLang, String sourceLang) {
+    if (!StringUtils.hasText(text)) {
+      return Mono.empty();
+    }
+    // targetLang 명시 안 된 경우: 자동 한국어 번역
+    if (!StringUtils.hasText(targetLang)) {
+      return translationClient.translateToKoreanAutoAsync(text);
     }
 
-    StringBuilder sb = new StringBuilder();
-    for (Segment segment : map.values()) {
-      if (StringUtils.hasText(segment.getText())) {
-        if (sb.length() > 0) {
-          sb.append(' ');
-        }
-        sb.append(segment.getText().trim());
-      }
+    return translationClient.translateAsync(text, sourceLanguage(sourceLang), normalizeLanguage(targetLang));
+  }
+
+  /**
+   * [세션 반영] STT 청크 DB 저장(meetRTChunks) + Segment 생성 + 메모리 세션에 저장 + 구독자 푸시
+   * - seq: 클라이언트 커서 (= 저장한 meetRTChunks PK. 도착 순서로 증가하고 노드/복원과 무관하게 같은 값)
+   * - 같은 index 가 다시 오면 update=true segment 로 교체해서 다시 푸시
+   * - 텍스트가 없는 청크도 커서를 받도록 빈 원문으로 저장한다
+   * - JPA 저장이 있으므로 blocking 스레드에서 호출
+   * - 누적 transcript 도 여기서 이어붙임
+   * - 화자 라벨은 회의 전역 화자로 교체 (세션이 index 를 정한 뒤, 그 index 기준으로)
+   */
+  public Segment append(
+      Long userIdx,
+      Long meetingId,
+      Long index,
+      long bytes,
+      Recognition recognition,
+      String sourceLang,
+      String targetLang,
+      String translated) {
+
+    ClovaResult result = recognition.getResult();
+    String normalizedSource = sourceLanguage(sourceLang);
+    String normalizedTarget = normalizeLanguage(targetLang);
+
+    String text = result.getText() != null ? result.getText() : "";
+
+    Segment segment = sessionStore.append(userIdx, meetingId, index,
+        idx -> meetingSttService.saveChunk(
+            meetingId,          // meetIdx
+            idx,                // seq (청크 index)
+            normalizedSource,   // langCode (예: "ko")
+            text,               // content (STT 텍스트)
+            true                // finalChunk: 일단 전체 청크 단위로 true 처리
+        ).getIdx(),
+        (idx, seq, update) -> {
+          // index 가 정해진 뒤에 화자 배정 (offset / 연속성은 index 기준)
+          SpeakerTracker.Assignment speakers = speakerTracker.assign(meetingId, idx, result.getSegments(),
+              recognition.getVoiceprints(), recognition.getSourceDurationMs(),
+              () -> getSegments(userIdx, meetingId));
+          return new Segment(
+              idx,
+              seq,
+              bytes,
+              result.getText(),
+              Instant.now(),
+              speakers.getSegments(),
+              normalizedSource,   // 내부 표현용 sourceLanguage (ko/en/ja 등)
+              normalizedTarget,   // 내부 표현용 targetLanguage
+              translated,         // 번역 텍스트(없으면 null)
+              speakers.getOffsetMs(),
+              speakers.isContinuesTurn(),
+              update
+          );
+        });
+
+    // 구독 중인 화면(SSE)에 바로 푸시
+    broadcaster.publish(userIdx, meetingId, segment);
+    return segment;
+  }
+
+  /**
+   * [저장 단계] 같은 seq(청크 index)로 번역 저장(meetTranslations) + rolling 요약 트리거
+   * - STT 청크(meetRTChunks)는 커서를 정하느라 append 에서 이미 저장했다
+   * - 번역은 청크 단위 insert 만 하고, 전체 번역본은 조회 시 seq 순으로 이어붙인다
+   */
+  public void persist(Long meetingId, Segment segment) {
+    if (segment.getText() != null && !segment.getText().isEmpty()) {
+      // 쌓인 청크/발화가 기준을 넘으면 rolling 요약 갱신 (백그라운드)
+      summaryEngine.onSegmentStored(meetingId, segment);
     }
-    return sb.toString();
+    if (StringUtils.hasText(segment.getTranslatedText())) {
+      meetingTranslationService.appendTranslated(
+          meetingId,
+          segment.getIndex(),
+          segment.getTargetLanguage(),
+          segment.getTranslatedText()
+      );
+    }
+  }
+
+  /**
+   * 원본 transcript (모든 segment text 이어붙인 것, 세션에 누적된 값을 그대로 반환)
+   */
+  public String getTranscriptText(Long userIdx, Long meetingId) {
+    MeetingSessionStore.Session session = sessionStore.get(userIdx, meetingId);
+    return session != null ? session.transcript() : "";
   }
 
   /**
    * segment 전체 목록
    */
   public List<Segment> getSegments(Long userIdx, Long meetingId) {
-    SessionKey key = SessionKey.of(userIdx, meetingId);
-    ConcurrentSkipListMap<Long, Segment> map = sessions.get(key);
-    if (map == null || map.isEmpty()) {
+    MeetingSessionStore.Session session = sessionStore.get(userIdx, meetingId);
+    if (session == null || session.isEmpty()) {
       return Collections.emptyList();
     }
-    return new ArrayList<>(map.values());
+    return session.segments();
+  }
+
+  /**
+   * since 커서 이후에 도착한 segment 만 (도착 순서. 교체된 index 는 update=true 로 다시 포함)
+   */
+  public List<Segment> getSegmentsSince(Long userIdx, Long meetingId, long since) {
+    MeetingSessionStore.Session session = sessionStore.get(userIdx, meetingId);
+    if (session == null) {
+      return Collections.emptyList();
+    }
+    return session.since(since);
   }
 
   /**
    * 한국어 transcript (번역 포함)
    */
   public String getKoreanTranscript(Long userIdx, Long meetingId) {
-    SessionKey key = SessionKey.of(userIdx, meetingId);
-    ConcurrentSkipListMap<Long, Segment> map = sessions.get(key);
-    if (map == null || map.isEmpty()) {
+    MeetingSessionStore.Session session = sessionStore.get(userIdx, meetingId);
+    if (session == null || session.isEmpty()) {
       return "";
     }
 
-    StringBuilder sb = new StringBuilder();
-    for (Segment segment : map.values()) {
-      String text = ensureKoreanText(segment);
-      if (StringUtils.hasText(text)) {
-        if (sb.length() > 0) {
-          sb.append(' ');
-        }
-        sb.append(text.trim());
-      }
-    }
-    return sb.toString();
+    // 번역이 필요한 segment 는 동시에 요청하되, 이어붙이는 순서는 index 순서 유지
+    return Flux.fromIterable(session.segments())
+        .flatMapSequential(this::ensureKoreanText, KOREAN_TRANSLATE_CONCURRENCY)
+        .collect(StringBuilder::new, MeetingSessionStore.Session::appendText)
+        .map(StringBuilder::toString)
+        .block();
   }
 
   /**
-   * 세션 초기화
+   * 세션 초기화 (메모리 + spill 파일)
    */
   public void clear(Long userIdx, Long meetingId) {
-    sessions.remove(SessionKey.of(userIdx, meetingId));
+    sessionStore.remove(userIdx, meetingId);
+    speakerTracker.forget(meetingId);
   }
 
   /* ===== 내부 유틸 ===== */
 
-  /**
-   * 번역 유틸
-   * @param text STT 원문
-   * @param targetLang 프론트에서 온 타깃 언어 (예: "ko", "en-US" 등)
-   * @param sourceLang 내부 normalized 소스 언어 (예: "ko", "en")
-   */
-  private String translate(String text, String targetLang, String sourceLang) {
-    if (!StringUtils.hasText(text)) {
-      return null;
-    }
-    // targetLang 명시 안 된 경우: 자동 한국어 번역
-    if (!StringUtils.hasText(targetLang)) {
-      return translationClient.translateToKoreanAuto(text).orElse(null);
-    }
-
-    String normalizedTarget = normalizeLanguage(targetLang);
-    return translationClient.translate(text, sourceLang, normalizedTarget).orElse(null);
-  }
-
-  private String ensureKoreanText(Segment segment) {
-    if (segment == null) {
-      return null;
+  private Mono<String> ensureKoreanText(Segment segment) {
+    // 원문이 한국어면 번역할 필요 없음
+    if (isKorean(segment.getSourceLanguage())) {
+      return Mono.just(segment.getText() != null ? segment.getText() : "");
     }
     // 이미 한국어 번역 텍스트가 있고, 타깃 언어가 ko 계열이면 그대로 사용
     if (StringUtils.hasText(segment.getTranslatedText())
         && isKorean(segment.getTargetLanguage())) {
-      return segment.getTranslatedText();
+      return Mono.just(segment.getTranslatedText());
     }
     if (!StringUtils.hasText(segment.getText())) {
-      return null;
+      return Mono.just("");
     }
     // 번역 실패하면 원문 그대로 반환
-    return translationClient.translateToKoreanAuto(segment.getText())
-        .orElse(segment.getText());
+    return translationClient.translateToKoreanAutoAsync(segment.getText())
+        .defaultIfEmpty(segment.getText());
   }
 
   private boolean isKorean(String lang) {
@@ -271,6 +376,10 @@ public class MeetingSpeechStreamService {
     }
   }
 
+  private String sourceLanguage(String sourceLang) {
+    return normalizeLanguage(StringUtils.hasText(sourceLang) ? sourceLang : defaultSourceLanguage);
+  }
+
   /**
    * 내부 표현용 언어 정규화
    * "ko-KR" -> "ko", "en_US" -> "en" 이런 식으로 정리
@@ -287,11 +396,40 @@ public class MeetingSpeechStreamService {
     return normalized;
   }
 
+  /**
+   * STT 단계 결과 (Clova 결과 + 지역 화자 라벨별 특징 벡터)
+   */
+  public static class Recognition {
+    private final ClovaResult result;
+    private final Map<Integer, float[]> voiceprints;
+    private final long sourceDurationMs;
+
+    public Recognition(ClovaResult result, Map<Integer, float[]> voiceprints, long sourceDurationMs) {
+      this.result = result;
+      this.voiceprints = voiceprints != null ? voiceprints : Collections.<Integer, float[]>emptyMap();
+      this.sourceDurationMs = sourceDurationMs;
+    }
+
+    public ClovaResult getResult() {
+      return result;
+    }
+
+    public Map<Integer, float[]> getVoiceprints() {
+      return voiceprints;
+    }
+
+    /** 원본 청크 길이 (WAV 가 아니라 모르면 -1) */
+    public long getSourceDurationMs() {
+      return sourceDurationMs;
+    }
+  }
+
   /**
    * STT/번역 결과 한 조각
    */
   public static class Segment {
     private final long index;
+    private final long seq;
     private final long bytes;
     private final String text;
     private final Instant receivedAt;
@@ -299,8 +437,12 @@ public class MeetingSpeechStreamService {
     private final String sourceLanguage;
     private final String targetLanguage;
     private final String translatedText;
+    private final long offsetMs;
+    private final boolean continuesTurn;
+    private final boolean update;
 
     public Segment(long index,
+                   long seq,
                    long bytes,
                    String text,
                    Instant receivedAt,
@@ -308,7 +450,24 @@ public class MeetingSpeechStreamService {
                    String sourceLanguage,
                    String targetLanguage,
                    String translatedText) {
+      this(index, seq, bytes, text, receivedAt, speakerSegments, sourceLanguage, targetLanguage,
+          translatedText, -1L, false, false);
+    }
+
+    public Segment(long index,
+                   long seq,
+                   long bytes,
+                   String text,
+                   Instant receivedAt,
+                   List<SpeakerSegment> speakerSegments,
+                   String sourceLanguage,
+                   String targetLanguage,
+                   String translatedText,
+                   long offsetMs,
+                   boolean continuesTurn,
+                   boolean update) {
       this.index = index;
+      this.seq = seq;
       this.bytes = bytes;
       this.text = text;
       this.receivedAt = receivedAt;
@@ -318,12 +477,19 @@ public class MeetingSpeechStreamService {
       this.sourceLanguage = sourceLanguage;
       this.targetLanguage = targetLanguage;
       this.translatedText = translatedText;
+      this.offsetMs = offsetMs;
+      this.continuesTurn = continuesTurn;
+      this.update = update;
     }
 
     public long getIndex() {
       return index;
     }
 
+    public long getSeq() {
+      return seq;
+    }
+
     public long getBytes() {
       return bytes;
     }
@@ -351,5 +517,25 @@ public class MeetingSpeechStreamService {
     public String getTranslatedText() {
       return translatedText;
     }
+
+    /** 회의 시작 기준 청크 시작 시각 (모르면 -1) */
+    public long getOffsetMs() {
+      return offsetMs;
+    }
+
+    /** 첫 화자 턴이 직전 청크의 마지막 턴에 이어지는지 */
+    public boolean isContinuesTurn() {
+      return continuesTurn;
+    }
+
+    /** 같은 index 로 먼저 받은 segment 를 교체한 것인지 (클라이언트는 index 기준으로 덮어쓴다) */
+    public boolean isUpdate() {
+      return update;
+    }
+
+    /** 청크 안에서 합친 화자 턴 (전역 화자 라벨, 회의 기준 시각) */
+    public List<MeetingSpeechService.SpeakerTurn> getSpeakerTurns() {
+      return SpeakerTracker.mergeTurns(speakerSegments, Math.max(0L, offsetMs));
+    }
   }
 }
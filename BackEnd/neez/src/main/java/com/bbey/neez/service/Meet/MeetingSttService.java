@@ -7,6 +7,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -41,6 +42,35 @@ public class MeetingSttService {
         return chunkRepository.save(chunk);
     }
 
+    /**
+     * 세션 복원용: 해당 회의의 STT 청크(TRANSCRIPT) 전체를 seq 순으로
+     */
+    @Transactional(readOnly = true)
+    public List<MeetRTChunk> getTranscriptChunks(Long meetIdx) {
+        return chunkRepository.findByMeetIdxOrderBySeqAsc(meetIdx).stream()
+                .filter(c -> "TRANSCRIPT".equals(c.getChunkType()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 요약 구간용: seq 가 [fromSeq, toSeq] 인 STT 청크만
+     */
+    @Transactional(readOnly = true)
+    public List<MeetRTChunk> getTranscriptChunks(Long meetIdx, long fromSeq, long toSeq) {
+        return chunkRepository.findByMeetIdxAndChunkTypeAndSeqBetweenOrderBySeqAsc(
+                meetIdx, "TRANSCRIPT", fromSeq, toSeq);
+    }
+
+    /**
+     * 세션 동기화용: afterChunkIdx(PK) 이후에 저장된 STT 청크만
+     * - 다른 노드가 받은 청크를 전체 재조회 없이 따라잡을 때 사용
+     */
+    @Transactional(readOnly = true)
+    public List<MeetRTChunk> getTranscriptChunksAfter(Long meetIdx, Long afterChunkIdx) {
+        return chunkRepository.findByMeetIdxAndChunkTypeAndIdxGreaterThanOrderByIdxAsc(
+                meetIdx, "TRANSCRIPT", afterChunkIdx);
+    }
+
     /**
      * 해당 회의의 모든 청크를 seq 순으로 이어붙여 전체 회의록 텍스트를 만든다.
      */
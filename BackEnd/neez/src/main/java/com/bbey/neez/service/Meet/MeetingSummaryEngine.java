@@ -0,0 +1,394 @@
+package com.bbey.neez.service.Meet;
+
+import com.bbey.neez.client.OpenAiChatClient;
+import com.bbey.neez.entity.Meet.MeetRTChunk;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 긴 회의용 계층(map-reduce) 요약
+ *
+ * - STT 청크를 seq 기준 고정 크기 구간(window-chunks 개)으로 나눈다
+ *   (구간 경계가 seq 로 고정이라 청크가 더 들어와도 앞 구간은 바뀌지 않는다)
+ * - [map]    구간별 부분 요약을 병렬로 (map-concurrency)
+ * - [reduce] 부분 요약들을 reduce-fan-in 개씩 묶어 합치고, 하나가 남을 때까지 반복
+ * - 구간이 하나뿐인 짧은 회의는 기존처럼 전문을 한 번에 요약
+ *
+ * 회의 중 rolling 요약
+ * - 청크가 every-chunks 개 또는 발화 every-speech-ms 만큼 쌓이면 갱신 요청
+ * - debounce-ms 동안 더 모은 뒤, 기존 요약 + 그 뒤에 저장된 청크만 보내 요약을 갱신 (fold)
+ * - 회의당 동시에 하나만 실행하고, 실행 중 들어온 요청은 끝난 뒤 한 번으로 합친다
+ * - 회의 종료 시에는 rolling 요약에 남은 꼬리 청크만 fold → 회의 길이와 무관하게 호출 한 번
+ *   (rolling 요약이 없거나 꼬리가 max-tail-chunks 보다 길면 구간 map-reduce 로)
+ */
+@Slf4j
+@Component
+public class MeetingSummaryEngine {
+
+    private final MeetingSttService meetingSttService;
+    private final OpenAiChatClient openAiChatClient;
+    private final int windowChunks;
+    private final int mapConcurrency;
+    private final int reduceFanIn;
+    private final long retentionMs;
+    private final int rollingEveryChunks;
+    private final long rollingEverySpeechMs;
+    private final long rollingDebounceMs;
+    private final int maxTailChunks;
+
+    /** meetIdx → 구간별 부분 요약 + rolling 요약 상태 */
+    private final ConcurrentMap<Long, MeetingState> states = new ConcurrentHashMap<>();
+
+    public MeetingSummaryEngine(
+            MeetingSttService meetingSttService,
+            OpenAiChatClient openAiChatClient,
+            @Value("${app.meeting.summary.window-chunks:20}") int windowChunks,
+            @Value("${app.meeting.summary.map-concurrency:4}") int mapConcurrency,
+            @Value("${app.meeting.summary.reduce-fan-in:8}") int reduceFanIn,
+            @Value("${app.meeting.summary.retention-ms:3600000}") long retentionMs,
+            @Value("${app.meeting.summary.rolling.every-chunks:10}") int rollingEveryChunks,
+            @Value("${app.meeting.summary.rolling.every-speech-ms:60000}") long rollingEverySpeechMs,
+            @Value("${app.meeting.summary.rolling.debounce-ms:3000}") long rollingDebounceMs,
+            @Value("${app.meeting.summary.rolling.max-tail-chunks:40}") int maxTailChunks) {
+
+        this.meetingSttService = meetingSttService;
+        this.openAiChatClient = openAiChatClient;
+        this.windowChunks = Math.max(1, windowChunks);
+        this.mapConcurrency = Math.max(1, mapConcurrency);
+        this.reduceFanIn = Math.max(2, reduceFanIn);
+        this.retentionMs = retentionMs;
+        this.rollingEveryChunks = Math.max(1, rollingEveryChunks);
+        this.rollingEverySpeechMs = rollingEverySpeechMs;
+        this.rollingDebounceMs = rollingDebounceMs;
+        this.maxTailChunks = maxTailChunks;
+    }
+
+    /**
+     * 회의 전체 요약 (STT 청크가 없으면 empty)
+     * - rolling 요약이 있으면 그 뒤 꼬리 청크만 반영
+     */
+    public Mono<String> summarize(Long meetIdx) {
+        MeetingState state = states.get(meetIdx);
+        RollingSummary rolling = state != null ? state.rolling() : null;
+        if (rolling == null) {
+            return mapReduce(meetIdx);
+        }
+        return Mono.fromCallable(() -> meetingSttService.getTranscriptChunksAfter(meetIdx, rolling.coveredChunkIdx))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(tail -> tail.size() > maxTailChunks
+                        ? mapReduce(meetIdx)
+                        : openAiChatClient.foldSummaryAsync(rolling.summary, joinBySeq(tail)));
+    }
+
+    /**
+     * 회의 중 최신 rolling 요약 (아직 없으면 null)
+     */
+    public RollingSummary getRollingSummary(Long meetIdx) {
+        MeetingState state = states.get(meetIdx);
+        return state != null ? state.rolling() : null;
+    }
+
+    /**
+     * 청크 저장 후 호출: 쌓인 청크 수 / 발화 길이가 기준을 넘으면 rolling 요약 갱신
+     */
+    public void onSegmentStored(Long meetIdx, MeetingSpeechStreamService.Segment segment) {
+        MeetingState state = states.computeIfAbsent(meetIdx, k -> new MeetingState());
+        state.touch();
+        if (state.requestRefresh(speechMs(segment), rollingEveryChunks, rollingEverySpeechMs)) {
+            startRefresh(meetIdx, state);
+        }
+    }
+
+    private void startRefresh(Long meetIdx, MeetingState state) {
+        Mono.delay(Duration.ofMillis(rollingDebounceMs))
+                .then(Mono.defer(() -> refresh(meetIdx, state)))
+                .doFinally(signal -> {
+                    // 실행 중 들어온 요청이 있으면 한 번 더
+                    if (state.finishRefresh()) {
+                        startRefresh(meetIdx, state);
+                    }
+                })
+                .subscribe(
+                        summary -> { },
+                        e -> log.warn("Failed to refresh rolling summary of meeting {}: {}", meetIdx, e.getMessage()));
+    }
+
+    /**
+     * 마지막으로 반영한 청크(PK) 이후 것만 가져와 기존 요약에 fold
+     */
+    private Mono<String> refresh(Long meetIdx, MeetingState state) {
+        RollingSummary previous = state.rolling();
+        long coveredIdx = previous != null ? previous.coveredChunkIdx : 0L;
+        return Mono.fromCallable(() -> meetingSttService.getTranscriptChunksAfter(meetIdx, coveredIdx))
+                .subscribeOn(Schedulers.boundedElastic())
+                .filter(chunks -> !chunks.isEmpty())
+                .flatMap(chunks -> {
+                    long lastIdx = chunks.get(chunks.size() - 1).getIdx();
+                    int covered = (previous != null ? previous.coveredChunks : 0) + chunks.size();
+                    return openAiChatClient
+                            .foldSummaryAsync(previous != null ? previous.summary : null, joinBySeq(chunks))
+                            .doOnNext(summary -> state.update(new RollingSummary(summary, lastIdx, covered, Instant.now())));
+                });
+    }
+
+    private Mono<String> mapReduce(Long meetIdx) {
+        return Mono.fromCallable(() -> meetingSttService.getTranscriptChunks(meetIdx))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(chunks -> {
+                    List<Window> windows = windows(chunks);
+                    if (windows.isEmpty()) {
+                        return Mono.empty();
+                    }
+                    if (windows.size() == 1) {
+                        return openAiChatClient.summarizeAsync(windows.get(0).text);
+                    }
+                    return Flux.fromIterable(windows)
+                            .flatMapSequential(w -> partial(meetIdx, w), mapConcurrency)
+                            .collectList()
+                            .flatMap(this::reduce);
+                });
+    }
+
+    /**
+     * 회의록 저장 후 캐시 정리
+     */
+    public void forget(Long meetIdx) {
+        states.remove(meetIdx);
+    }
+
+    @Scheduled(fixedDelayString = "${app.meeting.summary.cleanup-ms:60000}")
+    public void cleanup() {
+        long idleBefore = System.currentTimeMillis() - retentionMs;
+        states.values().removeIf(state -> state.lastUsedAt < idleBefore);
+    }
+
+    // ===================== map / reduce =====================
+
+    /**
+     * 구간 요약 (같은 청크 구성이면 이미 계산/진행 중인 결과를 공유)
+     */
+    private Mono<String> partial(Long meetIdx, Window window) {
+        MeetingState state = states.computeIfAbsent(meetIdx, k -> new MeetingState());
+        state.touch();
+        Partial partial = state.windows.compute(window.number, (k, old) ->
+                old != null && old.fingerprint == window.fingerprint
+                        ? old
+                        : new Partial(window.fingerprint, openAiChatClient.summarizeSectionAsync(window.text).cache()));
+        // 실패 결과는 캐시에 남기지 않는다 (다음 요청에서 다시 시도)
+        return partial.summary.doOnError(e -> state.windows.remove(window.number, partial));
+    }
+
+    private Mono<String> reduce(List<String> summaries) {
+        if (summaries.size() <= reduceFanIn) {
+            return openAiChatClient.mergeSummariesAsync(summaries);
+        }
+        List<List<String>> groups = new ArrayList<>();
+        for (int i = 0; i < summaries.size(); i += reduceFanIn) {
+            groups.add(summaries.subList(i, Math.min(i + reduceFanIn, summaries.size())));
+        }
+        return Flux.fromIterable(groups)
+                .flatMapSequential(openAiChatClient::mergeSummariesAsync, mapConcurrency)
+                .collectList()
+                .flatMap(this::reduce);
+    }
+
+    /** PK 순으로 온 청크를 seq 순으로 이어붙임 (늦게 도착한 청크도 제자리에) */
+    private static String joinBySeq(List<MeetRTChunk> chunks) {
+        List<MeetRTChunk> sorted = new ArrayList<>(chunks);
+        sorted.sort(Comparator.comparing(MeetRTChunk::getSeq));
+        StringBuilder sb = new StringBuilder();
+        for (MeetRTChunk chunk : sorted) {
+            if (sb.length() > 0) {
+                sb.append('\n');
+            }
+            sb.append(chunk.getContent());
+        }
+        return sb.toString();
+    }
+
+    /** 화자 구간 길이 합 (Clova 가 시간 정보를 안 주면 0 → 청크 수 기준만 적용) */
+    private static long speechMs(MeetingSpeechStreamService.Segment segment) {
+        long total = 0;
+        for (com.bbey.neez.client.ClovaSpeechClient.SpeakerSegment sp : segment.getSpeakerSegments()) {
+            if (sp.getStart() != null && sp.getEnd() != null && sp.getEnd() > sp.getStart()) {
+                total += sp.getEnd() - sp.getStart();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * seq 순 청크 → 구간 목록
+     * - 같은 seq 가 여러 번 저장됐으면(재전송) 나중 행(idx 큰 쪽)을 쓴다
+     * - fingerprint: 구간을 이루는 청크 PK 조합 (늦게 도착한 청크가 끼면 값이 바뀌어 다시 요약)
+     */
+    private List<Window> windows(List<MeetRTChunk> chunks) {
+        List<Window> windows = new ArrayList<>();
+        Window current = null;
+        MeetRTChunk pending = null;
+        for (MeetRTChunk chunk : chunks) {
+            if (pending != null && pending.getSeq().equals(chunk.getSeq())) {
+                if (chunk.getIdx() > pending.getIdx()) {
+                    pending = chunk;
+                }
+                continue;
+            }
+            current = addChunk(windows, current, pending);
+            pending = chunk;
+        }
+        current = addChunk(windows, current, pending);
+        if (current != null) {
+            windows.add(current.build());
+        }
+        return windows;
+    }
+
+    private Window addChunk(List<Window> windows, Window current, MeetRTChunk chunk) {
+        if (chunk == null) {
+            return current;
+        }
+        long number = chunk.getSeq() / windowChunks;
+        if (current != null && current.number != number) {
+            windows.add(current.build());
+            current = null;
+        }
+        if (current == null) {
+            current = new Window(number);
+        }
+        current.append(chunk);
+        return current;
+    }
+
+    // ===================== 내부 구조 =====================
+
+    private static final class MeetingState {
+        private final ConcurrentMap<Long, Partial> windows = new ConcurrentHashMap<>();
+        private volatile long lastUsedAt = System.currentTimeMillis();
+
+        private RollingSummary rolling;
+        private int pendingChunks;
+        private long pendingSpeechMs;
+        private boolean refreshing;
+        private boolean refreshRequested;
+
+        private void touch() {
+            lastUsedAt = System.currentTimeMillis();
+        }
+
+        private synchronized RollingSummary rolling() {
+            return rolling;
+        }
+
+        private synchronized void update(RollingSummary rolling) {
+            this.rolling = rolling;
+        }
+
+        /**
+         * @return true 면 호출한 쪽이 갱신을 시작한다 (이미 실행 중이면 끝난 뒤 한 번 더 돌도록 표시만)
+         */
+        private synchronized boolean requestRefresh(long speechMs, int everyChunks, long everySpeechMs) {
+            pendingChunks++;
+            pendingSpeechMs += speechMs;
+            if (pendingChunks < everyChunks && (everySpeechMs <= 0 || pendingSpeechMs < everySpeechMs)) {
+                return false;
+            }
+            pendingChunks = 0;
+            pendingSpeechMs = 0;
+            if (refreshing) {
+                refreshRequested = true;
+                return false;
+            }
+            refreshing = true;
+            return true;
+        }
+
+        /**
+         * @return true 면 밀린 요청이 있으니 바로 다시 갱신
+         */
+        private synchronized boolean finishRefresh() {
+            if (refreshRequested) {
+                refreshRequested = false;
+                return true;
+            }
+            refreshing = false;
+            return false;
+        }
+    }
+
+    /**
+     * 회의 중 rolling 요약
+     */
+    public static final class RollingSummary {
+        private final String summary;
+        private final long coveredChunkIdx;
+        private final int coveredChunks;
+        private final Instant updatedAt;
+
+        private RollingSummary(String summary, long coveredChunkIdx, int coveredChunks, Instant updatedAt) {
+            this.summary = summary;
+            this.coveredChunkIdx = coveredChunkIdx;
+            this.coveredChunks = coveredChunks;
+            this.updatedAt = updatedAt;
+        }
+
+        public String getSummary() {
+            return summary;
+        }
+
+        /** 요약에 반영된 청크 수 */
+        public int getCoveredChunks() {
+            return coveredChunks;
+        }
+
+        public Instant getUpdatedAt() {
+            return updatedAt;
+        }
+    }
+
+    private static final class Partial {
+        private final long fingerprint;
+        private final Mono<String> summary;
+
+        private Partial(long fingerprint, Mono<String> summary) {
+            this.fingerprint = fingerprint;
+            this.summary = summary;
+        }
+    }
+
+    private static final class Window {
+        private final long number;
+        private final StringBuilder sb = new StringBuilder();
+        private long fingerprint = 17;
+        private String text;
+
+        private Window(long number) {
+            this.number = number;
+        }
+
+        private void append(MeetRTChunk chunk) {
+            if (sb.length() > 0) {
+                sb.append('\n');
+            }
+            sb.append(chunk.getContent());
+            fingerprint = 31 * fingerprint + chunk.getIdx();
+        }
+
+        private Window build() {
+            text = sb.toString();
+            return this;
+        }
+    }
+}
@@ -4,7 +4,6 @@ import com.bbey.neez.client.OpenAiChatClient;
 import com.bbey.neez.entity.Meet.MeetShort;
 import com.bbey.neez.entity.Meet.Meeting;
 import com.bbey.neez.entity.Meet.MeetingParticipant;
-import com.bbey.neez.repository.Meet.MeetRTChunkRepository;
 import com.bbey.neez.repository.Meet.MeetShortRepository;
 import com.bbey.neez.repository.Meet.MeetingParticipantRepository;
 import com.bbey.neez.repository.Meet.MeetingRepository;
@@ -21,17 +20,17 @@ import java.util.List;
 public class MeetingSummaryService {
 
     private final MeetingRepository meetingRepository;
-    private final MeetRTChunkRepository chunkRepository;
     private final MeetShortRepository shortRepository;
     private final MeetingParticipantRepository participantRepository;
     private final OpenAiChatClient openAiChatClient;
+    private final MeetingSummaryEngine summaryEngine;
 
     // 단일 파일 STT 용
     private final MeetingSpeechService speechService;
 
     /**
      * [스트리밍 회의용]
-     * 회의 전체 STT chunk → Gemini 요약 → meetShorts 저장
+     * 회의 전체 STT chunk → Gemini 요약(구간별 map-reduce) → meetShorts 저장
      *
      * @param meetIdx 회의 PK
      * @param userIdx 요약 생성자(보통 회의 생성자, SecurityUtil 에서 가져온 현재 유저)
@@ -43,19 +42,13 @@ public class MeetingSummaryService {
         Meeting meeting = meetingRepository.findById(meetIdx)
                 .orElseThrow(() -> new IllegalArgumentException("회의를 찾을 수 없습니다. id=" + meetIdx));
 
-        // 2. STT chunk 전체 모아서 transcript 생성
-        String transcript = chunkRepository.findByMeetIdxOrderBySeqAsc(meetIdx).stream()
-                .map(c -> c.getContent())
-                .reduce((a, b) -> a + "\n" + b)
-                .orElse("");
+        // 2~3. STT chunk 를 구간별로 요약한 뒤 합침 (회의 중 미리 계산된 구간 요약은 재사용)
+        String summary = summaryEngine.summarize(meetIdx).block();
 
-        if (transcript.isEmpty()) {
+        if (summary == null) {
             return "회의 내용(STT)이 없습니다.";
         }
 
-        // 3. Gemini 요약 호출
-        String summary = openAiChatClient.summarize(transcript);
-
         // 4. meetShorts 테이블에 저장
         Long ownerUserIdx = (userIdx != null) ? userIdx : meeting.getUserIdx();
 
@@ -68,11 +61,20 @@ public class MeetingSummaryService {
                 .build();
 
         shortRepository.save(meetShort);
+        summaryEngine.forget(meetIdx);
 
         // 5. 회의 참가자들의 명함 메모에 요약 붙이기는 MeetingMinutesService 에서 처리
         return summary;
     }
 
+    /**
+     * [스트리밍 회의용] 회의 중 rolling 요약 (아직 없으면 null)
+     */
+    @Transactional(readOnly = true)
+    public MeetingSummaryEngine.RollingSummary getLiveSummary(Long meetIdx) {
+        return summaryEngine.getRollingSummary(meetIdx);
+    }
+
     /**
      * [단일 파일 업로드용]
      * 단일 회의 음성 파일 → STT → 요약 (DB 저장은 안 하고, 컨트롤러 응답용 DTO로 리턴)
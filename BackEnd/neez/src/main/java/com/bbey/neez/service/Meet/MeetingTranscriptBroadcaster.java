@@ -0,0 +1,345 @@
+package com.bbey.neez.service.Meet;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 회의 실시간 자막 푸시 채널 (SSE)
+ *
+ * - 같은 회의를 보는 구독자(탭/기기)들이 하나의 스트림을 공유한다.
+ * - processChunk 가 segment 를 만들 때마다 publish → 모든 구독자에게 "segment" 이벤트 전송
+ *   같은 index 를 교체한 segment(update=true)는 "update" 이벤트 → 클라이언트는 index 로 덮어쓴다
+ * - 이벤트 id 는 segment seq(도착 순서 커서)이므로, 재접속 시 since=<마지막 id> 로 놓친 구간만 다시 받는다.
+ *   index 가 작은 청크가 늦게 와도 커서는 커지므로 건너뛰지 않는다.
+ * - publish 는 구독자별 큐에 넣기만 하고 실제 전송은 sse-send 스레드가 한다 (호출 스레드는 네트워크를 기다리지 않음)
+ *   큐가 sse-queue-size 를 넘도록 못 따라오는 구독자는 연결을 끊는다 → 클라이언트가 since 로 재접속
+ */
+@Slf4j
+@Component
+public class MeetingTranscriptBroadcaster {
+
+    public static final String EVENT_SEGMENT = "segment";
+    public static final String EVENT_UPDATE = "update";
+    public static final String EVENT_FINISHED = "finished";
+
+    private final long timeoutMs;
+    private final int maxQueued;
+    private final ThreadPoolExecutor sender;
+
+    /** (userIdx, meetingId) 기준 구독자 목록 */
+    private final ConcurrentMap<String, List<Subscriber>> channels = new ConcurrentHashMap<>();
+
+    public MeetingTranscriptBroadcaster(
+            @Value("${app.meeting.sse-timeout-ms:1800000}") long timeoutMs,
+            @Value("${app.meeting.sse-queue-size:256}") int maxQueued,
+            @Value("${app.meeting.sse-send-threads:4}") int sendThreads) {
+        this.timeoutMs = timeoutMs;
+        this.maxQueued = Math.max(1, maxQueued);
+
+        AtomicInteger seq = new AtomicInteger();
+        int threads = Math.max(1, sendThreads);
+        this.sender = new ThreadPoolExecutor(
+                threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "sse-send-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.sender.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 구독 등록
+     *
+     * @param replay since 이후 이미 도착한 segment (seq 오름차순). 등록 "후" 조회해서 먼저 흘려보낸다.
+     */
+    public SseEmitter subscribe(Long userIdx,
+            Long meetingId,
+            Supplier<List<MeetingSpeechStreamService.Segment>> replay) {
+
+        String key = key(userIdx, meetingId);
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+
+        List<Subscriber> subscribers = channels.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>());
+        subscribers.add(subscriber);
+
+        Runnable remove = () -> {
+            subscriber.close();
+            unsubscribe(key, subscriber);
+        };
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        // 등록을 먼저 하고 replay → 그 사이 publish 된 segment 는 놓치지 않고, 중복만 걸러낸다
+        subscriber.replay(replay.get());
+        return emitter;
+    }
+
+    /**
+     * segment 한 건을 해당 회의 구독자 전체의 큐에 넣는다 (전송은 비동기)
+     */
+    public void publish(Long userIdx, Long meetingId, MeetingSpeechStreamService.Segment segment) {
+        List<Subscriber> subscribers = channels.get(key(userIdx, meetingId));
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.send(segment)) {
+                unsubscribe(key(userIdx, meetingId), subscriber);
+            }
+        }
+    }
+
+    /**
+     * 회의 종료 알림 후 구독 종료
+     */
+    public void finish(Long userIdx, Long meetingId, Object payload) {
+        List<Subscriber> subscribers = channels.remove(key(userIdx, meetingId));
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.finish(payload);
+        }
+    }
+
+    /**
+     * 프록시/로드밸런서가 유휴 연결을 끊지 않도록 주기적으로 comment 전송
+     * (실패한 구독자는 이때 정리된다)
+     */
+    @Scheduled(fixedDelayString = "${app.meeting.sse-heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Map.Entry<String, List<Subscriber>> entry : channels.entrySet()) {
+            for (Subscriber subscriber : entry.getValue()) {
+                if (!subscriber.ping()) {
+                    unsubscribe(entry.getKey(), subscriber);
+                }
+            }
+        }
+    }
+
+    public int subscriberCount(Long userIdx, Long meetingId) {
+        List<Subscriber> subscribers = channels.get(key(userIdx, meetingId));
+        return subscribers != null ? subscribers.size() : 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    private void unsubscribe(String key, Subscriber subscriber) {
+        channels.computeIfPresent(key, (k, list) -> {
+            list.remove(subscriber);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    private static String key(Long userIdx, Long meetingId) {
+        return userIdx + ":" + meetingId;
+    }
+
+    /**
+     * 구독자 한 명
+     * - 보낼 이벤트는 큐에 쌓고, 한 번에 한 스레드만 꺼내서 전송 (SseEmitter.send 는 동시 호출이 안전하지 않음)
+     * - replay 스냅샷을 만드는 동안 들어온 publish 는 큐에만 모아 두고, replay 뒤에 붙일 때 이미 보낸 seq 는 뺀다
+     *   (중복 판단은 replay 에 실제로 들어간 seq 로만 한다. 커서 대소로 거르면 늦게 커밋된 segment 를 잃을 수 있음)
+     * - replay 분량은 큐 한도에 넣지 않는다 (세션에 남은 만큼으로 이미 유한)
+     */
+    private final class Subscriber implements Runnable {
+        private final SseEmitter emitter;
+        private final ArrayDeque<Outgoing> queue = new ArrayDeque<>();
+        private boolean replayed;
+        private final Set<Long> replayedSeqs = new HashSet<>();
+        private boolean draining;
+        private boolean closed;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private synchronized void replay(List<MeetingSpeechStreamService.Segment> segments) {
+            replayed = true;
+            if (closed) {
+                return;
+            }
+            // replay 조회 중에 publish 된 것은 큐에 모아 두었다 → replay 뒤에 붙이되 중복 seq 는 뺀다
+            List<Outgoing> early = new ArrayList<>(queue);
+            queue.clear();
+            if (segments != null) {
+                for (MeetingSpeechStreamService.Segment segment : segments) {
+                    queue.add(Outgoing.segment(segment));
+                    replayedSeqs.add(segment.getSeq());
+                }
+            }
+            for (Outgoing out : early) {
+                if (!replayedSeqs.remove(out.segment.getSeq())) {
+                    queue.add(out);
+                }
+            }
+            schedule();
+        }
+
+        private synchronized boolean send(MeetingSpeechStreamService.Segment segment) {
+            if (closed) {
+                return false;
+            }
+            if (!replayed) {
+                queue.add(Outgoing.segment(segment));
+                return true;
+            }
+            if (!replayedSeqs.isEmpty() && replayedSeqs.remove(segment.getSeq())) {
+                return true; // replay 스냅샷에 이미 들어간 segment
+            }
+            if (queue.size() >= maxQueued) {
+                // 못 따라오는 구독자 → 남은 이벤트는 버리고 끊는다 (재접속 시 since 로 복구)
+                log.debug("SSE subscriber too slow ({} queued), closing", queue.size());
+                closeWith(Outgoing.complete(null));
+                return false;
+            }
+            queue.add(Outgoing.segment(segment));
+            schedule();
+            return true;
+        }
+
+        private synchronized boolean ping() {
+            if (closed) {
+                return false;
+            }
+            if (!replayed) {
+                return true;
+            }
+            // 이미 보낼 게 쌓여 있으면 그게 heartbeat 역할을 한다
+            if (queue.isEmpty()) {
+                queue.add(Outgoing.PING);
+                schedule();
+            }
+            return true;
+        }
+
+        private synchronized void finish(Object payload) {
+            if (!closed) {
+                queue.add(Outgoing.complete(payload));
+                closed = true;
+                schedule();
+            }
+        }
+
+        private synchronized void close() {
+            closed = true;
+            queue.clear();
+        }
+
+        private void closeWith(Outgoing last) {
+            queue.clear();
+            queue.add(last);
+            closed = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining) {
+                return;
+            }
+            draining = true;
+            try {
+                sender.execute(this);
+            } catch (RejectedExecutionException e) {
+                draining = false;
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Outgoing next;
+                synchronized (this) {
+                    next = queue.poll();
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                if (!write(next)) {
+                    close();
+                    synchronized (this) {
+                        draining = false;
+                    }
+                    return;
+                }
+            }
+        }
+
+        private boolean write(Outgoing out) {
+            try {
+                if (out.last) {
+                    if (out.payload != null) {
+                        emitter.send(SseEmitter.event().name(EVENT_FINISHED).data(out.payload));
+                    }
+                    emitter.complete();
+                } else if (out.segment != null) {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(out.segment.getSeq()))
+                            .name(out.segment.isUpdate() ? EVENT_UPDATE : EVENT_SEGMENT)
+                            .data(out.segment));
+                } else {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                }
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                log.debug("SSE send failed, dropping subscriber: {}", e.getMessage());
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 구독자 큐 항목 (segment / ping / 종료)
+     */
+    private static final class Outgoing {
+        static final Outgoing PING = new Outgoing(null, null, false);
+
+        final MeetingSpeechStreamService.Segment segment;
+        final Object payload;
+        final boolean last;
+
+        private Outgoing(MeetingSpeechStreamService.Segment segment, Object payload, boolean last) {
+            this.segment = segment;
+            this.payload = payload;
+            this.last = last;
+        }
+
+        static Outgoing segment(MeetingSpeechStreamService.Segment segment) {
+            return new Outgoing(segment, null, false);
+        }
+
+        static Outgoing complete(Object payload) {
+            return new Outgoing(null, payload, true);
+        }
+    }
+}
@@ -6,6 +6,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Iterator;
+import java.util.stream.Stream;
+
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -14,43 +17,93 @@ public class MeetingTranslationService {
     private final MeetTranslationRepository translationRepository;
 
     /**
-     * 특정 회의 + 언어 코드에 대해
-     * 번역된 텍스트를 청크 단위로 계속 이어 붙인다.
+     * 청크(segment) 한 건의 번역 저장
+     * - 기존 행을 고치지 않고 insert 만 한다 (같은 seq 가 다시 오면 나중 행이 우선)
      */
-    public void appendTranslated(Long meetIdx,
+    public MeetTranslation appendTranslated(Long meetIdx,
+            Long seq,
             String langCode,
             String translatedChunk) {
 
-        MeetTranslation translation = translationRepository.findByMeetIdxAndLangCode(meetIdx, langCode);
-
-        if (translation == null) {
-            translation = MeetTranslation.builder()
-                    .meetIdx(meetIdx)
-                    .langCode(langCode)
-                    .translated(translatedChunk)
-                    .build();
-        } else {
-            String old = translation.getTranslated();
-            if (old == null || old.isEmpty()) {
-                translation.setTranslated(translatedChunk);
-            } else {
-                translation.setTranslated(old + "\n" + translatedChunk);
-            }
-        }
+        MeetTranslation translation = MeetTranslation.builder()
+                .meetIdx(meetIdx)
+                .seq(seq)
+                .langCode(langCode)
+                .translated(translatedChunk)
+                .build();
 
-        translationRepository.save(translation);
+        return translationRepository.save(translation);
     }
 
     /**
-     * 전체 번역본 조회
+     * 전체 번역본 조회 (번역 행을 seq 순으로 이어붙임)
      */
     @Transactional(readOnly = true)
     public String getFullTranslation(Long meetIdx, String langCode) {
-        MeetTranslation translation = translationRepository.findByMeetIdxAndLangCode(meetIdx, langCode);
+        try (Stream<Object[]> rows = translationRepository.streamTranslated(meetIdx, langCode)) {
+            return join(rows.iterator(), 1);
+        }
+    }
 
-        if (translation == null || translation.getTranslated() == null) {
-            return "";
+    /**
+     * 원문 청크 순서대로, 번역이 있으면 번역 / 없으면 원문을 이어붙인 전체 본문
+     * (회의 종료·조회 시 Papago 를 다시 부르지 않는다)
+     */
+    @Transactional(readOnly = true)
+    public String buildTranslatedTranscript(Long meetIdx, String langCode) {
+        try (Stream<Object[]> rows = translationRepository.streamTranscriptWithTranslation(meetIdx, langCode)) {
+            return join(rows.iterator(), 2);
+        }
+    }
+
+    /**
+     * row[0] = seq, row[textColumn..] = 후보 텍스트 (뒤쪽 컬럼 우선, null 이면 앞 컬럼)
+     * 같은 seq 가 연속되면 마지막 행만 사용
+     */
+    private String join(Iterator<Object[]> rows, int textColumn) {
+        StringBuilder sb = new StringBuilder();
+        Long currentSeq = null;
+        String currentText = null;
+        boolean first = true;
+
+        while (rows.hasNext()) {
+            Object[] row = rows.next();
+            Long seq = (Long) row[0];
+            String text = pickText(row, textColumn);
+
+            if (first || seq == null || !seq.equals(currentSeq)) {
+                if (!first) {
+                    appendLine(sb, currentText);
+                }
+                currentText = text;
+            } else if (text != null) {
+                currentText = text; // 같은 seq 는 나중 행 우선
+            }
+            first = false;
+            currentSeq = seq;
+        }
+        if (!first) {
+            appendLine(sb, currentText);
+        }
+        return sb.toString();
+    }
+
+    private String pickText(Object[] row, int textColumn) {
+        for (int i = row.length - 1; i >= textColumn; i--) {
+            if (row[i] != null) {
+                return (String) row[i];
+            }
+        }
+        return null;
+    }
+
+    private void appendLine(StringBuilder sb, String text) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        if (sb.length() > 0) {
+            sb.append("\n");
         }
-        return translation.getTranslated();
+        sb.append(text);
     }
 }
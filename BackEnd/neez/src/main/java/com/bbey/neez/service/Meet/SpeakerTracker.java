@@ -0,0 +1,677 @@
+package com.bbey.neez.service.Meet;
+
+import com.bbey.neez.client.ClovaSpeechClient.SpeakerSegment;
+import com.bbey.neez.component.PcmAudio;
+import com.bbey.neez.component.Voiceprint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 청크 간 화자 라벨 통일 (스트리밍 모드)
+ *
+ * - Clova 화자 라벨은 요청마다 새로 매겨진다 → 청크 3 의 1번과 청크 4 의 1번이 다른 사람일 수 있음
+ * - 회의별로 전역 화자 목록(특징 벡터 centroid)을 유지하고, 청크가 도착할 때마다 그 청크의 지역 라벨만
+ *   전역 화자에 매칭한다 (청크 크기 × 전역 화자 수(max-speakers 이하)에 비례, 지난 청크는 다시 보지 않음)
+ * - 매칭 순서:
+ *   1) 특징 벡터(Voiceprint) cosine 유사도가 match-threshold 이상인 쌍을 높은 순으로 1:1 매칭
+ *   2) 청크 시작에서 말하던 화자 = index-1 청크 끝에서 말하던 화자 (continuity-ms 이내로 이어질 때)
+ *   3) 특징 벡터가 없으면(WAV 가 아닌 청크) index 가 바로 앞인 청크에서 같은 지역 라벨이 매칭된 전역 화자
+ *   4) 그래도 없으면 새 전역 화자 (max-speakers 에 도달했으면 가장 비슷한 화자)
+ * - 청크 offset / 경계 상태는 호출 순서가 아니라 청크 index 로 기록한다
+ *   (청크가 늦게 오거나 같은 index 가 다시 처리돼도 회의 시각과 연속성 판단이 밀리지 않음)
+ * - 청크 내 화자 턴은 mergeTurns 로 바로 만들고, 첫 턴이 index-1 청크의 마지막 턴에 이어지는지(continuesTurn)만 알려준다
+ * - 모델은 세션 spill 로그에 같이 기록되고(export / restore), 세션을 파일에서 다시 올릴 때 함께 복원된다
+ *   파일 없이 DB 에서 복원된 회의(재기동, 다른 노드)는 남은 segment 로 라벨 번호와 청크 offset 만 이어간다 (목소리 특징은 새로 학습)
+ * - 지표: meeting.speakers.models (gauge), meeting.speakers.assignments (tag method=voice|continuity|label|new),
+ *         meeting.speakers.restores (tag source=spill|history)
+ */
+@Component
+public class SpeakerTracker {
+
+    /** 특징 벡터를 만들 최소 발화 길이 */
+    private static final long MIN_VOICE_MS = 500;
+    /** centroid 갱신 시 기존 값의 최대 가중치 (ms) → 오래 말한 화자도 목소리 변화를 조금씩 따라간다 */
+    private static final double MAX_CENTROID_WEIGHT = 60_000;
+    /** export 형식 버전 */
+    private static final int STATE_VERSION = 2;
+    /** 청크별 상태를 남겨 둘 index 범위 (가장 큰 index 기준. 이보다 오래된 청크가 늦게 오면 offset 을 어림한다) */
+    static final int CHUNK_WINDOW = 64;
+
+    private final double matchThreshold;
+    private final double continuityThreshold;
+    private final long continuityMs;
+    private final int maxSpeakers;
+    private final long retentionMs;
+
+    private final ConcurrentMap<Long, SpeakerModel> models = new ConcurrentHashMap<>();
+    private final Map<String, Counter> assignments = new HashMap<>();
+    private final Counter spillRestores;
+    private final Counter historyRestores;
+
+    public SpeakerTracker(MeterRegistry meterRegistry,
+                          @Value("${app.meeting.speakers.match-threshold:0.85}") double matchThreshold,
+                          @Value("${app.meeting.speakers.continuity-threshold:0.6}") double continuityThreshold,
+                          @Value("${app.meeting.speakers.continuity-ms:1500}") long continuityMs,
+                          @Value("${app.meeting.speakers.max-speakers:10}") int maxSpeakers,
+                          @Value("${app.meeting.speakers.retention-ms:7200000}") long retentionMs) {
+        this.matchThreshold = matchThreshold;
+        this.continuityThreshold = continuityThreshold;
+        this.continuityMs = continuityMs;
+        this.maxSpeakers = Math.max(1, maxSpeakers);
+        this.retentionMs = retentionMs;
+
+        Gauge.builder("meeting.speakers.models", models, Map::size).register(meterRegistry);
+        for (String method : new String[]{"voice", "continuity", "label", "new"}) {
+            assignments.put(method, Counter.builder("meeting.speakers.assignments")
+                    .tag("method", method).register(meterRegistry));
+        }
+        this.spillRestores = Counter.builder("meeting.speakers.restores").tag("source", "spill").register(meterRegistry);
+        this.historyRestores = Counter.builder("meeting.speakers.restores").tag("source", "history").register(meterRegistry);
+    }
+
+    /**
+     * 지역 라벨별 특징 벡터 (STT 단계에서 계산, 회의 상태와 무관하므로 청크마다 병렬로 가능)
+     *
+     * @param pcm      STT 에 보낸 음성 (null 이면 빈 map)
+     * @param shiftMs  segment 시각에서 빼야 pcm 기준이 되는 값 (앞 무음을 잘라낸 길이)
+     */
+    public static Map<Integer, float[]> voiceprints(PcmAudio pcm, long shiftMs, List<SpeakerSegment> segments) {
+        if (pcm == null || segments == null || segments.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Integer, double[]> sums = new HashMap<>();
+        Map<Integer, int[]> frames = new HashMap<>();
+        Map<Integer, Long> speech = new HashMap<>();
+        for (SpeakerSegment seg : segments) {
+            if (seg.getSpeakerLabel() == null || seg.getStart() == null || seg.getEnd() == null) {
+                continue;
+            }
+            Integer label = seg.getSpeakerLabel();
+            double[] sum = sums.computeIfAbsent(label, k -> new double[Voiceprint.BANDS]);
+            frames.computeIfAbsent(label, k -> new int[1])[0] +=
+                    Voiceprint.accumulate(pcm, seg.getStart() - shiftMs, seg.getEnd() - shiftMs, sum);
+            speech.merge(label, seg.getEnd() - seg.getStart(), Long::sum);
+        }
+        Map<Integer, float[]> prints = new HashMap<>();
+        for (Map.Entry<Integer, double[]> e : sums.entrySet()) {
+            if (speech.get(e.getKey()) < MIN_VOICE_MS) {
+                continue;
+            }
+            float[] print = Voiceprint.finish(e.getValue(), frames.get(e.getKey())[0]);
+            if (print != null) {
+                prints.put(e.getKey(), print);
+            }
+        }
+        return prints;
+    }
+
+    /**
+     * 청크 한 건의 지역 라벨 → 전역 화자 라벨로 교체 (호출 순서는 index 순서와 달라도 된다)
+     *
+     * @param chunkIndex      청크 index (offset / 연속성 기준)
+     * @param chunkDurationMs 원본 청크 길이 (모르면 -1 → 마지막 발화 끝 시각으로 대신)
+     * @param history         이 노드에 모델이 없을 때만 호출 → 지금까지의 segment (청크 index 순)
+     */
+    public Assignment assign(Long meetingId, long chunkIndex, List<SpeakerSegment> segments,
+                             Map<Integer, float[]> prints, long chunkDurationMs,
+                             Supplier<List<MeetingSpeechStreamService.Segment>> history) {
+        SpeakerModel model = modelFor(meetingId, history);
+        synchronized (model) {
+            model.lastUsedAt = System.currentTimeMillis();
+            ChunkState previous = model.chunks.get(chunkIndex - 1);
+            if (segments == null || segments.isEmpty()) {
+                // 무음/빈 청크 → 다음 청크와의 화자 연속성은 끊긴다
+                long duration = Math.max(0, chunkDurationMs);
+                long offsetMs = model.offsetFor(chunkIndex, duration);
+                model.record(chunkIndex, new ChunkState(offsetMs, duration, null, false,
+                        Collections.<Integer, Integer>emptyMap()));
+                return new Assignment(Collections.<SpeakerSegment>emptyList(), offsetMs, false);
+            }
+
+            List<SpeakerSegment> ordered = new ArrayList<>(segments);
+            ordered.sort(Comparator.comparing(seg -> seg.getStart() != null ? seg.getStart() : 0L));
+
+            Map<Integer, Long> speechMs = new LinkedHashMap<>(); // 처음 등장 순
+            for (SpeakerSegment seg : ordered) {
+                if (seg.getSpeakerLabel() == null) {
+                    continue;
+                }
+                long ms = seg.getStart() != null && seg.getEnd() != null ? Math.max(0, seg.getEnd() - seg.getStart()) : 0;
+                speechMs.merge(seg.getSpeakerLabel(), ms, Long::sum);
+            }
+
+            Map<Integer, Integer> mapping = match(model, previous, ordered, speechMs.keySet(), prints);
+
+            // centroid 갱신
+            for (Map.Entry<Integer, Integer> e : mapping.entrySet()) {
+                GlobalSpeaker speaker = model.speakers.get(e.getValue());
+                speaker.lastUsedAt = model.lastUsedAt;
+                float[] print = prints.get(e.getKey());
+                if (print != null) {
+                    speaker.learn(print, speechMs.get(e.getKey()));
+                }
+            }
+
+            List<SpeakerSegment> relabeled = new ArrayList<>(ordered.size());
+            for (SpeakerSegment seg : ordered) {
+                Integer global = seg.getSpeakerLabel() != null ? mapping.get(seg.getSpeakerLabel()) : null;
+                relabeled.add(new SpeakerSegment(seg.getText(), global, seg.getStart(), seg.getEnd()));
+            }
+
+            SpeakerSegment first = relabeled.get(0);
+            SpeakerSegment last = relabeled.get(relabeled.size() - 1);
+            boolean continues = previous != null
+                    && previous.endedAtBoundary
+                    && first.getSpeakerLabel() != null
+                    && first.getSpeakerLabel().equals(previous.lastSpeaker)
+                    && startsAtBoundary(first);
+
+            long lastEnd = last.getEnd() != null ? last.getEnd() : 0L;
+            long duration = chunkDurationMs > 0 ? chunkDurationMs : lastEnd;
+            long offsetMs = model.offsetFor(chunkIndex, duration);
+            model.record(chunkIndex, new ChunkState(offsetMs, duration, last.getSpeakerLabel(),
+                    chunkDurationMs <= 0 || duration - lastEnd <= continuityMs, mapping));
+            return new Assignment(relabeled, offsetMs, continues);
+        }
+    }
+
+    /**
+     * 회의 모델 조회. 없으면 세션을 불러와 보고 (spill 로그에 있던 모델은 이때 restore 로 올라온다),
+     * 그래도 없으면 segment 기록으로 라벨 번호 / offset 을 이어받은 모델을 만든다
+     */
+    private SpeakerModel modelFor(Long meetingId, Supplier<List<MeetingSpeechStreamService.Segment>> history) {
+        SpeakerModel model = models.get(meetingId);
+        if (model != null) {
+            return model;
+        }
+        List<MeetingSpeechStreamService.Segment> previous = history != null ? history.get() : null;
+        model = models.get(meetingId);
+        if (model != null) {
+            return model;
+        }
+        SpeakerModel seeded = SpeakerModel.seed(previous);
+        SpeakerModel raced = models.putIfAbsent(meetingId, seeded);
+        if (raced != null) {
+            return raced;
+        }
+        if (!seeded.speakers.isEmpty() || !seeded.chunks.isEmpty()) {
+            historyRestores.increment();
+        }
+        return seeded;
+    }
+
+    /**
+     * @param previous index-1 청크 상태 (없으면 2) 3) 단계는 건너뜀)
+     */
+    private Map<Integer, Integer> match(SpeakerModel model, ChunkState previous, List<SpeakerSegment> ordered,
+                                        Set<Integer> locals, Map<Integer, float[]> prints) {
+        Map<Integer, Integer> mapping = new HashMap<>();
+        Set<Integer> taken = new HashSet<>();
+
+        // 1) 목소리 유사도 (높은 쌍부터 1:1)
+        List<double[]> pairs = new ArrayList<>();
+        for (Integer local : locals) {
+            float[] print = prints.get(local);
+            if (print == null) {
+                continue;
+            }
+            for (GlobalSpeaker g : model.speakers.values()) {
+                if (g.centroid == null) {
+                    continue;
+                }
+                double sim = Voiceprint.similarity(print, g.centroid);
+                if (sim >= matchThreshold) {
+                    pairs.add(new double[]{sim, local, g.id});
+                }
+            }
+        }
+        pairs.sort((a, b) -> Double.compare(b[0], a[0]));
+        for (double[] p : pairs) {
+            int local = (int) p[1];
+            int global = (int) p[2];
+            if (!mapping.containsKey(local) && !taken.contains(global)) {
+                mapping.put(local, global);
+                taken.add(global);
+                assignments.get("voice").increment();
+            }
+        }
+
+        // 2) 청크 경계에서 이어 말하는 화자
+        SpeakerSegment first = ordered.get(0);
+        Integer firstLocal = first.getSpeakerLabel();
+        if (firstLocal != null && !mapping.containsKey(firstLocal)
+                && previous != null && previous.endedAtBoundary && previous.lastSpeaker != null
+                && !taken.contains(previous.lastSpeaker) && startsAtBoundary(first)) {
+            GlobalSpeaker speaker = model.speakers.get(previous.lastSpeaker);
+            float[] print = prints.get(firstLocal);
+            if (speaker != null && (print == null || speaker.centroid == null
+                    || Voiceprint.similarity(print, speaker.centroid) >= continuityThreshold)) {
+                mapping.put(firstLocal, speaker.id);
+                taken.add(speaker.id);
+                assignments.get("continuity").increment();
+            }
+        }
+
+        for (Integer local : locals) {
+            if (mapping.containsKey(local)) {
+                continue;
+            }
+            float[] print = prints.get(local);
+            // 3) 목소리 정보가 없으면 index-1 청크의 같은 지역 라벨
+            Integer sameLabel = previous != null ? previous.localMapping.get(local) : null;
+            if (print == null && sameLabel != null && model.speakers.containsKey(sameLabel)
+                    && !taken.contains(sameLabel)) {
+                mapping.put(local, sameLabel);
+                taken.add(sameLabel);
+                assignments.get("label").increment();
+                continue;
+            }
+            // 4) 새 화자 (상한 도달 시 가장 비슷한 / 최근 화자)
+            GlobalSpeaker assigned = model.speakers.size() < maxSpeakers
+                    ? model.newSpeaker()
+                    : closest(model, print, taken);
+            mapping.put(local, assigned.id);
+            taken.add(assigned.id);
+            assignments.get("new").increment();
+        }
+        return mapping;
+    }
+
+    /**
+     * 화자 수 상한 도달 시: 목소리가 가장 비슷한 화자, 비교할 수 없으면 가장 최근에 말한 화자
+     * (이 청크에서 이미 쓴 화자는 다른 화자가 남아 있는 한 제외)
+     */
+    private static GlobalSpeaker closest(SpeakerModel model, float[] print, Set<Integer> taken) {
+        boolean allTaken = taken.size() >= model.speakers.size();
+        GlobalSpeaker bySimilarity = null;
+        GlobalSpeaker byRecency = null;
+        double bestSimilarity = Double.NEGATIVE_INFINITY;
+        for (GlobalSpeaker g : model.speakers.values()) {
+            if (taken.contains(g.id) && !allTaken) {
+                continue;
+            }
+            if (print != null && g.centroid != null) {
+                double sim = Voiceprint.similarity(print, g.centroid);
+                if (sim > bestSimilarity) {
+                    bestSimilarity = sim;
+                    bySimilarity = g;
+                }
+            }
+            if (byRecency == null || g.lastUsedAt > byRecency.lastUsedAt) {
+                byRecency = g;
+            }
+        }
+        GlobalSpeaker chosen = bySimilarity != null ? bySimilarity : byRecency;
+        chosen.lastUsedAt = System.currentTimeMillis();
+        return chosen;
+    }
+
+    private boolean startsAtBoundary(SpeakerSegment first) {
+        return first.getStart() == null || first.getStart() <= continuityMs;
+    }
+
+    /**
+     * 청크 안에서 같은 화자가 연달아 말한 구간을 한 턴으로 합친다 (offsetMs 를 더해 회의 기준 시각으로)
+     */
+    public static List<MeetingSpeechService.SpeakerTurn> mergeTurns(List<SpeakerSegment> segments, long offsetMs) {
+        if (segments == null || segments.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<SpeakerSegment> ordered = new ArrayList<>(segments);
+        ordered.sort(Comparator.comparing(seg -> seg.getStart() != null ? seg.getStart() : 0L));
+
+        List<MeetingSpeechService.SpeakerTurn> turns = new ArrayList<>();
+        StringBuilder currentText = new StringBuilder();
+        String currentSpeaker = null;
+        Long currentStart = null;
+        Long currentEnd = null;
+
+        for (SpeakerSegment segment : ordered) {
+            String label = toSpeakerLabel(segment.getSpeakerLabel());
+
+            if (!label.equals(currentSpeaker) && currentText.length() > 0) {
+                turns.add(new MeetingSpeechService.SpeakerTurn(currentSpeaker, currentText.toString().trim(),
+                        currentStart, currentEnd));
+                currentText.setLength(0);
+                currentStart = null;
+                currentEnd = null;
+            }
+
+            currentSpeaker = label;
+            if (currentStart == null) {
+                currentStart = shift(segment.getStart(), offsetMs);
+            }
+            currentEnd = shift(segment.getEnd(), offsetMs);
+
+            if (StringUtils.hasText(segment.getText())) {
+                if (currentText.length() > 0) {
+                    currentText.append(' ');
+                }
+                currentText.append(segment.getText().trim());
+            }
+        }
+
+        if (currentText.length() > 0) {
+            turns.add(new MeetingSpeechService.SpeakerTurn(currentSpeaker, currentText.toString().trim(),
+                    currentStart, currentEnd));
+        }
+        return turns;
+    }
+
+    private static Long shift(Long time, long offsetMs) {
+        return time != null ? time + offsetMs : null;
+    }
+
+    static String toSpeakerLabel(Integer label) {
+        if (label == null) {
+            return "UNKNOWN";
+        }
+        return "SPEAKER_" + label;
+    }
+
+    /**
+     * 세션 spill 로그에 같이 남길 모델 상태 (모델이 없으면 null)
+     */
+    public byte[] export(Long meetingId) {
+        SpeakerModel model = models.get(meetingId);
+        if (model == null) {
+            return null;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            synchronized (model) {
+                model.write(out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * spill 로그에서 읽은 모델 복원 (이미 모델이 있으면 그쪽이 최신이므로 무시)
+     */
+    public void restore(Long meetingId, byte[] state) {
+        if (state == null || models.containsKey(meetingId)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(state))) {
+            if (models.putIfAbsent(meetingId, SpeakerModel.read(in)) == null) {
+                spillRestores.increment();
+            }
+        } catch (IOException e) {
+            // 모델이 깨졌으면 segment 기록으로 이어받는 쪽으로
+        }
+    }
+
+    /**
+     * 회의 종료 시 화자 모델 정리
+     */
+    public void forget(Long meetingId) {
+        models.remove(meetingId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.meeting.speakers.cleanup-ms:600000}")
+    public void cleanup() {
+        long threshold = System.currentTimeMillis() - retentionMs;
+        models.values().removeIf(model -> model.lastUsedAt < threshold);
+    }
+
+    /**
+     * 청크 한 건의 라벨 교체 결과
+     */
+    public static final class Assignment {
+        private final List<SpeakerSegment> segments;
+        private final long offsetMs;
+        private final boolean continuesTurn;
+
+        private Assignment(List<SpeakerSegment> segments, long offsetMs, boolean continuesTurn) {
+            this.segments = segments;
+            this.offsetMs = offsetMs;
+            this.continuesTurn = continuesTurn;
+        }
+
+        /** 전역 라벨로 바뀐 화자 구간 (시각은 청크 기준 그대로) */
+        public List<SpeakerSegment> getSegments() {
+            return segments;
+        }
+
+        /** 청크 시작 시각 (회의 기준 ms) */
+        public long getOffsetMs() {
+            return offsetMs;
+        }
+
+        /** 첫 턴이 직전 청크 마지막 턴에 이어지는지 */
+        public boolean isContinuesTurn() {
+            return continuesTurn;
+        }
+    }
+
+    /** 청크 index 별 상태 (offset / 길이 / 끝 화자 / 경계까지 말했는지 / 지역 → 전역 라벨) */
+    private static final class ChunkState {
+        private final long offsetMs;
+        private final long durationMs;
+        private final Integer lastSpeaker;
+        private final boolean endedAtBoundary;
+        private final Map<Integer, Integer> localMapping;
+
+        private ChunkState(long offsetMs, long durationMs, Integer lastSpeaker, boolean endedAtBoundary,
+                           Map<Integer, Integer> localMapping) {
+            this.offsetMs = offsetMs;
+            this.durationMs = durationMs;
+            this.lastSpeaker = lastSpeaker;
+            this.endedAtBoundary = endedAtBoundary;
+            this.localMapping = localMapping;
+        }
+
+        private long endMs() {
+            return offsetMs + durationMs;
+        }
+    }
+
+    /** 회의별 화자 모델 */
+    private static final class SpeakerModel {
+        private final Map<Integer, GlobalSpeaker> speakers = new LinkedHashMap<>();
+        private final TreeMap<Long, ChunkState> chunks = new TreeMap<>();
+        private volatile long lastUsedAt = System.currentTimeMillis();
+
+        private GlobalSpeaker newSpeaker() {
+            GlobalSpeaker speaker = new GlobalSpeaker(speakers.size() + 1);
+            speakers.put(speaker.id, speaker);
+            return speaker;
+        }
+
+        /**
+         * 청크 시작 시각 (회의 기준)
+         * - 다시 처리된 index 는 처음 받은 자리 그대로
+         * - index-1 이 있으면 그 끝, index+1 이 있으면 그 시작에서 이 청크 길이만큼 앞
+         * - 사이가 비어 있으면 가까운 청크에서 빈 index 수 × 이 청크 길이로 어림한다
+         */
+        private long offsetFor(long index, long durationMs) {
+            ChunkState same = chunks.get(index);
+            if (same != null) {
+                return same.offsetMs;
+            }
+            Map.Entry<Long, ChunkState> lower = chunks.lowerEntry(index);
+            Map.Entry<Long, ChunkState> higher = chunks.higherEntry(index);
+            if (lower != null && (lower.getKey() == index - 1 || higher == null || higher.getKey() != index + 1)) {
+                return lower.getValue().endMs() + (index - lower.getKey() - 1) * durationMs;
+            }
+            if (higher != null) {
+                long offset = higher.getValue().offsetMs - (higher.getKey() - index) * durationMs;
+                return Math.max(lower != null ? lower.getValue().endMs() : 0L, offset);
+            }
+            return Math.max(0, index) * durationMs;
+        }
+
+        /** 청크 상태 기록 (가장 큰 index 에서 CHUNK_WINDOW 보다 먼 청크는 버린다) */
+        private void record(long index, ChunkState state) {
+            chunks.put(index, state);
+            chunks.headMap(chunks.lastKey() - CHUNK_WINDOW).clear();
+        }
+
+        /**
+         * 지난 segment 로 모델 시작점 만들기
+         * - 라벨: 지금까지 나온 가장 큰 전역 라벨까지 자리를 채워 새 화자가 그 다음 번호를 받게 한다 (목소리 특징은 없음)
+         * - 청크: 화자 시각이 있는 segment 는 offset ~ 마지막 발화 끝,
+         *         DB 에서만 온 segment(offset 없음)는 도착 시각 간격으로 청크 길이를 어림해 index 자리에 놓는다
+         * - 경계 상태는 알 수 없으므로 복원 직후 청크는 연속성 매칭을 하지 않는다
+         */
+        private static SpeakerModel seed(List<MeetingSpeechStreamService.Segment> history) {
+            SpeakerModel model = new SpeakerModel();
+            if (history == null || history.isEmpty()) {
+                return model;
+            }
+            int maxLabel = 0;
+            long firstReceived = Long.MAX_VALUE;
+            long lastReceived = Long.MIN_VALUE;
+            List<MeetingSpeechStreamService.Segment> untimed = new ArrayList<>();
+            for (MeetingSpeechStreamService.Segment segment : history) {
+                long lastEnd = 0;
+                Integer lastSpeaker = null;
+                for (SpeakerSegment seg : segment.getSpeakerSegments()) {
+                    if (seg.getSpeakerLabel() != null) {
+                        maxLabel = Math.max(maxLabel, seg.getSpeakerLabel());
+                        lastSpeaker = seg.getSpeakerLabel();
+                    }
+                    if (seg.getEnd() != null) {
+                        lastEnd = Math.max(lastEnd, seg.getEnd());
+                    }
+                }
+                if (segment.getOffsetMs() >= 0) {
+                    model.chunks.put(segment.getIndex(), new ChunkState(segment.getOffsetMs(), lastEnd, lastSpeaker,
+                            false, Collections.<Integer, Integer>emptyMap()));
+                } else if (segment.getReceivedAt() != null) {
+                    long at = segment.getReceivedAt().toEpochMilli();
+                    firstReceived = Math.min(firstReceived, at);
+                    lastReceived = Math.max(lastReceived, at);
+                    untimed.add(segment);
+                }
+            }
+            long chunkMs = untimed.size() > 1 ? (lastReceived - firstReceived) / (untimed.size() - 1) : 0;
+            for (MeetingSpeechStreamService.Segment segment : untimed) {
+                if (!model.chunks.containsKey(segment.getIndex())) {
+                    model.chunks.put(segment.getIndex(), new ChunkState(segment.getIndex() * chunkMs, chunkMs, null,
+                            false, Collections.<Integer, Integer>emptyMap()));
+                }
+            }
+            if (!model.chunks.isEmpty()) {
+                model.chunks.headMap(model.chunks.lastKey() - CHUNK_WINDOW).clear();
+            }
+            for (int i = 0; i < maxLabel; i++) {
+                model.newSpeaker();
+            }
+            return model;
+        }
+
+        private void write(DataOutputStream out) throws IOException {
+            out.writeInt(STATE_VERSION);
+            out.writeInt(chunks.size());
+            for (Map.Entry<Long, ChunkState> e : chunks.entrySet()) {
+                ChunkState chunk = e.getValue();
+                out.writeLong(e.getKey());
+                out.writeLong(chunk.offsetMs);
+                out.writeLong(chunk.durationMs);
+                out.writeInt(chunk.lastSpeaker != null ? chunk.lastSpeaker : Integer.MIN_VALUE);
+                out.writeBoolean(chunk.endedAtBoundary);
+                out.writeInt(chunk.localMapping.size());
+                for (Map.Entry<Integer, Integer> m : chunk.localMapping.entrySet()) {
+                    out.writeInt(m.getKey());
+                    out.writeInt(m.getValue());
+                }
+            }
+            out.writeInt(speakers.size());
+            for (GlobalSpeaker g : speakers.values()) {
+                out.writeInt(g.id);
+                out.writeDouble(g.weight);
+                out.writeLong(g.lastUsedAt);
+                out.writeInt(g.centroid != null ? g.centroid.length : -1);
+                if (g.centroid != null) {
+                    for (float v : g.centroid) {
+                        out.writeFloat(v);
+                    }
+                }
+            }
+        }
+
+        private static SpeakerModel read(DataInputStream in) throws IOException {
+            if (in.readInt() != STATE_VERSION) {
+                throw new IOException("unknown speaker model version");
+            }
+            SpeakerModel model = new SpeakerModel();
+            int chunkCount = in.readInt();
+            for (int i = 0; i < chunkCount; i++) {
+                long index = in.readLong();
+                long offsetMs = in.readLong();
+                long durationMs = in.readLong();
+                int lastSpeaker = in.readInt();
+                boolean endedAtBoundary = in.readBoolean();
+                int mappings = in.readInt();
+                Map<Integer, Integer> mapping = new HashMap<>();
+                for (int j = 0; j < mappings; j++) {
+                    mapping.put(in.readInt(), in.readInt());
+                }
+                model.chunks.put(index, new ChunkState(offsetMs, durationMs,
+                        lastSpeaker != Integer.MIN_VALUE ? lastSpeaker : null, endedAtBoundary, mapping));
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                GlobalSpeaker g = new GlobalSpeaker(in.readInt());
+                g.weight = in.readDouble();
+                g.lastUsedAt = in.readLong();
+                int length = in.readInt();
+                if (length >= 0) {
+                    g.centroid = new float[length];
+                    for (int j = 0; j < length; j++) {
+                        g.centroid[j] = in.readFloat();
+                    }
+                }
+                model.speakers.put(g.id, g);
+            }
+            return model;
+        }
+    }
+
+    private static final class GlobalSpeaker {
+        private final int id;
+        private float[] centroid;
+        private double weight;
+        private long lastUsedAt;
+
+        private GlobalSpeaker(int id) {
+            this.id = id;
+        }
+
+        private void learn(float[] print, long speechMs) {
+            double w = Math.max(1, speechMs);
+            centroid = centroid == null ? print : Voiceprint.blend(centroid, weight, print, w);
+            weight = Math.min(MAX_CENTROID_WEIGHT, weight + w);
+        }
+    }
+}
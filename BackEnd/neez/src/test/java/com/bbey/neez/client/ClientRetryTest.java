@@ -0,0 +1,74 @@
+package com.bbey.neez.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClientRetryTest {
+
+    @Test
+    void retriesOnlyFailuresBeforeTheServerDidAnyWork() {
+        assertTrue(ClientRetry.isTransient(requestError(new ConnectException("refused"))));
+        assertTrue(ClientRetry.isTransient(requestError(new IOException(new UnknownHostException("stt")))));
+        assertTrue(ClientRetry.isTransient(responseError(429)));
+        assertTrue(ClientRetry.isTransient(responseError(503)));
+    }
+
+    @Test
+    void doesNotRetryWhenTheServerMayHaveProcessedTheRequest() {
+        assertFalse(ClientRetry.isTransient(new TimeoutException()));
+        assertFalse(ClientRetry.isTransient(requestError(new IOException("Connection reset by peer"))));
+        assertFalse(ClientRetry.isTransient(responseError(500)));
+        assertFalse(ClientRetry.isTransient(responseError(502)));
+        assertFalse(ClientRetry.isTransient(responseError(504)));
+        assertFalse(ClientRetry.isTransient(responseError(400)));
+    }
+
+    @Test
+    void timeoutIsNotRetried() {
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.<String>never();
+        });
+
+        assertThrows(RuntimeException.class, () ->
+                ClientRetry.apply(call, Duration.ofMillis(20), 2, Duration.ofMillis(1)).block());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void serviceUnavailableIsRetriedUpToMaxRetries() {
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> calls.incrementAndGet() < 3
+                ? Mono.<String>error(responseError(503))
+                : Mono.just("ok"));
+
+        assertEquals("ok", ClientRetry.apply(call, Duration.ofSeconds(1), 2, Duration.ofMillis(1)).block());
+        assertEquals(3, calls.get());
+    }
+
+    private static WebClientRequestException requestError(Throwable cause) {
+        return new WebClientRequestException(cause, HttpMethod.POST, URI.create("http://localhost/stt"), new HttpHeaders());
+    }
+
+    private static WebClientResponseException responseError(int status) {
+        return WebClientResponseException.create(status, "error", new HttpHeaders(), new byte[0], null);
+    }
+}
@@ -0,0 +1,186 @@
+package com.bbey.neez.component;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AudioPreprocessorTest {
+
+    private static final int RATE = 16000;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void silentChunkIsSkipped() {
+        AudioPreprocessor preprocessor = preprocessor(300000);
+
+        AudioPreprocessor.Prepared prepared = preprocessor.prepare(
+                WavFixtures.pcm16(RATE, WavFixtures.noise(RATE, 1000, 0.0005, 1)));
+
+        assertFalse(prepared.hasSpeech());
+        assertNull(prepared.getAudio());
+        assertEquals(1000, prepared.getSourceDurationMs());
+        assertEquals(1.0, registry.get("audio.preprocess.skipped").counter().count());
+    }
+
+    @Test
+    void speechIsTrimmedToPaddedSpanWithLeadingTrim() {
+        // 2초 잡음(-65dBFS 안팎) 중 500~900ms 에 말소리 대신 440Hz 톤
+        float[] samples = WavFixtures.mix(WavFixtures.noise(RATE, 2000, 0.001, 2),
+                WavFixtures.tone(RATE, 400, 440, 0.3), RATE, 500);
+
+        AudioPreprocessor.Prepared prepared = preprocessor(300000).prepare(WavFixtures.pcm16(RATE, samples));
+
+        assertTrue(prepared.hasSpeech());
+        // 앞뒤로 pad 200ms 를 남긴다 → 300 ~ 1100ms
+        assertEquals(300, prepared.getLeadingTrimMs());
+        assertEquals(800, prepared.getDurationMs());
+        assertEquals(2000, prepared.getSourceDurationMs());
+        assertEquals(800 * RATE / 1000, prepared.getPcm().getSamples().length);
+        assertEquals(0.3f, peak(prepared.getPcm().getSamples()), 0.01f);
+    }
+
+    @Test
+    void speechTouchingTheEndKeepsTailSamples() {
+        float[] samples = WavFixtures.mix(WavFixtures.noise(RATE, 1010, 0.001, 3),
+                WavFixtures.tone(RATE, 510, 440, 0.3), RATE, 500);
+
+        AudioPreprocessor.Prepared prepared = preprocessor(300000).prepare(WavFixtures.pcm16(RATE, samples));
+
+        assertEquals(300, prepared.getLeadingTrimMs());
+        assertEquals(samples.length - 300 * RATE / 1000, prepared.getPcm().getSamples().length);
+    }
+
+    @Test
+    void continuousSpeechIsNotTrimmed() {
+        // 잡음 바닥이 말소리 수준이어도 -30dBFS 이상이면 발화
+        float[] samples = WavFixtures.tone(RATE, 1000, 300, 0.2);
+
+        AudioPreprocessor.Prepared prepared = preprocessor(300000).prepare(WavFixtures.pcm16(RATE, samples));
+
+        assertTrue(prepared.hasSpeech());
+        assertEquals(0, prepared.getLeadingTrimMs());
+        assertEquals(1000, prepared.getDurationMs());
+    }
+
+    @Test
+    void speechThresholdsFollowNoiseFloorAndAbsoluteFloor() {
+        float[] noise = WavFixtures.noise(RATE, 2000, 0.0003, 4);
+        // 피크 0.014 ≈ RMS -40dBFS: 잡음 바닥 + margin 과 floor(-50) 모두 넘음
+        float[] quiet = WavFixtures.mix(noise, WavFixtures.tone(RATE, 600, 440, 0.014), RATE, 700);
+        // 피크 0.0025 ≈ RMS -55dBFS: 잡음보다 크지만 floor(-50) 아래
+        float[] tooQuiet = WavFixtures.mix(noise, WavFixtures.tone(RATE, 600, 440, 0.0025), RATE, 700);
+        // 발화가 min-speech-ms(200) 보다 짧음
+        float[] tooShort = WavFixtures.mix(noise, WavFixtures.tone(RATE, 100, 440, 0.3), RATE, 700);
+
+        AudioPreprocessor preprocessor = preprocessor(300000);
+
+        assertTrue(preprocessor.prepare(WavFixtures.pcm16(RATE, quiet)).hasSpeech());
+        assertFalse(preprocessor.prepare(WavFixtures.pcm16(RATE, tooQuiet)).hasSpeech());
+        assertFalse(preprocessor.prepare(WavFixtures.pcm16(RATE, tooShort)).hasSpeech());
+    }
+
+    @Test
+    void stereoHighRateInputIsDownmixedAndResampled() {
+        int rate = 48000;
+        float[] left = WavFixtures.tone(rate, 1000, 440, 0.4);
+        float[] stereo = new float[left.length * 2];
+        for (int i = 0; i < left.length; i++) {
+            stereo[2 * i] = left[i];
+            stereo[2 * i + 1] = -left[i]; // 반대 위상 → 모노로 합치면 0
+        }
+        float[] sameSide = new float[left.length * 2];
+        for (int i = 0; i < left.length; i++) {
+            sameSide[2 * i] = left[i];
+            sameSide[2 * i + 1] = left[i];
+        }
+        AudioPreprocessor preprocessor = preprocessor(300000);
+
+        AudioPreprocessor.Prepared cancelled = preprocessor.prepare(
+                WavFixtures.wav(WavFixtures.FORMAT_PCM, 24, 2, rate, stereo));
+        AudioPreprocessor.Prepared prepared = preprocessor.prepare(
+                WavFixtures.wav(WavFixtures.FORMAT_FLOAT, 32, 2, rate, sameSide));
+
+        assertFalse(cancelled.hasSpeech());
+        assertTrue(prepared.hasSpeech());
+        assertEquals(RATE, prepared.getPcm().getSampleRate());
+        assertEquals(RATE, prepared.getPcm().getSamples().length);
+        assertEquals("audio.wav", prepared.getAudio().getFilename());
+    }
+
+    @Test
+    void nonWavBytesPassThroughUnchanged() throws IOException {
+        byte[] webm = {0x1A, 0x45, (byte) 0xDF, (byte) 0xA3, 1, 2, 3, 4};
+
+        AudioPreprocessor.Prepared prepared = preprocessor(300000).prepare(webm);
+
+        assertTrue(prepared.hasSpeech());
+        assertNull(prepared.getPcm());
+        assertEquals(-1, prepared.getDurationMs());
+        assertEquals(-1, prepared.getSourceDurationMs());
+        assertArrayEquals(webm, read(prepared));
+        assertEquals(1.0, registry.get("audio.preprocess.passthrough").counter().count());
+    }
+
+    @Test
+    void filesAreParsedFromDiskAndNonWavFilesPassThrough(@TempDir Path dir) throws IOException {
+        Path wav = dir.resolve("chunk.wav");
+        Files.write(wav, WavFixtures.pcm16(RATE, WavFixtures.mix(WavFixtures.noise(RATE, 2000, 0.001, 5),
+                WavFixtures.tone(RATE, 400, 440, 0.3), RATE, 500)));
+        Path webm = dir.resolve("chunk.webm");
+        Files.write(webm, new byte[]{0x1A, 0x45, (byte) 0xDF, (byte) 0xA3, 9, 9});
+        AudioPreprocessor preprocessor = preprocessor(300000);
+
+        AudioPreprocessor.Prepared fromWav = preprocessor.prepare(wav);
+        AudioPreprocessor.Prepared fromWebm = preprocessor.prepare(webm);
+
+        assertEquals(300, fromWav.getLeadingTrimMs());
+        assertEquals(800, fromWav.getDurationMs());
+        assertTrue(fromWebm.getAudio() instanceof FileSystemResource);
+        assertEquals(webm, ((FileSystemResource) fromWebm.getAudio()).getFile().toPath());
+    }
+
+    @Test
+    void wavLongerThanDecodeCapPassesThroughWithHeaderDuration(@TempDir Path dir) throws IOException {
+        Path wav = dir.resolve("long.wav");
+        Files.write(wav, WavFixtures.pcm16(RATE, WavFixtures.noise(RATE, 1000, 0.0005, 6)));
+
+        AudioPreprocessor.Prepared prepared = preprocessor(500).prepare(wav);
+
+        assertTrue(prepared.hasSpeech());
+        assertNull(prepared.getPcm());
+        assertEquals(1000, prepared.getSourceDurationMs());
+        assertTrue(prepared.getAudio() instanceof FileSystemResource);
+    }
+
+    private AudioPreprocessor preprocessor(long maxDecodeMs) {
+        return new AudioPreprocessor(registry, true, RATE, -50, 10, 200, 200, maxDecodeMs);
+    }
+
+    private static byte[] read(AudioPreprocessor.Prepared prepared) throws IOException {
+        try (InputStream in = prepared.getAudio().getInputStream()) {
+            return StreamUtils.copyToByteArray(in);
+        }
+    }
+
+    private static float peak(float[] samples) {
+        float max = 0f;
+        for (float s : samples) {
+            max = Math.max(max, Math.abs(s));
+        }
+        return max;
+    }
+}
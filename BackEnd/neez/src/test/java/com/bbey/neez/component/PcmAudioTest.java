@@ -0,0 +1,146 @@
+package com.bbey.neez.component;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PcmAudioTest {
+
+    private static final float[] VALUES = {0f, 0.5f, -0.5f, 0.25f};
+
+    @Test
+    void parsesIntegerPcmOfEverySupportedWidth() {
+        for (int bits : new int[]{8, 16, 24, 32}) {
+            PcmAudio pcm = PcmAudio.parseWav(WavFixtures.wav(WavFixtures.FORMAT_PCM, bits, 1, 8000, VALUES));
+
+            assertNotNull(pcm, bits + "bit");
+            assertEquals(8000, pcm.getSampleRate());
+            // 8bit 는 1/128 단위라 오차가 가장 크다
+            assertArrayEquals(VALUES, pcm.getSamples(), 0.01f, bits + "bit");
+        }
+    }
+
+    @Test
+    void parsesFloat32() {
+        PcmAudio pcm = PcmAudio.parseWav(WavFixtures.wav(WavFixtures.FORMAT_FLOAT, 32, 1, 8000, VALUES));
+
+        assertArrayEquals(VALUES, pcm.getSamples(), 0f);
+    }
+
+    @Test
+    void parsesExtensibleFormatBySubFormat() {
+        byte[] pcm24 = new WavFixtures.Builder(WavFixtures.FORMAT_PCM, 24, 1, 8000)
+                .extensible().data(VALUES).build();
+        byte[] float32 = new WavFixtures.Builder(WavFixtures.FORMAT_FLOAT, 32, 1, 8000)
+                .extensible().data(VALUES).build();
+
+        assertArrayEquals(VALUES, PcmAudio.parseWav(pcm24).getSamples(), 1e-4f);
+        assertArrayEquals(VALUES, PcmAudio.parseWav(float32).getSamples(), 0f);
+    }
+
+    @Test
+    void unknownDataSizeReadsToEndOfFile() {
+        for (int sizeField : new int[]{0, 0xFFFFFFFF}) {
+            byte[] wav = new WavFixtures.Builder(WavFixtures.FORMAT_PCM, 16, 1, 8000)
+                    .dataSizeField(sizeField).data(VALUES).build();
+
+            PcmAudio pcm = PcmAudio.parseWav(wav);
+
+            assertEquals(VALUES.length, pcm.getSamples().length, "size=" + sizeField);
+            assertArrayEquals(VALUES, pcm.getSamples(), 1e-4f);
+        }
+    }
+
+    @Test
+    void skipsOddSizedChunkWithPadByte() {
+        byte[] wav = new WavFixtures.Builder(WavFixtures.FORMAT_PCM, 16, 1, 8000)
+                .chunk("LIST", new byte[]{1, 2, 3})
+                .data(VALUES).build();
+
+        assertArrayEquals(VALUES, PcmAudio.parseWav(wav).getSamples(), 1e-4f);
+    }
+
+    @Test
+    void downmixesChannelsByAverage() {
+        // L/R 인터리브: (0.5, -0.5) → 0, (0.5, 0.5) → 0.5, (1, 0) → 0.5
+        float[] stereo = {0.5f, -0.5f, 0.5f, 0.5f, 1f, 0f};
+
+        PcmAudio pcm = PcmAudio.parseWav(WavFixtures.wav(WavFixtures.FORMAT_PCM, 16, 2, 8000, stereo));
+
+        assertArrayEquals(new float[]{0f, 0.5f, 0.5f}, pcm.getSamples(), 1e-4f);
+    }
+
+    @Test
+    void returnsNullForNonWavOrUnsupportedFormat() {
+        byte[] webm = new byte[64];
+        webm[0] = 0x1A;
+        webm[1] = 0x45;
+        webm[2] = (byte) 0xDF;
+        webm[3] = (byte) 0xA3;
+        byte[] alaw = WavFixtures.wav(6, 8, 1, 8000, VALUES);
+        byte[] pcm12 = WavFixtures.wav(WavFixtures.FORMAT_PCM, 16, 1, 8000, VALUES);
+        pcm12[34] = 12; // bits per sample
+
+        assertNull(PcmAudio.parseWav(webm));
+        assertNull(PcmAudio.parseWav(new byte[10]));
+        assertNull(PcmAudio.parseWav((byte[]) null));
+        assertNull(PcmAudio.parseWav(alaw));
+        assertNull(PcmAudio.parseWav(pcm12));
+    }
+
+    @Test
+    void downsamplingAveragesAndKeepsDuration() {
+        float[] constant = new float[4800];
+        Arrays.fill(constant, 0.25f);
+
+        PcmAudio out = new PcmAudio(constant, 48000).resample(16000);
+
+        assertEquals(16000, out.getSampleRate());
+        assertEquals(1600, out.getSamples().length);
+        assertEquals(100, out.durationMs());
+        for (float s : out.getSamples()) {
+            assertEquals(0.25f, s, 1e-6f);
+        }
+        // 3:1 이면 연속된 세 샘플의 평균
+        PcmAudio ramp = new PcmAudio(new float[]{0f, 0.3f, 0.6f, 0.9f, 0.9f, 0.9f}, 48000).resample(16000);
+        assertArrayEquals(new float[]{0.3f, 0.9f}, ramp.getSamples(), 1e-6f);
+    }
+
+    @Test
+    void upsamplingInterpolatesLinearly() {
+        PcmAudio out = new PcmAudio(new float[]{0f, 1f, 0f}, 8000).resample(16000);
+
+        assertArrayEquals(new float[]{0f, 0.5f, 1f, 0.5f, 0f, 0f}, out.getSamples(), 1e-6f);
+    }
+
+    @Test
+    void decodeToTargetRateMatchesDecodeThenResample() {
+        float[] stereo = WavFixtures.noise(44100, 50, 0.8, 7);
+        ByteBuffer source = ByteBuffer.wrap(WavFixtures.wav(WavFixtures.FORMAT_PCM, 24, 2, 44100, stereo));
+        PcmAudio.WavLayout layout = PcmAudio.WavLayout.parse(source);
+
+        for (int target : new int[]{16000, 48000, 44100}) {
+            PcmAudio expected = layout.decode(source, 100, 900).resample(target);
+            PcmAudio actual = layout.decode(source, 100, 900, target);
+
+            assertEquals(expected.getSampleRate(), actual.getSampleRate());
+            assertArrayEquals(expected.getSamples(), actual.getSamples(), 1e-6f, "target=" + target);
+        }
+    }
+
+    @Test
+    void toWavRoundTrips() {
+        PcmAudio pcm = new PcmAudio(VALUES, 16000);
+
+        PcmAudio back = PcmAudio.parseWav(pcm.toWav());
+
+        assertEquals(16000, back.getSampleRate());
+        assertArrayEquals(VALUES, back.getSamples(), 1e-4f);
+    }
+}
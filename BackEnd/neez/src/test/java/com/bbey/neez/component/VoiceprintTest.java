@@ -0,0 +1,98 @@
+package com.bbey.neez.component;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VoiceprintTest {
+
+    private static final int RATE = 16000;
+
+    // 저음 위주 / 고음 위주 목소리 흉내 (배음 구성이 다름)
+    private static final double[] LOW_VOICE = {180, 360, 540, 720};
+    private static final double[] HIGH_VOICE = {1400, 2100, 2800, 3500};
+
+    @Test
+    void sameVoiceIsSimilarRegardlessOfLoudness() {
+        float[] quiet = print(tone(LOW_VOICE, 0.05, 1000, 0.0));
+        float[] loud = print(tone(LOW_VOICE, 0.5, 1000, 1.3));
+
+        assertTrue(Voiceprint.similarity(quiet, loud) > 0.95);
+    }
+
+    @Test
+    void differentVoicesAreFarApart() {
+        float[] low = print(tone(LOW_VOICE, 0.3, 1000, 0.0));
+        float[] high = print(tone(HIGH_VOICE, 0.3, 1000, 0.0));
+
+        assertTrue(Voiceprint.similarity(low, high) < 0.5);
+    }
+
+    @Test
+    void printIsUnitLength() {
+        float[] print = print(tone(HIGH_VOICE, 0.3, 600, 0.0));
+
+        assertEquals(Voiceprint.BANDS, print.length);
+        assertEquals(1.0, Voiceprint.similarity(print, print), 1e-5);
+    }
+
+    @Test
+    void silentFramesAreSkipped() {
+        PcmAudio silence = new PcmAudio(new float[RATE], RATE);
+        double[] sum = new double[Voiceprint.BANDS];
+
+        assertEquals(0, Voiceprint.accumulate(silence, 0, 1000, sum));
+        assertNull(Voiceprint.finish(sum, 0));
+    }
+
+    @Test
+    void accumulateOnlyReadsRequestedRange() {
+        // 앞 500ms 무음 + 뒤 500ms 음성
+        float[] samples = new float[RATE];
+        float[] voice = tone(LOW_VOICE, 0.3, 500, 0.0);
+        System.arraycopy(voice, 0, samples, RATE / 2, voice.length);
+        PcmAudio pcm = new PcmAudio(samples, RATE);
+
+        assertEquals(0, Voiceprint.accumulate(pcm, 0, 500, new double[Voiceprint.BANDS]));
+        assertTrue(Voiceprint.accumulate(pcm, 500, 1000, new double[Voiceprint.BANDS]) > 0);
+        // 범위가 pcm 밖으로 나가도 안쪽만 읽는다
+        assertTrue(Voiceprint.accumulate(pcm, 500, 5000, new double[Voiceprint.BANDS]) > 0);
+    }
+
+    @Test
+    void blendMovesTowardSampleAndStaysNormalized() {
+        float[] low = print(tone(LOW_VOICE, 0.3, 1000, 0.0));
+        float[] high = print(tone(HIGH_VOICE, 0.3, 1000, 0.0));
+
+        float[] mostlyLow = Voiceprint.blend(low, 9, high, 1);
+
+        assertEquals(1.0, Voiceprint.similarity(mostlyLow, mostlyLow), 1e-5);
+        assertTrue(Voiceprint.similarity(mostlyLow, low) > Voiceprint.similarity(mostlyLow, high));
+        assertTrue(Voiceprint.similarity(mostlyLow, high) > Voiceprint.similarity(low, high));
+    }
+
+    private static float[] print(float[] samples) {
+        PcmAudio pcm = new PcmAudio(samples, RATE);
+        double[] sum = new double[Voiceprint.BANDS];
+        int frames = Voiceprint.accumulate(pcm, 0, samples.length * 1000L / RATE, sum);
+        float[] print = Voiceprint.finish(sum, frames);
+        assertNotNull(print);
+        return print;
+    }
+
+    private static float[] tone(double[] harmonics, double amplitude, int ms, double phase) {
+        float[] out = new float[RATE * ms / 1000];
+        for (int i = 0; i < out.length; i++) {
+            double v = 0;
+            for (int h = 0; h < harmonics.length; h++) {
+                // 배음이 올라갈수록 약하게
+                v += Math.sin(2 * Math.PI * harmonics[h] * i / RATE + phase * (h + 1)) / (h + 1);
+            }
+            out[i] = (float) (amplitude * v / 2);
+        }
+        return out;
+    }
+}
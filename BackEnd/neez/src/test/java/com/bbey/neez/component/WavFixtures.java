@@ -0,0 +1,169 @@
+package com.bbey.neez.component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+/**
+ * 테스트용 합성 WAV
+ */
+final class WavFixtures {
+
+    static final int FORMAT_PCM = 1;
+    static final int FORMAT_FLOAT = 3;
+    static final int FORMAT_EXTENSIBLE = 0xFFFE;
+
+    private WavFixtures() {
+    }
+
+    /**
+     * 채널 인터리브된 샘플(-1 ~ 1)을 지정한 형식으로 인코딩
+     */
+    static byte[] wav(int format, int bits, int channels, int sampleRate, float[] interleaved) {
+        return new Builder(format, bits, channels, sampleRate).data(interleaved).build();
+    }
+
+    static byte[] pcm16(int sampleRate, float[] mono) {
+        return wav(FORMAT_PCM, 16, 1, sampleRate, mono);
+    }
+
+    /**
+     * 사인파 (amplitude 는 피크 값)
+     */
+    static float[] tone(int sampleRate, long ms, double hz, double amplitude) {
+        float[] out = new float[(int) (sampleRate * ms / 1000)];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = (float) (amplitude * Math.sin(2 * Math.PI * hz * i / sampleRate));
+        }
+        return out;
+    }
+
+    static float[] noise(int sampleRate, long ms, double amplitude, long seed) {
+        Random random = new Random(seed);
+        float[] out = new float[(int) (sampleRate * ms / 1000)];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = (float) ((random.nextDouble() * 2 - 1) * amplitude);
+        }
+        return out;
+    }
+
+    /**
+     * base 의 [fromMs, fromMs + overlay 길이) 구간에 overlay 를 더한다
+     */
+    static float[] mix(float[] base, float[] overlay, int sampleRate, long fromMs) {
+        float[] out = base.clone();
+        int from = (int) (sampleRate * fromMs / 1000);
+        for (int i = 0; i < overlay.length && from + i < out.length; i++) {
+            out[from + i] += overlay[i];
+        }
+        return out;
+    }
+
+    static final class Builder {
+        private final int format;
+        private final int bits;
+        private final int channels;
+        private final int sampleRate;
+        private final ByteArrayOutputStream chunks = new ByteArrayOutputStream();
+        private boolean extensible;
+        private Integer dataSizeField;
+        private float[] samples = new float[0];
+
+        Builder(int format, int bits, int channels, int sampleRate) {
+            this.format = format;
+            this.bits = bits;
+            this.channels = channels;
+            this.sampleRate = sampleRate;
+        }
+
+        /** fmt 을 WAVE_FORMAT_EXTENSIBLE 로 쓰고 실제 포맷은 sub format GUID 에 */
+        Builder extensible() {
+            this.extensible = true;
+            return this;
+        }
+
+        /** data 청크 크기 필드를 실제 길이 대신 이 값으로 (스트리밍 녹음 흉내) */
+        Builder dataSizeField(int value) {
+            this.dataSizeField = value;
+            return this;
+        }
+
+        /** fmt 과 data 사이에 임의 청크 (홀수 크기면 패딩 바이트도 붙인다) */
+        Builder chunk(String id, byte[] body) {
+            ByteBuffer head = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+            head.put(ascii(id)).putInt(body.length);
+            chunks.write(head.array(), 0, 8);
+            chunks.write(body, 0, body.length);
+            if ((body.length & 1) == 1) {
+                chunks.write(0);
+            }
+            return this;
+        }
+
+        Builder data(float[] interleaved) {
+            this.samples = interleaved;
+            return this;
+        }
+
+        byte[] build() {
+            int bytesPerSample = bits / 8;
+            byte[] data = encode(samples, bytesPerSample);
+            int fmtSize = extensible ? 40 : 16;
+            byte[] extra = chunks.toByteArray();
+            ByteBuffer buf = ByteBuffer.allocate(12 + 8 + fmtSize + extra.length + 8 + data.length)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            buf.put(ascii("RIFF")).putInt(buf.capacity() - 8).put(ascii("WAVE"));
+            buf.put(ascii("fmt ")).putInt(fmtSize)
+                    .putShort((short) (extensible ? FORMAT_EXTENSIBLE : format))
+                    .putShort((short) channels)
+                    .putInt(sampleRate)
+                    .putInt(sampleRate * bytesPerSample * channels)
+                    .putShort((short) (bytesPerSample * channels))
+                    .putShort((short) bits);
+            if (extensible) {
+                buf.putShort((short) 22).putShort((short) bits).putInt(0);
+                // sub format GUID: 앞 2바이트가 포맷, 나머지는 KSDATAFORMAT 고정값 (파서는 보지 않음)
+                buf.putShort((short) format).put(new byte[14]);
+            }
+            buf.put(extra);
+            buf.put(ascii("data")).putInt(dataSizeField != null ? dataSizeField : data.length);
+            buf.put(data);
+            return buf.array();
+        }
+
+        private byte[] encode(float[] values, int bytesPerSample) {
+            ByteBuffer out = ByteBuffer.allocate(values.length * bytesPerSample).order(ByteOrder.LITTLE_ENDIAN);
+            for (float v : values) {
+                if (format == FORMAT_FLOAT) {
+                    out.putFloat(v);
+                    continue;
+                }
+                switch (bits) {
+                    case 8:
+                        out.put((byte) (Math.round(v * 127f) + 128));
+                        break;
+                    case 16:
+                        out.putShort((short) Math.round(v * 32767f));
+                        break;
+                    case 24: {
+                        int s = Math.round(v * 8388607f);
+                        out.put((byte) s).put((byte) (s >> 8)).put((byte) (s >> 16));
+                        break;
+                    }
+                    default:
+                        out.putInt((int) Math.round(v * 2147483647.0));
+                }
+            }
+            return out.array();
+        }
+    }
+
+    private static byte[] ascii(String s) {
+        byte[] out = new byte[s.length()];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = (byte) s.charAt(i);
+        }
+        return out;
+    }
+}
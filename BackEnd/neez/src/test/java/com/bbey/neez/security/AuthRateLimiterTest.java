@@ -0,0 +1,63 @@
+package com.bbey.neez.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthRateLimiterTest {
+
+    @Test
+    void policyMatchesTrailingSlashAndSubPaths() {
+        AuthRateLimiter limiter = newLimiter(false, 1);
+
+        assertEquals(AuthRateLimiter.Policy.LOGIN, limiter.policyFor(post("/api/auth/login")));
+        assertEquals(AuthRateLimiter.Policy.LOGIN, limiter.policyFor(post("/api/auth/login/")));
+        assertEquals(AuthRateLimiter.Policy.FORGOT_PASSWORD, limiter.policyFor(post("/api/auth/forgot-password/")));
+        assertEquals(AuthRateLimiter.Policy.CHECK, limiter.policyFor(post("/api/auth/check-email/")));
+        assertNull(limiter.policyFor(post("/api/auth/refresh")));
+        assertNull(limiter.policyFor(post("/api/auth/login-history")));
+    }
+
+    @Test
+    void clientIpUsesRightmostProxyAppendedHop() {
+        MockHttpServletRequest request = post("/api/auth/login");
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader("X-Forwarded-For", "6.6.6.6, 203.0.113.7");
+
+        assertEquals("203.0.113.7", newLimiter(true, 1).clientIp(request));
+        assertEquals("6.6.6.6", newLimiter(true, 2).clientIp(request));
+        assertEquals("10.0.0.1", newLimiter(true, 3).clientIp(request));
+        assertEquals("10.0.0.1", newLimiter(false, 1).clientIp(request));
+    }
+
+    @Test
+    void spoofedLeftmostForwardedForDoesNotResetIpLimit() {
+        AuthRateLimiter limiter = newLimiter(true, 1);
+        for (int i = 0; i < 30; i++) {
+            assertTrue(limiter.allowIp(AuthRateLimiter.Policy.LOGIN, forwarded("1.0.0." + i + ", 203.0.113.7")));
+        }
+        assertFalse(limiter.allowIp(AuthRateLimiter.Policy.LOGIN, forwarded("9.9.9.9, 203.0.113.7")));
+    }
+
+    private static AuthRateLimiter newLimiter(boolean trustForwarded, int trustedHops) {
+        return new AuthRateLimiter(new SimpleMeterRegistry(), true, trustForwarded, trustedHops,
+                60_000L, 64, 100_000, 30, 10, 10, 3, 60);
+    }
+
+    private static MockHttpServletRequest forwarded(String header) {
+        MockHttpServletRequest request = post("/api/auth/login");
+        request.addHeader("X-Forwarded-For", header);
+        return request;
+    }
+
+    private static MockHttpServletRequest post(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setServletPath(path);
+        return request;
+    }
+}
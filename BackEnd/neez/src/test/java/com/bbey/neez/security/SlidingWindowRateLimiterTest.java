@@ -0,0 +1,96 @@
+package com.bbey.neez.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlidingWindowRateLimiterTest {
+
+    private static final long WINDOW = 1000L;
+    // 창 10 의 시작
+    private static final long T0 = 10_000L;
+
+    @Test
+    void allowsUpToLimitWithinOneWindow() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(4, 1000);
+
+        assertEquals(10, acquire(limiter, "login|ip", "1.1.1.1", 10, T0, 20));
+        assertFalse(limiter.tryAcquire("login|ip", "1.1.1.1", 10, WINDOW, T0 + 999));
+    }
+
+    @Test
+    void weighsPreviousWindowByRemainingFraction() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(4, 1000);
+        acquire(limiter, "login|ip", "1.1.1.1", 10, T0, 10);
+
+        // 다음 창의 절반 지점 → 직전 10건 * 0.5 = 5 → 5건 더
+        assertEquals(5, acquire(limiter, "login|ip", "1.1.1.1", 10, T0 + 1500, 20));
+    }
+
+    @Test
+    void resetsAfterTwoIdleWindows() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(4, 1000);
+        acquire(limiter, "login|ip", "1.1.1.1", 10, T0, 10);
+
+        assertEquals(10, acquire(limiter, "login|ip", "1.1.1.1", 10, T0 + 2 * WINDOW, 20));
+    }
+
+    @Test
+    void rejectedRequestsAreNotCounted() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(4, 1000);
+        acquire(limiter, "login|ip", "1.1.1.1", 2, T0, 100);
+
+        // 거절된 98건이 쌓였다면 다음 창 끝까지 막혀야 한다
+        assertTrue(limiter.tryAcquire("login|ip", "1.1.1.1", 2, WINDOW, T0 + 1999));
+    }
+
+    @Test
+    void keysAreSeparatedByGroupAndKey() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(4, 1000);
+        acquire(limiter, "login|ip", "1.1.1.1", 1, T0, 1);
+
+        assertFalse(limiter.tryAcquire("login|ip", "1.1.1.1", 1, WINDOW, T0));
+        assertTrue(limiter.tryAcquire("login|ip", "2.2.2.2", 1, WINDOW, T0));
+        assertTrue(limiter.tryAcquire("login|user", "1.1.1.1", 1, WINDOW, T0));
+        assertTrue(limiter.tryAcquire("check|ip", "1.1.1.1", 1, WINDOW, T0));
+    }
+
+    @Test
+    void overflowCounterIsSharedOnlyWithinGroup() {
+        // stripe 2개, stripe 당 키 1개 → 나머지 새 키는 overflow 카운터로
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(2, 2);
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire("check|ip", "10.0.0." + i, 1, WINDOW, T0);
+        }
+
+        // check 쪽 overflow 는 소진 → 새 키는 거절
+        assertFalse(limiter.tryAcquire("check|ip", "10.0.1.1", 1, WINDOW, T0));
+        // 다른 정책의 새 키는 자기 overflow 카운터를 쓴다
+        assertTrue(limiter.tryAcquire("login|ip", "10.0.1.1", 1, WINDOW, T0));
+        assertTrue(limiter.size() <= 2 + 2 * 2);
+    }
+
+    @Test
+    void evictIdleRemovesKeysQuietForTwoWindows() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(4, 1000);
+        limiter.tryAcquire("login|ip", "1.1.1.1", 10, WINDOW, T0);
+        limiter.tryAcquire("login|ip", "2.2.2.2", 10, WINDOW, T0 + WINDOW);
+
+        assertEquals(0, limiter.evictIdle(T0 + WINDOW));
+        assertEquals(1, limiter.evictIdle(T0 + 2 * WINDOW));
+        assertEquals(1, limiter.size());
+    }
+
+    private static int acquire(SlidingWindowRateLimiter limiter, String group, String key,
+                               int limit, long nowMs, int attempts) {
+        int allowed = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (limiter.tryAcquire(group, key, limit, WINDOW, nowMs)) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+}
@@ -0,0 +1,172 @@
+package com.bbey.neez.service.Auth;
+
+import com.bbey.neez.entity.Auth.MailOutbox;
+import com.bbey.neez.repository.Auth.MailOutboxRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import javax.mail.internet.MimeMessage;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MailOutboxServiceTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final MailOutboxRepository repository = mock(MailOutboxRepository.class);
+    private MailOutboxService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void processSendsClaimedBatchAndMarksItSentWithClaimToken() throws Exception {
+        service = newService(sender(ServerSetupTest.SMTP.getPort()), 0, 120_000L);
+        List<Long> ids = Arrays.asList(1L, 2L);
+        when(repository.claim(anyCollection(), anyCollection(), any(), anyString(), any(), any())).thenReturn(2);
+        when(repository.findByClaimToken(anyString())).thenReturn(Arrays.asList(
+                mail(1L, "a@neez.test", "첫 번째"), mail(2L, "b@neez.test", "두 번째")));
+        when(repository.markSent(anyCollection(), anyString(), any(), any())).thenReturn(2);
+
+        service.process(ids);
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertEquals("a@neez.test", received[0].getAllRecipients()[0].toString());
+        assertEquals("첫 번째", received[0].getSubject());
+        assertEquals("body 1", GreenMailUtil.getBody(received[0]).trim());
+        assertEquals("b@neez.test", received[1].getAllRecipients()[0].toString());
+
+        String claimToken = claimedToken();
+        verify(repository).findByClaimToken(claimToken);
+        verify(repository).markSent(eq(ids), eq(claimToken), eq(MailOutbox.Status.SENT), any());
+        verify(repository, never()).markFailed(any(), any(), any(), any(Integer.class), any(), any());
+    }
+
+    @Test
+    void processSkipsSendingWhenAnotherWorkerClaimedFirst() {
+        service = newService(sender(ServerSetupTest.SMTP.getPort()), 0, 120_000L);
+        when(repository.claim(anyCollection(), anyCollection(), any(), anyString(), any(), any())).thenReturn(0);
+
+        service.process(Collections.singletonList(1L));
+
+        verify(repository, never()).findByClaimToken(anyString());
+        assertEquals(0, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    void smtpFailureSchedulesRetryOnlyForOwnClaim() throws IOException {
+        service = newService(sender(closedPort()), 0, 120_000L);
+        when(repository.claim(anyCollection(), anyCollection(), any(), anyString(), any(), any())).thenReturn(1);
+        when(repository.findByClaimToken(anyString()))
+                .thenReturn(Collections.singletonList(mail(7L, "c@neez.test", "실패")));
+
+        service.process(Collections.singletonList(7L));
+
+        String claimToken = claimedToken();
+        verify(repository).markFailed(eq(7L), eq(claimToken), eq(MailOutbox.Status.PENDING), eq(1),
+                any(LocalDateTime.class), anyString());
+        verify(repository, never()).markSent(anyCollection(), anyString(), any(), any());
+    }
+
+    @Test
+    void leaseCoversSmtpTimeoutForEveryMessageInBatch() {
+        // 설정한 lease(1초)보다 (batch 20 + 1) * 타임아웃 10초가 길다
+        service = newService(sender(ServerSetupTest.SMTP.getPort()), 0, 1_000L);
+        when(repository.claim(anyCollection(), anyCollection(), any(), anyString(), any(), any())).thenReturn(0);
+
+        service.process(Collections.singletonList(1L));
+
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> leaseUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).claim(anyCollection(), anyCollection(), any(), anyString(),
+                now.capture(), leaseUntil.capture());
+        assertEquals(210_000L, Duration.between(now.getValue(), leaseUntil.getValue()).toMillis());
+    }
+
+    @Test
+    void throttleWaitsBeforeClaimingSoLeaseStartsAtSendTime() {
+        // 초당 4건 → 2건씩 두 묶음이면 두 번째 묶음은 약 500ms 뒤에 선점
+        service = newService(sender(ServerSetupTest.SMTP.getPort()), 4, 120_000L);
+        when(repository.claim(anyCollection(), anyCollection(), any(), anyString(), any(), any())).thenReturn(0);
+
+        service.process(Arrays.asList(1L, 2L));
+        service.process(Arrays.asList(3L, 4L));
+
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository, times(2)).claim(anyCollection(), anyCollection(), any(), anyString(),
+                now.capture(), any());
+        long gapMs = Duration.between(now.getAllValues().get(0), now.getAllValues().get(1)).toMillis();
+        assertTrue(gapMs >= 400, "second claim after " + gapMs + "ms");
+    }
+
+    // ===================== helpers =====================
+
+    private MailOutboxService newService(JavaMailSenderImpl sender, int ratePerSecond, long leaseMs) {
+        return new MailOutboxService(repository, sender, new SimpleMeterRegistry(), "noreply@neez.test",
+                1, 20, 6, 30_000L, 3_600_000L, leaseMs, ratePerSecond, 86_400_000L, 10_000L);
+    }
+
+    private String claimedToken() {
+        ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+        verify(repository).claim(anyCollection(), anyCollection(), eq(MailOutbox.Status.SENDING),
+                token.capture(), any(), any());
+        return token.getValue();
+    }
+
+    private static JavaMailSenderImpl sender(int port) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(port);
+        sender.setDefaultEncoding("UTF-8");
+        sender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+        sender.getJavaMailProperties().put("mail.smtp.timeout", "2000");
+        return sender;
+    }
+
+    private static int closedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static MailOutbox mail(Long id, String to, String subject) {
+        MailOutbox mail = new MailOutbox();
+        mail.setId(id);
+        mail.setRecipient(to);
+        mail.setSubject(subject);
+        mail.setBody("body " + id);
+        mail.setStatus(MailOutbox.Status.SENDING);
+        mail.setAttempts(0);
+        return mail;
+    }
+}
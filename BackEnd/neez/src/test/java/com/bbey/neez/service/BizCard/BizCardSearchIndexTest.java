@@ -0,0 +1,58 @@
+package com.bbey.neez.service.BizCard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BizCardSearchIndexTest {
+
+    @Test
+    void multiValueFieldsDoNotMatchAcrossValueBoundaries() {
+        BizCardSearchIndex.UserIndex index = new BizCardSearchIndex.UserIndex();
+        // 휴대폰 끝자리 "5678" + 유선 앞자리 "02" → 이어 붙이면 "567802" 가 생김
+        index.put(doc(1L, BizCardSearchIndex.normalizeValues("010-1234-5678", "02-555-0000"),
+                BizCardSearchIndex.normalizeValues("영업", "마케팅")));
+
+        assertTrue(score(index, "5678").containsKey(1L));
+        assertTrue(score(index, "025550000").containsKey(1L));
+        assertFalse(score(index, "567802").containsKey(1L));
+        assertFalse(score(index, "업마").containsKey(1L));
+        assertTrue(score(index, "마케팅").containsKey(1L));
+    }
+
+    @Test
+    void wholeValueMatchInMultiValueFieldScoresAsExact() {
+        BizCardSearchIndex.UserIndex index = new BizCardSearchIndex.UserIndex();
+        index.put(doc(1L, "", BizCardSearchIndex.normalizeValues("영업", "마케팅")));
+        index.put(doc(2L, "", BizCardSearchIndex.normalizeValues("마케팅팀")));
+
+        Map<Long, Integer> scores = score(index, "마케팅");
+        int tag = BizCardSearchIndex.Field.TAG.weight;
+        assertEquals(3 * tag, (int) scores.get(1L));
+        assertEquals(2 * tag, (int) scores.get(2L));
+    }
+
+    @Test
+    void bigramsSkipValueSeparator() {
+        String value = BizCardSearchIndex.normalizeValues("ab", "cd");
+        assertEquals(2, BizCardSearchIndex.bigrams(value).size());
+        assertTrue(BizCardSearchIndex.tokenize("a\u001Fb").contains("ab"));
+    }
+
+    private static BizCardSearchIndex.Doc doc(Long idx, String phone, String tags) {
+        String[] fields = new String[BizCardSearchIndex.Field.values().length];
+        Arrays.fill(fields, "");
+        fields[BizCardSearchIndex.Field.PHONE.ordinal()] = phone;
+        fields[BizCardSearchIndex.Field.TAG.ordinal()] = tags;
+        return new BizCardSearchIndex.Doc(idx, fields);
+    }
+
+    private static Map<Long, Integer> score(BizCardSearchIndex.UserIndex index, String token) {
+        return index.score(Arrays.asList(token));
+    }
+}
@@ -0,0 +1,83 @@
+package com.bbey.neez.service.company;
+
+import com.bbey.neez.entity.Company;
+import com.bbey.neez.repository.CompanyRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CompanySearchIndexTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Test
+    void fallsBackToDatabaseUntilIndexIsLoaded() {
+        CompanyRepository repo = mock(CompanyRepository.class);
+        Company samsung = company(1L, "삼성전자", T0);
+        when(repo.searchByKeyword(eq("삼성"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(samsung), PageRequest.of(1, 10), 11));
+        CompanySearchIndex index = new CompanySearchIndex(repo);
+
+        CompanySearchIndex.SearchHits hits = index.search(" 삼성 ", 10, 10);
+
+        assertEquals(Collections.singletonList(1L), hits.getIds());
+        assertEquals(11, hits.getTotal());
+        verify(repo).searchByKeyword("삼성", PageRequest.of(1, 10));
+        verify(repo, never()).findIndexBatch(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void servesFromIndexAfterRebuild() {
+        CompanyRepository repo = mock(CompanyRepository.class);
+        when(repo.findIndexBatch(eq(0L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(company(1L, "삼성전자", T0), company(2L, "엘지전자", T0)));
+        when(repo.findIndexBatch(eq(2L), any(Pageable.class))).thenReturn(Collections.<Company>emptyList());
+        CompanySearchIndex index = new CompanySearchIndex(repo);
+
+        index.rebuild();
+        CompanySearchIndex.SearchHits hits = index.search("삼송전자", 0, 10);
+
+        assertEquals(Collections.singletonList(1L), hits.getIds());
+        verify(repo, never()).searchByKeyword(any(String.class), any(Pageable.class));
+    }
+
+    @Test
+    void olderSnapshotDoesNotOverwriteNewerDoc() {
+        CompanySearchIndex.Engine engine = new CompanySearchIndex.Engine();
+        engine.put(doc(1L, "삼성전자", T0.plusMinutes(5)));
+        engine.put(doc(1L, "삼성물산", T0));
+
+        assertTrue(engine.search("삼성전자").contains(engine.docIdByIdx.get(1L)));
+        assertEquals("삼성전자", engine.docs.get(engine.docIdByIdx.get(1L)).name);
+
+        engine.put(doc(1L, "삼성물산", T0.plusMinutes(6)));
+        assertEquals("삼성물산", engine.docs.get(engine.docIdByIdx.get(1L)).name);
+    }
+
+    private static CompanySearchIndex.Doc doc(long idx, String name, LocalDateTime updatedAt) {
+        return new CompanySearchIndex.Doc(idx, name, null, null, null, null, null, updatedAt);
+    }
+
+    private static Company company(Long idx, String name, LocalDateTime updatedAt) {
+        Company c = new Company();
+        c.setIdx(idx);
+        c.setName(name);
+        c.setUpdatedAt(updatedAt);
+        return c;
+    }
+}
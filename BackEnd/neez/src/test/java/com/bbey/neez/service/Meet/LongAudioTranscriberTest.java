@@ -0,0 +1,239 @@
+package com.bbey.neez.service.Meet;
+
+import com.bbey.neez.client.ClovaSpeechClient.ClovaResult;
+import com.bbey.neez.client.ClovaSpeechClient.SpeakerSegment;
+import com.bbey.neez.component.PcmAudio;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongAudioTranscriberTest {
+
+    private static final int RATE = 16000;
+
+    // window 1초 / 탐색 200ms / overlap 100ms (앞뒤 50ms)
+    private final LongAudioTranscriber transcriber = new LongAudioTranscriber(
+            null, new SimpleMeterRegistry(), true, 0L, 1000L, 100L, 200L, 1, RATE);
+
+    // ===================== plan =====================
+
+    @Test
+    void planCutsInsideSilenceNearEachWindowTarget() {
+        // 2.5초 음성, 0.80~1.00초 / 1.78~1.98초 무음
+        PcmAudio.WavLayout layout = wav(2500, new int[][] {{800, 1000}, {1780, 1980}});
+        ByteBuffer source = buffer(2500, new int[][] {{800, 1000}, {1780, 1980}});
+
+        List<LongAudioTranscriber.Window> windows = transcriber.plan(source, layout);
+
+        assertEquals(3, windows.size());
+        int halfOverlap = 50 * RATE / 1000;
+        int firstCut = windows.get(0).keepTo;
+        int secondCut = windows.get(1).keepTo;
+        assertBetween(800 * RATE / 1000, 1000 * RATE / 1000, firstCut);
+        assertBetween(1780 * RATE / 1000, 1980 * RATE / 1000, secondCut);
+
+        // 보내는 구간 = 담당 구간 앞뒤로 overlap/2 (파일 경계에서는 잘림)
+        assertEquals(0, windows.get(0).fromSample);
+        assertEquals(firstCut + halfOverlap, windows.get(0).toSample);
+        assertEquals(firstCut - halfOverlap, windows.get(1).fromSample);
+        assertEquals(secondCut + halfOverlap, windows.get(1).toSample);
+        assertEquals(secondCut - halfOverlap, windows.get(2).fromSample);
+        assertEquals(layout.getFrames(), windows.get(2).toSample);
+    }
+
+    @Test
+    void planHandsOffKeepRangesWithoutGapOrOverlap() {
+        PcmAudio.WavLayout layout = wav(2500, new int[][] {{800, 1000}, {1780, 1980}});
+        List<LongAudioTranscriber.Window> windows =
+                transcriber.plan(buffer(2500, new int[][] {{800, 1000}, {1780, 1980}}), layout);
+
+        assertEquals(Long.MIN_VALUE, windows.get(0).keepFromMs());
+        assertEquals(Long.MAX_VALUE, windows.get(windows.size() - 1).keepToMs());
+        for (int i = 1; i < windows.size(); i++) {
+            assertEquals(windows.get(i - 1).keepTo, windows.get(i).keepFrom);
+            assertEquals(windows.get(i - 1).keepToMs(), windows.get(i).keepFromMs());
+        }
+    }
+
+    @Test
+    void planKeepsShortAudioInOneWindow() {
+        PcmAudio.WavLayout layout = wav(900, new int[0][]);
+        List<LongAudioTranscriber.Window> windows = transcriber.plan(buffer(900, new int[0][]), layout);
+
+        assertEquals(1, windows.size());
+        assertEquals(0, windows.get(0).fromSample);
+        assertEquals(layout.getFrames(), windows.get(0).toSample);
+        assertEquals(Long.MIN_VALUE, windows.get(0).keepFromMs());
+        assertEquals(Long.MAX_VALUE, windows.get(0).keepToMs());
+    }
+
+    // ===================== stitch =====================
+
+    @Test
+    void stitchShiftsSegmentsAndKeepsEachOverlapOnce() {
+        // sampleRate 1000 → sample = ms. 자른 지점 1000ms, 앞뒤 100ms 겹침
+        LongAudioTranscriber.Window first = new LongAudioTranscriber.Window(0, 1100, 0, 1000, 1000);
+        LongAudioTranscriber.Window second = new LongAudioTranscriber.Window(900, 2000, 1000, Integer.MAX_VALUE, 1000);
+
+        ClovaResult r0 = new ClovaResult("ignored", Arrays.asList(
+                new SpeakerSegment("hello there", 1, 100L, 800L),
+                new SpeakerSegment("right before", 1, 950L, 990L),
+                new SpeakerSegment("after cut", 2, 1050L, 1090L)));       // 1050 ≥ keepTo → 뒤 window 담당
+        ClovaResult r1 = new ClovaResult("ignored", Arrays.asList(
+                new SpeakerSegment("right before", 1, 50L, 90L),          // 950 < keepFrom → 앞 window 담당
+                new SpeakerSegment("after cut", 2, 150L, 190L),
+                new SpeakerSegment("the end", 2, 500L, 900L)));
+
+        ClovaResult merged = LongAudioTranscriber.stitch(Arrays.asList(first, second), Arrays.asList(r0, r1));
+
+        assertEquals("hello there right before after cut the end", merged.getText());
+        List<Long> starts = new ArrayList<>();
+        List<Long> ends = new ArrayList<>();
+        for (SpeakerSegment seg : merged.getSegments()) {
+            starts.add(seg.getStart());
+            ends.add(seg.getEnd());
+        }
+        assertEquals(Arrays.asList(100L, 950L, 1050L, 1400L), starts);
+        assertEquals(Arrays.asList(800L, 990L, 1090L, 1800L), ends);
+    }
+
+    @Test
+    void stitchFallsBackToTextDeduplicationWithoutSegments() {
+        LongAudioTranscriber.Window first = new LongAudioTranscriber.Window(0, 1100, 0, 1000, 1000);
+        LongAudioTranscriber.Window second = new LongAudioTranscriber.Window(900, 2000, 1000, Integer.MAX_VALUE, 1000);
+
+        ClovaResult merged = LongAudioTranscriber.stitch(Arrays.asList(first, second), Arrays.asList(
+                new ClovaResult(" 오늘 회의 안건은 예산 검토 ", Collections.<SpeakerSegment>emptyList()),
+                new ClovaResult("안건은 예산 검토 입니다", null)));
+
+        assertEquals("오늘 회의 안건은 예산 검토 입니다", merged.getText());
+        assertTrue(merged.getSegments().isEmpty());
+    }
+
+    @Test
+    void stitchKeepsUntimedOverlapSegmentOnce() {
+        LongAudioTranscriber.Window first = new LongAudioTranscriber.Window(0, 1100, 0, 1000, 1000);
+        LongAudioTranscriber.Window second = new LongAudioTranscriber.Window(900, 2000, 1000, Integer.MAX_VALUE, 1000);
+
+        // 시간 없는 구간: 앞 구간 끝(990)에 이어진 것으로 보고 앞 window 가 담당
+        ClovaResult r0 = new ClovaResult("ignored", Arrays.asList(
+                new SpeakerSegment("hello", 1, 100L, 990L),
+                new SpeakerSegment("no time", 1, null, null)));
+        // 뒤 window 에는 시간 정보가 전혀 없음 → 직전 window 끝과 같은 문장은 버린다
+        ClovaResult r1 = new ClovaResult("ignored", Arrays.asList(
+                new SpeakerSegment("no time", 1, null, null),
+                new SpeakerSegment("later", 1, null, null)));
+
+        ClovaResult merged = LongAudioTranscriber.stitch(Arrays.asList(first, second), Arrays.asList(r0, r1));
+
+        List<String> texts = new ArrayList<>();
+        for (SpeakerSegment seg : merged.getSegments()) {
+            texts.add(seg.getText());
+        }
+        assertEquals(Arrays.asList("hello", "no time", "later"), texts);
+        assertEquals("hello no time later", merged.getText());
+    }
+
+    @Test
+    void stitchMapsSpeakerLabelsAcrossWindowsUsingOverlap() {
+        LongAudioTranscriber.Window first = new LongAudioTranscriber.Window(0, 1100, 0, 1000, 1000);
+        LongAudioTranscriber.Window second = new LongAudioTranscriber.Window(900, 2000, 1000, Integer.MAX_VALUE, 1000);
+
+        // 앞 window: A=1, B=2 / 뒤 window 는 번호가 뒤바뀜: B=1, A=2, 새 사람 C=3
+        ClovaResult r0 = new ClovaResult("ignored", Arrays.asList(
+                new SpeakerSegment("a one", 1, 100L, 500L),
+                new SpeakerSegment("b one", 2, 600L, 950L),
+                new SpeakerSegment("a two", 1, 960L, 1090L)));
+        ClovaResult r1 = new ClovaResult("ignored", Arrays.asList(
+                new SpeakerSegment("b one", 1, 0L, 50L),      // 900~950 → 앞 window 담당
+                new SpeakerSegment("a two", 2, 60L, 190L),    // 960~1090 → 시작이 1000 전이므로 앞 window 담당
+                new SpeakerSegment("b two", 1, 300L, 500L),
+                new SpeakerSegment("c one", 3, 600L, 800L)));
+
+        ClovaResult merged = LongAudioTranscriber.stitch(Arrays.asList(first, second), Arrays.asList(r0, r1));
+
+        List<Integer> labels = new ArrayList<>();
+        for (SpeakerSegment seg : merged.getSegments()) {
+            labels.add(seg.getSpeakerLabel());
+        }
+        assertEquals(Arrays.asList(1, 2, 1, 2, 3), labels);
+    }
+
+    @Test
+    void matchSpeakersGivesUnmatchedLabelAFreshNumberWhenTaken() {
+        List<SpeakerSegment> previous = Arrays.asList(
+                new SpeakerSegment("x", 1, 0L, 100L),
+                new SpeakerSegment("y", 2, 100L, 200L));
+        // 뒤 window 의 2 가 앞의 1 과 겹침 → 2→1, 겹침 근거 없는 1 은 이미 쓰인 번호라 새 번호 3
+        List<SpeakerSegment> current = Arrays.asList(
+                new SpeakerSegment("x", 2, 0L, 100L),
+                new SpeakerSegment("z", 1, 300L, 400L));
+
+        Map<Integer, Integer> mapping = LongAudioTranscriber.matchSpeakers(previous, current);
+
+        assertEquals(Integer.valueOf(1), mapping.get(2));
+        assertEquals(Integer.valueOf(3), mapping.get(1));
+    }
+
+    // ===================== dropOverlap =====================
+
+    @Test
+    void dropOverlapRemovesLongestRepeatedHead() {
+        assertEquals("e f", LongAudioTranscriber.dropOverlap("a b c d", "c d e f"));
+        assertEquals("d", LongAudioTranscriber.dropOverlap("a b c", "a b c d"));
+        assertEquals("", LongAudioTranscriber.dropOverlap("x y", "x y"));
+    }
+
+    @Test
+    void dropOverlapKeepsSingleWordMatchesAndEmptyInputs() {
+        // 한 단어만 겹치면 우연일 수 있으므로 그대로
+        assertEquals("네 알겠습니다", LongAudioTranscriber.dropOverlap("좋습니다 네", "네 알겠습니다"));
+        assertEquals("a b", LongAudioTranscriber.dropOverlap("", "a b"));
+        assertEquals("", LongAudioTranscriber.dropOverlap("a b", ""));
+        assertEquals("c d", LongAudioTranscriber.dropOverlap("a b", "c d"));
+    }
+
+    @Test
+    void dropOverlapOnlyLooksAtTailOfLongText() {
+        StringBuilder previous = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            previous.append("word").append(i).append(' ');
+        }
+        previous.append("끝 문장");
+        assertEquals("다음", LongAudioTranscriber.dropOverlap(previous, "끝 문장 다음"));
+        // 앞부분 단어는 비교 범위 밖
+        assertEquals("word0 word1 x", LongAudioTranscriber.dropOverlap(previous, "word0 word1 x"));
+    }
+
+    // ===================== helpers =====================
+
+    private static void assertBetween(int from, int to, int actual) {
+        assertTrue(actual >= from && actual <= to,
+                "expected " + actual + " in [" + from + ", " + to + "]");
+    }
+
+    private static PcmAudio.WavLayout wav(int durationMs, int[][] silences) {
+        return PcmAudio.WavLayout.parse(buffer(durationMs, silences));
+    }
+
+    /** 440Hz 사인파, silences 구간([fromMs, toMs))만 무음인 16bit 모노 WAV */
+    private static ByteBuffer buffer(int durationMs, int[][] silences) {
+        float[] samples = new float[durationMs * RATE / 1000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (float) (0.5 * Math.sin(2 * Math.PI * 440 * i / RATE));
+        }
+        for (int[] silence : silences) {
+            Arrays.fill(samples, silence[0] * RATE / 1000, silence[1] * RATE / 1000, 0f);
+        }
+        return ByteBuffer.wrap(new PcmAudio(samples, RATE).toWav());
+    }
+}
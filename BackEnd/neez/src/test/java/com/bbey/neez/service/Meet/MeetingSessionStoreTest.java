@@ -0,0 +1,152 @@
+package com.bbey.neez.service.Meet;
+
+import com.bbey.neez.entity.Meet.MeetRTChunk;
+import com.bbey.neez.repository.Meet.MeetingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MeetingSessionStoreTest {
+
+    private static final Long USER_IDX = 1L;
+    private static final Long MEETING_ID = 42L;
+
+    @TempDir
+    Path spillDir;
+
+    private final MeetingSttService sttService = mock(MeetingSttService.class);
+    /** meetRTChunks PK 흉내 */
+    private final AtomicLong pk = new AtomicLong();
+
+    @Test
+    void lateLowerIndexIsReturnedAfterEarlierCursor() {
+        MeetingSessionStore store = store(Long.MAX_VALUE, Long.MAX_VALUE);
+
+        long cursor = append(store, 2L, "셋째").getSeq();
+        assertTrue(session(store).since(cursor).isEmpty());
+
+        MeetingSpeechStreamService.Segment late = append(store, 0L, "첫째");
+
+        assertTrue(late.getSeq() > cursor);
+        assertFalse(late.isUpdate());
+        assertEquals(Collections.singletonList(late), session(store).since(cursor));
+        assertEquals(Arrays.asList(0L, 2L), indexes(session(store).segments()));
+        assertEquals("첫째 셋째", session(store).transcript());
+    }
+
+    @Test
+    void duplicateIndexComesBackAsUpdateWithNewCursor() {
+        MeetingSessionStore store = store(Long.MAX_VALUE, Long.MAX_VALUE);
+        append(store, 0L, "안녕하세요");
+        long cursor = append(store, 1L, "회의 시작").getSeq();
+
+        MeetingSpeechStreamService.Segment retry = append(store, 0L, "안녕하세요 여러분");
+
+        assertTrue(retry.isUpdate());
+        assertTrue(retry.getSeq() > cursor);
+        assertEquals(Collections.singletonList(retry), session(store).since(cursor));
+        // 처음부터 다시 받으면 교체된 segment 는 새 커서 자리에 한 번만 나온다
+        List<MeetingSpeechStreamService.Segment> all = session(store).since(0L);
+        assertEquals(Arrays.asList(1L, 0L), indexes(all));
+        assertEquals(2, session(store).segments().size());
+        assertEquals("안녕하세요 여러분 회의 시작", session(store).transcript());
+    }
+
+    @Test
+    void spillAndRehydrateKeepCursorsAndUpdateFlag() throws IOException {
+        // idle-timeout 음수 → sweep 때 바로 spill
+        MeetingSessionStore store = store(-60_000L, Long.MAX_VALUE);
+        append(store, 1L, "둘째");
+        long cursor = append(store, 0L, "첫째").getSeq();
+        MeetingSpeechStreamService.Segment retry = append(store, 1L, "둘째 다시");
+
+        store.sweep();
+        try (Stream<Path> files = Files.list(spillDir)) {
+            assertEquals(1, files.count());
+        }
+        MeetingSessionStore.Session restored = session(store);
+
+        List<MeetingSpeechStreamService.Segment> since = restored.since(cursor);
+        assertEquals(1, since.size());
+        assertEquals(retry.getSeq(), since.get(0).getSeq());
+        assertTrue(since.get(0).isUpdate());
+        assertEquals(Arrays.asList(0L, 1L), indexes(restored.segments()));
+    }
+
+    @Test
+    void dbMergeReplacesOnlyWithLaterRows() {
+        MeetingSessionStore store = store(Long.MAX_VALUE, 0L);
+        MeetingSpeechStreamService.Segment local = append(store, 0L, "로컬");
+        when(sttService.getTranscriptChunksAfter(any(), any())).thenReturn(Arrays.asList(
+                chunk(local.getSeq(), 0L, "로컬"),         // 이 노드가 저장한 행 → 로컬 segment 유지
+                chunk(local.getSeq() + 10, 1L, "다른 노드"),
+                chunk(local.getSeq() + 11, 0L, "다른 노드 재처리")));
+
+        MeetingSessionStore.Session session = session(store);
+
+        List<MeetingSpeechStreamService.Segment> since = session.since(local.getSeq());
+        assertEquals(Arrays.asList(1L, 0L), indexes(since));
+        assertFalse(since.get(0).isUpdate());
+        assertTrue(since.get(1).isUpdate());
+        assertEquals("다른 노드 재처리 다른 노드", session.transcript());
+    }
+
+    private MeetingSessionStore store(long idleTimeoutMs, long dbSyncMs) {
+        return new MeetingSessionStore(
+                sttService,
+                mock(MeetingRepository.class),
+                new SpeakerTracker(new SimpleMeterRegistry(), 0.85, 0.6, 1500, 10, Long.MAX_VALUE),
+                new SimpleMeterRegistry(),
+                idleTimeoutMs,
+                Long.MAX_VALUE,
+                spillDir.toString(),
+                dbSyncMs);
+    }
+
+    private MeetingSpeechStreamService.Segment append(MeetingSessionStore store, long index, String text) {
+        return store.append(USER_IDX, MEETING_ID, index, idx -> pk.incrementAndGet(),
+                (idx, seq, update) -> new MeetingSpeechStreamService.Segment(
+                        idx, seq, 1000L, text, Instant.now(), null, "ko", null, null, -1L, false, update));
+    }
+
+    private static MeetingSessionStore.Session session(MeetingSessionStore store) {
+        return store.get(USER_IDX, MEETING_ID);
+    }
+
+    private static MeetRTChunk chunk(long idx, long seq, String content) {
+        return MeetRTChunk.builder()
+                .idx(idx)
+                .meetIdx(MEETING_ID)
+                .seq(seq)
+                .chunkType("STT")
+                .langCode("ko")
+                .content(content)
+                .finalChunk(true)
+                .build();
+    }
+
+    private static List<Long> indexes(List<MeetingSpeechStreamService.Segment> segments) {
+        Long[] out = new Long[segments.size()];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = segments.get(i).getIndex();
+        }
+        return Arrays.asList(out);
+    }
+}
@@ -0,0 +1,193 @@
+package com.bbey.neez.service.Meet;
+
+import com.bbey.neez.client.ClovaSpeechClient.SpeakerSegment;
+import com.bbey.neez.component.Voiceprint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpeakerTrackerTest {
+
+    private static final Long MEETING_ID = 7L;
+    private static final long CHUNK_MS = 5000L;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    // match 0.85 / continuity 0.6 / 경계 1.5초 / 최대 3명
+    private final SpeakerTracker tracker = tracker(registry, 3);
+
+    // ===================== voice matching =====================
+
+    @Test
+    void matchesSameVoiceAcrossChunksEvenWithNewLocalLabel() {
+        assertEquals(1, label(assignVoice(0, 1, unit(0)), 0));
+        assertEquals(2, label(assignVoice(1, 1, unit(1)), 0));
+        // Clova 가 이번엔 2번으로 붙였지만 목소리는 첫 화자
+        assertEquals(1, label(assignVoice(2, 2, unit(0)), 0));
+        assertEquals(1.0, count("voice"), 1e-9);
+    }
+
+    @Test
+    void similarityBelowMatchThresholdMakesNewSpeaker() {
+        assignVoice(0, 1, unit(0));
+
+        // cos = 0.8 < 0.85
+        SpeakerTracker.Assignment below = assignVoice(1, 1, mix(0.8, 5));
+        assertEquals(2, label(below, 0));
+
+        // 1번과 cos = 0.9 ≥ 0.85 (2번과는 0.72) → 1번 화자
+        SpeakerTracker.Assignment above = assignVoice(2, 1, mix(0.9, 7));
+        assertEquals(1, label(above, 0));
+    }
+
+    @Test
+    void reusesClosestSpeakerOnceLimitIsReached() {
+        assignVoice(0, 1, unit(0));
+        assignVoice(1, 1, unit(1));
+        assignVoice(2, 1, unit(2));
+
+        // 4번째 목소리: 상한(3명) 도달 → 가장 비슷한 2번(unit(1) 쪽)
+        float[] nearSecond = normalize(new float[]{0.1f, 0.7f, 0.2f});
+        assertEquals(2, label(assignVoice(3, 1, nearSecond), 0));
+        assertEquals(3.0, count("new"), 1e-9);
+    }
+
+    // ===================== continuity / offsets by index =====================
+
+    @Test
+    void continuityIsJudgedAgainstPreviousIndexNotPreviousCall() {
+        // 0번 청크: 끝까지 말하다 끝남
+        SpeakerTracker.Assignment first = assign(0, seg(1, 0, 4900));
+        int speaker = label(first, 0);
+
+        // 2번 청크가 1번보다 먼저 도착 → 0번과 이어 붙이면 안 된다
+        SpeakerTracker.Assignment early = assign(2, seg(1, 0, 3000));
+        assertFalse(early.isContinuesTurn());
+
+        // 1번 청크는 0번 끝 화자에 이어진다 (목소리 특징 없음 → 연속성으로 매칭)
+        SpeakerTracker.Assignment late = assign(1, seg(1, 100, 4000));
+        assertTrue(late.isContinuesTurn());
+        assertEquals(speaker, label(late, 0));
+    }
+
+    @Test
+    void silentPreviousChunkBreaksContinuity() {
+        assign(0, seg(1, 0, 4900));
+        tracker.assign(MEETING_ID, 1, Collections.<SpeakerSegment>emptyList(),
+                Collections.<Integer, float[]>emptyMap(), CHUNK_MS, null);
+
+        assertFalse(assign(2, seg(1, 0, 3000)).isContinuesTurn());
+    }
+
+    @Test
+    void offsetsFollowChunkIndexWhenChunksArriveOutOfOrder() {
+        assertEquals(5000L, assign(1, seg(1, 0, 1000)).getOffsetMs());
+        assertEquals(0L, assign(0, seg(1, 0, 1000)).getOffsetMs());
+        // 2번이 빠진 채 3번 → 빈 자리는 청크 길이로 어림
+        assertEquals(15000L, assign(3, seg(1, 0, 1000)).getOffsetMs());
+        assertEquals(10000L, assign(2, seg(1, 0, 1000)).getOffsetMs());
+        // 같은 index 재처리는 처음 자리 그대로
+        assertEquals(15000L, assign(3, seg(1, 0, 1000)).getOffsetMs());
+        assertEquals(20000L, assign(4, seg(1, 0, 1000)).getOffsetMs());
+    }
+
+    @Test
+    void exportedStateKeepsIndexKeyedContinuityAndOffsets() {
+        assign(0, seg(1, 0, 4900));
+        byte[] state = tracker.export(MEETING_ID);
+
+        SpeakerTracker restored = tracker(new SimpleMeterRegistry(), 3);
+        restored.restore(MEETING_ID, state);
+        SpeakerTracker.Assignment next = restored.assign(MEETING_ID, 1, Arrays.asList(seg(1, 100, 3000)),
+                Collections.<Integer, float[]>emptyMap(), CHUNK_MS, null);
+
+        assertTrue(next.isContinuesTurn());
+        assertEquals(CHUNK_MS, next.getOffsetMs());
+        assertEquals(1, label(next, 0));
+    }
+
+    @Test
+    void seedsFromHistoryByIndex() {
+        List<MeetingSpeechStreamService.Segment> history = Arrays.asList(
+                segment(0, 0L, seg(1, 0, 4000)),
+                segment(1, 5000L, seg(2, 0, 4500)));
+
+        SpeakerTracker.Assignment next = tracker.assign(MEETING_ID, 2, Arrays.asList(seg(1, 0, 1000)),
+                Collections.<Integer, float[]>emptyMap(), CHUNK_MS, () -> history);
+
+        assertEquals(9500L, next.getOffsetMs());
+        // 경계 상태는 모르므로 이어 붙이지 않고, 라벨은 기존 번호 다음부터
+        assertFalse(next.isContinuesTurn());
+        assertEquals(3, label(next, 0));
+    }
+
+    // ===================== helpers =====================
+
+    private static SpeakerTracker tracker(SimpleMeterRegistry registry, int maxSpeakers) {
+        return new SpeakerTracker(registry, 0.85, 0.6, 1500, maxSpeakers, Long.MAX_VALUE);
+    }
+
+    private SpeakerTracker.Assignment assign(long index, SpeakerSegment seg) {
+        return tracker.assign(MEETING_ID, index, Arrays.asList(seg),
+                Collections.<Integer, float[]>emptyMap(), CHUNK_MS, null);
+    }
+
+    /** 청크 중간에 말한 구간 하나 (경계 연속성은 타지 않게) + 목소리 특징 */
+    private SpeakerTracker.Assignment assignVoice(long index, int localLabel, float[] print) {
+        Map<Integer, float[]> prints = new HashMap<>();
+        prints.put(localLabel, print);
+        return tracker.assign(MEETING_ID, index, Arrays.asList(seg(localLabel, 2000, 3000)), prints, CHUNK_MS, null);
+    }
+
+    private static SpeakerSegment seg(int label, long start, long end) {
+        return new SpeakerSegment("발화", label, start, end);
+    }
+
+    private static MeetingSpeechStreamService.Segment segment(long index, long offsetMs, SpeakerSegment seg) {
+        return new MeetingSpeechStreamService.Segment(index, index + 1, 0L, seg.getText(), null,
+                Arrays.asList(seg), "ko", null, null, offsetMs, false, false);
+    }
+
+    private static int label(SpeakerTracker.Assignment assignment, int i) {
+        return assignment.getSegments().get(i).getSpeakerLabel();
+    }
+
+    private double count(String method) {
+        return registry.get("meeting.speakers.assignments").tag("method", method).counter().count();
+    }
+
+    /** i 번째 축 단위 벡터 */
+    private static float[] unit(int i) {
+        float[] v = new float[Voiceprint.BANDS];
+        v[i] = 1f;
+        return v;
+    }
+
+    /** unit(0) 과의 cosine 이 cos 인 단위 벡터 (나머지 성분은 axis 축) */
+    private static float[] mix(double cos, int axis) {
+        float[] v = new float[Voiceprint.BANDS];
+        v[0] = (float) cos;
+        v[axis] = (float) Math.sqrt(1 - cos * cos);
+        return v;
+    }
+
+    private static float[] normalize(float[] head) {
+        float[] v = new float[Voiceprint.BANDS];
+        double norm = 0;
+        for (float x : head) {
+            norm += x * x;
+        }
+        for (int i = 0; i < head.length; i++) {
+            v[i] = (float) (head[i] / Math.sqrt(norm));
+        }
+        return v;
+    }
+}